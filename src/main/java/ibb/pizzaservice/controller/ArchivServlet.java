@@ -0,0 +1,63 @@
+package ibb.pizzaservice.controller;
+
+import ibb.pizzaservice.service.RechnungsArchiv;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Liefert eine archivierte Rechnung anhand der Bestellnummer.
+ *
+ * Aufruf: {@code GET /archiv?id=123456789}. Gelesen und entpackt wird nur die eine Rechnung aus dem
+ * Tagesarchiv ({@link RechnungsArchiv#lesen(long)}). Eine gerade aufgegebene Bestellung ist erst nach
+ * wenigen Millisekunden archiviert; bis dahin antwortet das Servlet mit 404.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@WebServlet("/archiv")
+public class ArchivServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Gibt die Rechnung als {@code text/plain} aus.
+     *
+     * @param request  Parameter {@code id} (Bestellnummer)
+     * @param response Antwortobjekt
+     * @throws ServletException bei Servlet-Fehlern
+     * @throws IOException      bei Kommunikationsfehlern
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        RechnungsArchiv archiv = (RechnungsArchiv) getServletContext().getAttribute("rechnungsArchiv");
+        if (archiv == null) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Rechnungsarchiv ist nicht initialisiert.");
+            return;
+        }
+
+        long bestellId;
+        try {
+            bestellId = Long.parseLong(request.getParameter("id").trim());
+        } catch (NumberFormatException | NullPointerException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Ungültige Bestellnummer.");
+            return;
+        }
+
+        String rechnung = archiv.lesen(bestellId);
+        if (rechnung == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Rechnung " + bestellId + " ist nicht archiviert.");
+            return;
+        }
+        response.setContentType("text/plain; charset=UTF-8");
+        response.setHeader("Cache-Control", "private, max-age=86400");
+        response.getWriter().write(rechnung);
+    }
+
+}
@@ -1,17 +1,38 @@
 package ibb.pizzaservice.controller;
 
+import ibb.pizzaservice.diagnose.BestellungEmpfangen;
+import ibb.pizzaservice.diagnose.PositionenGelesen;
+import ibb.pizzaservice.diagnose.RechnungErzeugt;
+import ibb.pizzaservice.filter.KundenprofilFilter;
+import ibb.pizzaservice.listener.SpeisekarteListener;
 import ibb.pizzaservice.model.Bestellposition;
 import ibb.pizzaservice.model.Bestellung;
 import ibb.pizzaservice.model.Kunde;
+import ibb.pizzaservice.model.Kundenprofil;
 import ibb.pizzaservice.model.Speise;
 import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.model.Zahlungsart;
+import ibb.pizzaservice.service.Aktionen;
+import ibb.pizzaservice.service.BestellAnnahme;
+import ibb.pizzaservice.service.BestellIdGenerator;
+import ibb.pizzaservice.service.Datenverzeichnis;
+import ibb.pizzaservice.service.Filiale;
+import ibb.pizzaservice.service.Filialen;
+import ibb.pizzaservice.service.KundenStore;
+import ibb.pizzaservice.service.Lager;
+import ibb.pizzaservice.service.Liefergebiete;
+import ibb.pizzaservice.service.RechnungsArchiv;
+import ibb.pizzaservice.service.Zeitfenster;
 import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServlet;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Date;
 
 /**
  * Controller-Servlet zur Verarbeitung einer Bestellung.
@@ -22,15 +43,31 @@ import java.io.IOException;
  * 
  * Ablauf:
  * <ol>
- *   <li>Speisekarte aus dem Application-Scope abrufen</li>
- *   <li>Kundendaten aus Formular lesen und als {@link Kunde} speichern</li>
- *   <li>Bestellpositionen basierend auf der Speisekarte aufbauen</li>
- *   <li>Bestellung in Session und Request ablegen</li>
+ *   <li>Filialen aus dem Application-Scope abrufen</li>
+ *   <li>Kundendaten aus Formular lesen und als {@link Kunde} speichern, ggf. gewähltes Zeitfenster
+ *       als Wunschzeit übernehmen</li>
+ *   <li>Liefergebiet prüfen ({@link Liefergebiete}): außerhalb zurück zur Startseite mit Hinweis,
+ *       sonst die Liefergebühr der Zone übernehmen</li>
+ *   <li>Zuständige {@link Filiale} über die PLZ bestimmen (entfernte Filiale → Umleitung)</li>
+ *   <li>Bestellpositionen basierend auf der Speisekarte der Filiale aufbauen</li>
+ *   <li>Bestellung über die {@link BestellAnnahme} annehmen: bepreisen (Rabatte aus {@link Aktionen}),
+ *       Zutaten im {@link Lager} reservieren, Bestell-ID vergeben ({@link BestellIdGenerator}) und in die
+ *       Warteschlange der Filiale einreihen; Vorbestellungen belegen Platz im {@link Zeitfenster}. Reicht
+ *       der Bestand nicht oder ist das Zeitfenster voll, zurück zur Startseite mit Hinweis</li>
+ *   <li>Bestellung in Session und Request ablegen, voraussichtliche Lieferzeit schätzen
+ *       ({@link ibb.pizzaservice.service.LieferzeitSchaetzer})</li>
+ *   <li>Kundenprofil im {@link KundenStore} aktualisieren (Stammkunden-Erkennung)</li>
  *   <li>Weiterleitung an {@code rechnung.jsp}</li>
  * </ol>
+ *
+ * Anfrage, Aufbau der Positionen und Erzeugen der Rechnung werden als JFR-Ereignisse
+ * ({@link ibb.pizzaservice.diagnose}) aufgezeichnet.
  * 
  * Fehlerhafte oder leere Mengenfelder werden automatisch übersprungen.
  * 
+ * Wird der Parameter {@code wiederholen} mitgesendet, übernimmt das Servlet Kundendaten und Positionen
+ * aus dem gespeicherten {@link Kundenprofil} (letzte Bestellung wiederholen).
+ * 
  * @author Simone Njike
  * @version 1.1
  * @since 24.10.2025
@@ -51,43 +88,121 @@ public class BestellungServlet  extends HttpServlet {
     @Override
     protected void doPost(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
+        BestellungEmpfangen diagnose = new BestellungEmpfangen();
+        diagnose.begin();
         
         // ------------------------------------------------------------
-        // 1. Speisekarte aus Application-Scope holen
+        // 1. Filialen aus Application-Scope holen
         // ------------------------------------------------------------
-        Speisekarte speisekarte = (Speisekarte) getServletContext().getAttribute("speisekarte");
-        if (speisekarte == null) {
-            // Falls Listener nicht korrekt initialisiert wurde, neue Speisekarte erzeugen
-            speisekarte = new Speisekarte();
-            getServletContext().setAttribute("speisekarte", speisekarte);
+        Filialen filialen = (Filialen) getServletContext().getAttribute("filialen");
+        if (filialen == null) {
+            // Falls Listener nicht korrekt initialisiert wurde, Filialen neu laden
+            filialen = Filialen.laden(getServletContext().getInitParameter("pizzaservice.knoten"),
+                    Datenverzeichnis.unterverzeichnis(getServletContext(), "ereignisse"));
+            filialen.journaleOeffnen(Datenverzeichnis.unterverzeichnis(getServletContext(), "journal"));
+            filialen.lagerEinrichten(Datenverzeichnis.basis(getServletContext()).resolve(Lager.DATEI));
+            filialen.zeitfensterEinrichten(Datenverzeichnis.basis(getServletContext()).resolve(Zeitfenster.DATEI));
+            RechnungsArchiv archiv = SpeisekarteListener.rechnungsArchiv(getServletContext());
+            filialen.archivSetzen(archiv);
+            getServletContext().setAttribute("rechnungsArchiv", archiv);
+            getServletContext().setAttribute("filialen", filialen);
         }        
+        BestellIdGenerator bestellIds = (BestellIdGenerator) getServletContext().getAttribute("bestellIds");
+        if (bestellIds == null) {
+            bestellIds = SpeisekarteListener.bestellIdGenerator(getServletContext(), filialen);
+            getServletContext().setAttribute("bestellIds", bestellIds);
+        }
+        Liefergebiete liefergebiete = (Liefergebiete) getServletContext().getAttribute("liefergebiete");
+        if (liefergebiete == null) {
+            liefergebiete = new Liefergebiete(Datenverzeichnis.basis(getServletContext()).resolve(Liefergebiete.DATEI));
+            getServletContext().setAttribute("liefergebiete", liefergebiete);
+        }
+        BestellAnnahme annahme = (BestellAnnahme) getServletContext().getAttribute("bestellAnnahme");
+        if (annahme == null) {
+            annahme = new BestellAnnahme(filialen, (Aktionen) getServletContext().getAttribute("aktionen"), bestellIds);
+            getServletContext().setAttribute("bestellAnnahme", annahme);
+        }
 
         // ------------------------------------------------------------
         // 2. Bestellung und Kunde aufbauen
         // ------------------------------------------------------------
         Bestellung bestellung = new Bestellung();
-        
-        // Kundendaten aus Formular lesen
-        Kunde kunde = new Kunde(
-            request.getParameter("anrede"),
-            request.getParameter("vorname"),
-            request.getParameter("nachname"),
-            request.getParameter("strasse"),
-            request.getParameter("hausnummer"),
-            request.getParameter("plz"),
-            request.getParameter("stadt")
-        );
-        bestellung.setKunde(kunde);
+
+        // Stammkunde möchte die letzte Bestellung wiederholen?
+        Kundenprofil profil = (request.getParameter("wiederholen") != null)
+                ? KundenprofilFilter.profil(request)
+                : null;
+
+        if (profil != null) {
+            bestellung.setKunde(profil.getKunde());
+        } else {
+            // Kundendaten aus Formular lesen
+            Kunde kunde = new Kunde(
+                request.getParameter("anrede"),
+                request.getParameter("vorname"),
+                request.getParameter("nachname"),
+                request.getParameter("strasse"),
+                request.getParameter("hausnummer"),
+                request.getParameter("plz"),
+                request.getParameter("stadt")
+            );
+            bestellung.setKunde(kunde);
+        }
+
+        bestellung.setZahlungsart(Zahlungsart.von(request.getParameter("zahlungsart")));
+
+        // Vorbestellung für ein Zeitfenster (leer: so schnell wie möglich)
+        String uhrzeit = request.getParameter("zeitfenster");
+        if (uhrzeit != null && !uhrzeit.isBlank()) {
+            try {
+                bestellung.setWunschzeit(Zeitfenster.zeitpunkt(uhrzeit, bestellung.getZeitpunkt()));
+            } catch (IllegalArgumentException ignored) {
+                // Ungültige Uhrzeit (nicht aus dem Formular) → so schnell wie möglich
+            }
+        }
 
         // IP-Adresse und Session-ID speichern
         bestellung.setIpAdresse(request.getRemoteAddr());
         bestellung.setSessionId(request.getSession().getId());
+
+        // Liefergebiet prüfen – außerhalb gleich zurück zur Startseite, sonst Liefergebühr übernehmen
+        liefergebiete.pruefen();
+        BigDecimal liefergebuehr = liefergebiete.gebuehr(bestellung.getKunde().getPlz());
+        if (liefergebuehr == null) {
+            Filiale standard = filialen.getStandard();
+            request.setAttribute("fehler", "Leider liefern wir nicht in das PLZ-Gebiet "
+                    + bestellung.getKunde().getPlz() + ".");
+            request.setAttribute("eingabe", bestellung.getKunde());
+            request.setAttribute("filiale", standard);
+            request.setAttribute("speisekarte", standard.getSpeisekarte());
+            request.getRequestDispatcher("/startseite.jsp").forward(request, response);
+            diagnose.setErgebnis("NICHT_BELIEFERT");
+            diagnose.commit();
+            return;
+        }
+        bestellung.setLiefergebuehr(liefergebuehr);
+
+        // Zuständige Filiale über die PLZ bestimmen – läuft sie auf einem anderen Knoten,
+        // wird die Bestellung dorthin umgeleitet (307: POST-Daten bleiben erhalten)
+        Filiale filiale = filialen.fuerPlz(bestellung.getKunde().getPlz());
+        if (!filiale.isLokal()) {
+            response.setStatus(HttpServletResponse.SC_TEMPORARY_REDIRECT);
+            response.setHeader("Location", filiale.getUrl() + "/bestellen");
+            diagnose.setErgebnis("UMGELEITET");
+            diagnose.commit();
+            return;
+        }
+        Speisekarte speisekarte = filiale.getSpeisekarte();
         
         // --------------------------------------------------------------------------------------
         // 3. Bestellpositionen basierend auf der Speisekarte erstellen
         // --------------------------------------------------------------------------------------
+        PositionenGelesen gelesen = new PositionenGelesen();
+        gelesen.begin();
         for (Speise speise : speisekarte.getSpeisen()) {
-            String mengeStr = request.getParameter("menge_" + speise.getSpeiseId());
+            String mengeStr = (profil != null)
+                    ? String.valueOf(profil.getLetztePositionen().getOrDefault(speise.getSpeiseId(), 0))
+                    : request.getParameter("menge_" + speise.getSpeiseId());
             if (mengeStr != null && !mengeStr.isBlank()) {
                 try {
                     int menge = Integer.parseInt(mengeStr.trim());
@@ -100,20 +215,92 @@ public class BestellungServlet  extends HttpServlet {
             }
         }
 
+        gelesen.setzen(bestellung);
+        gelesen.commit();
+
+        // ------------------------------------------------------------
+        // 4. Bestellung annehmen – überschreitet sie die Eingabegrenzen, mit 400 abweisen; reicht der
+        //    Bestand nicht oder ist das Zeitfenster voll, zurück zur Startseite
         // ------------------------------------------------------------
-        // 4. Bestellung speichern und an Rechnung weiterleiten
+        BestellAnnahme.Ergebnis ergebnis = annahme.annehmen(filiale, bestellung);
+        if (ergebnis == BestellAnnahme.Ergebnis.UNGUELTIG) {
+            // Nicht aus dem Formular (maxlength, max) – nichts reserviert, nichts gespeichert
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Eingaben zu lang oder Menge über "
+                    + Bestellposition.MAX_MENGE + ".");
+            diagnose.setzen(bestellung);
+            diagnose.setErgebnis(ergebnis.name());
+            diagnose.commit();
+            return;
+        }
+        if (ergebnis == BestellAnnahme.Ergebnis.AUSVERKAUFT || ergebnis == BestellAnnahme.Ergebnis.ZEITFENSTER_BELEGT) {
+            if (ergebnis == BestellAnnahme.Ergebnis.ZEITFENSTER_BELEGT) {
+                request.setAttribute("fehler", "Das Zeitfenster " + uhrzeit.trim() + " Uhr ist leider ausgebucht "
+                        + "oder nicht mehr buchbar. Bitte wählen Sie eine andere Uhrzeit.");
+            } else {
+                StringBuilder fehlt = new StringBuilder();
+                for (Bestellposition pos : bestellung.getPositionen()) {
+                    if (!speisekarte.isVerfuegbar(pos.getSpeise().getSpeiseId())) {
+                        fehlt.append(fehlt.length() > 0 ? ", " : "").append(pos.getSpeise().getName());
+                    }
+                }
+                request.setAttribute("fehler", (fehlt.length() > 0)
+                        ? "Leider ausverkauft: " + fehlt + ". Bitte passen Sie Ihre Bestellung an."
+                        : "Leider reicht unser Vorrat nicht für diese Mengen. Bitte bestellen Sie weniger.");
+            }
+            request.setAttribute("eingabe", bestellung.getKunde());
+            request.setAttribute("filiale", filiale);
+            request.setAttribute("speisekarte", speisekarte);
+            request.getRequestDispatcher("/startseite.jsp").forward(request, response);
+            diagnose.setzen(bestellung);
+            diagnose.setErgebnis(ergebnis.name());
+            diagnose.commit();
+            return;
+        }
+
         // ------------------------------------------------------------
+        // 5. Bestellung speichern und an Rechnung weiterleiten
+        // ------------------------------------------------------------
+
         // Im Request-Scope (nur für rechnung.jsp)
         request.setAttribute("bestellung", bestellung);
 
         // Im Session-Scope (z. B. für kueche.jsp)
         request.getSession().setAttribute("bestellung", bestellung);
 
+        // Voraussichtliche Lieferung (Vorbestellung: Beginn des Zeitfensters, sonst gelernte Zeiten
+        // und aktuelle Auslastung der Küche)
+        if (ergebnis == BestellAnnahme.Ergebnis.ANGENOMMEN) {
+            long dauer = bestellung.isVorbestellt()
+                    ? bestellung.getWunschzeit() - bestellung.getZeitpunkt()
+                    : filiale.lieferzeitSchaetzen(bestellung);
+            request.setAttribute("lieferMinuten", Math.max(1, Math.round(dauer / 60_000.0)));
+            request.setAttribute("lieferUhrzeit", new Date(bestellung.getZeitpunkt() + dauer));
+        }
+
+        // Kundenprofil merken und Kunden per Cookie beim nächsten Besuch wiedererkennen
+        KundenStore kundenStore = (KundenStore) getServletContext().getAttribute("kundenStore");
+        if (kundenStore != null && !bestellung.getPositionen().isEmpty()) {
+            Kundenprofil neuesProfil = kundenStore.bestellungMerken(bestellung);
+            Cookie cookie = new Cookie(KundenprofilFilter.COOKIE, kundenStore.cookieWert(neuesProfil));
+            cookie.setMaxAge(180 * 24 * 60 * 60);   // 180 Tage
+            cookie.setHttpOnly(true);
+            cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+            response.addCookie(cookie);
+        }
+
         // ------------------------------------------------------------
-        // 5. Weiterleitung an die Rechnungsausgabe
+        // 6. Weiterleitung an die Rechnungsausgabe
         // ------------------------------------------------------------
+        RechnungErzeugt rechnung = new RechnungErzeugt();
+        rechnung.begin();
         RequestDispatcher dispatcher = request.getRequestDispatcher("rechnung.jsp");
         dispatcher.forward(request, response);
+        rechnung.setzen(bestellung);
+        rechnung.commit();
+
+        diagnose.setzen(bestellung);
+        diagnose.setErgebnis(ergebnis.name());
+        diagnose.commit();
 
         // Optional: Logging
         // System.out.println("Neue Bestellung: " + bestellung);             
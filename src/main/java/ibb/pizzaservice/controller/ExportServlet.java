@@ -0,0 +1,153 @@
+package ibb.pizzaservice.controller;
+
+import ibb.pizzaservice.service.BestellJournal;
+import ibb.pizzaservice.service.Filiale;
+import ibb.pizzaservice.service.Filialen;
+import ibb.pizzaservice.service.Gzip;
+import ibb.pizzaservice.service.Preisplan;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exportiert alle Bestellungen eines Tages als CSV-Datei für die Buchhaltung.
+ *
+ * Aufruf: {@code GET /export?datum=2026-10-19} (ohne Datum: heute), optional mit {@code &gzip=1}.
+ *
+ * Die Antwort wird direkt aus den Segmenten der {@link BestellJournal}e aller lokalen Filialen
+ * zusammengesetzt – ohne die Bestellungen in den Arbeitsspeicher zu laden:
+ * <ul>
+ *   <li>ohne Komprimierung werden die Segmente mit {@link FileChannel#transferTo} in die Antwort
+ *       kopiert (beim aktiven Segment nur der bereits festgeschriebene Teil); die Länge der Antwort
+ *       steht vorab fest</li>
+ *   <li>mit {@code gzip=1} werden die Segmente in Blöcken von 64 KB gelesen und mit einem Deflater
+ *       aus dem Pool von {@link Gzip} komprimiert</li>
+ * </ul>
+ * Stornierungen und Korrekturen stehen als Gegenbuchungen mit negativen Mengen und Beträgen im
+ * Export; die Spalte {@code status} kennzeichnet sie (siehe {@link BestellJournal}). Wer alle Zeilen
+ * aufaddiert, erhält die gültigen Werte; wer nur angenommene Bestellungen braucht, filtert auf eine
+ * leere Spalte {@code status}.
+ *
+ * Der Export liest nur Dateien und hält keine Sperren der Filialen; die Annahme neuer Bestellungen
+ * läuft währenddessen ungestört weiter.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@WebServlet("/export")
+public class ExportServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int BLOCK = 64 * 1024;
+
+    /**
+     * Liefert die CSV-Datei eines Tages.
+     *
+     * @param request  Parameter {@code datum} (ISO, z. B. 2026-10-19) und {@code gzip}
+     * @param response Antwortobjekt
+     * @throws ServletException bei Servlet-Fehlern
+     * @throws IOException      bei Kommunikationsfehlern
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        // ------------------------------------------------------------
+        // 1. Parameter prüfen
+        // ------------------------------------------------------------
+        LocalDate datum;
+        try {
+            String parameter = request.getParameter("datum");
+            datum = (parameter == null || parameter.isBlank()) ? LocalDate.now(Preisplan.ZONE) : LocalDate.parse(parameter.trim());
+        } catch (DateTimeParseException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Ungültiges Datum (erwartet: JJJJ-MM-TT).");
+            return;
+        }
+        boolean gzip = "1".equals(request.getParameter("gzip")) || "true".equals(request.getParameter("gzip"));
+
+        // ------------------------------------------------------------
+        // 2. Segmente aller lokalen Filialen einsammeln
+        // ------------------------------------------------------------
+        List<BestellJournal.Segment> segmente = new ArrayList<>();
+        Filialen filialen = (Filialen) getServletContext().getAttribute("filialen");
+        if (filialen != null) {
+            for (Filiale filiale : filialen.getAlle()) {
+                if (filiale.getJournal() != null) {
+                    segmente.addAll(filiale.getJournal().segmente(datum));
+                }
+            }
+        }
+
+        // ------------------------------------------------------------
+        // 3. Kopfzeile und Segmente streamen
+        // ------------------------------------------------------------
+        byte[] kopf = BestellJournal.KOPFZEILE.getBytes(StandardCharsets.UTF_8);
+        String dateiname = "bestellungen-" + datum + (gzip ? ".csv.gz" : ".csv");
+        response.setContentType(gzip ? "application/gzip" : "text/csv; charset=UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + dateiname + "\"");
+        response.setHeader("Cache-Control", "no-store");
+
+        if (gzip) {
+            try (OutputStream out = Gzip.strom(response.getOutputStream())) {
+                out.write(kopf);
+                ByteBuffer puffer = ByteBuffer.allocate(BLOCK);
+                for (BestellJournal.Segment segment : segmente) {
+                    try (FileChannel kanal = FileChannel.open(segment.getDatei(), StandardOpenOption.READ)) {
+                        long rest = segment.getLaenge();
+                        while (rest > 0) {
+                            puffer.clear();
+                            puffer.limit((int) Math.min(BLOCK, rest));
+                            int n = kanal.read(puffer);
+                            if (n < 0) {
+                                break;
+                            }
+                            out.write(puffer.array(), 0, n);
+                            rest -= n;
+                        }
+                    }
+                }
+            }
+            return;
+        }
+
+        long laenge = kopf.length;
+        for (BestellJournal.Segment segment : segmente) {
+            laenge += segment.getLaenge();
+        }
+        response.setContentLengthLong(laenge);
+
+        OutputStream out = response.getOutputStream();
+        out.write(kopf);
+        WritableByteChannel ziel = Channels.newChannel(out);
+        for (BestellJournal.Segment segment : segmente) {
+            try (FileChannel kanal = FileChannel.open(segment.getDatei(), StandardOpenOption.READ)) {
+                long position = 0;
+                while (position < segment.getLaenge()) {
+                    long n = kanal.transferTo(position, segment.getLaenge() - position, ziel);
+                    if (n <= 0) {
+                        break;
+                    }
+                    position += n;
+                }
+            }
+        }
+        out.flush();
+    }
+
+}
@@ -0,0 +1,170 @@
+package ibb.pizzaservice.controller;
+
+import ibb.pizzaservice.model.Bestellstatus;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Station;
+import ibb.pizzaservice.service.Filiale;
+import ibb.pizzaservice.service.Filialen;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Controller-Servlet für die Küchenansicht einer Filiale.
+ *
+ * Ermittelt die gewünschte {@link Filiale} (Parameter {@code filiale}, sonst die Filiale der
+ * Bestellung in der Session, sonst die Standard-Filiale) und übergibt deren offene Bestellungen an
+ * {@code kueche.jsp}.
+ *
+ * Über POST ({@code filiale}, {@code bestellId}, {@code status}) setzt die Küche den Status einer
+ * Bestellung weiter (im Ofen, fertig, geliefert, storniert). Die Änderung wird als Ereignis im
+ * Ereignisprotokoll der Filiale gespeichert; anschließend wird wieder die Küchenansicht angezeigt.
+ *
+ * Mit dem Parameter {@code station} zeigt die Ansicht zusätzlich die Warteschlange einer
+ * {@link Station} und die dort in Arbeit befindlichen Aufgaben. Ein Koch holt per POST mit
+ * {@code aktion=holen} seine nächste Aufgabe (notfalls von einer kompatiblen Station) und meldet sie
+ * mit {@code aktion=erledigt} und {@code aufgabe} als fertig.
+ *
+ * Die Ansicht zeigt Namen und Adressen aller offenen Bestellungen; die web.xml beschränkt sie daher
+ * auf angemeldete Benutzer mit der Rolle {@code kueche} oder {@code admin}.
+ * 
+ * Ablauf (GET):
+ * <ol>
+ *   <li>Filialen aus dem Application-Scope abrufen</li>
+ *   <li>Filiale und Station bestimmen</li>
+ *   <li>Filiale, alle Filialen, offene Bestellungen und Aufgaben der Station im Request-Scope ablegen</li>
+ *   <li>Weiterleitung an {@code kueche.jsp}</li>
+ * </ol>
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@WebServlet("/kueche")
+public class KuecheServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Zeigt die offenen Bestellungen einer Filiale an.
+     *
+     * @param request  optionaler Parameter {@code filiale}
+     * @param response Antwortobjekt
+     * @throws ServletException bei Fehlern in der JSP-Weiterleitung
+     * @throws IOException      bei Kommunikationsfehlern
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        Filialen filialen = (Filialen) getServletContext().getAttribute("filialen");
+        if (filialen == null) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Filialen sind nicht initialisiert.");
+            return;
+        }
+
+        Filiale filiale = filiale(request, filialen);
+        request.setAttribute("filiale", filiale);
+        request.setAttribute("filialen", filialen.getAlle());
+        request.setAttribute("offeneBestellungen", filiale.getOffeneBestellungen());
+        request.setAttribute("stationen", Station.values());
+        request.setAttribute("kuechenstationen", filiale.getStationen());
+        Station station = station(request);
+        if (station != null) {
+            request.setAttribute("station", station);
+            request.setAttribute("warteschlange", filiale.getStationen().getWarteschlange(station));
+            request.setAttribute("inArbeit", filiale.getStationen().getInArbeit(station));
+        }
+
+        RequestDispatcher dispatcher = request.getRequestDispatcher("/kueche.jsp");
+        dispatcher.forward(request, response);
+    }
+
+    /**
+     * Bestimmt die anzuzeigende Filiale.
+     *
+     * @param request  aktuelle Anfrage
+     * @param filialen alle Filialen
+     * @return gewünschte Filiale, Filiale der Session-Bestellung oder Standard-Filiale
+     */
+    static Filiale filiale(HttpServletRequest request, Filialen filialen) {
+        Filiale filiale = filialen.get(request.getParameter("filiale"));
+        if (filiale == null && request.getSession(false) != null) {
+            Bestellung bestellung = (Bestellung) request.getSession(false).getAttribute("bestellung");
+            if (bestellung != null) {
+                filiale = filialen.get(bestellung.getFilialeId());
+            }
+        }
+        return (filiale != null) ? filiale : filialen.getStandard();
+    }
+
+    /** Station aus dem Parameter {@code station} (null: keine oder unbekannte Station) */
+    private static Station station(HttpServletRequest request) {
+        String name = request.getParameter("station");
+        if (name == null || name.isBlank()) {
+            return null;
+        }
+        try {
+            return Station.valueOf(name.trim());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Setzt den Status einer Bestellung oder holt bzw. erledigt eine Aufgabe einer Station und leitet
+     * zurück zur Küchenansicht (Post/Redirect/Get).
+     *
+     * @param request  Parameter {@code filiale} und {@code bestellId}/{@code status} oder
+     *                 {@code aktion}/{@code station}/{@code aufgabe}
+     * @param response Antwortobjekt
+     * @throws ServletException bei Servlet-Fehlern
+     * @throws IOException      bei Kommunikationsfehlern
+     */
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        Filialen filialen = (Filialen) getServletContext().getAttribute("filialen");
+        Filiale filiale = (filialen != null) ? filialen.get(request.getParameter("filiale")) : null;
+        if (filiale == null || !filiale.isLokal()) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unbekannte Filiale.");
+            return;
+        }
+
+        Station station = station(request);
+        String aktion = request.getParameter("aktion");
+        try {
+            if ("holen".equals(aktion) && station != null) {
+                filiale.aufgabeHolen(station);
+            } else if ("erledigt".equals(aktion)) {
+                filiale.aufgabeErledigt(Long.parseLong(request.getParameter("aufgabe"))).get(2, TimeUnit.SECONDS);
+            } else {
+                long bestellId = Long.parseLong(request.getParameter("bestellId"));
+                Bestellstatus status = Bestellstatus.valueOf(request.getParameter("status"));
+                // Kurz auf den Filial-Thread warten, damit die folgende Ansicht den neuen Status zeigt
+                filiale.statusAendern(bestellId, status).get(2, TimeUnit.SECONDS);
+            }
+        } catch (IllegalArgumentException | NullPointerException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Ungültige Aufgabe, Bestellung oder ungültiger Status.");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Änderung wird ggf. später sichtbar – Küchenansicht trotzdem anzeigen
+        }
+
+        response.sendRedirect("kueche?filiale=" + URLEncoder.encode(filiale.getId(), StandardCharsets.UTF_8)
+                + ((station != null) ? "&station=" + station.name() : ""));
+    }
+
+}
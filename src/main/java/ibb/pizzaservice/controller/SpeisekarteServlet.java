@@ -48,9 +48,12 @@ public class SpeisekarteServlet extends HttpServlet {
     public void init(ServletConfig config) throws ServletException {
         super.init(config);
 
-        // Speisekarte einmalig erzeugen und im Application-Scope speichern
-        Speisekarte speisekarte = new Speisekarte();
-        getServletContext().setAttribute("speisekarte", speisekarte);
+        // Speisekarte einmalig erzeugen und im Application-Scope speichern – sofern der
+        // SpeisekarteListener nicht bereits die Karte der Standard-Filiale abgelegt hat
+        if (getServletContext().getAttribute("speisekarte") == null) {
+            Speisekarte speisekarte = new Speisekarte();
+            getServletContext().setAttribute("speisekarte", speisekarte);
+        }
 
         // Optionales Logging für Serverkonsole:
         // System.out.println("Speisekarte erfolgreich im Application-Scope initialisiert.");
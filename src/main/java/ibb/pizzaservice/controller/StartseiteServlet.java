@@ -1,6 +1,10 @@
 package ibb.pizzaservice.controller;
 
+import ibb.pizzaservice.filter.KundenprofilFilter;
+import ibb.pizzaservice.model.Kundenprofil;
 import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.service.Filiale;
+import ibb.pizzaservice.service.Filialen;
 import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -23,8 +27,9 @@ import java.io.IOException;
  * 
  * Ablauf:
  * <ol>
- *   <li>Erstellt eine neue Instanz der {@link Speisekarte}</li>
- *   <li>Setzt diese als Attribut im Request</li>
+ *   <li>Ermittelt die zuständige {@link Filiale} über den Parameter {@code plz} oder die PLZ
+ *       des wiedererkannten Stammkunden</li>
+ *   <li>Setzt deren {@link Speisekarte} und die Filiale als Attribute im Request</li>
  *   <li>Leitet an {@code startseite.jsp} weiter</li>
  * </ol>
  * 
@@ -49,9 +54,24 @@ public class StartseiteServlet  extends HttpServlet {
     protected void doGet(HttpServletRequest request, HttpServletResponse response)
             throws ServletException, IOException {
 
-        // Speisekarte nur einmalig für diese Anfrage erzeugen
-        Speisekarte speisekarte = new Speisekarte();
-        request.setAttribute("speisekarte", speisekarte);
+        // Filiale über die PLZ bestimmen (Parameter oder gespeichertes Kundenprofil)
+        String plz = request.getParameter("plz");
+        if (plz == null) {
+            Kundenprofil profil = KundenprofilFilter.profil(request);
+            if (profil != null) {
+                plz = profil.getKunde().getPlz();
+            }
+        }
+
+        Filialen filialen = (Filialen) getServletContext().getAttribute("filialen");
+        if (filialen != null) {
+            Filiale filiale = filialen.fuerPlz(plz);
+            request.setAttribute("filiale", filiale);
+            request.setAttribute("speisekarte", filiale.getSpeisekarte());
+        } else {
+            // Speisekarte nur einmalig für diese Anfrage erzeugen
+            request.setAttribute("speisekarte", new Speisekarte());
+        }
 
         // Weiterleitung an die JSP-Seite für die Darstellung der Startseite
         RequestDispatcher dispatcher = request.getRequestDispatcher("/startseite.jsp");
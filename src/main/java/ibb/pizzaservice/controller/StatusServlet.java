@@ -0,0 +1,151 @@
+package ibb.pizzaservice.controller;
+
+import ibb.pizzaservice.model.Station;
+import ibb.pizzaservice.service.Filiale;
+import ibb.pizzaservice.service.Filialen;
+import ibb.pizzaservice.service.KundenStore;
+import ibb.pizzaservice.service.Lager;
+import ibb.pizzaservice.service.Latenzhistogramm;
+import ibb.pizzaservice.service.Liefergebiete;
+import ibb.pizzaservice.service.LruCache;
+import ibb.pizzaservice.service.RechnungsArchiv;
+import ibb.pizzaservice.service.Stufenzeiten.Stufe;
+import ibb.pizzaservice.service.Zeitfenster;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Liefert Betriebskennzahlen des PizzaService als Text (z. B. für Monitoring-Skripte).
+ *
+ * Jede Zeile hat die Form {@code name=wert}. Derzeit enthalten:
+ * <ul>
+ *   <li>Kundenprofil-Cache: Einträge, Treffer, Fehlgriffe, Trefferquote, Verdrängungen, Speicherbedarf</li>
+ *   <li>Filialen: angenommene Bestellungen, Warteschlange, offene Bestellungen, Ereignisprotokoll,
+ *       Zutatenbestand und ausverkaufte Speisen, Warteschlangen und mittlere Aufgabendauer der
+ *       Küchenstationen, mittlere Lieferzeit, Zeitfenster (Kapazität je Fenster, gebuchte Pizzen,
+ *       buchbare Fenster), Laufzeiten der Stufen des Bestellpfads (p50, p99, Maximum in µs)</li>
+ *   <li>Liefergebiete: Anzahl der PLZ-Bereiche</li>
+ *   <li>Rechnungsarchiv: Rückstand, archivierte, synchron archivierte Rechnungen, fehlgeschlagene Schreibversuche und verworfene Rechnungen</li>
+ * </ul>
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@WebServlet("/status")
+public class StatusServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Gibt alle Kennzahlen als {@code text/plain} aus.
+     *
+     * @param request  aktuelle Anfrage
+     * @param response Antwortobjekt
+     * @throws ServletException bei Servlet-Fehlern
+     * @throws IOException      bei Kommunikationsfehlern
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        response.setContentType("text/plain; charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        PrintWriter out = response.getWriter();
+
+        // ------------------------------------------------------------
+        // Kundenprofil-Cache
+        // ------------------------------------------------------------
+        KundenStore kundenStore = (KundenStore) getServletContext().getAttribute("kundenStore");
+        if (kundenStore != null) {
+            LruCache<?, ?> cache = kundenStore.getCache();
+            out.println("kunden.cache.eintraege=" + cache.size());
+            out.println("kunden.cache.treffer=" + cache.getTreffer());
+            out.println("kunden.cache.fehlgriffe=" + cache.getFehlgriffe());
+            out.println("kunden.cache.trefferquote=" + String.format(Locale.ROOT, "%.3f", cache.getTrefferquote()));
+            out.println("kunden.cache.verdraengt=" + cache.getVerdraengt());
+            out.println("kunden.cache.bytes=" + cache.getGeschaetzteBytes());
+        }
+
+        // ------------------------------------------------------------
+        // Liefergebiete
+        // ------------------------------------------------------------
+        Liefergebiete liefergebiete = (Liefergebiete) getServletContext().getAttribute("liefergebiete");
+        if (liefergebiete != null) {
+            out.println("liefergebiete.bereiche=" + liefergebiete.getBereiche());
+        }
+
+        // ------------------------------------------------------------
+        // Rechnungsarchiv
+        // ------------------------------------------------------------
+        RechnungsArchiv archiv = (RechnungsArchiv) getServletContext().getAttribute("rechnungsArchiv");
+        if (archiv != null) {
+            out.println("archiv.rueckstand=" + archiv.getRueckstand());
+            out.println("archiv.archiviert=" + archiv.getArchiviert());
+            out.println("archiv.synchron=" + archiv.getSynchron());
+            out.println("archiv.fehler=" + archiv.getFehler());
+            out.println("archiv.verworfen=" + archiv.getVerworfen());
+        }
+
+        // ------------------------------------------------------------
+        // Filialen (nur lokale Partitionen)
+        // ------------------------------------------------------------
+        Filialen filialen = (Filialen) getServletContext().getAttribute("filialen");
+        if (filialen != null) {
+            for (Filiale filiale : filialen.getAlle()) {
+                if (filiale.isLokal()) {
+                    String praefix = "filiale." + filiale.getId() + ".";
+                    out.println(praefix + "angenommen=" + filiale.getAngenommen());
+                    out.println(praefix + "warteschlange=" + filiale.getWarteschlange());
+                    out.println(praefix + "offen=" + filiale.getAnzahlOffen());
+                    if (filiale.getProtokoll() != null) {
+                        out.println(praefix + "ereignisse.bytes=" + filiale.getProtokoll().getPosition());
+                        out.println(praefix + "ereignisse.abgespielt=" + filiale.getProtokoll().getAbgespielt());
+                        out.println(praefix + "ereignisse.wiederherstellung.ms="
+                                + filiale.getProtokoll().getWiederherstellungMillis());
+                    }
+                    for (Station station : Station.values()) {
+                        out.println(praefix + "station." + station.name().toLowerCase(Locale.ROOT) + ".wartend="
+                                + filiale.getStationen().getLaenge(station));
+                        out.println(praefix + "station." + station.name().toLowerCase(Locale.ROOT) + ".uebernommen="
+                                + filiale.getStationen().getUebernommen(station));
+                        out.println(praefix + "station." + station.name().toLowerCase(Locale.ROOT) + ".aufgabe.ms="
+                                + filiale.getLieferzeiten().getAufgabendauer(station));
+                    }
+                    out.println(praefix + "lieferung.ms=" + filiale.getLieferzeiten().getLieferdauer());
+                    Zeitfenster zeitfenster = filiale.getZeitfenster();
+                    if (zeitfenster != null) {
+                        out.println(praefix + "zeitfenster.kapazitaet=" + zeitfenster.getKapazitaet());
+                        out.println(praefix + "zeitfenster.belegt=" + zeitfenster.getBelegt());
+                        out.println(praefix + "zeitfenster.buchbar=" + zeitfenster.getBuchbar().size());
+                    }
+                    Lager lager = filiale.getLager();
+                    if (lager != null) {
+                        for (Map.Entry<String, Long> zutat : lager.getBestand().entrySet()) {
+                            out.println(praefix + "lager." + zutat.getKey() + "=" + zutat.getValue());
+                        }
+                        out.println(praefix + "lager.abgelehnt=" + lager.getAbgelehnt());
+                        out.println(praefix + "ausverkauft=" + String.join(",", filiale.getSpeisekarte().getAusverkauft()));
+                    }
+                    for (Stufe stufe : Stufe.values()) {
+                        Latenzhistogramm zeiten = filiale.getStufenzeiten().get(stufe);
+                        if (zeiten.getAnzahl() > 0) {
+                            String name = praefix + "stufe." + stufe.name().toLowerCase(Locale.ROOT);
+                            out.println(name + ".p50.us=" + zeiten.quantil(0.5) / 1000);
+                            out.println(name + ".p99.us=" + zeiten.quantil(0.99) / 1000);
+                            out.println(name + ".max.us=" + zeiten.getMaximum() / 1000);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,98 @@
+package ibb.pizzaservice.controller;
+
+import ibb.pizzaservice.listener.SpeisekarteListener;
+import ibb.pizzaservice.service.Filialen;
+import ibb.pizzaservice.service.Preisplan;
+import ibb.pizzaservice.service.Tagesabschluss;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Zeigt den {@link Tagesabschluss} eines Tages als Text an.
+ *
+ * Aufruf: {@code GET /admin/tagesabschluss?datum=2026-10-19} (ohne Datum: heute), optional mit
+ * {@code &neu=1}.
+ *
+ * Für vergangene Tage wird der abgelegte Bericht ausgeliefert und nur erstellt, wenn er fehlt. Für
+ * den laufenden Tag und mit {@code neu=1} wird der Bericht neu berechnet und abgelegt. Läuft bereits
+ * ein Tagesabschluss, antwortet das Servlet mit 503.
+ *
+ * Der Pfad {@code /admin/*} ist über die Sicherheitseinstellungen des Containers zu schützen.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@WebServlet("/admin/tagesabschluss")
+public class TagesabschlussServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Liefert den Bericht eines Tages.
+     *
+     * @param request  Parameter {@code datum} (ISO, z. B. 2026-10-19) und {@code neu}
+     * @param response Antwortobjekt
+     * @throws ServletException bei Servlet-Fehlern
+     * @throws IOException      bei Kommunikationsfehlern
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        // ------------------------------------------------------------
+        // 1. Parameter prüfen
+        // ------------------------------------------------------------
+        LocalDate heute = LocalDate.now(Preisplan.ZONE);
+        LocalDate datum;
+        try {
+            String parameter = request.getParameter("datum");
+            datum = (parameter == null || parameter.isBlank()) ? heute : LocalDate.parse(parameter.trim());
+        } catch (DateTimeParseException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Ungültiges Datum (erwartet: JJJJ-MM-TT).");
+            return;
+        }
+        boolean neu = "1".equals(request.getParameter("neu")) || "true".equals(request.getParameter("neu"));
+
+        Filialen filialen = (Filialen) getServletContext().getAttribute("filialen");
+        if (filialen == null) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Filialen nicht geladen.");
+            return;
+        }
+        Tagesabschluss tagesabschluss = (Tagesabschluss) getServletContext().getAttribute("tagesabschluss");
+        if (tagesabschluss == null) {
+            tagesabschluss = SpeisekarteListener.tagesabschluss(getServletContext());
+            getServletContext().setAttribute("tagesabschluss", tagesabschluss);
+        }
+
+        // ------------------------------------------------------------
+        // 2. Bericht erstellen (falls nötig)
+        // ------------------------------------------------------------
+        Path datei = tagesabschluss.getDatei(datum);
+        if (neu || !datum.isBefore(heute) || !Files.exists(datei)) {
+            try {
+                datei = tagesabschluss.erstellen(filialen, datum);
+            } catch (IllegalStateException e) {
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, e.getMessage());
+                return;
+            }
+        }
+
+        // ------------------------------------------------------------
+        // 3. Bericht ausliefern
+        // ------------------------------------------------------------
+        response.setContentType("text/plain; charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.setContentLengthLong(Files.size(datei));
+        Files.copy(datei, response.getOutputStream());
+    }
+
+}
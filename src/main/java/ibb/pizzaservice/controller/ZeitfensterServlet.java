@@ -0,0 +1,87 @@
+package ibb.pizzaservice.controller;
+
+import ibb.pizzaservice.service.Filiale;
+import ibb.pizzaservice.service.Filialen;
+import ibb.pizzaservice.service.Zeitfenster;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.List;
+
+/**
+ * Liefert die aktuell buchbaren {@link Zeitfenster} einer Filiale als JSON.
+ *
+ * Aufruf: {@code GET /zeitfenster?plz=10115&pizzen=3} (oder {@code filiale=mitte} statt {@code plz}).
+ * Geliefert werden nur Fenster, die noch Platz für die angegebene Zahl Pizzen haben:
+ * <pre>
+ * {"filiale":"mitte","fenster":[{"uhrzeit":"19:00","frei":14},{"uhrzeit":"19:15","frei":3}]}
+ * </pre>
+ * Die Startseite fragt die Fenster regelmäßig ab und blendet volle Fenster aus. Filialen auf
+ * anderen Knoten und Filialen ohne Zeitfenster liefern eine leere Liste.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@WebServlet("/zeitfenster")
+public class ZeitfensterServlet extends HttpServlet {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Gibt die buchbaren Fenster als {@code application/json} aus.
+     *
+     * @param request  Parameter {@code plz} oder {@code filiale}, optional {@code pizzen}
+     * @param response Antwortobjekt
+     * @throws ServletException bei Servlet-Fehlern
+     * @throws IOException      bei Kommunikationsfehlern
+     */
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        Filialen filialen = (Filialen) getServletContext().getAttribute("filialen");
+        if (filialen == null) {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Filialen nicht geladen.");
+            return;
+        }
+        Filiale filiale = filialen.get(request.getParameter("filiale"));
+        if (filiale == null) {
+            filiale = filialen.fuerPlz(request.getParameter("plz"));
+        }
+        int pizzen = 1;
+        String parameter = request.getParameter("pizzen");
+        if (parameter != null && !parameter.isBlank()) {
+            try {
+                pizzen = Math.max(1, Integer.parseInt(parameter.trim()));
+            } catch (NumberFormatException e) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Ungültige Anzahl Pizzen.");
+                return;
+            }
+        }
+
+        Zeitfenster zeitfenster = filiale.isLokal() ? filiale.getZeitfenster() : null;
+        List<Zeitfenster.Fenster> buchbar = (zeitfenster != null)
+                ? zeitfenster.getBuchbar(System.currentTimeMillis(), pizzen)
+                : List.of();
+
+        response.setContentType("application/json; charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        StringBuilder json = new StringBuilder(64 + 32 * buchbar.size());
+        json.append("{\"filiale\":\"").append(filiale.getId()).append("\",\"fenster\":[");
+        for (int i = 0; i < buchbar.size(); i++) {
+            Zeitfenster.Fenster fenster = buchbar.get(i);
+            json.append(i > 0 ? "," : "")
+                .append("{\"uhrzeit\":\"").append(fenster.getUhrzeit())
+                .append("\",\"frei\":").append(fenster.getFrei()).append('}');
+        }
+        json.append("]}");
+        PrintWriter out = response.getWriter();
+        out.print(json);
+    }
+
+}
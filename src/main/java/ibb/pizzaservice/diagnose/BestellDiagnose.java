@@ -0,0 +1,67 @@
+package ibb.pizzaservice.diagnose;
+
+import ibb.pizzaservice.model.Bestellung;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Gemeinsame Grundlage der Java-Flight-Recorder-Ereignisse des PizzaService.
+ *
+ * Jedes Ereignis trägt Bestell-ID, Filiale, Anzahl Positionen und Gesamtpreis; die Dauer misst JFR
+ * selbst zwischen {@link #begin()} und {@link #commit()}. Ist ein Ereignis nicht eingeschaltet oder
+ * liegt seine Dauer unter dem Schwellwert, kostet {@code commit()} nur eine Abfrage. So können die
+ * Ereignisse im Dauerbetrieb mitlaufen und bei einem Engpass neben GC- und Sperr-Ereignissen der JVM
+ * ausgewertet werden.
+ *
+ * Einstellungen liegen unter {@code /jfr} im Klassenpfad:
+ * <ul>
+ *   <li>{@code pizzaservice-dauerbetrieb.jfc} – nur langsame Anfragen und alle Statuswechsel der Küche,
+ *       ohne Stacktraces; für die ständig laufende Aufzeichnung</li>
+ *   <li>{@code pizzaservice-analyse.jfc} – alle Ereignisse mit Stacktraces; für die gezielte Analyse</li>
+ * </ul>
+ * Start zusammen mit den Standardeinstellungen der JVM:
+ * <pre>
+ * -XX:StartFlightRecording=name=pizzaservice,settings=default,settings=/pfad/pizzaservice-dauerbetrieb.jfc,disk=true,maxage=6h
+ * jcmd &lt;pid&gt; JFR.dump name=pizzaservice filename=rush.jfr
+ * </pre>
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@Category({"PizzaService", "Bestellung"})
+@StackTrace(false)
+public abstract class BestellDiagnose extends Event {
+
+    @Label("Bestell-ID")
+    long bestellId;
+
+    @Label("Filiale")
+    String filiale;
+
+    @Label("Positionen")
+    @Description("Anzahl Bestellpositionen")
+    int positionen;
+
+    @Label("Gesamtpreis")
+    @Description("Gesamtpreis in Euro nach Rabatten")
+    double gesamt;
+
+    /**
+     * Übernimmt ID, Filiale, Positionen und Gesamtpreis einer Bestellung (nur wenn aufgezeichnet wird).
+     *
+     * @param bestellung betroffene Bestellung
+     */
+    public void setzen(Bestellung bestellung) {
+        if (shouldCommit()) {
+            bestellId = bestellung.getBestellId();
+            filiale = bestellung.getFilialeId();
+            positionen = bestellung.getPositionen().size();
+            gesamt = bestellung.getGesamtpreis().doubleValue();
+        }
+    }
+
+}
@@ -0,0 +1,29 @@
+package ibb.pizzaservice.diagnose;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR-Ereignis für eine Bestellanfrage im {@link ibb.pizzaservice.controller.BestellungServlet} – vom
+ * Eingang bis zur fertigen Rechnung (oder zur Rückleitung auf die Startseite).
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@Name("ibb.pizzaservice.BestellungEmpfangen")
+@Label("Bestellung empfangen")
+@Description("Bearbeitung einer Bestellanfrage im BestellungServlet")
+public class BestellungEmpfangen extends BestellDiagnose {
+
+    @Label("Ergebnis")
+    @Description("Ergebnis der BestellAnnahme (ANGENOMMEN, LEER, AUSVERKAUFT, ZEITFENSTER_BELEGT, UNGUELTIG) "
+            + "oder NICHT_BELIEFERT bzw. UMGELEITET vor der Annahme")
+    String ergebnis;
+
+    public void setErgebnis(String ergebnis) {
+        this.ergebnis = ergebnis;
+    }
+
+}
@@ -0,0 +1,28 @@
+package ibb.pizzaservice.diagnose;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR-Ereignis für das Speichern einer angenommenen Bestellung im Thread der Filiale
+ * (Ereignisprotokoll, Küchenstationen, Tagesjournal, Rechnungsarchiv).
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@Name("ibb.pizzaservice.BestellungGespeichert")
+@Label("Bestellung gespeichert")
+@Description("Bestellung im Thread der Filiale protokolliert, verteilt, ins Journal geschrieben und archiviert")
+public class BestellungGespeichert extends BestellDiagnose {
+
+    @Label("Warteschlange")
+    @Description("Bestellungen, die danach noch in der Warteschlange der Filiale warten")
+    int warteschlange;
+
+    public void setWarteschlange(int warteschlange) {
+        this.warteschlange = warteschlange;
+    }
+
+}
@@ -0,0 +1,49 @@
+package ibb.pizzaservice.diagnose;
+
+import ibb.pizzaservice.model.Bestellstatus;
+import ibb.pizzaservice.model.Station;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR-Ereignis für einen Statuswechsel einer Bestellung in der Küche (im Ofen, fertig, geliefert,
+ * storniert). Die Dauer umfasst das Speichern des Ereignisses im Thread der Filiale.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@Name("ibb.pizzaservice.KuechenstatusGeaendert")
+@Label("Küchenstatus geändert")
+@Description("Statuswechsel einer Bestellung in der Küche")
+@Category({"PizzaService", "Küche"})
+public class KuechenstatusGeaendert extends BestellDiagnose {
+
+    @Label("Bisheriger Status")
+    String bisher;
+
+    @Label("Neuer Status")
+    String status;
+
+    @Label("Station")
+    @Description("Station des Kochs, falls der Wechsel über eine Küchenaufgabe ausgelöst wurde")
+    String station;
+
+    /**
+     * Setzt den Statuswechsel.
+     *
+     * @param bisher bisheriger Status
+     * @param status neuer Status
+     */
+    public void setStatus(Bestellstatus bisher, Bestellstatus status) {
+        this.bisher = bisher.name();
+        this.status = status.name();
+    }
+
+    public void setStation(Station station) {
+        this.station = (station != null) ? station.name() : null;
+    }
+
+}
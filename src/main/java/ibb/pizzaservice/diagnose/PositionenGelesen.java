@@ -0,0 +1,19 @@
+package ibb.pizzaservice.diagnose;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR-Ereignis für das Aufbauen der Bestellpositionen aus den Formularfeldern (bzw. dem Kundenprofil).
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@Name("ibb.pizzaservice.PositionenGelesen")
+@Label("Positionen gelesen")
+@Description("Bestellpositionen aus dem Formular gegen die Speisekarte der Filiale aufgebaut")
+public class PositionenGelesen extends BestellDiagnose {
+
+}
@@ -0,0 +1,19 @@
+package ibb.pizzaservice.diagnose;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR-Ereignis für das Erzeugen der Rechnungsseite ({@code rechnung.jsp}).
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@Name("ibb.pizzaservice.RechnungErzeugt")
+@Label("Rechnung erzeugt")
+@Description("rechnung.jsp für eine angenommene Bestellung erzeugt")
+public class RechnungErzeugt extends BestellDiagnose {
+
+}
@@ -0,0 +1,210 @@
+package ibb.pizzaservice.filter;
+
+import ibb.pizzaservice.service.Gzip;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.annotation.WebInitParam;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Locale;
+
+/**
+ * Komprimiert dynamisch erzeugte Seiten (JSPs und Servlets) mit GZIP.
+ *
+ * Die Antwort wird zunächst gepuffert. Erst am Ende wird entschieden, ob sich die Komprimierung lohnt:
+ * <ul>
+ *   <li>der Client akzeptiert {@code gzip} ({@code Accept-Encoding})</li>
+ *   <li>der Content-Type ist textbasiert (HTML, CSS, JavaScript, JSON, Text)</li>
+ *   <li>die Antwort ist mindestens {@code schwelle} Bytes groß (Standard: 1024)</li>
+ * </ul>
+ * Sehr kleine Antworten werden unkomprimiert gesendet, da der GZIP-Overhead sonst überwiegt.
+ * Die eigentliche Komprimierung erfolgt mit wiederverwendeten Deflatern aus {@link Gzip}.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@WebFilter(urlPatterns = {"*.jsp", "/bestellen", "/startseite", "/kueche", "/status", "/zeitfenster"},
+           dispatcherTypes = DispatcherType.REQUEST,
+           initParams = @WebInitParam(name = "schwelle", value = "1024"))
+public class KomprimierungFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    private int schwelle;   /** Mindestgröße in Bytes, ab der komprimiert wird */
+
+    @Override
+    public void init() throws ServletException {
+        String parameter = getInitParameter("schwelle");
+        schwelle = (parameter != null) ? Integer.parseInt(parameter.trim()) : 1024;
+    }
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (!akzeptiertGzip(request) || "HEAD".equals(request.getMethod())) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // Vary-Header setzen, damit Proxys komprimierte und unkomprimierte Varianten trennen
+        response.addHeader("Vary", "Accept-Encoding");
+
+        PufferAntwort puffer = new PufferAntwort(response);
+        chain.doFilter(request, puffer);
+        puffer.abschliessen();
+
+        if (response.isCommitted()) {
+            return;
+        }
+        byte[] daten = puffer.daten.toByteArray();
+        int laenge = puffer.daten.size();
+        if (laenge >= schwelle && komprimierbar(response.getContentType())) {
+            byte[] gz = Gzip.komprimieren(daten, 0, laenge);
+            response.setHeader("Content-Encoding", "gzip");
+            response.setContentLength(gz.length);
+            response.getOutputStream().write(gz);
+        } else if (laenge > 0) {
+            response.setContentLength(laenge);
+            response.getOutputStream().write(daten, 0, laenge);
+        }
+    }
+
+    /**
+     * Prüft, ob der Client GZIP-kodierte Antworten akzeptiert.
+     *
+     * @param request aktuelle Anfrage
+     * @return true, wenn "gzip" im Accept-Encoding-Header steht
+     */
+    static boolean akzeptiertGzip(HttpServletRequest request) {
+        String kodierung = request.getHeader("Accept-Encoding");
+        return kodierung != null && kodierung.toLowerCase(Locale.ROOT).contains("gzip");
+    }
+
+    /**
+     * Prüft, ob sich ein Content-Type für die Komprimierung eignet.
+     *
+     * @param contentType Content-Type der Antwort (darf null sein)
+     * @return true für textbasierte Formate
+     */
+    static boolean komprimierbar(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        String typ = contentType.toLowerCase(Locale.ROOT);
+        return typ.startsWith("text/")
+                || typ.startsWith("application/json")
+                || typ.startsWith("application/javascript")
+                || typ.startsWith("image/svg+xml");
+    }
+
+    /**
+     * Response-Wrapper, der den gesamten Inhalt im Arbeitsspeicher puffert.
+     */
+    private static final class PufferAntwort extends HttpServletResponseWrapper {
+
+        private final ByteArrayOutputStream daten = new ByteArrayOutputStream(8192);
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        PufferAntwort(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (writer != null) {
+                throw new IllegalStateException("getWriter() wurde bereits aufgerufen.");
+            }
+            if (stream == null) {
+                stream = new ServletOutputStream() {
+                    @Override
+                    public void write(int b) {
+                        daten.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        daten.write(b, off, len);
+                    }
+
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        // Der Puffer im Arbeitsspeicher ist immer schreibbereit
+                        try {
+                            writeListener.onWritePossible();
+                        } catch (IOException | RuntimeException e) {
+                            writeListener.onError(e);
+                        }
+                    }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (stream != null) {
+                throw new IllegalStateException("getOutputStream() wurde bereits aufgerufen.");
+            }
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(daten, Charset.forName(getCharacterEncoding())));
+            }
+            return writer;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+            // Länge wird nach der Komprimierung gesetzt
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+            // Länge wird nach der Komprimierung gesetzt
+        }
+
+        @Override
+        public void flushBuffer() {
+            // Nicht an den Client durchreichen – sonst wäre die Antwort bereits festgeschrieben
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+
+        @Override
+        public void resetBuffer() {
+            super.resetBuffer();
+            daten.reset();
+        }
+
+        @Override
+        public void reset() {
+            super.reset();
+            daten.reset();
+        }
+
+        void abschliessen() {
+            if (writer != null) {
+                writer.flush();
+            }
+        }
+    }
+
+}
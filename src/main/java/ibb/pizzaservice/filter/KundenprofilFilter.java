@@ -0,0 +1,69 @@
+package ibb.pizzaservice.filter;
+
+import ibb.pizzaservice.model.Kundenprofil;
+import ibb.pizzaservice.service.KundenStore;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Erkennt wiederkehrende Kunden vor der Anzeige der Startseite.
+ *
+ * Der Filter liest das Cookie {@value #COOKIE} (wird vom BestellungServlet gesetzt), sucht das
+ * passende {@link Kundenprofil} im {@link KundenStore} und legt es unter {@code kundenprofil} im
+ * Request-Scope ab. {@code startseite.jsp} füllt damit das Formular vor und bietet an, die letzte
+ * Bestellung zu wiederholen.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@WebFilter(urlPatterns = {"/startseite.jsp", "/startseite"},
+           dispatcherTypes = {DispatcherType.REQUEST, DispatcherType.FORWARD})
+public class KundenprofilFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Name des Cookies mit der signierten Kunden-ID (siehe {@link KundenStore#cookieWert}) */
+    public static final String COOKIE = "pizzaservice_kunde";
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        if (request.getAttribute("kundenprofil") == null) {
+            Kundenprofil profil = profil(request);
+            if (profil != null) {
+                request.setAttribute("kundenprofil", profil);
+            }
+        }
+        chain.doFilter(request, response);
+    }
+
+    /**
+     * Sucht das Kundenprofil zum Cookie der Anfrage.
+     *
+     * @param request aktuelle Anfrage
+     * @return Profil oder null, falls kein Cookie vorhanden oder Kunde unbekannt
+     */
+    public static Kundenprofil profil(HttpServletRequest request) {
+        KundenStore store = (KundenStore) request.getServletContext().getAttribute("kundenStore");
+        Cookie[] cookies = request.getCookies();
+        if (store == null || cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                return store.ausCookie(cookie.getValue());
+            }
+        }
+        return null;
+    }
+
+}
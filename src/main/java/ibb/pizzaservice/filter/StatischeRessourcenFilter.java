@@ -0,0 +1,101 @@
+package ibb.pizzaservice.filter;
+
+import ibb.pizzaservice.service.Gzip;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebFilter;
+import jakarta.servlet.http.HttpFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Liefert versionierte statische Ressourcen (Stylesheets) mit langlebigen Cache-Headern aus.
+ *
+ * Die Dateien unter {@code /css/} tragen eine Versionsnummer im Namen (z. B. {@code startseite-v1.css})
+ * und ändern sich danach nie mehr. Der Browser darf sie daher ein Jahr lang zwischenspeichern
+ * ({@code Cache-Control: public, max-age=31536000, immutable}). Der Header wird nur gesetzt, wenn die
+ * Ressource existiert – ein 404 für eine (noch) fehlende Version wird nicht zwischengespeichert.
+ *
+ * Akzeptiert der Client GZIP, wird eine vorkomprimierte Variante gesendet: entweder eine im WAR
+ * mitgelieferte {@code .gz}-Datei oder – falls keine vorhanden ist – eine beim ersten Zugriff einmalig
+ * komprimierte Kopie, die im Arbeitsspeicher gehalten wird. Alle anderen Anfragen bedient der
+ * Default-Servlet des Servers.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@WebFilter("/css/*")
+public class StatischeRessourcenFilter extends HttpFilter {
+
+    private static final long serialVersionUID = 1L;
+
+    /** Cache-Dauer für versionierte Ressourcen: 1 Jahr */
+    private static final String CACHE_CONTROL = "public, max-age=31536000, immutable";
+
+    /** Vorkomprimierte Varianten je Ressourcenpfad */
+    private final ConcurrentMap<String, byte[]> komprimiert = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilter(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        String pfad = request.getServletPath() + (request.getPathInfo() != null ? request.getPathInfo() : "");
+        response.addHeader("Vary", "Accept-Encoding");
+
+        if (!KomprimierungFilter.akzeptiertGzip(request)) {
+            if (komprimiert.containsKey(pfad) || getServletContext().getResource(pfad) != null) {
+                response.setHeader("Cache-Control", CACHE_CONTROL);
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        byte[] gz = komprimiert.get(pfad);
+        if (gz == null) {
+            gz = vorkomprimieren(pfad);
+            if (gz == null) {
+                chain.doFilter(request, response);   // Ressource existiert nicht → 404 vom Server
+                return;
+            }
+            komprimiert.putIfAbsent(pfad, gz);
+        }
+
+        response.setHeader("Cache-Control", CACHE_CONTROL);
+        String mimeType = getServletContext().getMimeType(pfad);
+        response.setContentType(mimeType != null ? mimeType + "; charset=UTF-8" : "application/octet-stream");
+        response.setHeader("Content-Encoding", "gzip");
+        response.setContentLength(gz.length);
+        if (!"HEAD".equals(request.getMethod())) {
+            response.getOutputStream().write(gz);
+        }
+    }
+
+    /**
+     * Liefert die GZIP-Variante einer Ressource: bevorzugt die mitgelieferte {@code .gz}-Datei,
+     * sonst eine einmalig erzeugte Kopie.
+     *
+     * @param pfad Ressourcenpfad innerhalb der Webanwendung
+     * @return komprimierte Daten oder null, falls die Ressource nicht existiert
+     * @throws IOException bei Lesefehlern
+     */
+    private byte[] vorkomprimieren(String pfad) throws IOException {
+        try (InputStream gzDatei = getServletContext().getResourceAsStream(pfad + ".gz")) {
+            if (gzDatei != null) {
+                return gzDatei.readAllBytes();
+            }
+        }
+        try (InputStream datei = getServletContext().getResourceAsStream(pfad)) {
+            if (datei == null) {
+                return null;
+            }
+            byte[] daten = datei.readAllBytes();
+            return Gzip.komprimieren(daten, 0, daten.length);
+        }
+    }
+
+}
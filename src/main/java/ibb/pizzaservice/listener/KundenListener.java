@@ -0,0 +1,60 @@
+package ibb.pizzaservice.listener;
+
+import ibb.pizzaservice.service.Datenverzeichnis;
+import ibb.pizzaservice.service.KundenStore;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+/**
+ * Application-Listener zur Initialisierung des {@link KundenStore}.
+ *
+ * Beim Start der Webanwendung wird der KundenStore erzeugt und unter dem Namen {@code kundenStore}
+ * im Application-Scope abgelegt. Die Größe des Caches kann über den Context-Parameter
+ * {@code pizzaservice.kunden.cache} angepasst werden.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+@WebListener
+public class KundenListener implements ServletContextListener {
+
+    /**
+     * Erstellt den KundenStore und legt ihn im Application-Scope ab.
+     *
+     * @param sce ServletContextEvent – enthält den Anwendungskontext
+     */
+    @Override
+    public void contextInitialized(ServletContextEvent sce) {
+        ServletContext context = sce.getServletContext();
+
+        int kapazitaet = KundenStore.STANDARD_KAPAZITAET;
+        String parameter = context.getInitParameter("pizzaservice.kunden.cache");
+        if (parameter != null && !parameter.isBlank()) {
+            kapazitaet = Integer.parseInt(parameter.trim());
+        }
+
+        KundenStore store = new KundenStore(Datenverzeichnis.unterverzeichnis(context, "kunden"), kapazitaet);
+        context.setAttribute("kundenStore", store);
+
+        System.out.println("✅ KundenListener: KundenStore mit " + kapazitaet + " Cache-Plätzen geladen.");
+    }
+
+    /**
+     * Schreibt ausstehende Profile und entfernt den KundenStore beim Herunterfahren aus dem
+     * Application-Scope.
+     *
+     * @param sce ServletContextEvent – enthält den Anwendungskontext
+     */
+    @Override
+    public void contextDestroyed(ServletContextEvent sce) {
+        KundenStore store = (KundenStore) sce.getServletContext().getAttribute("kundenStore");
+        if (store != null) {
+            store.beenden();
+        }
+        sce.getServletContext().removeAttribute("kundenStore");
+    }
+
+}
@@ -1,6 +1,18 @@
 package ibb.pizzaservice.listener;
 
 import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.service.Aktionen;
+import ibb.pizzaservice.service.BestellAnnahme;
+import ibb.pizzaservice.service.BestellIdGenerator;
+import ibb.pizzaservice.service.Datenverzeichnis;
+import ibb.pizzaservice.service.Filiale;
+import ibb.pizzaservice.service.Filialen;
+import ibb.pizzaservice.service.Lager;
+import ibb.pizzaservice.service.Liefergebiete;
+import ibb.pizzaservice.service.RechnungsArchiv;
+import ibb.pizzaservice.service.Tagesabschluss;
+import ibb.pizzaservice.service.Zeitfenster;
+import jakarta.servlet.ServletContext;
 import jakarta.servlet.ServletContextEvent;
 import jakarta.servlet.ServletContextListener;
 import jakarta.servlet.annotation.WebListener;
@@ -18,8 +30,23 @@ import jakarta.servlet.annotation.WebListener;
  * <p><b>Ablauf:</b></p>
  * <ol>
  *   <li>Beim Start des Servers wird {@code contextInitialized()} aufgerufen</li>
- *   <li>Eine neue {@link Speisekarte} wird erzeugt</li>
- *   <li>Diese wird im Application-Scope abgelegt</li>
+ *   <li>Die {@link Filialen} werden aus {@code filialen.properties} geladen (jede Filiale mit eigener
+ *       Speisekarte, Bestellwarteschlange und eigenem Ereignisprotokoll) und unter {@code filialen}
+ *       abgelegt. Offene Bestellungen werden dabei aus dem Ereignisprotokoll wiederhergestellt; neue
+ *       Bestellungen werden zusätzlich im Tagesjournal (Export) gespeichert. Jede Filiale erhält ein
+ *       {@link Lager} mit dem Zutatenbestand aus {@code lager.properties} und {@link Zeitfenster} für
+ *       Vorbestellungen aus {@code zeitfenster.properties}. Die Rechnungen werden im
+ *       {@link RechnungsArchiv} (unter {@code rechnungsArchiv}) abgelegt.</li>
+ *   <li>Die {@link Speisekarte} der Standard-Filiale wird unter {@code speisekarte} im Application-Scope
+ *       abgelegt</li>
+ *   <li>Die {@link Aktionen} werden aus {@code aktionen.properties} geladen, für jede Filiale zu einem
+ *       Preisplan kompiliert und unter {@code aktionen} abgelegt</li>
+ *   <li>Die {@link Liefergebiete} mit den Liefergebühren werden aus {@code liefergebiete.csv} geladen und
+ *       unter {@code liefergebiete} abgelegt</li>
+ *   <li>Ein {@link BestellIdGenerator} mit der Knotennummer {@code pizzaservice.knoten.nummer} wird unter
+ *       {@code bestellIds} abgelegt; der Bestellpfad ({@link BestellAnnahme}) unter {@code bestellAnnahme}</li>
+ *   <li>Der {@link Tagesabschluss} (Berichte im Unterverzeichnis {@code tagesabschluss}) wird unter
+ *       {@code tagesabschluss} abgelegt</li>
  * </ol>
  * 
  * <p><b>Beispiel in JSP:</b></p>
@@ -44,11 +71,74 @@ public class SpeisekarteListener  implements ServletContextListener {
      */
     @Override
     public void contextInitialized(ServletContextEvent sce) {
-        Speisekarte speisekarte = new Speisekarte();
-        sce.getServletContext().setAttribute("speisekarte", speisekarte);
+        ServletContext context = sce.getServletContext();
+
+        Filialen filialen = Filialen.laden(context.getInitParameter("pizzaservice.knoten"),
+                Datenverzeichnis.unterverzeichnis(context, "ereignisse"));
+        filialen.journaleOeffnen(Datenverzeichnis.unterverzeichnis(context, "journal"));
+        filialen.lagerEinrichten(Datenverzeichnis.basis(context).resolve(Lager.DATEI));
+        filialen.zeitfensterEinrichten(Datenverzeichnis.basis(context).resolve(Zeitfenster.DATEI));
+        RechnungsArchiv archiv = rechnungsArchiv(context);
+        filialen.archivSetzen(archiv);
+        context.setAttribute("rechnungsArchiv", archiv);
+        context.setAttribute("filialen", filialen);
+
+        Speisekarte speisekarte = filialen.getStandard().getSpeisekarte();
+        context.setAttribute("speisekarte", speisekarte);
+
+        Aktionen aktionen = new Aktionen(Datenverzeichnis.basis(context).resolve(Aktionen.DATEI));
+        aktionen.anwenden(filialen);
+        context.setAttribute("aktionen", aktionen);
+
+        context.setAttribute("liefergebiete", new Liefergebiete(Datenverzeichnis.basis(context).resolve(Liefergebiete.DATEI)));
+
+        BestellIdGenerator bestellIds = bestellIdGenerator(context, filialen);
+        context.setAttribute("bestellIds", bestellIds);
+        context.setAttribute("bestellAnnahme", new BestellAnnahme(filialen, aktionen, bestellIds));
+        context.setAttribute("tagesabschluss", tagesabschluss(context));
 
         // Optionales Logging (nur Server-Konsole)
         System.out.println("✅ SpeisekarteListener: Speisekarte erfolgreich im Application-Scope geladen.");
+        System.out.println("✅ SpeisekarteListener: Filialen " + filialen.getAlle());
+    }
+
+    /**
+     * Erstellt den Generator für Bestell-IDs dieses Knotens. Die neuen IDs liegen immer über den
+     * bereits vergebenen IDs der wiederhergestellten Bestellungen.
+     *
+     * @param context  Anwendungskontext (Parameter {@code pizzaservice.knoten.nummer}, Standard 0)
+     * @param filialen geladene Filialen
+     * @return Generator für Bestell-IDs
+     */
+    public static BestellIdGenerator bestellIdGenerator(ServletContext context, Filialen filialen) {
+        String nummer = context.getInitParameter("pizzaservice.knoten.nummer");
+        BestellIdGenerator generator = new BestellIdGenerator(
+                (nummer == null || nummer.isBlank()) ? 0 : Integer.parseInt(nummer.trim()));
+        for (Filiale filiale : filialen.getAlle()) {
+            generator.mindestens(filiale.getHoechsteId());
+        }
+        return generator;
+    }
+
+    /**
+     * Erstellt das Rechnungsarchiv dieses Knotens (zwei Arbeitsthreads, bis zu 10.000 wartende
+     * Rechnungen).
+     *
+     * @param context Anwendungskontext
+     * @return Rechnungsarchiv im Unterverzeichnis {@code rechnungen}
+     */
+    public static RechnungsArchiv rechnungsArchiv(ServletContext context) {
+        return new RechnungsArchiv(Datenverzeichnis.unterverzeichnis(context, "rechnungen"), 2, 10_000);
+    }
+
+    /**
+     * Erstellt den Tagesabschluss dieses Knotens über die vollständige Speisekarte.
+     *
+     * @param context Anwendungskontext
+     * @return Tagesabschluss mit Berichten im Unterverzeichnis {@code tagesabschluss}
+     */
+    public static Tagesabschluss tagesabschluss(ServletContext context) {
+        return new Tagesabschluss(Datenverzeichnis.unterverzeichnis(context, "tagesabschluss"), new Speisekarte());
     }
 
     /**
@@ -59,6 +149,14 @@ public class SpeisekarteListener  implements ServletContextListener {
      */
     @Override
     public void contextDestroyed(ServletContextEvent sce) {
+        Filialen filialen = (Filialen) sce.getServletContext().getAttribute("filialen");
+        if (filialen != null) {
+            filialen.beenden();
+        }
+        RechnungsArchiv archiv = (RechnungsArchiv) sce.getServletContext().getAttribute("rechnungsArchiv");
+        if (archiv != null) {
+            archiv.beenden();   // nach den Filialen: deren letzte Rechnungen noch archivieren
+        }
         System.out.println("🧹 Anwendung wird beendet. Application-Scope wird geleert.");
     }
         
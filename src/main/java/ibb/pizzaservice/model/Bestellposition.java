@@ -24,6 +24,9 @@ import java.util.Objects;
 public class Bestellposition implements Serializable {
     
     private static final long serialVersionUID = 1L;
+
+    /** Höchstmenge je Position bei der Annahme einer Bestellung */
+    public static final int MAX_MENGE = 999;
     
     private Speise speise;          /** Die Speise, die in dieser Bestellposition enthalten ist */
     private int menge;               /** Die bestellte Menge dieser Speise */
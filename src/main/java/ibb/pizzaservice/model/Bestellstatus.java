@@ -0,0 +1,66 @@
+package ibb.pizzaservice.model;
+
+/**
+ * Status einer {@link Bestellung} im Lebenszyklus von der Aufgabe bis zur Auslieferung.
+ *
+ * Erlaubte Übergänge:
+ * <pre>
+ * AUFGEGEBEN → IM_OFEN → FERTIG → GELIEFERT
+ *      └──────────┴─────────┴──→ STORNIERT
+ * </pre>
+ * {@code GELIEFERT} und {@code STORNIERT} sind Endzustände.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public enum Bestellstatus {
+
+    AUFGEGEBEN("Aufgegeben"),
+    IM_OFEN("Im Ofen"),
+    FERTIG("Fertig"),
+    GELIEFERT("Geliefert"),
+    STORNIERT("Storniert");
+
+    private final String bezeichnung;   /** Anzeigetext für JSPs */
+
+    Bestellstatus(String bezeichnung) {
+        this.bezeichnung = bezeichnung;
+    }
+
+    public String getBezeichnung() {
+        return bezeichnung;
+    }
+
+    /**
+     * Gibt an, ob die Bestellung in diesem Status abgeschlossen ist.
+     *
+     * @return true für GELIEFERT und STORNIERT
+     */
+    public boolean isAbgeschlossen() {
+        return this == GELIEFERT || this == STORNIERT;
+    }
+
+    /**
+     * Prüft, ob ein Übergang in den neuen Status erlaubt ist.
+     *
+     * @param neu gewünschter Status
+     * @return true, wenn der Übergang erlaubt ist
+     */
+    public boolean erlaubt(Bestellstatus neu) {
+        if (isAbgeschlossen()) {
+            return false;
+        }
+        return neu == STORNIERT || neu.ordinal() == ordinal() + 1;
+    }
+
+    /**
+     * Liefert den regulären Folgestatus (ohne Stornierung).
+     *
+     * @return nächster Status oder null bei Endzuständen
+     */
+    public Bestellstatus getNaechster() {
+        return isAbgeschlossen() ? null : values()[ordinal() + 1];
+    }
+
+}
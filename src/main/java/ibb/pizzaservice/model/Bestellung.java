@@ -1,10 +1,11 @@
 package ibb.pizzaservice.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 
 /**
  * Repräsentiert eine komplette Bestellung im PizzaService-System.
@@ -15,6 +16,12 @@ import java.util.Objects;
  *   <li>mehreren {@link Bestellposition}en</li>
  *   <li>der IP-Adresse des Bestellers</li>
  *   <li>der Session-ID zur Identifikation während der Bestellung</li>
+ *   <li>der ID der Filiale, die die Bestellung zubereitet und ausliefert</li>
+ *   <li>einer Bestell-ID, dem Zeitpunkt der Aufgabe und dem aktuellen {@link Bestellstatus}</li>
+ *   <li>den {@link Rabattzeile}n der angewendeten Aktionen</li>
+ *   <li>der Liefergebühr für das Liefergebiet des Kunden</li>
+ *   <li>der {@link Zahlungsart}</li>
+ *   <li>der Wunschzeit (Beginn eines Zeitfensters) bei Vorbestellungen</li>
  * </ul>
  * 
  * Diese Klasse dient als JavaBean und wird in der Regel im Session-Scope  * gespeichert, um während 
@@ -36,9 +43,17 @@ public class Bestellung implements Serializable {
     private static final long serialVersionUID = 1L;
 
     private Kunde kunde;        /** Kunde, der die Bestellung aufgegeben hat */
-    private List<Bestellposition> positionen = new  ArrayList<>();  /** Liste aller bestellten Positionen */
+    private volatile List<Bestellposition> positionen = new  ArrayList<>();  /** Liste aller bestellten Positionen (nach der Annahme nur noch als Ganzes ersetzt) */
     private String ipAdresse;    /** IP-Adresse des Bestellers */
     private String sessionId;    /** Session-ID, zur Zuordnung innerhalb der Benutzersitzung */
+    private String filialeId;    /** ID der zuständigen Filiale (ermittelt über die PLZ) */
+    private long bestellId;      /** Eindeutige, zeitlich aufsteigende Bestell-ID (0 = noch nicht vergeben) */
+    private long zeitpunkt = System.currentTimeMillis();   /** Zeitpunkt der Aufgabe (Epoch-Millis) */
+    private volatile Bestellstatus status = Bestellstatus.AUFGEGEBEN;   /** Aktueller Status (wird vom Filial-Thread gesetzt) */
+    private volatile List<Rabattzeile> rabatte = new ArrayList<>(0);   /** Rabatte aus Aktionen (werden vom Gesamtpreis abgezogen, nur als Ganzes ersetzt) */
+    private BigDecimal liefergebuehr = BigDecimal.ZERO;      /** Liefergebühr des Liefergebiets (wird zum Gesamtpreis addiert) */
+    private Zahlungsart zahlungsart = Zahlungsart.BAR;       /** Gewählte Zahlungsart */
+    private long wunschzeit;     /** Beginn des gebuchten Zeitfensters (Epoch-Millis, 0 = so schnell wie möglich) */
 
     /**
      * Standardkonstruktor (wichtig für JavaBeans und JSP <useBean>).
@@ -80,12 +95,103 @@ public class Bestellung implements Serializable {
         this.sessionId = sessionId;
     }
 
+    public String getFilialeId() {
+        return filialeId;
+    }
+
+    public void setFilialeId(String filialeId) {
+        this.filialeId = filialeId;
+    }
+
+    public long getBestellId() {
+        return bestellId;
+    }
+
+    public void setBestellId(long bestellId) {
+        this.bestellId = bestellId;
+    }
+
+    public long getZeitpunkt() {
+        return zeitpunkt;
+    }
+
+    public void setZeitpunkt(long zeitpunkt) {
+        this.zeitpunkt = zeitpunkt;
+    }
+
+    public Bestellstatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Bestellstatus status) {
+        this.status = status;
+    }
+
+    public List<Rabattzeile> getRabatte() {
+        return rabatte;
+    }
+
+    public void setRabatte(List<Rabattzeile> rabatte) {
+        this.rabatte = rabatte;
+    }
+
+    public BigDecimal getLiefergebuehr() {
+        return liefergebuehr;
+    }
+
+    public void setLiefergebuehr(BigDecimal liefergebuehr) {
+        this.liefergebuehr = (liefergebuehr != null) ? liefergebuehr : BigDecimal.ZERO;
+    }
+
+    public Zahlungsart getZahlungsart() {
+        return zahlungsart;
+    }
+
+    public void setZahlungsart(Zahlungsart zahlungsart) {
+        this.zahlungsart = (zahlungsart != null) ? zahlungsart : Zahlungsart.BAR;
+    }
+
+    public long getWunschzeit() {
+        return wunschzeit;
+    }
+
+    public void setWunschzeit(long wunschzeit) {
+        this.wunschzeit = wunschzeit;
+    }
+
     /**
-     * Berechnet den Gesamtpreis der Bestellung, indem alle Positionen summiert werden.
+     * Gibt an, ob die Bestellung für ein Zeitfenster vorbestellt wurde.
+     *
+     * @return true, wenn eine Wunschzeit gesetzt ist
+     */
+    public boolean isVorbestellt() {
+        return wunschzeit > 0;
+    }
+
+    /**
+     * Prüft die Eingabegrenzen: Kundenfelder höchstens {@link Kunde#MAX_LAENGE} Zeichen, Mengen höchstens
+     * {@link Bestellposition#MAX_MENGE}.
+     *
+     * @return true, wenn die Bestellung angenommen werden darf
+     */
+    public boolean isZulaessig() {
+        if (kunde != null && !kunde.isZulaessig()) {
+            return false;
+        }
+        for (Bestellposition pos : positionen) {
+            if (pos.getMenge() > Bestellposition.MAX_MENGE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Berechnet die Summe aller Positionen (vor Abzug der Rabatte).
      * 
-     * @return Gesamtpreis der Bestellung als BigDecimal
+     * @return Zwischensumme der Bestellung als BigDecimal
      */
-    public BigDecimal getGesamtpreis() {
+    public BigDecimal getZwischensumme() {
         
         BigDecimal summe = BigDecimal.ZERO;
         
@@ -96,9 +202,37 @@ public class Bestellung implements Serializable {
         }
         return summe;
     }
+
+    /**
+     * Berechnet die Summe aller Rabatte.
+     * 
+     * @return Rabattsumme (0, wenn keine Aktion greift)
+     */
+    public BigDecimal getRabattsumme() {
+        BigDecimal summe = BigDecimal.ZERO;
+        if (rabatte != null) {
+            for (Rabattzeile rabatt : rabatte) {
+                summe = summe.add(rabatt.getBetrag());
+            }
+        }
+        return summe;
+    }
+
+    /**
+     * Berechnet den Gesamtpreis der Bestellung: Summe aller Positionen abzüglich der Rabatte, zuzüglich
+     * der Liefergebühr.
+     * 
+     * @return Gesamtpreis der Bestellung als BigDecimal
+     */
+    public BigDecimal getGesamtpreis() {
+        BigDecimal preis = (rabatte == null || rabatte.isEmpty())
+                ? getZwischensumme()
+                : getZwischensumme().subtract(getRabattsumme());
+        return (liefergebuehr.signum() != 0) ? preis.add(liefergebuehr) : preis;
+    }
     
     /**
-     * Fügt eine neue Bestellposition zur Liste hinzu.
+     * Fügt eine neue Bestellposition zur Liste hinzu (nur beim Aufbau der Bestellung, vor der Annahme).
      * 
      * @param pos die hinzuzufügende Bestellposition
      */
@@ -112,6 +246,49 @@ public class Bestellung implements Serializable {
         this.positionen.add(pos);
     }
     
+    /**
+     * Erstellt eine Momentaufnahme der Bestellung, z. B. für das Rechnungsarchiv in einem anderen Thread.
+     * Positionen und Rabatte einer angenommenen Bestellung werden nur als Ganzes ersetzt; die Kopie teilt
+     * daher die aktuellen Listen und bleibt unverändert, wenn die Bestellung später geändert wird.
+     * 
+     * @return Kopie mit dem aktuellen Stand
+     */
+    public Bestellung momentaufnahme() {
+        Bestellung kopie = new Bestellung();
+        kopie.kunde = kunde;
+        kopie.positionen = positionen;
+        kopie.ipAdresse = ipAdresse;
+        kopie.sessionId = sessionId;
+        kopie.filialeId = filialeId;
+        kopie.bestellId = bestellId;
+        kopie.zeitpunkt = zeitpunkt;
+        kopie.status = status;
+        kopie.rabatte = rabatte;
+        kopie.liefergebuehr = liefergebuehr;
+        kopie.zahlungsart = zahlungsart;
+        kopie.wunschzeit = wunschzeit;
+        return kopie;
+    }
+    
+    /**
+     * Liest eine serialisierte Bestellung. Snapshots aus der Zeit vor den Liefergebieten bzw. den
+     * Zahlungsarten enthalten keine Liefergebühr bzw. Zahlungsart; es gelten dann 0 € und
+     * {@link Zahlungsart#BAR}.
+     *
+     * @param in Eingabestrom
+     * @throws IOException            bei Lesefehlern
+     * @throws ClassNotFoundException wenn eine Klasse nicht gefunden wird
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (liefergebuehr == null) {
+            liefergebuehr = BigDecimal.ZERO;
+        }
+        if (zahlungsart == null) {
+            zahlungsart = Zahlungsart.BAR;
+        }
+    }
+    
     /**
      * Gibt eine textuelle Darstellung der Bestellung zurück.
      * 
@@ -129,34 +306,42 @@ public class Bestellung implements Serializable {
         for (Bestellposition pos : positionen) {
             sb.append("  ").append(pos.toString()).append("\n");
         }
+        if (rabatte != null) {
+            for (Rabattzeile rabatt : rabatte) {
+                sb.append("  ").append(rabatt.toString()).append("\n");
+            }
+        }
 
+        if (liefergebuehr.signum() != 0) {
+            sb.append("  Liefergebühr: ").append(liefergebuehr).append(" €\n");
+        }
         sb.append("Gesamtpreis: ").append(getGesamtpreis()).append(" €");
         return sb.toString();
     }
     
     /**
-     * Vergleicht zwei Bestellungen anhand von Session-ID und Kunde.
+     * Vergleicht zwei Bestellungen anhand ihrer Bestell-ID.
+     * Bestellungen ohne ID sind nur mit sich selbst gleich.
      * 
      * @param o das zu vergleichende Objekt
-     * @return true, wenn Session-ID und Kunde übereinstimmen
+     * @return true, wenn beide Bestellungen dieselbe ID haben
      */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Bestellung that = (Bestellung) o;
-        return Objects.equals(sessionId, that.sessionId)
-                && Objects.equals(kunde, that.kunde);
+        return bestellId != 0 && bestellId == that.bestellId;
     }
 
     /**
-     * Erzeugt einen Hashcode basierend auf Session-ID und Kunde.
+     * Erzeugt einen Hashcode basierend auf der Bestell-ID.
      * 
      * @return Hashcode-Wert
      */
     @Override
     public int hashCode() {
-        return Objects.hash(sessionId, kunde);
+        return (bestellId != 0) ? Long.hashCode(bestellId) : System.identityHashCode(this);
     }    
     
 }
\ No newline at end of file
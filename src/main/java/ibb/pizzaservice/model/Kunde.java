@@ -24,6 +24,9 @@ public class Kunde implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /** Höchstlänge eines Eingabefelds in Zeichen (Formular, Ereignisprotokoll) */
+    public static final int MAX_LAENGE = 100;
+
     private String anrede;            /** Anrede des Kunden, z. B. "Herr" oder "Frau" */
     private String vorname;          /** Vorname des Kunden */
     private String nachname;       /** Nachname des Kunden */
@@ -145,6 +148,20 @@ public class Kunde implements Serializable {
         return sb.toString().trim();     
     }
     
+    /**
+     * Prüft, ob kein Feld länger als {@link #MAX_LAENGE} Zeichen ist.
+     * 
+     * @return true, wenn alle Felder fehlen oder höchstens {@link #MAX_LAENGE} Zeichen lang sind
+     */
+    public boolean isZulaessig() {
+        return zulaessig(anrede) && zulaessig(vorname) && zulaessig(nachname) && zulaessig(strasse)
+                && zulaessig(hausnummer) && zulaessig(plz) && zulaessig(stadt);
+    }
+
+    private static boolean zulaessig(String feld) {
+        return feld == null || feld.length() <= MAX_LAENGE;
+    }
+
     /**
      * Gibt eine textuelle Darstellung des Kunden zurück.
      */
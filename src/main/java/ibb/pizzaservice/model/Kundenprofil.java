@@ -0,0 +1,124 @@
+package ibb.pizzaservice.model;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gespeichertes Profil eines wiederkehrenden Kunden.
+ *
+ * Ein Kundenprofil enthält die zuletzt verwendeten {@link Kunde}-Daten sowie die Positionen der letzten
+ * {@link Bestellung} (Speise-ID → Menge). Damit kann die Startseite das Formular vorausfüllen und die
+ * letzte Bestellung mit einem Klick wiederholt werden.
+ *
+ * Profile sind unveränderlich: Jede neue Bestellung erzeugt über {@link #nachBestellung(Bestellung)} ein
+ * neues Profil. Dadurch können sie ohne Synchronisation zwischen mehreren Threads geteilt werden.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public final class Kundenprofil implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String kundenId;                            /** Schlüssel aus normalisiertem Namen und Adresse */
+    private final Kunde kunde;                                /** Zuletzt verwendete Kundendaten */
+    private final Map<String, Integer> letztePositionen;      /** Speise-ID → Menge der letzten Bestellung */
+    private final int anzahlBestellungen;                     /** Anzahl bisheriger Bestellungen */
+    private final long letzteBestellung;                      /** Zeitpunkt der letzten Bestellung (Epoch-Millis) */
+
+    /**
+     * Erstellt ein neues Kundenprofil.
+     *
+     * @param kundenId           Schlüssel des Kunden
+     * @param kunde              Kundendaten
+     * @param letztePositionen   Speise-ID → Menge der letzten Bestellung
+     * @param anzahlBestellungen Anzahl bisheriger Bestellungen
+     * @param letzteBestellung   Zeitpunkt der letzten Bestellung (Epoch-Millis)
+     */
+    public Kundenprofil(String kundenId, Kunde kunde, Map<String, Integer> letztePositionen,
+                        int anzahlBestellungen, long letzteBestellung) {
+        if (kundenId == null || kunde == null) {
+            throw new IllegalArgumentException("Kunden-ID und Kunde dürfen nicht null sein.");
+        }
+        this.kundenId = kundenId;
+        this.kunde = kunde;
+        this.letztePositionen = Collections.unmodifiableMap(new LinkedHashMap<>(letztePositionen));
+        this.anzahlBestellungen = anzahlBestellungen;
+        this.letzteBestellung = letzteBestellung;
+    }
+
+    /**
+     * Erzeugt das Profil nach einer weiteren Bestellung dieses Kunden.
+     *
+     * @param bestellung neue Bestellung
+     * @return aktualisiertes Profil
+     */
+    public Kundenprofil nachBestellung(Bestellung bestellung) {
+        return new Kundenprofil(kundenId, bestellung.getKunde(), positionenAus(bestellung),
+                anzahlBestellungen + 1, System.currentTimeMillis());
+    }
+
+    /**
+     * Übernimmt die Positionen einer Bestellung als Speise-ID → Menge.
+     *
+     * @param bestellung Bestellung
+     * @return Positionen in Bestellreihenfolge
+     */
+    public static Map<String, Integer> positionenAus(Bestellung bestellung) {
+        Map<String, Integer> positionen = new LinkedHashMap<>();
+        for (Bestellposition pos : bestellung.getPositionen()) {
+            positionen.merge(pos.getSpeise().getSpeiseId(), pos.getMenge(), Integer::sum);
+        }
+        return positionen;
+    }
+
+    // ------------------------------------------------------------
+    // Getter (JavaBean-konform, für JSP-Zugriff)
+    // ------------------------------------------------------------
+    public String getKundenId() {
+        return kundenId;
+    }
+
+    public Kunde getKunde() {
+        return kunde;
+    }
+
+    public Map<String, Integer> getLetztePositionen() {
+        return letztePositionen;
+    }
+
+    public int getAnzahlBestellungen() {
+        return anzahlBestellungen;
+    }
+
+    public long getLetzteBestellung() {
+        return letzteBestellung;
+    }
+
+    /**
+     * Schätzt den Speicherbedarf dieses Profils im Heap (grobe Näherung in Bytes).
+     *
+     * @return geschätzte Größe in Bytes
+     */
+    public long geschaetzteGroesse() {
+        long groesse = 64 + 2L * kundenId.length();
+        groesse += 48 + 2L * (laenge(kunde.getAnrede()) + laenge(kunde.getVorname()) + laenge(kunde.getNachname())
+                + laenge(kunde.getStrasse()) + laenge(kunde.getHausnummer()) + laenge(kunde.getPlz())
+                + laenge(kunde.getStadt())) + 7 * 40;
+        groesse += 64 + letztePositionen.size() * 96L;
+        return groesse;
+    }
+
+    private static int laenge(String s) {
+        return s == null ? 0 : s.length();
+    }
+
+    @Override
+    public String toString() {
+        return kundenId + " – " + kunde.getKundenname() + " (" + anzahlBestellungen + " Bestellungen)";
+    }
+
+}
@@ -0,0 +1,51 @@
+package ibb.pizzaservice.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Eine Rabattzeile auf der Rechnung, z. B. "2 Pizzen für 15 €  −4,40 €".
+ *
+ * Rabattzeilen werden beim Bepreisen einer {@link Bestellung} aus den aktiven Aktionen
+ * erzeugt und vom Gesamtpreis abgezogen.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Rabattzeile implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String bezeichnung;   /** Name der Aktion, z. B. "Gratis Pizzabrot ab 25 €" */
+    private final BigDecimal betrag;    /** Rabatt in Euro (positiv, wird abgezogen) */
+
+    /**
+     * Erstellt eine Rabattzeile.
+     *
+     * @param bezeichnung Name der Aktion
+     * @param betrag      Rabatt in Euro (positiv)
+     * @throws IllegalArgumentException wenn der Betrag fehlt oder negativ ist
+     */
+    public Rabattzeile(String bezeichnung, BigDecimal betrag) {
+        if (betrag == null || betrag.signum() < 0) {
+            throw new IllegalArgumentException("Rabatt darf nicht negativ sein.");
+        }
+        this.bezeichnung = bezeichnung;
+        this.betrag = betrag;
+    }
+
+    public String getBezeichnung() {
+        return bezeichnung;
+    }
+
+    public BigDecimal getBetrag() {
+        return betrag;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s = -%.2f €", bezeichnung, betrag);
+    }
+
+}
@@ -1,5 +1,7 @@
 package ibb.pizzaservice.model;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.Objects;
@@ -7,7 +9,8 @@ import java.util.Objects;
 /**
  * Repräsentiert eine einzelne Speise im PizzaService-System.
  * 
- * Eine Speise besteht aus einer eindeutigen ID, einem Namen, einer Beschreibung und einem Preis.
+ * Eine Speise besteht aus einer eindeutigen ID, einem Namen, einer Beschreibung, einem Preis und der
+ * {@link Station}, an der sie in der Küche zubereitet wird.
  * Sie wird in der {@link Speisekarte} verwaltet und kann als Bestandteil einer {@link Bestellposition} 
  * in einer {@link Bestellung} vorkommen.
  * 
@@ -28,6 +31,7 @@ public class Speise implements Serializable {
     private String name;                /** Name der Speise, z. B. "Pizza Salami" */
     private String beschreibung;    /** Beschreibung der Speise, z. B. "mit Rindersalami" */
     private BigDecimal preis;         /** Preis der Speise in Euro (verwendet BigDecimal für Genauigkeit bei Geldwerten) */
+    private Station station = Station.PIZZA;   /** Küchenstation, an der die Speise zubereitet wird */
     
     /**
      * Standardkonstruktor (wichtig für JavaBeans und JSP <useBean>).
@@ -49,6 +53,20 @@ public class Speise implements Serializable {
         this.preis = preis;
     }
 
+    /**
+     * Erstellt eine neue Speise, die an einer bestimmten Küchenstation zubereitet wird.
+     * 
+     * @param speisetId         eindeutige ID der Speise
+     * @param name               Name der Speise
+     * @param beschreibung   optionale Beschreibung
+     * @param preis                Preis der Speise in Euro
+     * @param station            Küchenstation, z. B. {@link Station#SALAT}
+     */
+    public Speise(String speisetId, String name, String beschreibung, BigDecimal preis, Station station) {
+        this(speisetId, name, beschreibung, preis);
+        this.station = station;
+    }
+
     /**
      * Gibt die eindeutige ID der Speise zurück.
      * 
@@ -121,6 +139,39 @@ public class Speise implements Serializable {
         this.preis = preis;
     }
 
+    /**
+     * Gibt die Küchenstation der Speise zurück.
+     * 
+     * @return Station (Standard: {@link Station#PIZZA})
+     */
+    public Station getStation() {
+        return station;
+    }
+
+    /**
+     * Setzt die Küchenstation der Speise.
+     * 
+     * @param station neue Station (null: {@link Station#PIZZA})
+     */
+    public void setStation(Station station) {
+        this.station = (station != null) ? station : Station.PIZZA;
+    }
+
+    /**
+     * Liest eine serialisierte Speise. In Snapshots aus der Zeit vor den Küchenstationen fehlt die
+     * Station; solche Speisen werden der Pizzastation zugeordnet.
+     *
+     * @param in Eingabestrom
+     * @throws IOException            bei Lesefehlern
+     * @throws ClassNotFoundException wenn eine Klasse nicht gefunden wird
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        if (station == null) {
+            station = Station.PIZZA;
+        }
+    }
+
     /**
      * Gibt eine textuelle Darstellung der Speise zurück.
      * 
@@ -3,8 +3,11 @@ package ibb.pizzaservice.model;
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Repräsentiert die Speisekarte des PizzaService-Systems.
@@ -32,6 +35,7 @@ public class Speisekarte implements Serializable {
     private static final long serialVersionUID = 1L;
     
     private final List<Speise> speisen = new ArrayList<>();  /** Liste aller verfügbaren Speisen */
+    private volatile Set<String> ausverkauft = Set.of();     /** IDs der derzeit ausverkauften Speisen */
     
     /**
      * Erstellt eine neue Speisekarte mit einer vordefinierten Liste von Speisen.
@@ -61,6 +65,23 @@ public class Speisekarte implements Serializable {
         speisen.add(new Speise("Pi08", "Pizza Parma",
                 "mit Schwarzwälder Schinken, frischem Rucola und geraspeltem Parmesan",
                 new BigDecimal("10.95")));
+        speisen.add(new Speise("Sa01", "Gemischter Salat", "mit Tomaten, Gurken, Paprika und Hausdressing",
+                new BigDecimal("5.50"), Station.SALAT));
+        speisen.add(new Speise("Sa02", "Insalata Caprese", "mit Tomaten, Mozzarella und Basilikum",
+                new BigDecimal("6.90"), Station.SALAT));
+        speisen.add(new Speise("Ge01", "Cola 0,33 l", "gekühlt",
+                new BigDecimal("2.50"), Station.GETRAENKE));
+        speisen.add(new Speise("Ge02", "Mineralwasser 0,5 l", "still oder mit Kohlensäure",
+                new BigDecimal("2.20"), Station.GETRAENKE));
+    }
+    
+    /**
+     * Erstellt eine Speisekarte mit den übergebenen Speisen (z. B. die Karte einer einzelnen Filiale).
+     * 
+     * @param speisen Speisen dieser Karte
+     */
+    public Speisekarte(Collection<Speise> speisen) {
+        this.speisen.addAll(speisen);
     }
     
     /**
@@ -72,6 +93,50 @@ public class Speisekarte implements Serializable {
         return Collections.unmodifiableList(speisen);
     }
     
+    /**
+     * Sucht eine Speise anhand ihrer ID.
+     * 
+     * @param speiseId ID der Speise, z. B. "Pi03"
+     * @return Speise oder null, falls sie nicht auf der Karte steht
+     */
+    public Speise getSpeise(String speiseId) {
+        for (Speise s : speisen) {
+            if (s.getSpeiseId().equals(speiseId)) {
+                return s;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Gibt die IDs der Speisen zurück, die derzeit ausverkauft sind (Momentaufnahme, wird vom
+     * {@link ibb.pizzaservice.service.Lager} der Filiale ersetzt, sobald sich der Bestand ändert).
+     * 
+     * @return unveränderliche Menge der Speise-IDs
+     */
+    public Set<String> getAusverkauft() {
+        return ausverkauft;
+    }
+    
+    /**
+     * Ersetzt die Menge der ausverkauften Speisen.
+     * 
+     * @param ausverkauft IDs der ausverkauften Speisen
+     */
+    public void setAusverkauft(Set<String> ausverkauft) {
+        this.ausverkauft = Collections.unmodifiableSet(new LinkedHashSet<>(ausverkauft));
+    }
+    
+    /**
+     * Prüft, ob eine Speise derzeit bestellt werden kann.
+     * 
+     * @param speiseId ID der Speise
+     * @return true, wenn die Speise nicht ausverkauft ist
+     */
+    public boolean isVerfuegbar(String speiseId) {
+        return !ausverkauft.contains(speiseId);
+    }
+    
     /**
      * Fügt eine neue Speise zur Speisekarte hinzu.
      * 
@@ -0,0 +1,49 @@
+package ibb.pizzaservice.model;
+
+/**
+ * Station in der Küche, an der eine {@link Speise} zubereitet wird.
+ *
+ * Jede Station hat eine eigene Warteschlange. Ist sie leer, darf ein Koch Aufgaben einer
+ * kompatiblen Station übernehmen:
+ * <pre>
+ * PIZZA      → PIZZA, SALAT, GETRAENKE
+ * SALAT      → SALAT, PIZZA, GETRAENKE
+ * GETRAENKE  → GETRAENKE, SALAT        (an der Theke steht kein Ofen)
+ * </pre>
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public enum Station {
+
+    PIZZA("Pizzastation"),
+    SALAT("Salatstation"),
+    GETRAENKE("Getränke");
+
+    private final String bezeichnung;   /** Anzeigetext für JSPs */
+
+    Station(String bezeichnung) {
+        this.bezeichnung = bezeichnung;
+    }
+
+    public String getBezeichnung() {
+        return bezeichnung;
+    }
+
+    /**
+     * Prüft, ob ein Koch dieser Station Aufgaben einer anderen Station übernehmen kann.
+     *
+     * @param andere Station der Aufgabe
+     * @return true, wenn die Aufgabe an dieser Station zubereitet werden kann
+     */
+    public boolean kannUebernehmen(Station andere) {
+        switch (this) {
+            case GETRAENKE:
+                return andere == GETRAENKE || andere == SALAT;
+            default:
+                return true;
+        }
+    }
+
+}
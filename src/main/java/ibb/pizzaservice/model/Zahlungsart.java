@@ -0,0 +1,43 @@
+package ibb.pizzaservice.model;
+
+/**
+ * Art, wie der Kunde eine {@link Bestellung} bezahlt.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public enum Zahlungsart {
+
+    BAR("Bar bei Lieferung"),
+    KARTE("Karte bei Lieferung"),
+    ONLINE("Online");
+
+    private final String bezeichnung;   /** Anzeigetext für JSPs */
+
+    Zahlungsart(String bezeichnung) {
+        this.bezeichnung = bezeichnung;
+    }
+
+    public String getBezeichnung() {
+        return bezeichnung;
+    }
+
+    /**
+     * Ermittelt die Zahlungsart aus einem Formular- oder Journalwert.
+     *
+     * @param wert Name der Zahlungsart, z. B. "KARTE" (darf null oder unbekannt sein)
+     * @return Zahlungsart oder null, wenn der Wert keine Zahlungsart ist
+     */
+    public static Zahlungsart von(String wert) {
+        if (wert != null) {
+            for (Zahlungsart art : values()) {
+                if (art.name().equalsIgnoreCase(wert.trim())) {
+                    return art;
+                }
+            }
+        }
+        return null;
+    }
+
+}
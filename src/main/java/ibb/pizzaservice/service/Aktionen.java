@@ -0,0 +1,228 @@
+package ibb.pizzaservice.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Verwaltet die aktiven Aktionen ({@link Preisregel}n) und hält die {@link Preisplan}e der Filialen
+ * aktuell.
+ *
+ * Die Aktionen stehen in {@code aktionen.properties}:
+ * <pre>
+ * aktionen=duo,pizzabrot
+ * aktion.duo.art=paket                  # paket | gratis | happyhour
+ * aktion.duo.name=2 Pizzen für 15 €
+ * aktion.duo.speisen=Pi02,Pi03,Pi04     # Auswahl (leer = alle Speisen)
+ * aktion.duo.anzahl=2
+ * aktion.duo.preis=15.00
+ * aktion.pizzabrot.art=gratis
+ * aktion.pizzabrot.speise=Pi01
+ * aktion.pizzabrot.ab=25.00
+ * aktion.hh.art=happyhour
+ * aktion.hh.tage=MO,DI,MI,DO
+ * aktion.hh.von=15:00
+ * aktion.hh.bis=17:00
+ * aktion.hh.prozent=10
+ * </pre>
+ *
+ * Liegt im Datenverzeichnis eine Datei {@code aktionen.properties}, hat sie Vorrang vor der Datei im
+ * Klassenpfad. Änderungen an dieser Datei werden höchstens alle {@value #PRUEFINTERVALL_MS} ms geprüft;
+ * nur dann werden die Preispläne aller Filialen neu kompiliert – nie beim einzelnen Bestellvorgang.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Aktionen {
+
+    /** Name der Konfigurationsdatei */
+    public static final String DATEI = "aktionen.properties";
+
+    /** Mindestabstand zwischen zwei Prüfungen der Datei */
+    public static final long PRUEFINTERVALL_MS = 10_000;
+
+    private final Path datei;                         /** Datei im Datenverzeichnis (darf fehlen) */
+    private volatile List<Preisregel> regeln;         /** Aktuell aktive Regeln */
+    private volatile long geaendert;                  /** Änderungszeit der geladenen Datei (0 = Klassenpfad) */
+    private volatile long naechstePruefung;           /** Zeitpunkt der nächsten Prüfung */
+
+    /**
+     * Lädt die Aktionen.
+     *
+     * @param datei {@code aktionen.properties} im Datenverzeichnis oder null (nur Klassenpfad)
+     * @throws UncheckedIOException     wenn die Datei nicht gelesen werden kann
+     * @throws IllegalArgumentException bei fehlerhafter Konfiguration
+     */
+    public Aktionen(Path datei) {
+        this.datei = datei;
+        this.regeln = laden();
+        this.naechstePruefung = System.currentTimeMillis() + PRUEFINTERVALL_MS;
+    }
+
+    /**
+     * Liefert die aktiven Preisregeln.
+     *
+     * @return unveränderliche Liste in Anwendungsreihenfolge
+     */
+    public List<Preisregel> getRegeln() {
+        return regeln;
+    }
+
+    /**
+     * Kompiliert die Preispläne aller lokalen Filialen mit den aktuellen Regeln.
+     *
+     * @param filialen Filialverzeichnis
+     */
+    public void anwenden(Filialen filialen) {
+        for (Filiale filiale : filialen.getAlle()) {
+            filiale.setPreisregeln(regeln);
+        }
+    }
+
+    /**
+     * Prüft (höchstens alle {@value #PRUEFINTERVALL_MS} ms), ob sich die Aktionen geändert haben, und
+     * kompiliert in diesem Fall die Preispläne aller Filialen neu.
+     *
+     * @param filialen Filialverzeichnis
+     */
+    public void pruefen(Filialen filialen) {
+        long jetzt = System.currentTimeMillis();
+        if (jetzt < naechstePruefung) {
+            return;
+        }
+        synchronized (this) {
+            if (jetzt < naechstePruefung) {
+                return;
+            }
+            naechstePruefung = jetzt + PRUEFINTERVALL_MS;
+            if (aenderungszeit() != geaendert) {
+                try {
+                    regeln = laden();
+                    anwenden(filialen);
+                } catch (RuntimeException e) {
+                    // Fehlerhafte Datei: bisherige Aktionen behalten
+                    System.err.println("Aktionen konnten nicht neu geladen werden: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private long aenderungszeit() {
+        try {
+            return (datei != null && Files.isRegularFile(datei)) ? Files.getLastModifiedTime(datei).toMillis() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private List<Preisregel> laden() {
+        long zeit = aenderungszeit();
+        Properties properties = new Properties();
+        try (InputStream in = (zeit != 0) ? Files.newInputStream(datei) : Aktionen.class.getResourceAsStream("/" + DATEI)) {
+            if (in != null) {
+                try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Aktionen konnten nicht geladen werden.", e);
+        }
+        geaendert = zeit;
+        return regeln(properties);
+    }
+
+    /**
+     * Erstellt die Preisregeln aus einer Konfiguration.
+     *
+     * @param properties Konfiguration im Format von {@code aktionen.properties}
+     * @return Preisregeln in Konfigurationsreihenfolge
+     * @throws IllegalArgumentException bei fehlerhafter Konfiguration
+     */
+    public static List<Preisregel> regeln(Properties properties) {
+        List<Preisregel> liste = new ArrayList<>();
+        for (String id : liste(properties.getProperty("aktionen", ""))) {
+            String praefix = "aktion." + id + ".";
+            String art = properties.getProperty(praefix + "art", "").trim();
+            String name = properties.getProperty(praefix + "name", id).trim();
+            Set<String> speisen = new LinkedHashSet<>(liste(properties.getProperty(praefix + "speisen", "")));
+            try {
+                switch (art) {
+                    case "paket":
+                        liste.add(Preisregel.paket(name, speisen,
+                                Integer.parseInt(wert(properties, praefix + "anzahl")),
+                                new BigDecimal(wert(properties, praefix + "preis"))));
+                        break;
+                    case "gratis":
+                        liste.add(Preisregel.gratis(name, wert(properties, praefix + "speise"),
+                                new BigDecimal(wert(properties, praefix + "ab"))));
+                        break;
+                    case "happyhour":
+                        liste.add(Preisregel.happyHour(name, speisen,
+                                Integer.parseInt(wert(properties, praefix + "prozent")),
+                                tage(wert(properties, praefix + "tage")),
+                                LocalTime.parse(wert(properties, praefix + "von")),
+                                LocalTime.parse(wert(properties, praefix + "bis"))));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unbekannte Art \"" + art + "\"");
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Fehlerhafte Aktion " + id + ": " + e.getMessage(), e);
+            }
+        }
+        return Collections.unmodifiableList(liste);
+    }
+
+    private static String wert(Properties properties, String schluessel) {
+        String wert = properties.getProperty(schluessel, "").trim();
+        if (wert.isEmpty()) {
+            throw new IllegalArgumentException(schluessel + " fehlt");
+        }
+        return wert;
+    }
+
+    private static Set<DayOfWeek> tage(String wert) {
+        Set<DayOfWeek> tage = EnumSet.noneOf(DayOfWeek.class);
+        for (String tag : liste(wert)) {
+            switch (tag.toUpperCase()) {
+                case "MO": tage.add(DayOfWeek.MONDAY);    break;
+                case "DI": tage.add(DayOfWeek.TUESDAY);   break;
+                case "MI": tage.add(DayOfWeek.WEDNESDAY); break;
+                case "DO": tage.add(DayOfWeek.THURSDAY);  break;
+                case "FR": tage.add(DayOfWeek.FRIDAY);    break;
+                case "SA": tage.add(DayOfWeek.SATURDAY);  break;
+                case "SO": tage.add(DayOfWeek.SUNDAY);    break;
+                default:
+                    throw new IllegalArgumentException("unbekannter Wochentag " + tag);
+            }
+        }
+        return tage;
+    }
+
+    private static List<String> liste(String wert) {
+        List<String> ergebnis = new ArrayList<>();
+        for (String teil : wert.split(",")) {
+            if (!teil.isBlank()) {
+                ergebnis.add(teil.trim());
+            }
+        }
+        return ergebnis;
+    }
+
+}
@@ -0,0 +1,107 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.service.Stufenzeiten.Stufe;
+
+/**
+ * Der Bestellpfad ohne HTTP: bepreist eine aufgebaute {@link Bestellung}, reserviert ihre Zutaten (bei
+ * Vorbestellungen auch Platz im {@link Zeitfenster}), vergibt die Bestell-ID und reiht sie in die Warteschlange der {@link Filiale} ein.
+ *
+ * Wird vom {@link ibb.pizzaservice.controller.BestellungServlet} und vom Wiedergabewerkzeug
+ * ({@code ibb.pizzaservice.werkzeug.BestellWiedergabe} bei den Testquellen) gleichermaßen verwendet. Die Laufzeit jeder
+ * Stufe wird in den {@link Stufenzeiten} der Filiale erfasst.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class BestellAnnahme {
+
+    /**
+     * Ergebnis der Annahme.
+     */
+    public enum Ergebnis {
+        /** Bestellung hat eine ID und ist in der Warteschlange der Filiale */
+        ANGENOMMEN,
+        /** Bestellung ohne Positionen (nur bepreist, nicht eingereiht) */
+        LEER,
+        /** Zutaten reichen nicht (nichts reserviert, nicht eingereiht) */
+        AUSVERKAUFT,
+        /** Gewünschtes Zeitfenster voll oder nicht buchbar (nichts reserviert, nicht eingereiht) */
+        ZEITFENSTER_BELEGT,
+        /** Kundenfelder oder Mengen über den Eingabegrenzen (nichts reserviert, nicht eingereiht) */
+        UNGUELTIG
+    }
+
+    private final Filialen filialen;               /** Filialverzeichnis (für das Neuladen der Aktionen) */
+    private final Aktionen aktionen;               /** Aktionen (null: keine Prüfung auf Änderungen) */
+    private final BestellIdGenerator bestellIds;   /** Generator für Bestell-IDs */
+
+    /**
+     * Erstellt den Bestellpfad.
+     *
+     * @param filialen   Filialverzeichnis
+     * @param aktionen   Aktionen oder null
+     * @param bestellIds Generator für Bestell-IDs
+     */
+    public BestellAnnahme(Filialen filialen, Aktionen aktionen, BestellIdGenerator bestellIds) {
+        this.filialen = filialen;
+        this.aktionen = aktionen;
+        this.bestellIds = bestellIds;
+    }
+
+    /**
+     * Nimmt eine Bestellung an.
+     *
+     * @param filiale    zuständige, lokale Filiale
+     * @param bestellung Bestellung mit Kunde und Positionen aus der Speisekarte der Filiale
+     * @return Ergebnis der Annahme
+     */
+    public Ergebnis annehmen(Filiale filiale, Bestellung bestellung) {
+        Stufenzeiten zeiten = filiale.getStufenzeiten();
+
+        // Aktionen anwenden (Preisplan ist bereits kompiliert)
+        long zeit = System.nanoTime();
+        if (aktionen != null) {
+            aktionen.pruefen(filialen);
+        }
+        filiale.getPreisplan().berechnen(bestellung);
+        zeit = zeiten.erfassen(Stufe.BEPREISEN, zeit);
+        if (bestellung.getPositionen().isEmpty()) {
+            return Ergebnis.LEER;
+        }
+        if (!bestellung.isZulaessig()) {
+            return Ergebnis.UNGUELTIG;   // passt nicht ins Ereignisprotokoll
+        }
+
+        // Zutaten und Zeitfenster reservieren – ganz oder gar nicht
+        Lager lager = filiale.getLager();
+        if (lager != null && !lager.reservieren(bestellung)) {
+            zeiten.erfassen(Stufe.RESERVIEREN, zeit);
+            return Ergebnis.AUSVERKAUFT;
+        }
+        if (bestellung.isVorbestellt()) {
+            Zeitfenster zeitfenster = filiale.getZeitfenster();
+            // Bestellzeitpunkt statt Uhrzeit: die Wiedergabe bucht so wie am aufgezeichneten Tag
+            if (zeitfenster == null || !zeitfenster.reservieren(bestellung.getWunschzeit(),
+                    Zeitfenster.pizzen(bestellung), bestellung.getZeitpunkt())) {
+                if (lager != null) {
+                    lager.freigeben(bestellung);
+                }
+                zeiten.erfassen(Stufe.RESERVIEREN, zeit);
+                return Ergebnis.ZEITFENSTER_BELEGT;
+            }
+        }
+        if (lager != null || bestellung.isVorbestellt()) {
+            zeit = zeiten.erfassen(Stufe.RESERVIEREN, zeit);
+        }
+
+        bestellung.setBestellId(bestellIds.naechsteId());
+        zeit = zeiten.erfassen(Stufe.ID_VERGEBEN, zeit);
+
+        filiale.annehmen(bestellung);
+        zeiten.erfassen(Stufe.EINREIHEN, zeit);
+        return Ergebnis.ANGENOMMEN;
+    }
+
+}
@@ -0,0 +1,129 @@
+package ibb.pizzaservice.service;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Erzeugt eindeutige, zeitlich aufsteigende 64-Bit-Bestell-IDs ohne Sperren.
+ *
+ * Aufbau einer ID (vorzeichenlos positiv):
+ * <pre>
+ * | 0 | 41 Bit Millisekunden seit EPOCHE | 10 Bit Knoten | 12 Bit laufende Nummer |
+ * </pre>
+ *
+ * Jeder Knoten erhält eine eigene Knotennummer (0–1023), dadurch sind die IDs auch über mehrere Knoten
+ * hinweg eindeutig. Innerhalb einer Millisekunde können 4096 IDs vergeben werden; werden mehr
+ * angefordert, wird auf die nächste Millisekunde vorgegriffen, statt zu warten. Die zuletzt vergebene
+ * ID wird in einem {@link AtomicLong} gehalten und per compare-and-set weitergezählt, sodass beliebig
+ * viele Request-Threads gleichzeitig IDs ziehen können. Die IDs eines Knotens sind streng monoton –
+ * auch wenn die Systemuhr zurückgestellt wird.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class BestellIdGenerator {
+
+    /** Beginn der Zeitrechnung (01.01.2026 UTC); reicht mit 41 Bit bis etwa 2095 */
+    public static final long EPOCHE = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+
+    /** Größte erlaubte Knotennummer */
+    public static final int MAX_KNOTEN = 1023;
+
+    private static final int KNOTEN_BITS = 10;
+    private static final int NUMMER_BITS = 12;
+    private static final int ZEIT_SHIFT = KNOTEN_BITS + NUMMER_BITS;
+    private static final long NUMMER_MASKE = (1L << NUMMER_BITS) - 1;
+
+    private final long knotenBits;             /** Knotennummer an ihrer Bitposition */
+    private final LongSupplier uhr;            /** Zeitquelle (Epoch-Millis) */
+    private final AtomicLong letzte = new AtomicLong();   /** Zuletzt vergebene ID */
+
+    /**
+     * Erstellt einen Generator für einen Knoten.
+     *
+     * @param knoten Knotennummer (0–1023)
+     * @throws IllegalArgumentException bei ungültiger Knotennummer
+     */
+    public BestellIdGenerator(int knoten) {
+        this(knoten, System::currentTimeMillis);
+    }
+
+    /**
+     * Erstellt einen Generator mit eigener Zeitquelle.
+     *
+     * @param knoten Knotennummer (0–1023)
+     * @param uhr    Zeitquelle in Epoch-Millis
+     * @throws IllegalArgumentException bei ungültiger Knotennummer
+     */
+    public BestellIdGenerator(int knoten, LongSupplier uhr) {
+        if (knoten < 0 || knoten > MAX_KNOTEN) {
+            throw new IllegalArgumentException("Knotennummer muss zwischen 0 und " + MAX_KNOTEN + " liegen: " + knoten);
+        }
+        this.knotenBits = (long) knoten << NUMMER_BITS;
+        this.uhr = uhr;
+    }
+
+    /**
+     * Vergibt die nächste Bestell-ID.
+     *
+     * @return neue, eindeutige ID (immer größer als alle bisher vergebenen)
+     */
+    public long naechsteId() {
+        while (true) {
+            long vorher = letzte.get();
+            long jetzt = ((uhr.getAsLong() - EPOCHE) << ZEIT_SHIFT) | knotenBits;
+            long id;
+            if (jetzt > vorher) {
+                id = jetzt;                                   // neue Millisekunde: Nummer 0
+            } else if ((vorher & NUMMER_MASKE) < NUMMER_MASKE) {
+                id = vorher + 1;                              // gleiche Millisekunde: nächste Nummer
+            } else {
+                id = ((zeit(vorher) + 1) << ZEIT_SHIFT) | knotenBits;   // Nummern erschöpft: vorgreifen
+            }
+            if (letzte.compareAndSet(vorher, id)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Stellt sicher, dass alle künftigen IDs größer als eine bereits vergebene ID sind
+     * (z. B. nach einem Neustart mit zurückgestellter Uhr).
+     *
+     * @param id bereits vergebene ID dieses Knotens
+     */
+    public void mindestens(long id) {
+        letzte.accumulateAndGet(id, Math::max);
+    }
+
+    // ------------------------------------------------------------
+    // Zerlegen einer ID
+    // ------------------------------------------------------------
+
+    /**
+     * Liefert den Erzeugungszeitpunkt einer ID.
+     *
+     * @param id Bestell-ID
+     * @return Zeitpunkt in Epoch-Millis
+     */
+    public static long zeitpunkt(long id) {
+        return zeit(id) + EPOCHE;
+    }
+
+    /**
+     * Liefert die Knotennummer einer ID.
+     *
+     * @param id Bestell-ID
+     * @return Knotennummer
+     */
+    public static int knoten(long id) {
+        return (int) (id >>> NUMMER_BITS) & MAX_KNOTEN;
+    }
+
+    private static long zeit(long id) {
+        return id >>> ZEIT_SHIFT;
+    }
+
+}
@@ -0,0 +1,338 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Kunde;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tagesjournal aller angenommenen Bestellungen einer {@link Filiale} als CSV (Trennzeichen {@code ;}).
+ *
+ * Jede Bestellung wird als eine Zeile an das aktive Segment angehängt:
+ * <pre>
+ * journal/2026-10-19/mitte-0001.csv
+ * journal/2026-10-19/mitte-0002.csv   ← aktives Segment
+ * </pre>
+ * Ein Segment wird versiegelt (nie mehr verändert), sobald es {@value #SEGMENT_GROESSE} Bytes erreicht
+ * oder der Tag wechselt; nach einem Neustart beginnt ein neues Segment. Die Segmente enthalten keine
+ * Kopfzeile, damit sie für den Export ({@link #KOPFZEILE} + Segmente) unverändert hintereinander
+ * kopiert werden können. Neue Spalten werden nur hinten angefügt; ältere Zeilen haben entsprechend
+ * weniger Felder.
+ *
+ * Das Journal wird nur angehängt, nie umgeschrieben. Stornierungen und Korrekturen werden daher als
+ * Gegenbuchung geschrieben: eine Zeile mit allen Feldern der bisherigen Bestellung, aber negativen
+ * Mengen und Beträgen. Die Spalte {@code status} unterscheidet die Zeilen:
+ * <ul>
+ *   <li>leer – angenommene Bestellung</li>
+ *   <li>{@value #STORNIERT} – Gegenbuchung einer Stornierung ({@link #stornieren(Bestellung)})</li>
+ *   <li>{@value #ERSETZT} – Gegenbuchung des bisherigen Stands einer geänderten Bestellung, gefolgt
+ *       von einer Zeile {@value #KORRIGIERT} mit dem neuen Stand
+ *       ({@link #korrigieren(Bestellung, Bestellung)})</li>
+ * </ul>
+ * Auswertungen und der Export brauchen so weder einen Vorlauf noch eine Sonderbehandlung: Die Summe
+ * aller Zeilen einer Bestellung ergibt ihren gültigen Stand, bei stornierten Bestellungen Null.
+ *
+ * Geschrieben wird nur vom Bearbeitungsthread der Filiale. Zeilen werden gepuffert und mit
+ * {@link #flush()} gemeinsam geschrieben; erst danach gelten sie als festgeschrieben und sind für den
+ * Export sichtbar. Lesende Threads erhalten über {@link #segmente(LocalDate)} für jedes Segment die
+ * Länge, bis zu der es vollständig ist.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class BestellJournal implements AutoCloseable {
+
+    /** Größe, ab der ein neues Segment begonnen wird */
+    public static final long SEGMENT_GROESSE = 8L * 1024 * 1024;
+
+    /** Spaltenüberschriften (nur im Export, nicht in den Segmenten) */
+    public static final String KOPFZEILE =
+            "bestellId;zeitpunkt;filiale;anrede;vorname;nachname;strasse;hausnummer;plz;stadt;"
+            + "positionen;zwischensumme;rabatt;gesamt;liefergebuehr;zahlungsart;wunschzeit;status\r\n";
+
+    /** Spalte {@code status} der Gegenbuchung einer Stornierung (angenommene Bestellungen: leer) */
+    public static final String STORNIERT = "STORNIERT";
+
+    /** Spalte {@code status} der Gegenbuchung des bisherigen Stands einer geänderten Bestellung */
+    public static final String ERSETZT = "ERSETZT";
+
+    /** Spalte {@code status} des neuen Stands einer geänderten Bestellung */
+    public static final String KORRIGIERT = "KORRIGIERT";
+
+    /**
+     * Ein Segment mit der Länge, bis zu der es vollständig geschrieben ist.
+     */
+    public static final class Segment {
+
+        private final Path datei;
+        private final long laenge;
+
+        Segment(Path datei, long laenge) {
+            this.datei = datei;
+            this.laenge = laenge;
+        }
+
+        public Path getDatei() {
+            return datei;
+        }
+
+        public long getLaenge() {
+            return laenge;
+        }
+    }
+
+    private final Path verzeichnis;                /** Basisverzeichnis des Journals */
+    private final String filialeId;                /** Präfix der Segmentdateien */
+    private final ByteArrayOutputStream puffer = new ByteArrayOutputStream(8192);
+    private final StringBuilder zeile = new StringBuilder(256);
+
+    private LocalDate datum;                       /** Tag des aktiven Segments */
+    private int nummer;                            /** Nummer des aktiven Segments */
+    private FileChannel kanal;                     /** Aktives Segment (null: noch keines geöffnet) */
+    private long geschrieben;                      /** Länge des aktiven Segments inkl. Puffer */
+    private volatile Segment aktiv;                /** Aktives Segment mit festgeschriebener Länge */
+
+    /**
+     * Erstellt das Journal einer Filiale.
+     *
+     * @param verzeichnis Basisverzeichnis des Journals (je Tag ein Unterverzeichnis)
+     * @param filialeId   ID der Filiale
+     */
+    public BestellJournal(Path verzeichnis, String filialeId) {
+        this.verzeichnis = verzeichnis;
+        this.filialeId = filialeId;
+    }
+
+    /**
+     * Hängt eine angenommene Bestellung an (gepuffert, siehe {@link #flush()}).
+     *
+     * @param bestellung angenommene Bestellung
+     * @throws IOException bei Schreibfehlern
+     */
+    public void anhaengen(Bestellung bestellung) throws IOException {
+        zeile(bestellung, 1, "");
+    }
+
+    /**
+     * Hängt die Gegenbuchung einer stornierten Bestellung an (gepuffert, siehe {@link #flush()}). Sie
+     * landet im Journal des Bestelltages, auch wenn erst nach Mitternacht storniert wird.
+     *
+     * @param bestellung stornierte Bestellung (Stand vor der Stornierung)
+     * @throws IOException bei Schreibfehlern
+     */
+    public void stornieren(Bestellung bestellung) throws IOException {
+        zeile(bestellung, -1, STORNIERT);
+    }
+
+    /**
+     * Hängt die Korrektur einer geänderten Bestellung an (gepuffert, siehe {@link #flush()}): die
+     * Gegenbuchung des bisherigen Stands und eine Zeile mit dem neuen Stand.
+     *
+     * @param vorher  Stand vor der Änderung
+     * @param nachher Stand nach der Änderung
+     * @throws IOException bei Schreibfehlern
+     */
+    public void korrigieren(Bestellung vorher, Bestellung nachher) throws IOException {
+        zeile(vorher, -1, ERSETZT);
+        zeile(nachher, 1, KORRIGIERT);
+    }
+
+    /**
+     * Schreibt eine Zeile in das Segment des Bestelltages.
+     *
+     * @param vorzeichen 1 oder -1 (Gegenbuchung: Mengen und Beträge negativ)
+     * @param status     Inhalt der Spalte {@code status}
+     */
+    private void zeile(Bestellung bestellung, int vorzeichen, String status) throws IOException {
+        LocalDateTime zeit = segmentFuer(bestellung);
+
+        Kunde kunde = (bestellung.getKunde() != null) ? bestellung.getKunde() : new Kunde();
+        StringBuilder sb = zeile;
+        sb.setLength(0);
+        sb.append(bestellung.getBestellId()).append(';');
+        sb.append(zeit.withNano(0)).append(';');
+        feld(sb, bestellung.getFilialeId());
+        feld(sb, kunde.getAnrede());
+        feld(sb, kunde.getVorname());
+        feld(sb, kunde.getNachname());
+        feld(sb, kunde.getStrasse());
+        feld(sb, kunde.getHausnummer());
+        feld(sb, kunde.getPlz());
+        feld(sb, kunde.getStadt());
+        // Positionen: 2xPi03@7,95|1xPi06@9,80 (Gegenbuchung: -2xPi03@7,95|-1xPi06@9,80)
+        int start = sb.length();
+        for (Bestellposition pos : bestellung.getPositionen()) {
+            if (sb.length() > start) {
+                sb.append('|');
+            }
+            sb.append(vorzeichen * pos.getMenge()).append('x').append(pos.getSpeise().getSpeiseId()).append('@');
+            betrag(sb, pos.getSpeise().getPreis());
+        }
+        sb.append(';');
+        betrag(sb, bestellung.getZwischensumme(), vorzeichen);
+        sb.append(';');
+        betrag(sb, bestellung.getRabattsumme(), vorzeichen);
+        sb.append(';');
+        betrag(sb, bestellung.getGesamtpreis(), vorzeichen);
+        sb.append(';');
+        betrag(sb, bestellung.getLiefergebuehr(), vorzeichen);
+        sb.append(';');
+        sb.append(bestellung.getZahlungsart().name()).append(';');
+        if (bestellung.isVorbestellt()) {
+            sb.append(LocalDateTime.ofInstant(Instant.ofEpochMilli(bestellung.getWunschzeit()), Preisplan.ZONE).toLocalTime());
+        }
+        sb.append(';').append(status).append("\r\n");
+        puffern(sb);
+    }
+
+    /** Wählt das Segment für den Bestelltag (ggf. neu) und liefert den Bestellzeitpunkt */
+    private LocalDateTime segmentFuer(Bestellung bestellung) throws IOException {
+        LocalDateTime zeit = LocalDateTime.ofInstant(Instant.ofEpochMilli(bestellung.getZeitpunkt()), Preisplan.ZONE);
+        if (kanal == null || !zeit.toLocalDate().equals(datum) || geschrieben >= SEGMENT_GROESSE) {
+            neuesSegment(zeit.toLocalDate());
+        }
+        return zeit;
+    }
+
+    private void puffern(StringBuilder sb) {
+        byte[] daten = sb.toString().getBytes(StandardCharsets.UTF_8);
+        puffer.write(daten, 0, daten.length);
+        geschrieben += daten.length;
+    }
+
+    /** Textfeld mit Trennzeichen; Felder mit ; " oder Zeilenumbruch werden in Anführungszeichen gesetzt */
+    private static void feld(StringBuilder sb, String wert) {
+        if (wert != null) {
+            if (wert.indexOf(';') >= 0 || wert.indexOf('"') >= 0 || wert.indexOf('\n') >= 0 || wert.indexOf('\r') >= 0) {
+                sb.append('"').append(wert.replace("\"", "\"\"")).append('"');
+            } else {
+                sb.append(wert);
+            }
+        }
+        sb.append(';');
+    }
+
+    /** Betrag mit Dezimalkomma und zwei Nachkommastellen */
+    private static void betrag(StringBuilder sb, BigDecimal betrag) {
+        sb.append(betrag.setScale(2, RoundingMode.HALF_UP).toPlainString().replace('.', ','));
+    }
+
+    private static void betrag(StringBuilder sb, BigDecimal betrag, int vorzeichen) {
+        betrag(sb, (vorzeichen < 0 && betrag.signum() != 0) ? betrag.negate() : betrag);
+    }
+
+    private void neuesSegment(LocalDate tag) throws IOException {
+        versiegeln();
+        Path tagesVerzeichnis = Files.createDirectories(verzeichnis.resolve(tag.toString()));
+        if (!tag.equals(datum)) {
+            // Nach Neustart oder Tageswechsel hinter den vorhandenen Segmenten weiterzählen
+            nummer = 0;
+            for (Segment segment : segmente(tagesVerzeichnis)) {
+                nummer = Math.max(nummer, segmentNummer(segment.getDatei()));
+            }
+            datum = tag;
+        }
+        nummer++;
+        Path datei = tagesVerzeichnis.resolve(String.format("%s-%04d.csv", filialeId, nummer));
+        kanal = FileChannel.open(datei, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        geschrieben = 0;
+        aktiv = new Segment(datei, 0);
+    }
+
+    private void versiegeln() throws IOException {
+        if (kanal != null) {
+            flush();
+            kanal.force(true);
+            kanal.close();
+            kanal = null;
+        }
+    }
+
+    /**
+     * Schreibt alle gepufferten Zeilen in das aktive Segment und macht sie für den Export sichtbar.
+     *
+     * @throws IOException bei Schreibfehlern
+     */
+    public void flush() throws IOException {
+        if (kanal == null || puffer.size() == 0) {
+            return;
+        }
+        ByteBuffer daten = ByteBuffer.wrap(puffer.toByteArray());
+        while (daten.hasRemaining()) {
+            kanal.write(daten);
+        }
+        puffer.reset();
+        aktiv = new Segment(aktiv.getDatei(), geschrieben);
+    }
+
+    /**
+     * Liefert alle Segmente eines Tages in Schreibreihenfolge. Für das aktive Segment wird nur der
+     * festgeschriebene Teil geliefert; versiegelte Segmente werden vollständig geliefert.
+     *
+     * @param tag Tag der Bestellungen
+     * @return Segmente (leer, wenn an diesem Tag keine Bestellung angenommen wurde)
+     * @throws IOException bei Lesefehlern im Verzeichnis
+     */
+    public List<Segment> segmente(LocalDate tag) throws IOException {
+        Path tagesVerzeichnis = verzeichnis.resolve(tag.toString());
+        if (!Files.isDirectory(tagesVerzeichnis)) {
+            return List.of();
+        }
+        Segment offen = aktiv;
+        List<Segment> liste = new ArrayList<>();
+        for (Segment segment : segmente(tagesVerzeichnis)) {
+            liste.add((offen != null && offen.getDatei().equals(segment.getDatei())) ? offen : segment);
+        }
+        return liste;
+    }
+
+    private List<Segment> segmente(Path tagesVerzeichnis) throws IOException {
+        List<Segment> liste = new ArrayList<>();
+        try (DirectoryStream<Path> dateien = Files.newDirectoryStream(tagesVerzeichnis, filialeId + "-*.csv")) {
+            for (Path datei : dateien) {
+                if (segmentNummer(datei) > 0) {
+                    liste.add(new Segment(datei, Files.size(datei)));
+                }
+            }
+        }
+        liste.sort((a, b) -> Integer.compare(segmentNummer(a.getDatei()), segmentNummer(b.getDatei())));
+        return liste;
+    }
+
+    private int segmentNummer(Path datei) {
+        String name = datei.getFileName().toString();
+        String nummer = name.substring(filialeId.length() + 1, name.length() - ".csv".length());
+        try {
+            return Integer.parseInt(nummer);
+        } catch (NumberFormatException e) {
+            return 0;   // fremde Datei (z. B. Filiale mit ähnlicher ID)
+        }
+    }
+
+    /**
+     * Versiegelt das aktive Segment.
+     *
+     * @throws IOException bei Schreibfehlern
+     */
+    @Override
+    public void close() throws IOException {
+        versiegeln();
+    }
+
+}
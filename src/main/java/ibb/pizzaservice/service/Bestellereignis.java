@@ -0,0 +1,185 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellstatus;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Rabattzeile;
+import java.util.List;
+
+/**
+ * Ein einzelnes Ereignis im Lebenszyklus einer {@link Bestellung}.
+ *
+ * Ereignisse werden vom {@link Ereignisprotokoll} in kompakter Binärform angehängt und beim Neustart
+ * wieder eingelesen. Der aktuelle Zustand aller Bestellungen ergibt sich ausschließlich aus der
+ * Folge dieser Ereignisse.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public final class Bestellereignis {
+
+    /**
+     * Art des Ereignisses. Der Code wird als einzelnes Byte gespeichert und darf nicht geändert werden.
+     */
+    public enum Typ {
+        AUFGEGEBEN(1),
+        POSITION_GEAENDERT(2),
+        IM_OFEN(3),
+        FERTIG(4),
+        GELIEFERT(5),
+        STORNIERT(6);
+
+        private final byte code;
+
+        Typ(int code) {
+            this.code = (byte) code;
+        }
+
+        public byte getCode() {
+            return code;
+        }
+
+        /**
+         * Liefert den Typ zu einem gespeicherten Code.
+         *
+         * @param code gespeicherter Code
+         * @return Ereignistyp
+         * @throws IllegalArgumentException bei unbekanntem Code
+         */
+        public static Typ vonCode(byte code) {
+            for (Typ typ : values()) {
+                if (typ.code == code) {
+                    return typ;
+                }
+            }
+            throw new IllegalArgumentException("Unbekannter Ereignistyp: " + code);
+        }
+
+        /**
+         * Liefert das Statusereignis zu einem neuen Bestellstatus.
+         *
+         * @param status neuer Status (nicht AUFGEGEBEN)
+         * @return passender Ereignistyp
+         */
+        public static Typ fuerStatus(Bestellstatus status) {
+            switch (status) {
+                case IM_OFEN:    return IM_OFEN;
+                case FERTIG:     return FERTIG;
+                case GELIEFERT:  return GELIEFERT;
+                case STORNIERT:  return STORNIERT;
+                default:
+                    throw new IllegalArgumentException("Kein Statusereignis für " + status);
+            }
+        }
+    }
+
+    private final Typ typ;                 /** Art des Ereignisses */
+    private final long bestellId;          /** Betroffene Bestellung */
+    private final long zeitpunkt;          /** Zeitpunkt des Ereignisses (Epoch-Millis) */
+    private final Bestellung bestellung;   /** Vollständige Bestellung (nur bei AUFGEGEBEN) */
+    private final String speiseId;         /** Geänderte Speise (nur bei POSITION_GEAENDERT) */
+    private final int menge;               /** Neue Menge, 0 = entfernt (nur bei POSITION_GEAENDERT) */
+    private final List<Rabattzeile> rabatte;   /** Rabatte nach der Änderung (nur bei POSITION_GEAENDERT, null: unverändert) */
+
+    private Bestellereignis(Typ typ, long bestellId, long zeitpunkt, Bestellung bestellung, String speiseId, int menge,
+                            List<Rabattzeile> rabatte) {
+        this.typ = typ;
+        this.bestellId = bestellId;
+        this.zeitpunkt = zeitpunkt;
+        this.bestellung = bestellung;
+        this.speiseId = speiseId;
+        this.menge = menge;
+        this.rabatte = rabatte;
+    }
+
+    /**
+     * Ereignis: Bestellung wurde aufgegeben.
+     *
+     * @param bestellung neue Bestellung (mit ID und Zeitpunkt)
+     * @return Ereignis
+     */
+    public static Bestellereignis aufgegeben(Bestellung bestellung) {
+        return new Bestellereignis(Typ.AUFGEGEBEN, bestellung.getBestellId(), bestellung.getZeitpunkt(),
+                bestellung, null, 0, null);
+    }
+
+    /**
+     * Ereignis: Menge einer Position wurde geändert (0 = Position entfernt).
+     *
+     * @param bestellId ID der Bestellung
+     * @param zeitpunkt Zeitpunkt der Änderung
+     * @param speiseId  betroffene Speise
+     * @param menge     neue Menge
+     * @param rabatte   Rabatte der geänderten Bestellung (null: unverändert, z. B. in älteren Datensätzen)
+     * @return Ereignis
+     */
+    public static Bestellereignis positionGeaendert(long bestellId, long zeitpunkt, String speiseId, int menge,
+                                                    List<Rabattzeile> rabatte) {
+        return new Bestellereignis(Typ.POSITION_GEAENDERT, bestellId, zeitpunkt, null, speiseId, menge, rabatte);
+    }
+
+    /**
+     * Ereignis: Status einer Bestellung wurde geändert.
+     *
+     * @param bestellId ID der Bestellung
+     * @param zeitpunkt Zeitpunkt der Änderung
+     * @param status    neuer Status
+     * @return Ereignis
+     */
+    public static Bestellereignis status(long bestellId, long zeitpunkt, Bestellstatus status) {
+        return new Bestellereignis(Typ.fuerStatus(status), bestellId, zeitpunkt, null, null, 0, null);
+    }
+
+    // ------------------------------------------------------------
+    // Getter
+    // ------------------------------------------------------------
+    public Typ getTyp() {
+        return typ;
+    }
+
+    public long getBestellId() {
+        return bestellId;
+    }
+
+    public long getZeitpunkt() {
+        return zeitpunkt;
+    }
+
+    public Bestellung getBestellung() {
+        return bestellung;
+    }
+
+    public String getSpeiseId() {
+        return speiseId;
+    }
+
+    public int getMenge() {
+        return menge;
+    }
+
+    public List<Rabattzeile> getRabatte() {
+        return rabatte;
+    }
+
+    /**
+     * Liefert den Bestellstatus, den dieses Ereignis setzt.
+     *
+     * @return neuer Status oder null bei POSITION_GEAENDERT
+     */
+    public Bestellstatus getStatus() {
+        switch (typ) {
+            case AUFGEGEBEN: return Bestellstatus.AUFGEGEBEN;
+            case IM_OFEN:    return Bestellstatus.IM_OFEN;
+            case FERTIG:     return Bestellstatus.FERTIG;
+            case GELIEFERT:  return Bestellstatus.GELIEFERT;
+            case STORNIERT:  return Bestellstatus.STORNIERT;
+            default:         return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return typ + " #" + bestellId + " @" + zeitpunkt;
+    }
+
+}
@@ -0,0 +1,160 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellstatus;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Speise;
+import ibb.pizzaservice.model.Speisekarte;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aktueller Zustand aller nicht abgeschlossenen Bestellungen einer {@link Filiale}.
+ *
+ * Der Zustand entsteht ausschließlich durch Anwenden von {@link Bestellereignis}sen – im laufenden
+ * Betrieb direkt nach dem Speichern eines Ereignisses, beim Neustart durch Abspielen des
+ * {@link Ereignisprotokoll}s. Abgeschlossene (gelieferte oder stornierte) Bestellungen werden entfernt.
+ *
+ * Nur der Thread der Filiale verändert den Zustand; andere Threads (z. B. die Küchenansicht) dürfen
+ * jederzeit lesend zugreifen. Die Positionen einer Bestellung werden dazu nie an Ort und Stelle
+ * geändert, sondern als Ganzes ersetzt.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Bestellzustand {
+
+    private final Map<Long, Bestellung> offene = new ConcurrentHashMap<>();   /** Offene Bestellungen nach ID */
+    private final Speisekarte speisekarte;                                    /** Für neu hinzugefügte Positionen */
+    private volatile long hoechsteId;                                         /** Größte bisher gesehene Bestell-ID */
+
+    /**
+     * Erstellt einen leeren Zustand.
+     *
+     * @param speisekarte Speisekarte der Filiale
+     */
+    public Bestellzustand(Speisekarte speisekarte) {
+        this.speisekarte = speisekarte;
+    }
+
+    /**
+     * Wendet ein Ereignis auf den Zustand an.
+     *
+     * @param ereignis anzuwendendes Ereignis
+     */
+    public void anwenden(Bestellereignis ereignis) {
+        if (ereignis.getBestellId() > hoechsteId) {
+            hoechsteId = ereignis.getBestellId();
+        }
+
+        if (ereignis.getTyp() == Bestellereignis.Typ.AUFGEGEBEN) {
+            offene.put(ereignis.getBestellId(), ereignis.getBestellung());
+            return;
+        }
+        Bestellung bestellung = offene.get(ereignis.getBestellId());
+        if (bestellung == null) {
+            return;   // bereits abgeschlossen oder unbekannt
+        }
+        if (ereignis.getTyp() == Bestellereignis.Typ.POSITION_GEAENDERT) {
+            bestellung.setPositionen(positionenNach(bestellung, ereignis.getSpeiseId(), ereignis.getMenge()));
+            if (ereignis.getRabatte() != null) {
+                bestellung.setRabatte(ereignis.getRabatte());   // neu bepreist (fehlt in älteren Ereignissen)
+            }
+            return;
+        }
+        Bestellstatus status = ereignis.getStatus();
+        bestellung.setStatus(status);
+        if (status.isAbgeschlossen()) {
+            offene.remove(ereignis.getBestellId());
+        }
+    }
+
+    /**
+     * Liefert die Positionen einer Bestellung nach einer Mengenänderung. Die Liste der Bestellung wird
+     * nie verändert (Copy-on-write), sondern als Ganzes durch die geänderte Kopie ersetzt. Andere
+     * Threads (Küchenansicht, Rechnung, Rechnungsarchiv) sehen so immer eine vollständige alte oder
+     * neue Liste.
+     *
+     * @param bestellung offene Bestellung
+     * @param speiseId   betroffene Speise
+     * @param menge      neue Menge (0 = Position entfernen)
+     * @return geänderte Kopie der Positionen (bzw. die bisherige Liste, wenn sich nichts ändert)
+     */
+    List<Bestellposition> positionenNach(Bestellung bestellung, String speiseId, int menge) {
+        List<Bestellposition> bisher = bestellung.getPositionen();
+        List<Bestellposition> neu = new ArrayList<>(bisher.size() + 1);
+        boolean gefunden = false;
+        for (Bestellposition pos : bisher) {
+            if (!gefunden && pos.getSpeise().getSpeiseId().equals(speiseId)) {
+                gefunden = true;
+                if (menge > 0) {
+                    neu.add(new Bestellposition(pos.getSpeise(), menge));
+                }
+            } else {
+                neu.add(pos);
+            }
+        }
+        if (!gefunden) {
+            Speise speise = speisekarte.getSpeise(speiseId);
+            if (menge == 0 || speise == null) {
+                return bisher;
+            }
+            neu.add(new Bestellposition(speise, menge));
+        }
+        return neu;
+    }
+
+    /**
+     * Übernimmt den Inhalt eines Snapshots.
+     *
+     * @param bestellungen offene Bestellungen aus dem Snapshot
+     * @param hoechsteId   größte bis zum Snapshot vergebene Bestell-ID
+     */
+    void snapshotUebernehmen(Collection<Bestellung> bestellungen, long hoechsteId) {
+        offene.clear();
+        for (Bestellung bestellung : bestellungen) {
+            offene.put(bestellung.getBestellId(), bestellung);
+        }
+        this.hoechsteId = hoechsteId;
+    }
+
+    /**
+     * Liefert eine offene Bestellung.
+     *
+     * @param bestellId ID der Bestellung
+     * @return Bestellung oder null, falls abgeschlossen oder unbekannt
+     */
+    public Bestellung get(long bestellId) {
+        return offene.get(bestellId);
+    }
+
+    /**
+     * Liefert eine Momentaufnahme aller offenen Bestellungen in Eingangsreihenfolge.
+     *
+     * @return offene Bestellungen, sortiert nach ID (die IDs sind zeitlich aufsteigend)
+     */
+    public List<Bestellung> getOffene() {
+        List<Bestellung> liste = new ArrayList<>(offene.values());
+        liste.sort(Comparator.comparingLong(Bestellung::getBestellId));
+        return liste;
+    }
+
+    /**
+     * Liefert die Anzahl offener Bestellungen.
+     *
+     * @return Anzahl
+     */
+    public int size() {
+        return offene.size();
+    }
+
+    public long getHoechsteId() {
+        return hoechsteId;
+    }
+
+}
@@ -0,0 +1,67 @@
+package ibb.pizzaservice.service;
+
+import jakarta.servlet.ServletContext;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Ermittelt das Verzeichnis, in dem der PizzaService seine Daten dauerhaft ablegt.
+ *
+ * Der Pfad wird über den Context-Parameter {@code pizzaservice.datenverzeichnis} (web.xml) festgelegt.
+ * Ist kein Parameter gesetzt, wird {@code ~/pizzaservice-daten} verwendet. Fehlende Verzeichnisse
+ * werden automatisch angelegt.
+ *
+ * Beispiel:
+ * <pre>
+ * Path kundenDir = Datenverzeichnis.unterverzeichnis(getServletContext(), "kunden");
+ * </pre>
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public final class Datenverzeichnis {
+
+    /** Name des Context-Parameters für das Datenverzeichnis */
+    public static final String PARAMETER = "pizzaservice.datenverzeichnis";
+
+    private Datenverzeichnis() { }
+
+    /**
+     * Liefert das Basis-Datenverzeichnis der Anwendung.
+     *
+     * @param context ServletContext der Anwendung
+     * @return existierendes Datenverzeichnis
+     * @throws UncheckedIOException falls das Verzeichnis nicht angelegt werden kann
+     */
+    public static Path basis(ServletContext context) {
+        String pfad = context.getInitParameter(PARAMETER);
+        if (pfad == null || pfad.isBlank()) {
+            pfad = Paths.get(System.getProperty("user.home"), "pizzaservice-daten").toString();
+        }
+        return anlegen(Paths.get(pfad.trim()));
+    }
+
+    /**
+     * Liefert ein Unterverzeichnis des Datenverzeichnisses (z. B. "kunden").
+     *
+     * @param context ServletContext der Anwendung
+     * @param name    Name des Unterverzeichnisses
+     * @return existierendes Unterverzeichnis
+     */
+    public static Path unterverzeichnis(ServletContext context, String name) {
+        return anlegen(basis(context).resolve(name));
+    }
+
+    private static Path anlegen(Path verzeichnis) {
+        try {
+            return Files.createDirectories(verzeichnis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Datenverzeichnis kann nicht angelegt werden: " + verzeichnis, e);
+        }
+    }
+
+}
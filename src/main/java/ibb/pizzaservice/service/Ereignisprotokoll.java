@@ -0,0 +1,424 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellstatus;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Kunde;
+import ibb.pizzaservice.model.Rabattzeile;
+import ibb.pizzaservice.model.Speise;
+import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.model.Zahlungsart;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only Ereignisprotokoll einer {@link Filiale} mit periodischen Snapshots.
+ *
+ * Jede Zustandsänderung einer Bestellung wird als {@link Bestellereignis} in kompakter Binärform an die
+ * Datei {@code ereignisse.log} angehängt:
+ * <pre>
+ * int  laenge            Länge des Datensatzes (ohne Längenfeld und Prüfsumme)
+ * byte typ               Bestellereignis.Typ
+ * long bestellId
+ * long zeitpunkt         Epoch-Millis
+ * ...                    typabhängige Nutzdaten (Kunde, Positionen, Rabatte, Wunschzeit,
+ *                        Liefergebühr und Zahlungsart bzw. Speise, Menge und neue Rabatte)
+ * int  crc32             Prüfsumme über den Datensatz
+ * </pre>
+ *
+ * Der aktuelle Zustand ({@link Bestellzustand}) wird im Arbeitsspeicher aus diesen Ereignissen
+ * aufgebaut. Damit ein Neustart nicht das gesamte Protokoll abspielen muss, wird alle
+ * {@value #SNAPSHOT_INTERVALL} Ereignisse ein Snapshot ({@code snapshot.bin}) mit dem Zustand und der
+ * zugehörigen Dateiposition geschrieben. Beim Start wird der Snapshot geladen und nur der Rest des
+ * Protokolls abgespielt. Ist der Snapshot nicht lesbar (beschädigt oder mit inkompatiblen Klassen
+ * geschrieben), wird das Protokoll von Anfang an abgespielt. Ein unvollständiger letzter Datensatz
+ * (z. B. nach einem Absturz) wird erkannt und abgeschnitten.
+ *
+ * Die Klasse ist nicht threadsicher: Sie wird ausschließlich vom Bearbeitungsthread der Filiale benutzt.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Ereignisprotokoll implements AutoCloseable {
+
+    /** Anzahl Ereignisse zwischen zwei Snapshots */
+    public static final int SNAPSHOT_INTERVALL = 10_000;
+
+    private static final int SNAPSHOT_VERSION = 1;
+    /** Höchstlänge eines Datensatzes in Bytes (gilt beim Lesen und beim Schreiben) */
+    private static final int MAX_DATENSATZ = 64 * 1024;
+
+    private final Path logDatei;                   /** Append-only Ereignisdatei */
+    private final Path snapshotDatei;              /** Letzter Snapshot */
+    private final Speisekarte speisekarte;         /** Zum Auflösen der Speise-IDs beim Abspielen */
+
+    private final ByteArrayOutputStream datensatz = new ByteArrayOutputStream(256);
+    private final DataOutputStream datensatzOut = new DataOutputStream(datensatz);
+    private final CRC32 crc = new CRC32();
+
+    private DataOutputStream log;                  /** Geöffnete Ereignisdatei (nach der Wiederherstellung) */
+    private FileOutputStream logDateiStream;       /** Für fsync vor einem Snapshot */
+    private long position;                         /** Aktuelle Länge der Ereignisdatei in Bytes */
+    private long ereignisseSeitSnapshot;           /** Anzahl Ereignisse seit dem letzten Snapshot */
+    private long abgespielt;                       /** Beim Start abgespielte Ereignisse */
+    private long wiederherstellungMillis;          /** Dauer der letzten Wiederherstellung */
+    private int letzteLaenge;                      /** Länge des zuletzt gelesenen Datensatzes */
+
+    /**
+     * Erstellt das Ereignisprotokoll für ein Verzeichnis.
+     *
+     * @param verzeichnis Verzeichnis der Filiale (wird angelegt)
+     * @param speisekarte Speisekarte der Filiale
+     * @throws IOException wenn das Verzeichnis nicht angelegt werden kann
+     */
+    public Ereignisprotokoll(Path verzeichnis, Speisekarte speisekarte) throws IOException {
+        Files.createDirectories(verzeichnis);
+        this.logDatei = verzeichnis.resolve("ereignisse.log");
+        this.snapshotDatei = verzeichnis.resolve("snapshot.bin");
+        this.speisekarte = speisekarte;
+    }
+
+    // ------------------------------------------------------------
+    // Wiederherstellung
+    // ------------------------------------------------------------
+
+    /**
+     * Stellt den Zustand aus Snapshot und Ereignisdatei wieder her und öffnet die Datei zum Anhängen.
+     *
+     * @param zustand leerer Zustand, der mit allen nicht abgeschlossenen Bestellungen gefüllt wird
+     * @throws IOException bei Lesefehlern
+     */
+    public void wiederherstellen(Bestellzustand zustand) throws IOException {
+        long start = System.nanoTime();
+        long offset = snapshotLaden(zustand);
+
+        long gueltigBis = offset;
+        abgespielt = 0;
+        if (Files.exists(logDatei)) {
+            try (FileChannel kanal = FileChannel.open(logDatei, StandardOpenOption.READ)) {
+                if (kanal.size() < offset) {
+                    throw new IOException("Ereignisdatei ist kürzer als der Snapshot: " + logDatei);
+                }
+                kanal.position(offset);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(kanal), 64 * 1024));
+                Bestellereignis ereignis;
+                while ((ereignis = lesen(in)) != null) {
+                    zustand.anwenden(ereignis);
+                    gueltigBis += 4 + letzteLaenge + 4;
+                    abgespielt++;
+                }
+            }
+            // Unvollständigen oder beschädigten Rest (z. B. nach Absturz) abschneiden
+            try (FileChannel kanal = FileChannel.open(logDatei, StandardOpenOption.WRITE)) {
+                if (kanal.size() > gueltigBis) {
+                    kanal.truncate(gueltigBis);
+                }
+            }
+        }
+
+        position = gueltigBis;
+        ereignisseSeitSnapshot = abgespielt;
+        logDateiStream = new FileOutputStream(logDatei.toFile(), true);
+        log = new DataOutputStream(new BufferedOutputStream(logDateiStream, 64 * 1024));
+        wiederherstellungMillis = (System.nanoTime() - start) / 1_000_000;
+    }
+
+    @SuppressWarnings("unchecked")
+    private long snapshotLaden(Bestellzustand zustand) throws IOException {
+        try (InputStream datei = Files.newInputStream(snapshotDatei);
+             ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(datei))) {
+            if (in.readInt() != SNAPSHOT_VERSION) {
+                return 0;   // Unbekanntes Format: komplettes Protokoll abspielen
+            }
+            long offset = in.readLong();
+            long hoechsteId = in.readLong();
+            zustand.snapshotUebernehmen((List<Bestellung>) in.readObject(), hoechsteId);
+            return offset;
+        } catch (NoSuchFileException e) {
+            return 0;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // Veralteter (inkompatible Modellklassen) oder beschädigter Snapshot: komplettes Protokoll abspielen
+            System.err.println("Snapshot " + snapshotDatei + " nicht lesbar, Protokoll wird vollständig abgespielt: " + e);
+            zustand.snapshotUebernehmen(List.of(), 0);
+            return 0;
+        }
+    }
+
+    /**
+     * Liest den nächsten vollständigen Datensatz.
+     *
+     * @return Ereignis oder null am Dateiende bzw. bei unvollständigem/beschädigtem Datensatz
+     */
+    private Bestellereignis lesen(DataInputStream in) throws IOException {
+        try {
+            int laenge = in.readInt();
+            if (laenge < 17 || laenge > MAX_DATENSATZ) {
+                return null;
+            }
+            byte[] daten = new byte[laenge];
+            in.readFully(daten);
+            int pruefsumme = in.readInt();
+            crc.reset();
+            crc.update(daten, 0, laenge);
+            if ((int) crc.getValue() != pruefsumme) {
+                return null;
+            }
+            letzteLaenge = laenge;
+            return dekodieren(new DataInputStream(new ByteArrayInputStream(daten)));
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private Bestellereignis dekodieren(DataInputStream in) throws IOException {
+        Bestellereignis.Typ typ = Bestellereignis.Typ.vonCode(in.readByte());
+        long bestellId = in.readLong();
+        long zeitpunkt = in.readLong();
+
+        switch (typ) {
+            case AUFGEGEBEN: {
+                Bestellung bestellung = new Bestellung();
+                bestellung.setBestellId(bestellId);
+                bestellung.setZeitpunkt(zeitpunkt);
+                bestellung.setFilialeId(in.readUTF());
+                bestellung.setKunde(new Kunde(in.readUTF(), in.readUTF(), in.readUTF(), in.readUTF(),
+                        in.readUTF(), in.readUTF(), in.readUTF()));
+                int anzahl = in.readUnsignedShort();
+                for (int i = 0; i < anzahl; i++) {
+                    String speiseId = in.readUTF();
+                    int menge = in.readUnsignedShort();
+                    long preisCent = in.readLong();
+                    bestellung.addPosition(new Bestellposition(speise(speiseId, preisCent), menge));
+                }
+                if (in.available() > 0) {
+                    // Rabatte (fehlen in Datensätzen, die vor Einführung der Aktionen geschrieben wurden)
+                    bestellung.setRabatte(rabatteLesen(in));
+                }
+                if (in.available() > 0) {
+                    // Wunschzeit (fehlt in Datensätzen vor Einführung der Zeitfenster)
+                    bestellung.setWunschzeit(in.readLong());
+                }
+                if (in.available() > 0) {
+                    // Liefergebühr in Cent (fehlt in Datensätzen vor Einführung der Liefergebiete)
+                    bestellung.setLiefergebuehr(BigDecimal.valueOf(in.readLong(), 2));
+                }
+                if (in.available() > 0) {
+                    // Zahlungsart (fehlt in Datensätzen vor Einführung der Zahlungsarten)
+                    bestellung.setZahlungsart(Zahlungsart.valueOf(in.readUTF()));
+                }
+                return Bestellereignis.aufgegeben(bestellung);
+            }
+            case POSITION_GEAENDERT: {
+                String speiseId = in.readUTF();
+                int menge = in.readUnsignedShort();
+                // Rabatte nach der Änderung (fehlen in Datensätzen vor der Neubepreisung)
+                List<Rabattzeile> rabatte = (in.available() > 0) ? rabatteLesen(in) : null;
+                return Bestellereignis.positionGeaendert(bestellId, zeitpunkt, speiseId, menge, rabatte);
+            }
+            default:
+                // Statusereignisse heißen wie der Status, den sie setzen
+                return Bestellereignis.status(bestellId, zeitpunkt, Bestellstatus.valueOf(typ.name()));
+        }
+    }
+
+    private static List<Rabattzeile> rabatteLesen(DataInputStream in) throws IOException {
+        int anzahl = in.readUnsignedShort();
+        List<Rabattzeile> rabatte = new ArrayList<>(anzahl);
+        for (int i = 0; i < anzahl; i++) {
+            rabatte.add(new Rabattzeile(in.readUTF(), BigDecimal.valueOf(in.readLong(), 2)));
+        }
+        return rabatte;
+    }
+
+    private Speise speise(String speiseId, long preisCent) {
+        Speise speise = speisekarte.getSpeise(speiseId);
+        BigDecimal preis = BigDecimal.valueOf(preisCent, 2);
+        if (speise == null || speise.getPreis().compareTo(preis) != 0) {
+            // Speise nicht mehr auf der Karte oder Preis geändert: Preis zum Bestellzeitpunkt verwenden
+            String name = (speise != null) ? speise.getName() : speiseId;
+            String beschreibung = (speise != null) ? speise.getBeschreibung() : "";
+            speise = new Speise(speiseId, name, beschreibung, preis);
+        }
+        return speise;
+    }
+
+    // ------------------------------------------------------------
+    // Schreiben
+    // ------------------------------------------------------------
+
+    /**
+     * Hängt ein Ereignis an die Ereignisdatei an (gepuffert, siehe {@link #flush()}).
+     *
+     * Der Datensatz wird zuerst vollständig im Speicher aufgebaut. Passt er nicht ins Format (Menge oder
+     * Anzahl über 65535, Text über 65535 Bytes, Datensatz über {@value #MAX_DATENSATZ} Bytes), wird er
+     * abgewiesen, ohne dass etwas in die Ereignisdatei gelangt – die Wiederherstellung würde die Datei
+     * sonst an dieser Stelle abschneiden.
+     *
+     * @param ereignis neues Ereignis
+     * @throws IOException bei Schreibfehlern oder wenn das Ereignis nicht ins Format passt
+     */
+    public void anhaengen(Bestellereignis ereignis) throws IOException {
+        datensatz.reset();
+        DataOutputStream out = datensatzOut;
+        out.writeByte(ereignis.getTyp().getCode());
+        out.writeLong(ereignis.getBestellId());
+        out.writeLong(ereignis.getZeitpunkt());
+
+        switch (ereignis.getTyp()) {
+            case AUFGEGEBEN: {
+                Bestellung bestellung = ereignis.getBestellung();
+                Kunde kunde = (bestellung.getKunde() != null) ? bestellung.getKunde() : new Kunde();
+                out.writeUTF(text(bestellung.getFilialeId()));
+                out.writeUTF(text(kunde.getAnrede()));
+                out.writeUTF(text(kunde.getVorname()));
+                out.writeUTF(text(kunde.getNachname()));
+                out.writeUTF(text(kunde.getStrasse()));
+                out.writeUTF(text(kunde.getHausnummer()));
+                out.writeUTF(text(kunde.getPlz()));
+                out.writeUTF(text(kunde.getStadt()));
+                out.writeShort(kurz(bestellung.getPositionen().size()));
+                for (Bestellposition pos : bestellung.getPositionen()) {
+                    out.writeUTF(pos.getSpeise().getSpeiseId());
+                    out.writeShort(kurz(pos.getMenge()));
+                    out.writeLong(pos.getSpeise().getPreis().movePointRight(2).longValue());
+                }
+                rabatteSchreiben(out, bestellung.getRabatte());
+                out.writeLong(bestellung.getWunschzeit());
+                out.writeLong(bestellung.getLiefergebuehr().movePointRight(2).longValue());
+                out.writeUTF(bestellung.getZahlungsart().name());
+                break;
+            }
+            case POSITION_GEAENDERT:
+                out.writeUTF(ereignis.getSpeiseId());
+                out.writeShort(kurz(ereignis.getMenge()));
+                if (ereignis.getRabatte() != null) {
+                    rabatteSchreiben(out, ereignis.getRabatte());
+                }
+                break;
+            default:
+                break;
+        }
+        out.flush();
+
+        if (datensatz.size() > MAX_DATENSATZ) {
+            throw new IOException("Datensatz zu groß (" + datensatz.size() + " Bytes): " + ereignis);
+        }
+        byte[] daten = datensatz.toByteArray();
+        crc.reset();
+        crc.update(daten, 0, daten.length);
+        log.writeInt(daten.length);
+        log.write(daten);
+        log.writeInt((int) crc.getValue());
+
+        position += 4 + daten.length + 4;
+        ereignisseSeitSnapshot++;
+    }
+
+    private static void rabatteSchreiben(DataOutputStream out, List<Rabattzeile> rabatte) throws IOException {
+        out.writeShort(kurz(rabatte.size()));
+        for (Rabattzeile rabatt : rabatte) {
+            out.writeUTF(rabatt.getBezeichnung());
+            out.writeLong(rabatt.getBetrag().movePointRight(2).longValue());
+        }
+    }
+
+    /** Prüft einen Wert für ein vorzeichenloses 16-Bit-Feld (writeShort schneidet sonst stillschweigend ab). */
+    private static int kurz(int wert) throws IOException {
+        if (wert < 0 || wert > 0xFFFF) {
+            throw new IOException("Wert passt nicht in 16 Bit: " + wert);
+        }
+        return wert;
+    }
+
+    private static String text(String s) {
+        return (s == null) ? "" : s;
+    }
+
+    /**
+     * Schreibt gepufferte Ereignisse an das Betriebssystem.
+     *
+     * @throws IOException bei Schreibfehlern
+     */
+    public void flush() throws IOException {
+        log.flush();
+    }
+
+    /**
+     * Gibt an, ob seit dem letzten Snapshot genügend Ereignisse angefallen sind.
+     *
+     * @return true, wenn ein neuer Snapshot geschrieben werden sollte
+     */
+    public boolean isSnapshotFaellig() {
+        return ereignisseSeitSnapshot >= SNAPSHOT_INTERVALL;
+    }
+
+    /**
+     * Schreibt einen Snapshot des aktuellen Zustands. Die Ereignisdatei wird vorher auf den
+     * Datenträger geschrieben (fsync), damit der Snapshot nie auf verlorene Ereignisse verweist.
+     *
+     * @param zustand aktueller Zustand der Filiale
+     * @throws IOException bei Schreibfehlern
+     */
+    public void snapshot(Bestellzustand zustand) throws IOException {
+        log.flush();
+        logDateiStream.getChannel().force(false);
+
+        Path temp = snapshotDatei.resolveSibling("snapshot.tmp");
+        try (OutputStream datei = Files.newOutputStream(temp);
+             ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(datei))) {
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(position);
+            out.writeLong(zustand.getHoechsteId());
+            out.writeObject(new ArrayList<>(zustand.getOffene()));
+        }
+        Files.move(temp, snapshotDatei, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        ereignisseSeitSnapshot = 0;
+    }
+
+    // ------------------------------------------------------------
+    // Kennzahlen
+    // ------------------------------------------------------------
+    public long getAbgespielt() {
+        return abgespielt;
+    }
+
+    public long getWiederherstellungMillis() {
+        return wiederherstellungMillis;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (log != null) {
+            log.close();
+            log = null;
+        }
+    }
+
+}
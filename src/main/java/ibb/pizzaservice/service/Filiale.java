@@ -0,0 +1,792 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.diagnose.BestellungGespeichert;
+import ibb.pizzaservice.diagnose.KuechenstatusGeaendert;
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellstatus;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.model.Station;
+import ibb.pizzaservice.service.Stufenzeiten.Stufe;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Eine Filiale des PizzaService – eine unabhängige Partition mit eigener Speisekarte und
+ * eigener Bestellwarteschlange.
+ *
+ * Jede Filiale bearbeitet ihre Bestellungen in einem eigenen Thread. Eine stark ausgelastete
+ * Filiale verlängert daher nur ihre eigene Warteschlange und bremst die anderen Filialen nicht aus.
+ *
+ * Eine Filiale ist entweder <b>lokal</b> (läuft auf diesem Knoten) oder <b>entfernt</b> (läuft auf einem
+ * anderen Knoten, erreichbar über {@link #getUrl()}). Für entfernte Filialen wird kein Thread gestartet.
+ *
+ * Alle Zustandsänderungen einer Bestellung (aufgegeben, Position geändert, im Ofen, fertig, geliefert,
+ * storniert) laufen als {@link Bestellereignis} durch den Thread der Filiale. Sie werden im
+ * {@link Ereignisprotokoll} gespeichert und erst danach auf den Zustand im Arbeitsspeicher angewendet.
+ * Nach einem Neustart wird der Zustand – und damit die Küchenansicht – aus Snapshot und Protokoll
+ * wiederhergestellt. Da nur ein Thread schreibt, sind keine Sperren nötig.
+ *
+ * In der Küche wird jede Bestellung nach Stationen aufgeteilt ({@link Kuechenstationen}). Die Köche holen
+ * ihre Aufgaben direkt aus den Warteschlangen der Stationen; sind alle Aufgaben einer Bestellung
+ * erledigt, wird sie als {@link Bestellstatus#FERTIG} gespeichert. Aus den erledigten Aufgaben und
+ * Lieferungen lernt der {@link LieferzeitSchaetzer} die Zeiten für die Lieferzeit neuer Bestellungen.
+ *
+ * Vorbestellungen kommen erst in die Küche, wenn ihr Zeitfenster naht: zur Wunschzeit abzüglich der
+ * geschätzten Zubereitungs- und Lieferzeit. Bis dahin werden sie zurückgehalten; ein Zeitgeber reiht
+ * die Freigabe dann in den Thread der Filiale ein. Nach einem Neustart werden die Freigaben neu geplant.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Filiale {
+
+    private final String id;                       /** Eindeutige ID der Filiale, z. B. "mitte" */
+    private final String name;                     /** Anzeigename, z. B. "PizzaService Mitte" */
+    private final int[] plzVon;                    /** Untergrenzen der belieferten PLZ-Bereiche */
+    private final int[] plzBis;                    /** Obergrenzen der belieferten PLZ-Bereiche (inklusive) */
+    private final Speisekarte speisekarte;         /** Speisekarte dieser Filiale */
+    private final String url;                      /** Basis-URL des Knotens (nur für entfernte Filialen) */
+    private final ThreadPoolExecutor bearbeitung;  /** Eigener Bearbeitungsthread (nur lokal) */
+
+    private final Ereignisprotokoll protokoll;     /** Ereignisprotokoll (null: ohne Persistenz) */
+    private final Bestellzustand zustand;          /** Offene Bestellungen (nur der Filial-Thread schreibt) */
+    private final Kuechenstationen stationen = new Kuechenstationen();   /** Aufgaben je Küchenstation */
+    private final AtomicLong angenommen = new AtomicLong();   /** Anzahl angenommener Bestellungen */
+    private final Stufenzeiten stufenzeiten = new Stufenzeiten();       /** Laufzeiten je Stufe des Bestellpfads */
+    private final LieferzeitSchaetzer lieferzeiten = new LieferzeitSchaetzer();   /** Lernt Zubereitungs- und Lieferzeiten */
+    private final Map<Long, Long> fertigSeit = new HashMap<>();   /** Bestell-ID → Zeitpunkt FERTIG (nur Filial-Thread) */
+    private final Set<Long> zurueckgehalten = new HashSet<>();    /** Vorbestellungen, die noch nicht in der Küche sind (nur Filial-Thread) */
+    private final ScheduledThreadPoolExecutor freigaben;          /** Zeitgeber für die Freigabe von Vorbestellungen (nur lokal) */
+    private volatile Preisplan preisplan;                     /** Kompilierte Aktionen für diese Speisekarte */
+    private volatile BestellJournal journal;                  /** Tagesjournal für den Export (null: keines) */
+    private volatile Lager lager;                             /** Zutatenbestand (null: unbegrenzt) */
+    private volatile Zeitfenster zeitfenster;                 /** Zeitfenster für Vorbestellungen (null: keine) */
+    private volatile RechnungsArchiv archiv;                  /** Rechnungsarchiv (null: keine Archivierung) */
+
+    /**
+     * Erstellt eine neue Filiale.
+     *
+     * @param id          ID der Filiale
+     * @param name        Anzeigename
+     * @param plzVon      Untergrenzen der PLZ-Bereiche
+     * @param plzBis      Obergrenzen der PLZ-Bereiche (gleiche Länge wie plzVon)
+     * @param speisekarte Speisekarte der Filiale
+     * @param url         Basis-URL des entfernten Knotens oder null für eine lokale Filiale
+     */
+    public Filiale(String id, String name, int[] plzVon, int[] plzBis, Speisekarte speisekarte, String url) {
+        this(id, name, plzVon, plzBis, speisekarte, url, null);
+    }
+
+    /**
+     * Erstellt eine neue Filiale mit Ereignisprotokoll und stellt deren Zustand wieder her.
+     *
+     * @param id          ID der Filiale
+     * @param name        Anzeigename
+     * @param plzVon      Untergrenzen der PLZ-Bereiche
+     * @param plzBis      Obergrenzen der PLZ-Bereiche (gleiche Länge wie plzVon)
+     * @param speisekarte Speisekarte der Filiale
+     * @param url         Basis-URL des entfernten Knotens oder null für eine lokale Filiale
+     * @param verzeichnis Verzeichnis für das Ereignisprotokoll oder null (keine Persistenz)
+     * @throws UncheckedIOException wenn das Ereignisprotokoll nicht gelesen werden kann
+     */
+    public Filiale(String id, String name, int[] plzVon, int[] plzBis, Speisekarte speisekarte, String url,
+                   Path verzeichnis) {
+        if (plzVon.length != plzBis.length) {
+            throw new IllegalArgumentException("PLZ-Bereiche der Filiale " + id + " sind unvollständig.");
+        }
+        this.id = id;
+        this.name = name;
+        this.plzVon = plzVon.clone();
+        this.plzBis = plzBis.clone();
+        this.speisekarte = speisekarte;
+        this.url = url;
+        this.bearbeitung = (url == null) ? bearbeitungsThread(id) : null;
+        this.freigaben = (url == null) ? freigabeThread(id) : null;
+        this.zustand = new Bestellzustand(speisekarte);
+        this.preisplan = Preisplan.kompilieren(List.of(), speisekarte);
+
+        if (url == null && verzeichnis != null) {
+            try {
+                this.protokoll = new Ereignisprotokoll(verzeichnis, speisekarte);
+                protokoll.wiederherstellen(zustand);
+                for (Bestellung offen : zustand.getOffene()) {
+                    if (offen.getStatus() != Bestellstatus.FERTIG) {
+                        kuecheEinplanen(offen);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Ereignisprotokoll der Filiale " + id + " ist nicht lesbar.", e);
+            }
+        } else {
+            this.protokoll = null;
+        }
+    }
+
+    private static ThreadPoolExecutor bearbeitungsThread(String id) {
+        return new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "filiale-" + id);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static ScheduledThreadPoolExecutor freigabeThread(String id) {
+        ScheduledThreadPoolExecutor zeitgeber = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "filiale-" + id + "-freigabe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        zeitgeber.setRemoveOnCancelPolicy(true);
+        return zeitgeber;
+    }
+
+    /**
+     * Prüft, ob die Filiale eine Postleitzahl beliefert.
+     *
+     * @param plz Postleitzahl als Zahl
+     * @return true, wenn die PLZ in einem der Bereiche liegt
+     */
+    public boolean beliefert(int plz) {
+        for (int i = 0; i < plzVon.length; i++) {
+            if (plz >= plzVon[i] && plz <= plzBis[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Nimmt eine Bestellung an und reiht sie in die Warteschlange der Filiale ein.
+     * Die Methode kehrt sofort zurück; die Bearbeitung erfolgt im Thread der Filiale.
+     *
+     * @param bestellung neue Bestellung mit Bestell-ID (siehe {@link BestellIdGenerator})
+     * @throws IllegalArgumentException wenn die Bestellung noch keine ID hat
+     * @throws IllegalStateException    wenn die Filiale nicht auf diesem Knoten läuft
+     */
+    public void annehmen(Bestellung bestellung) {
+        if (bestellung.getBestellId() == 0) {
+            throw new IllegalArgumentException("Bestellung hat noch keine Bestell-ID.");
+        }
+        if (!isLokal()) {
+            throw new IllegalStateException("Filiale " + id + " läuft auf einem anderen Knoten: " + url);
+        }
+        bestellung.setFilialeId(id);
+        angenommen.incrementAndGet();
+        long eingereiht = System.nanoTime();
+        bearbeitung.execute(() -> {
+            stufenzeiten.erfassen(Stufe.WARTESCHLANGE, eingereiht);
+            bearbeiten(bestellung);
+        });
+    }
+
+    /**
+     * Bearbeitet eine angenommene Bestellung im Thread der Filiale.
+     *
+     * @param bestellung angenommene Bestellung
+     */
+    protected void bearbeiten(Bestellung bestellung) {
+        BestellungGespeichert diagnose = new BestellungGespeichert();
+        diagnose.begin();
+        long zeit = System.nanoTime();
+        try {
+            ereignis(Bestellereignis.aufgegeben(bestellung));
+        } catch (UncheckedIOException e) {
+            if (zustand.get(bestellung.getBestellId()) == null) {
+                // Nicht gespeichert: Zutaten und Zeitfenster zurückgeben, sonst bleiben sie dauerhaft belegt
+                reservierungenFreigeben(bestellung);
+                System.err.println("Bestellung " + bestellung.getBestellId() + " nicht gespeichert, "
+                        + "Reservierungen freigegeben: " + e.getCause());
+                return;
+            }
+            throw e;
+        }
+        zeit = stufenzeiten.erfassen(Stufe.PROTOKOLL, zeit);
+        kuecheEinplanen(bestellung);
+        zeit = stufenzeiten.erfassen(Stufe.KUECHE, zeit);
+        BestellJournal journal = this.journal;
+        if (journal != null) {
+            try {
+                journal.anhaengen(bestellung);
+                if (bearbeitung.getQueue().isEmpty()) {
+                    journal.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Bestellung konnte nicht ins Journal geschrieben werden: "
+                        + bestellung.getBestellId(), e);
+            }
+            zeit = stufenzeiten.erfassen(Stufe.JOURNAL, zeit);
+        }
+        RechnungsArchiv archiv = this.archiv;
+        if (archiv != null) {
+            archiv.einreihen(bestellung.momentaufnahme());   // spätere Änderungen nicht halb archivieren
+            stufenzeiten.erfassen(Stufe.ARCHIV, zeit);
+        }
+        diagnose.setzen(bestellung);
+        diagnose.setWarteschlange(bearbeitung.getQueue().size());
+        diagnose.commit();
+    }
+
+    /**
+     * Gibt die Zutaten und den Platz im Zeitfenster einer Bestellung zurück (Stornierung oder
+     * nicht gespeicherte Bestellung).
+     *
+     * @param bestellung betroffene Bestellung
+     */
+    private void reservierungenFreigeben(Bestellung bestellung) {
+        Lager lager = this.lager;
+        if (lager != null) {
+            lager.freigeben(bestellung);
+        }
+        Zeitfenster zeitfenster = this.zeitfenster;
+        if (zeitfenster != null && bestellung.isVorbestellt()) {
+            zeitfenster.freigeben(bestellung.getWunschzeit(), Zeitfenster.pizzen(bestellung));
+        }
+    }
+
+    /**
+     * Ändert den Status einer Bestellung (z. B. aus der Küchenansicht).
+     *
+     * @param bestellId ID der Bestellung
+     * @param status    neuer Status
+     * @return Future mit true, wenn der Übergang erlaubt war und gespeichert wurde
+     */
+    public CompletableFuture<Boolean> statusAendern(long bestellId, Bestellstatus status) {
+        return statusAendern(bestellId, status, null);
+    }
+
+    private CompletableFuture<Boolean> statusAendern(long bestellId, Bestellstatus status, Station station) {
+        return imFilialThread(() -> {
+            KuechenstatusGeaendert diagnose = new KuechenstatusGeaendert();
+            diagnose.begin();
+            Bestellung bestellung = zustand.get(bestellId);
+            if (bestellung == null || !bestellung.getStatus().erlaubt(status)) {
+                return false;
+            }
+            diagnose.setStatus(bestellung.getStatus(), status);
+            ereignis(Bestellereignis.status(bestellId, System.currentTimeMillis(), status));
+            if (status == Bestellstatus.STORNIERT) {
+                reservierungenFreigeben(bestellung);
+                RechnungsArchiv archiv = this.archiv;
+                if (archiv != null) {
+                    archiv.korrigieren(bestellung.momentaufnahme());   // Stornorechnung
+                }
+            }
+            BestellJournal journal = this.journal;
+            if (status == Bestellstatus.STORNIERT && journal != null) {
+                try {
+                    journal.stornieren(bestellung);   // Gegenbuchung für Tagesabschluss und Export
+                    if (bearbeitung.getQueue().isEmpty()) {
+                        journal.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Stornierung konnte nicht ins Journal geschrieben werden: "
+                            + bestellId, e);
+                }
+            }
+            if (zurueckgehalten.remove(bestellId) && status == Bestellstatus.IM_OFEN) {
+                stationen.verteilen(bestellung);   // Vorbestellung von Hand vorzeitig begonnen
+            }
+            if (status.ordinal() >= Bestellstatus.FERTIG.ordinal()) {
+                stationen.entfernen(bestellId);   // von Hand abgeschlossen: offene Aufgaben verwerfen
+            }
+            lieferzeitLernen(bestellung, status);
+            diagnose.setzen(bestellung);
+            diagnose.setStation(station);
+            diagnose.commit();
+            return true;
+        });
+    }
+
+    /**
+     * Ändert die Menge einer Position einer offenen Bestellung (0 = Position entfernen). Die Bestellung
+     * wird danach mit dem aktuellen {@link Preisplan} neu bepreist; {@link RechnungsArchiv} und
+     * {@link BestellJournal} erhalten eine Korrektur.
+     *
+     * @param bestellId ID der Bestellung
+     * @param speiseId  betroffene Speise
+     * @param menge     neue Menge (0 bis {@link Bestellposition#MAX_MENGE})
+     * @return Future mit true, wenn die Bestellung noch nicht im Ofen war und geändert wurde
+     */
+    public CompletableFuture<Boolean> positionAendern(long bestellId, String speiseId, int menge) {
+        if (menge < 0 || menge > Bestellposition.MAX_MENGE) {
+            throw new IllegalArgumentException("Ungültige Menge: " + menge);
+        }
+        return imFilialThread(() -> {
+            Bestellung bestellung = zustand.get(bestellId);
+            if (bestellung == null || bestellung.getStatus() != Bestellstatus.AUFGEGEBEN
+                    || speisekarte.getSpeise(speiseId) == null) {
+                return false;
+            }
+            int bisher = 0;
+            for (Bestellposition pos : bestellung.getPositionen()) {
+                if (pos.getSpeise().getSpeiseId().equals(speiseId)) {
+                    bisher = pos.getMenge();
+                }
+            }
+            // Zusätzliche Pizzen einer Vorbestellung brauchen Platz im Zeitfenster
+            Zeitfenster zeitfenster = this.zeitfenster;
+            int pizzen = (zeitfenster != null && bestellung.isVorbestellt()
+                    && speisekarte.getSpeise(speiseId).getStation() == Station.PIZZA) ? menge - bisher : 0;
+            if (pizzen > 0 && !zeitfenster.nachbuchen(bestellung.getWunschzeit(), pizzen)) {
+                return false;
+            }
+            Lager lager = this.lager;
+            if (lager != null) {
+                if (menge > bisher && !lager.reservieren(speiseId, menge - bisher)) {
+                    if (pizzen > 0) {
+                        zeitfenster.freigeben(bestellung.getWunschzeit(), pizzen);
+                    }
+                    return false;
+                }
+                lager.freigeben(bestellung, speiseId, bisher - menge);
+            }
+            if (pizzen < 0) {
+                zeitfenster.freigeben(bestellung.getWunschzeit(), -pizzen);
+            }
+            // Geänderte Bestellung mit dem aktuellen Preisplan neu bepreisen (z. B. entfällt ein Paketrabatt)
+            Bestellung vorher = bestellung.momentaufnahme();
+            Bestellung geaendert = bestellung.momentaufnahme();
+            geaendert.setPositionen(zustand.positionenNach(bestellung, speiseId, menge));
+            preisplan.berechnen(geaendert);
+            ereignis(Bestellereignis.positionGeaendert(bestellId, System.currentTimeMillis(), speiseId, menge,
+                    geaendert.getRabatte()));
+            RechnungsArchiv archiv = this.archiv;
+            if (archiv != null) {
+                archiv.korrigieren(bestellung.momentaufnahme());   // Rechnungskorrektur
+            }
+            BestellJournal journal = this.journal;
+            if (journal != null) {
+                try {
+                    journal.korrigieren(vorher, bestellung);   // Gegenbuchung und neuer Stand
+                    if (bearbeitung.getQueue().isEmpty()) {
+                        journal.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Korrektur konnte nicht ins Journal geschrieben werden: "
+                            + bestellId, e);
+                }
+            }
+            if (!zurueckgehalten.contains(bestellId)) {
+                stationen.entfernen(bestellId);
+                stationen.verteilen(bestellung);
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Holt die nächste Aufgabe für einen Koch (siehe {@link Kuechenstationen#naechsteAufgabe(Station)}).
+     * Die erste Aufgabe einer Bestellung setzt diese in Zubereitung ({@link Bestellstatus#IM_OFEN}).
+     *
+     * @param station Station des Kochs
+     * @return Aufgabe oder null, wenn es an dieser und den kompatiblen Stationen nichts zu tun gibt
+     */
+    public Kuechenstationen.Aufgabe aufgabeHolen(Station station) {
+        Kuechenstationen.Aufgabe aufgabe = stationen.naechsteAufgabe(station);
+        if (aufgabe != null) {
+            imFilialThread(() -> {
+                KuechenstatusGeaendert diagnose = new KuechenstatusGeaendert();
+                diagnose.begin();
+                Bestellung bestellung = zustand.get(aufgabe.getBestellId());
+                if (bestellung == null || bestellung.getStatus() != Bestellstatus.AUFGEGEBEN) {
+                    return false;
+                }
+                ereignis(Bestellereignis.status(bestellung.getBestellId(), System.currentTimeMillis(),
+                        Bestellstatus.IM_OFEN));
+                diagnose.setStatus(Bestellstatus.AUFGEGEBEN, Bestellstatus.IM_OFEN);
+                diagnose.setzen(bestellung);
+                diagnose.setStation(station);
+                diagnose.commit();
+                return true;
+            });
+        }
+        return aufgabe;
+    }
+
+    /**
+     * Meldet eine Aufgabe als erledigt. War es die letzte Aufgabe ihrer Bestellung, wird die Bestellung
+     * als {@link Bestellstatus#FERTIG} gespeichert.
+     *
+     * @param aufgabeId ID der Aufgabe
+     * @return Future mit true, wenn die Bestellung damit fertig ist
+     */
+    public CompletableFuture<Boolean> aufgabeErledigt(long aufgabeId) {
+        Kuechenstationen.Aufgabe aufgabe = stationen.getAufgabe(aufgabeId);
+        long bestellId = stationen.erledigt(aufgabeId);
+        if (aufgabe != null) {
+            lieferzeiten.zubereitet(aufgabe, System.currentTimeMillis() - aufgabe.getBegonnen());
+        }
+        return (bestellId != 0)
+                ? statusAendern(bestellId, Bestellstatus.FERTIG, (aufgabe != null) ? aufgabe.getBearbeiter() : null)
+                : CompletableFuture.completedFuture(false);
+    }
+
+    /**
+     * Reiht eine Bestellung in die Küche ein. Eine Vorbestellung, deren Freigabe noch aussteht, wird
+     * zurückgehalten und zur Freigabezeit im Thread der Filiale verteilt (nur Filial-Thread bzw.
+     * Konstruktor).
+     */
+    private void kuecheEinplanen(Bestellung bestellung) {
+        long warten = freigabezeitpunkt(bestellung) - System.currentTimeMillis();
+        if (warten <= 0) {
+            stationen.verteilen(bestellung);
+            return;
+        }
+        long bestellId = bestellung.getBestellId();
+        zurueckgehalten.add(bestellId);
+        freigaben.schedule(() -> vorbestellungFreigeben(bestellId), warten, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Gibt eine zurückgehaltene Vorbestellung im Thread der Filiale an die Küche (Zeitgeber der
+     * Freigabe; Tests lösen die Freigabe damit direkt aus).
+     *
+     * @param bestellId ID der Vorbestellung
+     * @return Future mit true, wenn sie noch zurückgehalten war und verteilt wurde
+     */
+    CompletableFuture<Boolean> vorbestellungFreigeben(long bestellId) {
+        return imFilialThread(() -> freigeben(bestellId));
+    }
+
+    /**
+     * Liefert den Zeitpunkt, ab dem die Küche eine Bestellung zubereiten soll: bei einer noch nicht
+     * begonnenen Vorbestellung die Wunschzeit abzüglich der geschätzten Zubereitungs- und Lieferzeit,
+     * sonst sofort.
+     */
+    private long freigabezeitpunkt(Bestellung bestellung) {
+        if (!bestellung.isVorbestellt() || bestellung.getStatus() != Bestellstatus.AUFGEGEBEN) {
+            return 0;
+        }
+        return bestellung.getWunschzeit() - lieferzeiten.schaetzen(bestellung, stationen);
+    }
+
+    /** Gibt eine zurückgehaltene Vorbestellung an die Küche (nur Filial-Thread) */
+    private boolean freigeben(long bestellId) {
+        if (!zurueckgehalten.remove(bestellId)) {
+            return false;   // inzwischen von Hand begonnen oder abgeschlossen
+        }
+        Bestellung bestellung = zustand.get(bestellId);
+        if (bestellung == null || bestellung.getStatus() != Bestellstatus.AUFGEGEBEN) {
+            return false;
+        }
+        stationen.verteilen(bestellung);
+        return true;
+    }
+
+    /** Merkt sich, wann eine Bestellung fertig wurde, und lernt bei der Lieferung daraus (nur Filial-Thread) */
+    private void lieferzeitLernen(Bestellung bestellung, Bestellstatus status) {
+        long jetzt = System.currentTimeMillis();
+        if (status == Bestellstatus.FERTIG) {
+            fertigSeit.put(bestellung.getBestellId(), jetzt);
+        } else if (status.isAbgeschlossen()) {
+            Long fertig = fertigSeit.remove(bestellung.getBestellId());
+            if (fertig != null && status == Bestellstatus.GELIEFERT && bestellung.getKunde() != null) {
+                lieferzeiten.geliefert(bestellung.getKunde().getPlz(), jetzt - fertig);
+            }
+        }
+    }
+
+    private CompletableFuture<Boolean> imFilialThread(Supplier<Boolean> aufgabe) {
+        if (!isLokal()) {
+            throw new IllegalStateException("Filiale " + id + " läuft auf einem anderen Knoten: " + url);
+        }
+        return CompletableFuture.supplyAsync(aufgabe, bearbeitung);
+    }
+
+    /**
+     * Speichert ein Ereignis und wendet es auf den Zustand an (nur im Thread der Filiale).
+     * Gepufferte Ereignisse werden geschrieben, sobald die Warteschlange leer ist; so werden bei
+     * hoher Last mehrere Ereignisse mit einem Schreibzugriff gespeichert.
+     *
+     * @param ereignis neues Ereignis
+     */
+    private void ereignis(Bestellereignis ereignis) {
+        try {
+            if (protokoll != null) {
+                protokoll.anhaengen(ereignis);
+            }
+            zustand.anwenden(ereignis);
+            if (protokoll != null) {
+                if (bearbeitung.getQueue().isEmpty()) {
+                    protokoll.flush();
+                }
+                if (protokoll.isSnapshotFaellig()) {
+                    protokoll.snapshot(zustand);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ereignis konnte nicht gespeichert werden: " + ereignis, e);
+        }
+    }
+
+    /**
+     * Setzt die aktiven Aktionen und kompiliert daraus den Preisplan dieser Filiale.
+     *
+     * @param regeln aktive Preisregeln in Anwendungsreihenfolge
+     */
+    public void setPreisregeln(List<Preisregel> regeln) {
+        this.preisplan = Preisplan.kompilieren(regeln, speisekarte);
+    }
+
+    /**
+     * Liefert den aktuellen Preisplan (zum Bepreisen neuer Bestellungen).
+     *
+     * @return kompilierter Preisplan
+     */
+    public Preisplan getPreisplan() {
+        return preisplan;
+    }
+
+    /**
+     * Liefert die größte Bestell-ID, die diese Filiale bisher gespeichert hat.
+     *
+     * @return größte Bestell-ID oder 0
+     */
+    public long getHoechsteId() {
+        return zustand.getHoechsteId();
+    }
+
+    /**
+     * Liefert eine Momentaufnahme aller offenen Bestellungen (für die Küchenansicht).
+     *
+     * @return offene Bestellungen in Eingangsreihenfolge
+     */
+    public List<Bestellung> getOffeneBestellungen() {
+        return zustand.getOffene();
+    }
+
+    /**
+     * Liefert eine offene Bestellung anhand ihrer ID.
+     *
+     * @param bestellId ID der Bestellung
+     * @return Bestellung oder null, falls abgeschlossen oder unbekannt
+     */
+    public Bestellung getOffeneBestellung(long bestellId) {
+        return zustand.get(bestellId);
+    }
+
+    /**
+     * Liefert die Anzahl der Bestellungen, die noch auf Bearbeitung warten.
+     *
+     * @return Länge der Warteschlange
+     */
+    public int getWarteschlange() {
+        return isLokal() ? bearbeitung.getQueue().size() : 0;
+    }
+
+    public long getAngenommen() {
+        return angenommen.get();
+    }
+
+    /**
+     * Liefert die Anzahl nicht abgeschlossener Bestellungen.
+     *
+     * @return Anzahl offener Bestellungen
+     */
+    public int getAnzahlOffen() {
+        return zustand.size();
+    }
+
+    /**
+     * Setzt das Tagesjournal, in das alle angenommenen Bestellungen geschrieben werden.
+     *
+     * @param journal Journal dieser Filiale
+     */
+    public void setJournal(BestellJournal journal) {
+        this.journal = journal;
+    }
+
+    /**
+     * Liefert das Tagesjournal der Filiale.
+     *
+     * @return Journal oder null, wenn keines gesetzt ist
+     */
+    public BestellJournal getJournal() {
+        return journal;
+    }
+
+    /**
+     * Liefert die Laufzeiten der Stufen des Bestellpfads dieser Filiale.
+     *
+     * @return Stufenzeiten
+     */
+    public Stufenzeiten getStufenzeiten() {
+        return stufenzeiten;
+    }
+
+    /**
+     * Liefert den Schätzer für die Lieferzeit neuer Bestellungen.
+     *
+     * @return Lieferzeitschätzer dieser Filiale
+     */
+    public LieferzeitSchaetzer getLieferzeiten() {
+        return lieferzeiten;
+    }
+
+    /**
+     * Schätzt die Zeit bis zur Lieferung einer Bestellung aus den gelernten Zeiten und der aktuellen
+     * Auslastung der Küchenstationen.
+     *
+     * @param bestellung angenommene Bestellung
+     * @return geschätzte Dauer in ms
+     */
+    public long lieferzeitSchaetzen(Bestellung bestellung) {
+        return lieferzeiten.schaetzen(bestellung, stationen);
+    }
+
+    /**
+     * Liefert die Aufgaben der Küchenstationen (für die Küchenansicht).
+     *
+     * @return Küchenstationen dieser Filiale
+     */
+    public Kuechenstationen getStationen() {
+        return stationen;
+    }
+
+    /**
+     * Setzt das Archiv, in dem die Rechnungen aller angenommenen Bestellungen abgelegt werden.
+     *
+     * @param archiv gemeinsames Rechnungsarchiv des Knotens
+     */
+    public void setArchiv(RechnungsArchiv archiv) {
+        this.archiv = archiv;
+    }
+
+    /**
+     * Setzt den Zutatenbestand, gegen den neue Bestellungen reserviert werden.
+     *
+     * @param lager Lager dieser Filiale
+     */
+    public void setLager(Lager lager) {
+        this.lager = lager;
+    }
+
+    /**
+     * Setzt die Zeitfenster für Vorbestellungen. Offene Vorbestellungen (nach einem Neustart aus dem
+     * Ereignisprotokoll wiederhergestellt) belegen ihre Fenster erneut.
+     *
+     * @param zeitfenster Zeitfenster dieser Filiale
+     */
+    public void setZeitfenster(Zeitfenster zeitfenster) {
+        this.zeitfenster = zeitfenster;
+        if (isLokal()) {
+            imFilialThread(() -> {
+                for (Bestellung offen : zustand.getOffene()) {
+                    if (offen.isVorbestellt()) {
+                        zeitfenster.belegen(offen.getWunschzeit(), Zeitfenster.pizzen(offen));
+                    }
+                }
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Liefert die Zeitfenster für Vorbestellungen.
+     *
+     * @return Zeitfenster oder null, wenn die Filiale keine Vorbestellungen annimmt
+     */
+    public Zeitfenster getZeitfenster() {
+        return zeitfenster;
+    }
+
+    /**
+     * Liefert den Zutatenbestand der Filiale.
+     *
+     * @return Lager oder null, wenn der Bestand nicht begrenzt ist
+     */
+    public Lager getLager() {
+        return lager;
+    }
+
+    /**
+     * Liefert das Ereignisprotokoll der Filiale.
+     *
+     * @return Ereignisprotokoll oder null, wenn die Filiale ohne Persistenz läuft
+     */
+    public Ereignisprotokoll getProtokoll() {
+        return protokoll;
+    }
+
+    /**
+     * Beendet den Bearbeitungsthread; bereits eingereihte Bestellungen werden noch bearbeitet.
+     * Zum Abschluss wird ein Snapshot geschrieben, damit der nächste Start nichts abspielen muss.
+     */
+    public void beenden() {
+        if (freigaben != null) {
+            freigaben.shutdownNow();   // zurückgehaltene Vorbestellungen werden nach dem Neustart neu geplant
+        }
+        if (bearbeitung != null) {
+            if (protokoll != null) {
+                bearbeitung.execute(() -> {
+                    try {
+                        protokoll.snapshot(zustand);
+                        protokoll.close();
+                    } catch (IOException e) {
+                        System.err.println("Snapshot der Filiale " + id + " fehlgeschlagen: " + e.getMessage());
+                    }
+                });
+            }
+            if (journal != null) {
+                BestellJournal offen = journal;
+                bearbeitung.execute(() -> {
+                    try {
+                        offen.close();
+                    } catch (IOException e) {
+                        System.err.println("Journal der Filiale " + id + " nicht geschlossen: " + e.getMessage());
+                    }
+                });
+            }
+            bearbeitung.shutdown();
+            try {
+                bearbeitung.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Getter
+    // ------------------------------------------------------------
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Speisekarte getSpeisekarte() {
+        return speisekarte;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public boolean isLokal() {
+        return url == null;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + id + (isLokal() ? ", lokal" : ", " + url) + ")";
+    }
+
+}
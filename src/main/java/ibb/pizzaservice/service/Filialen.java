@@ -0,0 +1,260 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Speise;
+import ibb.pizzaservice.model.Speisekarte;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * Verzeichnis aller {@link Filiale}n und Zuordnung von Bestellungen über die Postleitzahl.
+ *
+ * Die Filialen werden aus {@code filialen.properties} (Klassenpfad) geladen:
+ * <pre>
+ * filialen=mitte,nord
+ * filiale.mitte.name=PizzaService Mitte
+ * filiale.mitte.plz=10115-10179,10243
+ * filiale.mitte.ohne=Pi08                  # Speisen, die diese Filiale nicht anbietet
+ * filiale.nord.knoten=knoten2              # Filiale läuft auf einem anderen Knoten ...
+ * filiale.nord.url=http://host2:8080/PizzaService   # ... der unter dieser URL erreichbar ist
+ * </pre>
+ *
+ * Die erste Filiale der Liste ist die Standard-Filiale. Sie übernimmt alle Postleitzahlen, die keiner
+ * Filiale zugeordnet sind, und liefert die Speisekarte der Startseite.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Filialen {
+
+    /** Name der Konfigurationsdatei im Klassenpfad */
+    public static final String DATEI = "/filialen.properties";
+
+    private final Map<String, Filiale> filialen;   /** Filialen nach ID, in Konfigurationsreihenfolge */
+    private final Filiale standard;                /** Standard-Filiale (erste der Liste) */
+
+    /**
+     * Erstellt das Filialverzeichnis.
+     *
+     * @param filialen Filialen in Konfigurationsreihenfolge (mindestens eine)
+     */
+    public Filialen(List<Filiale> filialen) {
+        if (filialen.isEmpty()) {
+            throw new IllegalArgumentException("Es muss mindestens eine Filiale konfiguriert sein.");
+        }
+        Map<String, Filiale> map = new LinkedHashMap<>();
+        for (Filiale filiale : filialen) {
+            map.put(filiale.getId(), filiale);
+        }
+        this.filialen = Collections.unmodifiableMap(map);
+        this.standard = filialen.get(0);
+    }
+
+    /**
+     * Lädt die Filialen aus {@code filialen.properties}.
+     *
+     * @param knoten      Name dieses Knotens (leer: alle Filialen laufen lokal)
+     * @param verzeichnis Basisverzeichnis der Ereignisprotokolle (je Filiale ein Unterverzeichnis)
+     *                    oder null für Filialen ohne Persistenz
+     * @return Filialverzeichnis
+     */
+    public static Filialen laden(String knoten, Path verzeichnis) {
+        try (InputStream in = Filialen.class.getResourceAsStream(DATEI)) {
+            if (in == null) {
+                // Ohne Konfiguration: eine einzige Filiale mit der vollständigen Speisekarte
+                return new Filialen(List.of(new Filiale("zentrale", "PizzaService", new int[] {0},
+                        new int[] {99999}, new Speisekarte(), null,
+                        (verzeichnis != null) ? verzeichnis.resolve("zentrale") : null)));
+            }
+            Properties properties = new Properties();
+            properties.load(new InputStreamReader(in, StandardCharsets.UTF_8));
+            return laden(properties, knoten, verzeichnis);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Filialen konnten nicht geladen werden.", e);
+        }
+    }
+
+    /**
+     * Erstellt die Filialen aus einer Konfiguration.
+     *
+     * @param properties  Konfiguration im Format von {@code filialen.properties}
+     * @param knoten      Name dieses Knotens (leer: alle Filialen laufen lokal)
+     * @param verzeichnis Basisverzeichnis der Ereignisprotokolle oder null
+     * @return Filialverzeichnis
+     * @throws IllegalArgumentException bei fehlerhafter Konfiguration
+     */
+    public static Filialen laden(Properties properties, String knoten, Path verzeichnis) {
+        List<Filiale> liste = new ArrayList<>();
+        Speisekarte vollstaendig = new Speisekarte();
+
+        for (String id : liste(properties.getProperty("filialen", ""))) {
+            String praefix = "filiale." + id + ".";
+            String name = properties.getProperty(praefix + "name", id);
+
+            // PLZ-Bereiche "10115-10179,10243"
+            List<String> bereiche = liste(properties.getProperty(praefix + "plz", ""));
+            int[] von = new int[bereiche.size()];
+            int[] bis = new int[bereiche.size()];
+            for (int i = 0; i < bereiche.size(); i++) {
+                String[] teile = bereiche.get(i).split("-");
+                von[i] = Integer.parseInt(teile[0].trim());
+                bis[i] = Integer.parseInt(teile[teile.length - 1].trim());
+            }
+
+            // Eigene Speisekarte je Filiale (ohne ausgeschlossene Speisen)
+            Set<String> ohne = new HashSet<>(liste(properties.getProperty(praefix + "ohne", "")));
+            List<Speise> speisen = new ArrayList<>();
+            for (Speise speise : vollstaendig.getSpeisen()) {
+                if (!ohne.contains(speise.getSpeiseId())) {
+                    speisen.add(speise);
+                }
+            }
+
+            // Läuft die Filiale auf einem anderen Knoten?
+            String filialKnoten = properties.getProperty(praefix + "knoten", "").trim();
+            String url = null;
+            if (!filialKnoten.isEmpty() && knoten != null && !knoten.isBlank() && !filialKnoten.equals(knoten.trim())) {
+                url = properties.getProperty(praefix + "url", "").trim();
+                if (url.isEmpty()) {
+                    throw new IllegalArgumentException("Für die entfernte Filiale " + id + " fehlt " + praefix + "url.");
+                }
+            }
+            Path protokoll = (url == null && verzeichnis != null) ? verzeichnis.resolve(id) : null;
+            liste.add(new Filiale(id, name, von, bis, new Speisekarte(speisen), url, protokoll));
+        }
+        return new Filialen(liste);
+    }
+
+    private static List<String> liste(String wert) {
+        List<String> ergebnis = new ArrayList<>();
+        for (String teil : Arrays.asList(wert.split(","))) {
+            if (!teil.isBlank()) {
+                ergebnis.add(teil.trim());
+            }
+        }
+        return ergebnis;
+    }
+
+    /**
+     * Ermittelt die zuständige Filiale für eine Postleitzahl.
+     *
+     * @param plz Postleitzahl aus dem Formular (darf null oder ungültig sein)
+     * @return zuständige Filiale oder die Standard-Filiale, wenn keine Filiale die PLZ beliefert
+     */
+    public Filiale fuerPlz(String plz) {
+        if (plz != null) {
+            try {
+                int wert = Integer.parseInt(plz.trim());
+                for (Filiale filiale : filialen.values()) {
+                    if (filiale.beliefert(wert)) {
+                        return filiale;
+                    }
+                }
+            } catch (NumberFormatException ignored) {
+                // Ungültige PLZ → Standard-Filiale
+            }
+        }
+        return standard;
+    }
+
+    /**
+     * Liefert eine Filiale anhand ihrer ID.
+     *
+     * @param id ID der Filiale
+     * @return Filiale oder null, falls unbekannt
+     */
+    public Filiale get(String id) {
+        return (id == null) ? null : filialen.get(id);
+    }
+
+    /**
+     * Liefert alle Filialen in Konfigurationsreihenfolge.
+     *
+     * @return unveränderliche Sammlung aller Filialen
+     */
+    public Collection<Filiale> getAlle() {
+        return filialen.values();
+    }
+
+    public Filiale getStandard() {
+        return standard;
+    }
+
+    /**
+     * Öffnet für jede lokale Filiale ein {@link BestellJournal}.
+     *
+     * @param verzeichnis Basisverzeichnis der Journale
+     */
+    public void journaleOeffnen(Path verzeichnis) {
+        for (Filiale filiale : filialen.values()) {
+            if (filiale.isLokal()) {
+                filiale.setJournal(new BestellJournal(verzeichnis, filiale.getId()));
+            }
+        }
+    }
+
+    /**
+     * Lässt die Rechnungen aller lokalen Filialen im gemeinsamen {@link RechnungsArchiv} ablegen.
+     *
+     * @param archiv Rechnungsarchiv dieses Knotens
+     */
+    public void archivSetzen(RechnungsArchiv archiv) {
+        for (Filiale filiale : filialen.values()) {
+            if (filiale.isLokal()) {
+                filiale.setArchiv(archiv);
+            }
+        }
+    }
+
+    /**
+     * Richtet für jede lokale Filiale ein {@link Lager} mit Bestand und Rezepten ein.
+     *
+     * @param datei {@code lager.properties} im Datenverzeichnis oder null (nur Klassenpfad)
+     */
+    public void lagerEinrichten(Path datei) {
+        Properties properties = Lager.konfiguration(datei);
+        for (Filiale filiale : filialen.values()) {
+            if (filiale.isLokal()) {
+                filiale.setLager(new Lager(properties, filiale.getId(), filiale.getSpeisekarte()));
+            }
+        }
+    }
+
+    /**
+     * Richtet für jede lokale Filiale die {@link Zeitfenster} für Vorbestellungen ein.
+     *
+     * @param datei {@code zeitfenster.properties} im Datenverzeichnis oder null (nur Klassenpfad)
+     */
+    public void zeitfensterEinrichten(Path datei) {
+        Properties properties = Zeitfenster.konfiguration(datei);
+        for (Filiale filiale : filialen.values()) {
+            if (filiale.isLokal()) {
+                filiale.setZeitfenster(new Zeitfenster(properties, filiale.getId()));
+            }
+        }
+    }
+
+    /**
+     * Beendet die Bearbeitungsthreads aller lokalen Filialen.
+     */
+    public void beenden() {
+        for (Filiale filiale : filialen.values()) {
+            filiale.beenden();
+        }
+    }
+
+}
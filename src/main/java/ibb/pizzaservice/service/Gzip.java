@@ -0,0 +1,182 @@
+package ibb.pizzaservice.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * GZIP-Komprimierung mit wiederverwendeten {@link Deflater}-Instanzen.
+ *
+ * {@link java.util.zip.GZIPOutputStream} erzeugt bei jedem Aufruf einen neuen Deflater samt nativem
+ * Speicher (ca. 256 KB). Diese Klasse hält stattdessen einen kleinen Pool bereits initialisierter
+ * Deflater vor und schreibt Kopf und Prüfsumme des GZIP-Formats (RFC 1952) selbst.
+ *
+ * Beispiel:
+ * <pre>
+ * byte[] gz = Gzip.komprimieren(html, 0, html.length);
+ *
+ * try (OutputStream gz = Gzip.strom(response.getOutputStream())) {   // für große Datenmengen
+ *     ...
+ * }
+ * </pre>
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public final class Gzip {
+
+    /** Kompressionsstufe: guter Kompromiss zwischen CPU-Zeit und Größe */
+    public static final int STUFE = 6;
+
+    private static final byte[] KOPF = {
+        0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff
+    };
+
+    private static final BlockingQueue<Deflater> POOL =
+            new ArrayBlockingQueue<>(Math.max(2, Runtime.getRuntime().availableProcessors()));
+
+    private Gzip() { }
+
+    /**
+     * Komprimiert einen Bytebereich vollständig im GZIP-Format.
+     *
+     * @param daten  Eingabedaten
+     * @param offset Startposition
+     * @param laenge Anzahl Bytes
+     * @return GZIP-komprimierte Daten
+     */
+    public static byte[] komprimieren(byte[] daten, int offset, int laenge) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, laenge / 3));
+        out.write(KOPF, 0, KOPF.length);
+
+        Deflater deflater = ausleihen();
+        try {
+            deflater.setInput(daten, offset, laenge);
+            deflater.finish();
+            byte[] puffer = new byte[Math.min(8192, Math.max(512, laenge))];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(puffer);
+                out.write(puffer, 0, n);
+            }
+        } finally {
+            zurueckgeben(deflater);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(daten, offset, laenge);
+        schreibeInt(out, (int) crc.getValue());
+        schreibeInt(out, laenge);
+        return out.toByteArray();
+    }
+
+    /**
+     * Liefert einen Ausgabestrom, der alle geschriebenen Daten GZIP-komprimiert an das Ziel weitergibt.
+     * Der Speicherbedarf ist unabhängig von der Datenmenge. {@code close()} schreibt die Prüfsumme,
+     * gibt den Deflater zurück und schließt das Ziel.
+     *
+     * @param ziel Ausgabestrom für die komprimierten Daten
+     * @return komprimierender Ausgabestrom
+     * @throws IOException wenn der GZIP-Kopf nicht geschrieben werden kann
+     */
+    public static OutputStream strom(OutputStream ziel) throws IOException {
+        ziel.write(KOPF);
+        return new GzipStrom(ziel);
+    }
+
+    /**
+     * Leiht einen zurückgesetzten Deflater aus dem Pool (oder erzeugt einen neuen).
+     * Ausgeliehene Deflater müssen mit {@link #zurueckgeben(Deflater)} zurückgegeben werden.
+     *
+     * @return Deflater ohne zlib-Kopf ("nowrap"), passend für GZIP
+     */
+    public static Deflater ausleihen() {
+        Deflater deflater = POOL.poll();
+        return (deflater != null) ? deflater : new Deflater(STUFE, true);
+    }
+
+    /**
+     * Gibt einen Deflater zurück. Ist der Pool voll, wird er freigegeben.
+     *
+     * @param deflater ausgeliehener Deflater
+     */
+    public static void zurueckgeben(Deflater deflater) {
+        deflater.reset();
+        if (!POOL.offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private static void schreibeInt(ByteArrayOutputStream out, int wert) {
+        // GZIP speichert CRC32 und Länge im Little-Endian-Format
+        out.write(wert & 0xff);
+        out.write((wert >>> 8) & 0xff);
+        out.write((wert >>> 16) & 0xff);
+        out.write((wert >>> 24) & 0xff);
+    }
+
+    /**
+     * Komprimierender Ausgabestrom mit einem ausgeliehenen Deflater (siehe {@link #strom(OutputStream)}).
+     */
+    private static final class GzipStrom extends FilterOutputStream {
+
+        private final Deflater deflater = ausleihen();
+        private final CRC32 crc = new CRC32();
+        private final byte[] puffer = new byte[8192];
+        private long laenge;
+        private boolean geschlossen;
+
+        GzipStrom(OutputStream ziel) {
+            super(ziel);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] daten, int offset, int anzahl) throws IOException {
+            if (anzahl == 0) {
+                return;
+            }
+            crc.update(daten, offset, anzahl);
+            laenge += anzahl;
+            deflater.setInput(daten, offset, anzahl);
+            while (!deflater.needsInput()) {
+                int n = deflater.deflate(puffer);
+                out.write(puffer, 0, n);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (geschlossen) {
+                return;
+            }
+            geschlossen = true;
+            try {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int n = deflater.deflate(puffer);
+                    out.write(puffer, 0, n);
+                }
+                int c = (int) crc.getValue();
+                int l = (int) laenge;
+                out.write(new byte[] {
+                    (byte) c, (byte) (c >>> 8), (byte) (c >>> 16), (byte) (c >>> 24),
+                    (byte) l, (byte) (l >>> 8), (byte) (l >>> 16), (byte) (l >>> 24)
+                });
+            } finally {
+                zurueckgeben(deflater);
+                out.close();
+            }
+        }
+    }
+
+}
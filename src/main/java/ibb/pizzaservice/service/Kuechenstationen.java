@@ -0,0 +1,283 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Station;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Verteilt die Bestellungen einer {@link Filiale} als Aufgaben auf die Küchenstationen.
+ *
+ * Jede Bestellung wird nach {@link Station} aufgeteilt: alle Pizzen bilden eine Aufgabe für die
+ * Pizzastation, alle Salate eine für die Salatstation usw. Jede Station hat eine eigene Warteschlange
+ * (Deque). Ein Koch holt mit {@link #naechsteAufgabe(Station)} die älteste Aufgabe seiner Station vom
+ * Kopf der Warteschlange; ist sie leer, übernimmt er die jüngste Aufgabe vom Ende der längsten
+ * Warteschlange einer kompatiblen Station ({@link Station#kannUebernehmen(Station)}). So helfen freie
+ * Köche bei einem Engpass aus, ohne dem Eigentümer der Warteschlange die älteste Aufgabe wegzunehmen.
+ *
+ * Sind alle Aufgaben einer Bestellung erledigt, ist die Bestellung wieder vollständig und
+ * {@link #erledigt(long)} liefert deren ID.
+ *
+ * Alle Strukturen sind threadsicher und ohne Sperren; Köche verschiedener Stationen arbeiten
+ * unabhängig voneinander. Die Aufgaben liegen nur im Arbeitsspeicher; nach einem Neustart werden sie
+ * aus den offenen Bestellungen neu erzeugt.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Kuechenstationen {
+
+    /**
+     * Teil einer Bestellung, der an einer Station zubereitet wird.
+     */
+    public static final class Aufgabe {
+
+        private final long id;
+        private final long bestellId;
+        private final Station station;
+        private final List<Bestellposition> positionen;
+        private final AtomicInteger offen;     /** Offene Aufgaben derselben Verteilung der Bestellung */
+        private final long erstellt = System.currentTimeMillis();
+        private volatile Station bearbeiter;   /** Station des Kochs, der die Aufgabe übernommen hat */
+        private volatile long begonnen;        /** Zeitpunkt der Übernahme durch den Koch (0: wartet noch) */
+
+        Aufgabe(long id, long bestellId, Station station, List<Bestellposition> positionen, AtomicInteger offen) {
+            this.id = id;
+            this.bestellId = bestellId;
+            this.station = station;
+            this.positionen = Collections.unmodifiableList(positionen);
+            this.offen = offen;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getBestellId() {
+            return bestellId;
+        }
+
+        public Station getStation() {
+            return station;
+        }
+
+        public List<Bestellposition> getPositionen() {
+            return positionen;
+        }
+
+        public long getErstellt() {
+            return erstellt;
+        }
+
+        public Station getBearbeiter() {
+            return bearbeiter;
+        }
+
+        public long getBegonnen() {
+            return begonnen;
+        }
+
+        /**
+         * Gibt an, ob die Aufgabe von einer anderen Station übernommen wurde.
+         *
+         * @return true, wenn ein Koch einer anderen Station sie bearbeitet
+         */
+        public boolean isUebernommen() {
+            return bearbeiter != null && bearbeiter != station;
+        }
+    }
+
+    private final Map<Station, ConcurrentLinkedDeque<Aufgabe>> warteschlangen = new EnumMap<>(Station.class);
+    private final Map<Station, AtomicInteger> laengen = new EnumMap<>(Station.class);
+    private final Map<Station, AtomicLong> uebernommen = new EnumMap<>(Station.class);   /** Gestohlene Aufgaben je Station des Kochs */
+    private final Map<Long, Aufgabe> inArbeit = new ConcurrentHashMap<>();               /** Aufgaben-ID → Aufgabe */
+    private final Map<Long, AtomicInteger> ausstehend = new ConcurrentHashMap<>();       /** Bestell-ID → offene Aufgaben der aktuellen Verteilung */
+    private final AtomicLong naechsteId = new AtomicLong();
+
+    /**
+     * Erstellt leere Warteschlangen für alle Stationen.
+     */
+    public Kuechenstationen() {
+        for (Station station : Station.values()) {
+            warteschlangen.put(station, new ConcurrentLinkedDeque<>());
+            laengen.put(station, new AtomicInteger());
+            uebernommen.put(station, new AtomicLong());
+        }
+    }
+
+    /**
+     * Teilt eine Bestellung in Aufgaben je Station auf und reiht diese ein.
+     *
+     * @param bestellung angenommene Bestellung
+     */
+    public void verteilen(Bestellung bestellung) {
+        Map<Station, List<Bestellposition>> teile = new EnumMap<>(Station.class);
+        for (Bestellposition pos : bestellung.getPositionen()) {
+            teile.computeIfAbsent(pos.getSpeise().getStation(), s -> new ArrayList<>()).add(pos);
+        }
+        if (teile.isEmpty()) {
+            return;
+        }
+        AtomicInteger offen = new AtomicInteger(teile.size());
+        ausstehend.put(bestellung.getBestellId(), offen);
+        for (Map.Entry<Station, List<Bestellposition>> teil : teile.entrySet()) {
+            Station station = teil.getKey();
+            warteschlangen.get(station).offerLast(
+                    new Aufgabe(naechsteId.incrementAndGet(), bestellung.getBestellId(), station, teil.getValue(), offen));
+            laengen.get(station).incrementAndGet();
+        }
+    }
+
+    /**
+     * Holt die nächste Aufgabe für einen Koch: zuerst die älteste der eigenen Station, sonst die
+     * jüngste der längsten kompatiblen Warteschlange.
+     *
+     * @param station Station des Kochs
+     * @return Aufgabe oder null, wenn keine kompatible Station Arbeit hat
+     */
+    public Aufgabe naechsteAufgabe(Station station) {
+        Aufgabe aufgabe = warteschlangen.get(station).pollFirst();
+        if (aufgabe != null) {
+            laengen.get(station).decrementAndGet();
+        } else {
+            aufgabe = uebernehmen(station);
+        }
+        if (aufgabe != null) {
+            aufgabe.bearbeiter = station;
+            aufgabe.begonnen = System.currentTimeMillis();
+            inArbeit.put(aufgabe.getId(), aufgabe);
+        }
+        return aufgabe;
+    }
+
+    private Aufgabe uebernehmen(Station station) {
+        // Bei Misserfolg (ein anderer Koch war schneller) die nächstlängere Warteschlange versuchen
+        for (int versuch = 0; versuch < Station.values().length; versuch++) {
+            Station laengste = null;
+            int maximum = 0;
+            for (Station andere : Station.values()) {
+                int laenge = laengen.get(andere).get();
+                if (andere != station && station.kannUebernehmen(andere) && laenge > maximum) {
+                    laengste = andere;
+                    maximum = laenge;
+                }
+            }
+            if (laengste == null) {
+                return null;
+            }
+            Aufgabe aufgabe = warteschlangen.get(laengste).pollLast();
+            if (aufgabe != null) {
+                laengen.get(laengste).decrementAndGet();
+                uebernommen.get(station).incrementAndGet();
+                return aufgabe;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Liefert eine Aufgabe, die gerade bearbeitet wird.
+     *
+     * @param aufgabeId ID der Aufgabe
+     * @return Aufgabe oder null, wenn sie nicht (mehr) in Arbeit ist
+     */
+    public Aufgabe getAufgabe(long aufgabeId) {
+        return inArbeit.get(aufgabeId);
+    }
+
+    /**
+     * Meldet eine Aufgabe als erledigt. Gezählt wird im Zähler der Verteilung, zu der die Aufgabe gehört:
+     * Wurde die Bestellung inzwischen neu verteilt (z. B. nach einer Änderung), zählt eine Aufgabe der
+     * alten Verteilung nicht gegen die neuen Aufgaben.
+     *
+     * @param aufgabeId ID der Aufgabe
+     * @return ID der Bestellung, wenn damit alle ihre Aufgaben erledigt sind; sonst 0
+     */
+    public long erledigt(long aufgabeId) {
+        Aufgabe aufgabe = inArbeit.remove(aufgabeId);
+        if (aufgabe == null) {
+            return 0;
+        }
+        AtomicInteger offen = aufgabe.offen;
+        if (offen.decrementAndGet() == 0 && ausstehend.remove(aufgabe.getBestellId(), offen)) {
+            return aufgabe.getBestellId();
+        }
+        return 0;
+    }
+
+    /**
+     * Entfernt alle Aufgaben einer Bestellung (z. B. nach einer Stornierung oder Änderung).
+     *
+     * @param bestellId ID der Bestellung
+     */
+    public void entfernen(long bestellId) {
+        if (ausstehend.remove(bestellId) == null) {
+            return;
+        }
+        for (Station station : Station.values()) {
+            warteschlangen.get(station).removeIf(aufgabe -> {
+                if (aufgabe.getBestellId() == bestellId) {
+                    laengen.get(station).decrementAndGet();
+                    return true;
+                }
+                return false;
+            });
+        }
+        inArbeit.values().removeIf(aufgabe -> aufgabe.getBestellId() == bestellId);
+    }
+
+    // ------------------------------------------------------------
+    // Ansicht und Kennzahlen
+    // ------------------------------------------------------------
+
+    /**
+     * Liefert eine Momentaufnahme der Warteschlange einer Station (älteste zuerst).
+     *
+     * @param station Station
+     * @return wartende Aufgaben
+     */
+    public List<Aufgabe> getWarteschlange(Station station) {
+        return new ArrayList<>(warteschlangen.get(station));
+    }
+
+    /**
+     * Liefert die Aufgaben, die Köche einer Station gerade bearbeiten.
+     *
+     * @param station Station des Kochs
+     * @return Aufgaben in Arbeit, älteste zuerst
+     */
+    public List<Aufgabe> getInArbeit(Station station) {
+        List<Aufgabe> liste = new ArrayList<>();
+        for (Aufgabe aufgabe : inArbeit.values()) {
+            if (aufgabe.getBearbeiter() == station) {
+                liste.add(aufgabe);
+            }
+        }
+        liste.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+        return liste;
+    }
+
+    public int getLaenge(Station station) {
+        return laengen.get(station).get();
+    }
+
+    /**
+     * Liefert die Anzahl der Aufgaben, die Köche einer Station von anderen Stationen übernommen haben.
+     *
+     * @param station Station des Kochs
+     * @return Anzahl übernommener Aufgaben
+     */
+    public long getUebernommen(Station station) {
+        return uebernommen.get(station).get();
+    }
+
+}
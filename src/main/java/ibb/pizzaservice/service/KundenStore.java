@@ -0,0 +1,322 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Kunde;
+import ibb.pizzaservice.model.Kundenprofil;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Speicher für {@link Kundenprofil}e wiederkehrender Kunden.
+ *
+ * Profile werden dauerhaft als Dateien im Datenverzeichnis abgelegt (eine Datei pro Kunde).
+ * Davor liegt ein größenbeschränkter {@link LruCache}, damit Stammkunden ohne Dateizugriff erkannt
+ * werden.
+ *
+ * Der Schlüssel eines Kunden ({@code kundenId}) wird aus Name und Adresse gebildet. Vorher werden
+ * Groß-/Kleinschreibung, Leerzeichen, Satzzeichen und typische Abkürzungen ("Str." / "Straße")
+ * vereinheitlicht, damit kleine Abweichungen bei der Eingabe denselben Kunden ergeben. Der Schlüssel
+ * ist ein SHA-256-Hash und kann daher gefahrlos als Dateiname verwendet werden.
+ *
+ * Da jeder, der Name und Adresse kennt, die Kunden-ID berechnen kann, ist sie allein kein Ausweis.
+ * Das Cookie enthält daher die Kunden-ID mit einer HMAC-SHA256-Signatur ({@link #cookieWert(Kundenprofil)});
+ * der Schlüssel ist eine Zufallszahl des Servers und liegt in der Datei {@value #SCHLUESSEL_DATEI}.
+ * Nur Cookies mit gültiger Signatur führen zu einem Profil ({@link #ausCookie(String)}).
+ *
+ * Geänderte Profile stehen sofort im Cache; die Datei schreibt ein eigener Hintergrund-Thread. Ein
+ * Schreibfehler wird protokolliert und betrifft nur die Wiedererkennung, nie die Bestellung selbst.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class KundenStore {
+
+    /** Standardgröße des Caches (Anzahl Profile) */
+    public static final int STANDARD_KAPAZITAET = 10_000;
+
+    /** Datei mit dem Schlüssel für die Signatur der Cookies */
+    public static final String SCHLUESSEL_DATEI = "cookie-schluessel.bin";
+
+    private static final String HMAC = "HmacSHA256";
+    private static final int SCHLUESSEL_LAENGE = 32;
+
+    private static final Pattern KEINE_BUCHSTABEN = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIAKRITIKA = Pattern.compile("\\p{M}+");
+
+    private final Path verzeichnis;                       /** Ablageort der Profildateien */
+    private final LruCache<String, Kundenprofil> cache;   /** Cache vor dem Dateispeicher */
+    private final ExecutorService schreiber;              /** Schreibt die Profildateien (ein Thread, Reihenfolge bleibt erhalten) */
+    private final SecretKeySpec schluessel;               /** Schlüssel für die Signatur der Cookies */
+
+    /**
+     * Erstellt einen neuen KundenStore.
+     *
+     * @param verzeichnis Verzeichnis für die Profildateien (muss existieren)
+     * @param kapazitaet  maximale Anzahl Profile im Cache
+     */
+    public KundenStore(Path verzeichnis, int kapazitaet) {
+        this.verzeichnis = verzeichnis;
+        this.cache = new LruCache<>(kapazitaet, Kundenprofil::geschaetzteGroesse);
+        this.schreiber = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "kundenstore");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.schluessel = new SecretKeySpec(schluesselLaden(verzeichnis.resolve(SCHLUESSEL_DATEI)), HMAC);
+    }
+
+    /**
+     * Liest den Schlüssel für die Cookies oder legt ihn beim ersten Start an. Kann er nicht gespeichert
+     * werden, gilt ein zufälliger Schlüssel bis zum nächsten Neustart (Stammkunden werden danach nicht
+     * mehr erkannt, bis sie wieder bestellen).
+     */
+    private static byte[] schluesselLaden(Path datei) {
+        try {
+            byte[] vorhanden = Files.readAllBytes(datei);
+            if (vorhanden.length == SCHLUESSEL_LAENGE) {
+                return vorhanden;
+            }
+        } catch (NoSuchFileException e) {
+            // erster Start
+        } catch (IOException e) {
+            System.err.println("Cookie-Schlüssel nicht lesbar: " + datei + " (" + e.getMessage() + ")");
+        }
+        byte[] neu = new byte[SCHLUESSEL_LAENGE];
+        new SecureRandom().nextBytes(neu);
+        try {
+            Path temp = Files.createTempFile(datei.getParent(), "schluessel", ".tmp");
+            Files.write(temp, neu, StandardOpenOption.TRUNCATE_EXISTING);
+            Files.move(temp, datei, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Cookie-Schlüssel nicht gespeichert: " + datei + " (" + e.getMessage() + ")");
+        }
+        return neu;
+    }
+
+    /**
+     * Bildet den Schlüssel eines Kunden aus normalisiertem Namen und normalisierter Adresse.
+     *
+     * @param kunde Kunde
+     * @return Kunden-ID (64 Hex-Zeichen)
+     */
+    public static String kundenId(Kunde kunde) {
+        String identitaet = normalisieren(kunde.getVorname()) + '|' + normalisieren(kunde.getNachname()) + '|'
+                + normalisieren(kunde.getStrasse()) + '|' + normalisieren(kunde.getHausnummer()) + '|'
+                + normalisieren(kunde.getPlz());
+        try {
+            return hex(MessageDigest.getInstance("SHA-256").digest(identitaet.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 wird von der JVM nicht unterstützt.", e);
+        }
+    }
+
+    /**
+     * Vereinheitlicht einen Text für den Kundenschlüssel, z. B. "Bahnhofstr. " → "bahnhofstrasse".
+     *
+     * @param text Eingabe (darf null sein)
+     * @return normalisierter Text
+     */
+    static String normalisieren(String text) {
+        if (text == null) {
+            return "";
+        }
+        String s = text.trim().toLowerCase(Locale.GERMAN).replace("ß", "ss");
+        if (s.endsWith("str.") || s.endsWith("str")) {
+            s = s.substring(0, s.lastIndexOf("str")) + "strasse";
+        }
+        s = DIAKRITIKA.matcher(Normalizer.normalize(s, Normalizer.Form.NFD)).replaceAll("");
+        return KEINE_BUCHSTABEN.matcher(s).replaceAll("");
+    }
+
+    /**
+     * Bildet den Cookie-Wert eines Profils: Kunden-ID und Signatur, getrennt durch einen Punkt.
+     *
+     * @param profil Kundenprofil
+     * @return Cookie-Wert (129 Zeichen)
+     */
+    public String cookieWert(Kundenprofil profil) {
+        return profil.getKundenId() + '.' + hex(signatur(profil.getKundenId()));
+    }
+
+    /**
+     * Sucht das Profil zu einem Cookie-Wert. Cookies mit fehlender oder falscher Signatur werden
+     * ignoriert.
+     *
+     * @param wert Cookie-Wert (siehe {@link #cookieWert(Kundenprofil)})
+     * @return Profil oder null, falls ungültig oder unbekannt
+     */
+    public Kundenprofil ausCookie(String wert) {
+        int punkt = (wert != null) ? wert.indexOf('.') : -1;
+        if (punkt < 0) {
+            return null;
+        }
+        String kundenId = wert.substring(0, punkt);
+        if (!gueltigeId(kundenId)) {
+            return null;
+        }
+        byte[] erwartet = hex(signatur(kundenId)).getBytes(StandardCharsets.US_ASCII);
+        byte[] erhalten = wert.substring(punkt + 1).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(erwartet, erhalten) ? finden(kundenId) : null;
+    }
+
+    private byte[] signatur(String kundenId) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(schluessel);
+            return mac.doFinal(kundenId.getBytes(StandardCharsets.US_ASCII));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 wird von der JVM nicht unterstützt.", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Sucht das Profil zu einer Kunden-ID – zuerst im Cache, danach im Dateispeicher.
+     *
+     * @param kundenId Kunden-ID (nur aus vertrauenswürdiger Quelle, Cookies über {@link #ausCookie(String)})
+     * @return Profil oder null, falls unbekannt
+     */
+    public Kundenprofil finden(String kundenId) {
+        if (!gueltigeId(kundenId)) {
+            return null;
+        }
+        Kundenprofil profil = cache.get(kundenId);
+        if (profil == null) {
+            profil = laden(kundenId);
+            if (profil != null) {
+                cache.put(kundenId, profil);
+            }
+        }
+        return profil;
+    }
+
+    /**
+     * Merkt sich eine Bestellung im Profil des Kunden. Das Profil steht sofort im Cache und wird im
+     * Hintergrund dauerhaft gespeichert.
+     *
+     * @param bestellung aufgegebene Bestellung (mit Kunde)
+     * @return aktualisiertes Profil
+     */
+    public Kundenprofil bestellungMerken(Bestellung bestellung) {
+        String kundenId = kundenId(bestellung.getKunde());
+        Kundenprofil bisher = finden(kundenId);
+        Kundenprofil profil = (bisher != null)
+                ? bisher.nachBestellung(bestellung)
+                : new Kundenprofil(kundenId, bestellung.getKunde(), Kundenprofil.positionenAus(bestellung),
+                        1, System.currentTimeMillis());
+        cache.put(kundenId, profil);
+        try {
+            schreiber.execute(() -> speichernProtokolliert(profil));
+        } catch (RejectedExecutionException e) {
+            speichernProtokolliert(profil);   // bereits beendet: im aufrufenden Thread schreiben
+        }
+        return profil;
+    }
+
+    /**
+     * Schreibt alle ausstehenden Profile und beendet den Hintergrund-Thread.
+     */
+    public void beenden() {
+        schreiber.shutdown();
+        try {
+            schreiber.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Liefert den Cache, z. B. für Statusabfragen (Trefferquote, Speicherbedarf).
+     *
+     * @return LRU-Cache der Profile
+     */
+    public LruCache<String, Kundenprofil> getCache() {
+        return cache;
+    }
+
+    // ------------------------------------------------------------
+    // Dateispeicher
+    // ------------------------------------------------------------
+    private Kundenprofil laden(String kundenId) {
+        try (InputStream in = Files.newInputStream(datei(kundenId));
+             ObjectInputStream ois = new ObjectInputStream(in)) {
+            return (Kundenprofil) ois.readObject();
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            // Beschädigte oder veraltete Datei: Kunde gilt als unbekannt
+            return null;
+        }
+    }
+
+    private void speichernProtokolliert(Kundenprofil profil) {
+        try {
+            speichern(profil);
+        } catch (UncheckedIOException e) {
+            System.err.println(e.getMessage() + " (" + e.getCause().getMessage() + ")");
+        }
+    }
+
+    private void speichern(Kundenprofil profil) {
+        Path ziel = datei(profil.getKundenId());
+        try {
+            // Erst in temporäre Datei schreiben, dann atomar umbenennen – keine halben Dateien
+            Path temp = Files.createTempFile(verzeichnis, profil.getKundenId(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp);
+                 ObjectOutputStream oos = new ObjectOutputStream(out)) {
+                oos.writeObject(profil);
+            }
+            Files.move(temp, ziel, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Kundenprofil konnte nicht gespeichert werden: " + ziel, e);
+        }
+    }
+
+    private Path datei(String kundenId) {
+        return verzeichnis.resolve(kundenId + ".ser");
+    }
+
+    private static boolean gueltigeId(String kundenId) {
+        if (kundenId == null || kundenId.length() != 64) {
+            return false;
+        }
+        for (int i = 0; i < kundenId.length(); i++) {
+            if (Character.digit(kundenId.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,371 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Speise;
+import ibb.pizzaservice.model.Speisekarte;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Zutatenbestand einer {@link Filiale} mit den Rezepten ihrer Speisen.
+ *
+ * Bestand und Rezepte stehen in {@code lager.properties} (Mengen in Portionen):
+ * <pre>
+ * zutaten=teig,tomatensauce,mozzarella,salami
+ * bestand.teig=400                       # Tagesbestand für alle Filialen ...
+ * filiale.mitte.bestand.mozzarella=250   # ... oder nur für eine Filiale
+ * rezept.Pi03=teig:1,tomatensauce:1,mozzarella:1,salami:2
+ * </pre>
+ * Speisen ohne Rezept sind unbegrenzt verfügbar. Liegt im Datenverzeichnis eine Datei
+ * {@code lager.properties}, hat sie Vorrang vor der Datei im Klassenpfad. Der Bestand wird beim Start
+ * gelesen (Tagesbestand) und nicht gespeichert.
+ *
+ * Jede Zutat hat einen eigenen atomaren Zähler. {@link #reservieren(Bestellung)} bucht den Bedarf aller
+ * Positionen per Compare-and-Set ab – ganz oder gar nicht: Reicht eine Zutat nicht, werden die bereits
+ * gebuchten Zutaten zurückgebucht. Es gibt keine Sperre; gleichzeitige Bestellungen derselben Speise
+ * konkurrieren nur um die Zähler ihrer Zutaten, und der Bestand wird nie negativ.
+ *
+ * Unterschreitet eine Zutat den Bedarf einer Speise für eine Portion, wird die Menge der ausverkauften
+ * Speisen neu berechnet und in der {@link Speisekarte} der Filiale veröffentlicht
+ * ({@link Speisekarte#getAusverkauft()}); die Startseite sperrt diese Speisen.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Lager {
+
+    /** Name der Konfigurationsdatei */
+    public static final String DATEI = "lager.properties";
+
+    private final String[] zutaten;                /** Namen der Zutaten (Index = Zähler) */
+    private final AtomicLongArray bestand;         /** Bestand je Zutat in Portionen */
+    private final Map<String, int[]> rezepte;      /** Speise-ID → Paare aus Zutat-Index und Menge */
+    private final int[][] schwellen;               /** Je Zutat: Mengen, ab denen eine Speise ausverkauft ist */
+    private final Speisekarte speisekarte;         /** Speisekarte, in der Ausverkauftes veröffentlicht wird */
+    private final AtomicLong abgelehnt = new AtomicLong();   /** Reservierungen ohne ausreichenden Bestand */
+    private final long eingerichtet = System.currentTimeMillis();   /** Beginn des Tagesbestands */
+
+    /**
+     * Erstellt das Lager einer Filiale.
+     *
+     * @param properties  Konfiguration im Format von {@code lager.properties}
+     * @param filialeId   ID der Filiale (für filialspezifische Bestände)
+     * @param speisekarte Speisekarte der Filiale
+     * @throws IllegalArgumentException bei fehlerhafter Konfiguration
+     */
+    public Lager(Properties properties, String filialeId, Speisekarte speisekarte) {
+        this.speisekarte = speisekarte;
+        this.zutaten = liste(properties.getProperty("zutaten", "")).toArray(new String[0]);
+        this.bestand = new AtomicLongArray(zutaten.length);
+
+        Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < zutaten.length; i++) {
+            index.put(zutaten[i], i);
+            String wert = properties.getProperty("filiale." + filialeId + ".bestand." + zutaten[i],
+                    properties.getProperty("bestand." + zutaten[i], "0")).trim();
+            try {
+                long menge = Long.parseLong(wert);
+                if (menge < 0) {
+                    throw new NumberFormatException();
+                }
+                bestand.set(i, menge);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Ungültiger Bestand für " + zutaten[i] + ": " + wert);
+            }
+        }
+
+        // Rezepte "teig:1,salami:2" → {0, 1, 3, 2}
+        Map<String, int[]> map = new HashMap<>();
+        List<Set<Integer>> mengen = new ArrayList<>();
+        for (int i = 0; i < zutaten.length; i++) {
+            mengen.add(new LinkedHashSet<>());
+        }
+        for (Speise speise : speisekarte.getSpeisen()) {
+            List<String> teile = liste(properties.getProperty("rezept." + speise.getSpeiseId(), ""));
+            if (teile.isEmpty()) {
+                continue;
+            }
+            int[] rezept = new int[teile.size() * 2];
+            for (int j = 0; j < teile.size(); j++) {
+                String[] paar = teile.get(j).split(":");
+                Integer zutat = index.get(paar[0].trim());
+                if (zutat == null) {
+                    throw new IllegalArgumentException("Rezept " + speise.getSpeiseId()
+                            + ": unbekannte Zutat " + paar[0].trim());
+                }
+                int menge;
+                try {
+                    menge = (paar.length > 1) ? Integer.parseInt(paar[1].trim()) : 1;
+                } catch (NumberFormatException e) {
+                    menge = 0;
+                }
+                if (menge <= 0) {
+                    throw new IllegalArgumentException("Rezept " + speise.getSpeiseId()
+                            + ": ungültige Menge für " + paar[0].trim());
+                }
+                rezept[2 * j] = zutat;
+                rezept[2 * j + 1] = menge;
+                mengen.get(zutat).add(menge);
+            }
+            map.put(speise.getSpeiseId(), rezept);
+        }
+        this.rezepte = map;
+        this.schwellen = new int[zutaten.length][];
+        for (int i = 0; i < zutaten.length; i++) {
+            schwellen[i] = mengen.get(i).stream().mapToInt(Integer::intValue).toArray();
+        }
+        ausverkauftAktualisieren();
+    }
+
+    /**
+     * Lädt die Lagerkonfiguration. Eine Datei im Datenverzeichnis hat Vorrang vor dem Klassenpfad.
+     *
+     * @param datei {@code lager.properties} im Datenverzeichnis oder null (nur Klassenpfad)
+     * @return Konfiguration (leer, wenn es keine gibt)
+     * @throws UncheckedIOException wenn die Datei nicht gelesen werden kann
+     */
+    public static Properties konfiguration(Path datei) {
+        Properties properties = new Properties();
+        boolean lokal = datei != null && Files.isRegularFile(datei);
+        try (InputStream in = lokal ? Files.newInputStream(datei) : Lager.class.getResourceAsStream("/" + DATEI)) {
+            if (in != null) {
+                try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lagerbestand konnte nicht geladen werden.", e);
+        }
+        return properties;
+    }
+
+    // ------------------------------------------------------------
+    // Reservieren und Freigeben
+    // ------------------------------------------------------------
+
+    /**
+     * Reserviert die Zutaten für alle Positionen einer Bestellung – ganz oder gar nicht.
+     *
+     * @param bestellung neue Bestellung
+     * @return true, wenn alle Zutaten reserviert wurden; false, wenn der Bestand nicht reicht
+     *         (dann ist nichts reserviert)
+     */
+    public boolean reservieren(Bestellung bestellung) {
+        long[] bedarf = bedarf(bestellung);
+        if (bedarf == null) {
+            return true;
+        }
+        for (int i = 0; i < bedarf.length; i++) {
+            if (bedarf[i] > 0 && !abbuchen(i, bedarf[i])) {
+                for (int j = 0; j < i; j++) {
+                    if (bedarf[j] > 0) {
+                        zubuchen(j, bedarf[j]);
+                    }
+                }
+                abgelehnt.incrementAndGet();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reserviert die Zutaten für weitere Portionen einer Speise (z. B. bei einer Mengenänderung).
+     *
+     * @param speiseId ID der Speise
+     * @param menge    zusätzliche Portionen
+     * @return true, wenn reserviert wurde
+     */
+    public boolean reservieren(String speiseId, int menge) {
+        int[] rezept = rezepte.get(speiseId);
+        if (rezept == null || menge <= 0) {
+            return true;
+        }
+        for (int j = 0; j < rezept.length; j += 2) {
+            if (!abbuchen(rezept[j], (long) rezept[j + 1] * menge)) {
+                for (int k = 0; k < j; k += 2) {
+                    zubuchen(rezept[k], (long) rezept[k + 1] * menge);
+                }
+                abgelehnt.incrementAndGet();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gibt die Zutaten einer Bestellung wieder frei (z. B. nach einer Stornierung). Bestellungen, die
+     * vor dem Einrichten des Lagers aufgegeben wurden (wiederhergestellt nach einem Neustart), wurden
+     * nicht aus diesem Bestand reserviert und werden übergangen.
+     *
+     * @param bestellung stornierte Bestellung
+     */
+    public void freigeben(Bestellung bestellung) {
+        if (bestellung.getZeitpunkt() < eingerichtet) {
+            return;
+        }
+        long[] bedarf = bedarf(bestellung);
+        if (bedarf != null) {
+            for (int i = 0; i < bedarf.length; i++) {
+                if (bedarf[i] > 0) {
+                    zubuchen(i, bedarf[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gibt die Zutaten einzelner Portionen einer Speise wieder frei (z. B. bei einer Mengenänderung).
+     * Wie bei {@link #freigeben(Bestellung)} werden Bestellungen von vor dem Einrichten des Lagers
+     * übergangen.
+     *
+     * @param bestellung geänderte Bestellung
+     * @param speiseId   ID der Speise
+     * @param menge      freigegebene Portionen
+     */
+    public void freigeben(Bestellung bestellung, String speiseId, int menge) {
+        if (bestellung.getZeitpunkt() < eingerichtet) {
+            return;
+        }
+        int[] rezept = rezepte.get(speiseId);
+        if (rezept != null && menge > 0) {
+            for (int j = 0; j < rezept.length; j += 2) {
+                zubuchen(rezept[j], (long) rezept[j + 1] * menge);
+            }
+        }
+    }
+
+    /** Summiert den Bedarf aller Positionen je Zutat (null: nichts zu reservieren) */
+    private long[] bedarf(Bestellung bestellung) {
+        long[] bedarf = null;
+        for (Bestellposition pos : bestellung.getPositionen()) {
+            int[] rezept = rezepte.get(pos.getSpeise().getSpeiseId());
+            if (rezept != null) {
+                if (bedarf == null) {
+                    bedarf = new long[zutaten.length];
+                }
+                for (int j = 0; j < rezept.length; j += 2) {
+                    bedarf[rezept[j]] += (long) rezept[j + 1] * pos.getMenge();
+                }
+            }
+        }
+        return bedarf;
+    }
+
+    private boolean abbuchen(int zutat, long menge) {
+        long alt;
+        long neu;
+        do {
+            alt = bestand.get(zutat);
+            neu = alt - menge;
+            if (neu < 0) {
+                return false;
+            }
+        } while (!bestand.compareAndSet(zutat, alt, neu));
+        if (ueberschritten(zutat, neu, alt)) {
+            ausverkauftAktualisieren();
+        }
+        return true;
+    }
+
+    private void zubuchen(int zutat, long menge) {
+        long neu = bestand.addAndGet(zutat, menge);
+        if (ueberschritten(zutat, neu - menge, neu)) {
+            ausverkauftAktualisieren();
+        }
+    }
+
+    /** Liegt zwischen zwei Beständen eine Schwelle, an der eine Speise (nicht mehr) ausverkauft ist? */
+    private boolean ueberschritten(int zutat, long niedrig, long hoch) {
+        for (int schwelle : schwellen[zutat]) {
+            if (niedrig < schwelle && schwelle <= hoch) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Berechnet die ausverkauften Speisen und veröffentlicht sie in der Speisekarte. Wird nur beim
+     * Überschreiten einer Schwelle aufgerufen; die Synchronisierung stellt sicher, dass ein älterer
+     * Stand keinen neueren überschreibt.
+     */
+    private synchronized void ausverkauftAktualisieren() {
+        Set<String> ausverkauft = new LinkedHashSet<>();
+        for (Map.Entry<String, int[]> eintrag : rezepte.entrySet()) {
+            int[] rezept = eintrag.getValue();
+            for (int j = 0; j < rezept.length; j += 2) {
+                if (bestand.get(rezept[j]) < rezept[j + 1]) {
+                    ausverkauft.add(eintrag.getKey());
+                    break;
+                }
+            }
+        }
+        if (!ausverkauft.equals(speisekarte.getAusverkauft())) {
+            speisekarte.setAusverkauft(ausverkauft);
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Kennzahlen
+    // ------------------------------------------------------------
+
+    /**
+     * Liefert den aktuellen Bestand aller Zutaten.
+     *
+     * @return Zutat → Portionen, in Konfigurationsreihenfolge
+     */
+    public Map<String, Long> getBestand() {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (int i = 0; i < zutaten.length; i++) {
+            map.put(zutaten[i], bestand.get(i));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    /**
+     * Liefert den Bestand einer Zutat.
+     *
+     * @param zutat Name der Zutat
+     * @return Portionen oder -1, wenn die Zutat unbekannt ist
+     */
+    public long getBestand(String zutat) {
+        int i = Arrays.asList(zutaten).indexOf(zutat);
+        return (i < 0) ? -1 : bestand.get(i);
+    }
+
+    public long getAbgelehnt() {
+        return abgelehnt.get();
+    }
+
+    private static List<String> liste(String wert) {
+        List<String> ergebnis = new ArrayList<>();
+        for (String teil : wert.split(",")) {
+            if (!teil.isBlank()) {
+                ergebnis.add(teil.trim());
+            }
+        }
+        return ergebnis;
+    }
+
+}
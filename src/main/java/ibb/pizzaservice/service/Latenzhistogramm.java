@@ -0,0 +1,132 @@
+package ibb.pizzaservice.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Threadsicheres Histogramm für Laufzeiten in Nanosekunden.
+ *
+ * Die Werte werden in logarithmische Klassen mit je acht linearen Unterklassen einsortiert
+ * (relativer Fehler höchstens 12,5 %). Das Erfassen eines Wertes legt keine Objekte an und kommt ohne
+ * Sperre aus; es eignet sich daher auch für den Bestellpfad unter Spitzenlast.
+ *
+ * Beispiel:
+ * <pre>
+ * long start = System.nanoTime();
+ * ...
+ * histogramm.erfassen(System.nanoTime() - start);
+ * long p99 = histogramm.quantil(0.99);
+ * </pre>
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Latenzhistogramm {
+
+    private static final int UNTERKLASSEN_BITS = 3;
+    private static final int UNTERKLASSEN = 1 << UNTERKLASSEN_BITS;
+    private static final int KLASSEN = (64 - UNTERKLASSEN_BITS) * UNTERKLASSEN;
+
+    private final AtomicLongArray zaehler = new AtomicLongArray(KLASSEN);
+    private final AtomicLong anzahl = new AtomicLong();
+    private final AtomicLong summe = new AtomicLong();
+    private final AtomicLong maximum = new AtomicLong();
+
+    /**
+     * Erfasst eine Laufzeit.
+     *
+     * @param nanos Laufzeit in Nanosekunden (negative Werte zählen als 0)
+     */
+    public void erfassen(long nanos) {
+        long wert = Math.max(0, nanos);
+        zaehler.incrementAndGet(klasse(wert));
+        anzahl.incrementAndGet();
+        summe.addAndGet(wert);
+        long bisher;
+        while (wert > (bisher = maximum.get()) && !maximum.compareAndSet(bisher, wert)) {
+            // erneut versuchen
+        }
+    }
+
+    private static int klasse(long wert) {
+        if (wert < UNTERKLASSEN) {
+            return (int) wert;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(wert);
+        int unterklasse = (int) (wert >>> (exponent - UNTERKLASSEN_BITS)) & (UNTERKLASSEN - 1);
+        return (exponent - UNTERKLASSEN_BITS + 1) * UNTERKLASSEN + unterklasse;
+    }
+
+    /** Obergrenze einer Klasse */
+    private static long obergrenze(int klasse) {
+        if (klasse < UNTERKLASSEN) {
+            return klasse;
+        }
+        int exponent = klasse / UNTERKLASSEN + UNTERKLASSEN_BITS - 1;
+        long breite = 1L << (exponent - UNTERKLASSEN_BITS);
+        return ((UNTERKLASSEN + klasse % UNTERKLASSEN) * breite) + breite - 1;
+    }
+
+    /**
+     * Liefert ein Quantil der erfassten Laufzeiten (Obergrenze der Klasse, höchstens das Maximum).
+     *
+     * @param q Quantil zwischen 0 und 1, z. B. 0.99
+     * @return Laufzeit in Nanosekunden (0, wenn nichts erfasst wurde)
+     */
+    public long quantil(double q) {
+        long gesamt = anzahl.get();
+        if (gesamt == 0) {
+            return 0;
+        }
+        long ziel = Math.max(1, (long) Math.ceil(q * gesamt));
+        long gezaehlt = 0;
+        for (int i = 0; i < KLASSEN; i++) {
+            gezaehlt += zaehler.get(i);
+            if (gezaehlt >= ziel) {
+                return Math.min(obergrenze(i), maximum.get());
+            }
+        }
+        return maximum.get();
+    }
+
+    /**
+     * Addiert die Werte eines anderen Histogramms (z. B. um mehrere Filialen zusammenzufassen).
+     *
+     * @param anderes Histogramm, dessen Werte übernommen werden
+     */
+    public void hinzufuegen(Latenzhistogramm anderes) {
+        for (int i = 0; i < KLASSEN; i++) {
+            long n = anderes.zaehler.get(i);
+            if (n != 0) {
+                zaehler.addAndGet(i, n);
+            }
+        }
+        anzahl.addAndGet(anderes.anzahl.get());
+        summe.addAndGet(anderes.summe.get());
+        long wert = anderes.maximum.get();
+        long bisher;
+        while (wert > (bisher = maximum.get()) && !maximum.compareAndSet(bisher, wert)) {
+            // erneut versuchen
+        }
+    }
+
+    public long getAnzahl() {
+        return anzahl.get();
+    }
+
+    public long getMaximum() {
+        return maximum.get();
+    }
+
+    /**
+     * Liefert den Mittelwert.
+     *
+     * @return mittlere Laufzeit in Nanosekunden
+     */
+    public long getMittelwert() {
+        long n = anzahl.get();
+        return (n == 0) ? 0 : summe.get() / n;
+    }
+
+}
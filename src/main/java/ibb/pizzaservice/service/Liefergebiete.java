@@ -0,0 +1,298 @@
+package ibb.pizzaservice.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Liefergebiete des PizzaService: welche Postleitzahlen beliefert werden und zu welcher Gebühr.
+ *
+ * Die Bereiche stehen in {@code liefergebiete.csv}:
+ * <pre>
+ * # plzVon;plzBis;zone;gebuehr
+ * 10115;10179;Mitte;0,00
+ * 10180;10999;Innenstadt;1,50
+ * </pre>
+ * Beim Laden werden sie nach {@code plzVon} sortiert und in parallele Felder ({@code int[]} für die
+ * Grenzen) übernommen. Eine Abfrage ist eine binäre Suche über diese Felder; die Postleitzahl wird
+ * dabei Zeichen für Zeichen gelesen. So legt eine Abfrage keine Objekte an.
+ *
+ * Liegt im Datenverzeichnis eine Datei {@code liefergebiete.csv}, hat sie Vorrang vor der Datei im
+ * Klassenpfad. Änderungen an dieser Datei werden höchstens alle {@value #PRUEFINTERVALL_MS} ms geprüft.
+ * Die neue Tabelle wird vollständig aufgebaut und dann mit einer einzigen Zuweisung ausgetauscht;
+ * laufende Abfragen sehen entweder die alte oder die neue Tabelle, nie eine Mischung.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Liefergebiete {
+
+    /** Name der Datei */
+    public static final String DATEI = "liefergebiete.csv";
+
+    /** Mindestabstand zwischen zwei Prüfungen der Datei */
+    public static final long PRUEFINTERVALL_MS = 10_000;
+
+    /**
+     * Unveränderliche, nach {@code von} sortierte Tabelle der Bereiche.
+     */
+    private static final class Tabelle {
+
+        private final int[] von;
+        private final int[] bis;
+        private final String[] zonen;
+        private final BigDecimal[] gebuehren;
+
+        Tabelle(int[] von, int[] bis, String[] zonen, BigDecimal[] gebuehren) {
+            this.von = von;
+            this.bis = bis;
+            this.zonen = zonen;
+            this.gebuehren = gebuehren;
+        }
+
+        /** Index des Bereichs, der die PLZ enthält, oder -1 */
+        int suchen(int plz) {
+            int links = 0;
+            int rechts = von.length - 1;
+            while (links <= rechts) {
+                int mitte = (links + rechts) >>> 1;
+                if (von[mitte] <= plz) {
+                    links = mitte + 1;
+                } else {
+                    rechts = mitte - 1;
+                }
+            }
+            // rechts = letzter Bereich mit von <= plz
+            return (rechts >= 0 && plz <= bis[rechts]) ? rechts : -1;
+        }
+    }
+
+    /**
+     * Eine Zeile der Datei (nur beim Laden).
+     */
+    private static final class Bereich {
+
+        private final int von;
+        private final int bis;
+        private final String zone;
+        private final BigDecimal gebuehr;
+
+        Bereich(int von, int bis, String zone, BigDecimal gebuehr) {
+            this.von = von;
+            this.bis = bis;
+            this.zone = zone;
+            this.gebuehr = gebuehr;
+        }
+    }
+
+    private final Path datei;                      /** Datei im Datenverzeichnis (darf fehlen) */
+    private volatile Tabelle tabelle;              /** Aktuelle Tabelle */
+    private volatile long geaendert;               /** Änderungszeit der geladenen Datei (0 = Klassenpfad) */
+    private volatile long naechstePruefung;        /** Zeitpunkt der nächsten Prüfung */
+
+    /**
+     * Lädt die Liefergebiete.
+     *
+     * @param datei {@code liefergebiete.csv} im Datenverzeichnis oder null (nur Klassenpfad)
+     * @throws UncheckedIOException     wenn die Datei nicht gelesen werden kann
+     * @throws IllegalArgumentException bei fehlerhaften oder überlappenden Bereichen
+     */
+    public Liefergebiete(Path datei) {
+        this.datei = datei;
+        this.tabelle = laden();
+        this.naechstePruefung = System.currentTimeMillis() + PRUEFINTERVALL_MS;
+    }
+
+    // ------------------------------------------------------------
+    // Abfragen
+    // ------------------------------------------------------------
+
+    /**
+     * Prüft, ob eine Postleitzahl beliefert wird.
+     *
+     * @param plz Postleitzahl aus dem Formular (darf null oder ungültig sein)
+     * @return true, wenn sie in einem Liefergebiet liegt
+     */
+    public boolean beliefert(CharSequence plz) {
+        int wert = zahl(plz);
+        return wert >= 0 && tabelle.suchen(wert) >= 0;
+    }
+
+    /**
+     * Liefert die Liefergebühr für eine Postleitzahl.
+     *
+     * @param plz Postleitzahl aus dem Formular (darf null oder ungültig sein)
+     * @return Gebühr in Euro oder null, wenn die PLZ nicht beliefert wird
+     */
+    public BigDecimal gebuehr(CharSequence plz) {
+        Tabelle aktuell = tabelle;
+        int wert = zahl(plz);
+        int index = (wert >= 0) ? aktuell.suchen(wert) : -1;
+        return (index >= 0) ? aktuell.gebuehren[index] : null;
+    }
+
+    /**
+     * Liefert den Namen der Lieferzone einer Postleitzahl.
+     *
+     * @param plz Postleitzahl aus dem Formular (darf null oder ungültig sein)
+     * @return Zone oder null, wenn die PLZ nicht beliefert wird
+     */
+    public String zone(CharSequence plz) {
+        Tabelle aktuell = tabelle;
+        int wert = zahl(plz);
+        int index = (wert >= 0) ? aktuell.suchen(wert) : -1;
+        return (index >= 0) ? aktuell.zonen[index] : null;
+    }
+
+    /** Fünfstellige PLZ (Leerzeichen am Rand erlaubt) als Zahl, sonst -1 */
+    static int zahl(CharSequence plz) {
+        if (plz == null) {
+            return -1;
+        }
+        int anfang = 0;
+        int ende = plz.length();
+        while (anfang < ende && Character.isWhitespace(plz.charAt(anfang))) {
+            anfang++;
+        }
+        while (ende > anfang && Character.isWhitespace(plz.charAt(ende - 1))) {
+            ende--;
+        }
+        if (ende - anfang != 5) {
+            return -1;
+        }
+        int wert = 0;
+        for (int i = anfang; i < ende; i++) {
+            char c = plz.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            wert = wert * 10 + (c - '0');
+        }
+        return wert;
+    }
+
+    public int getBereiche() {
+        return tabelle.von.length;
+    }
+
+    // ------------------------------------------------------------
+    // Laden
+    // ------------------------------------------------------------
+
+    /**
+     * Prüft (höchstens alle {@value #PRUEFINTERVALL_MS} ms), ob sich die Datei geändert hat, und lädt
+     * sie in diesem Fall neu. Eine fehlerhafte Datei wird gemeldet; die bisherige Tabelle bleibt aktiv.
+     */
+    public void pruefen() {
+        long jetzt = System.currentTimeMillis();
+        if (jetzt < naechstePruefung) {
+            return;
+        }
+        synchronized (this) {
+            if (jetzt < naechstePruefung) {
+                return;
+            }
+            naechstePruefung = jetzt + PRUEFINTERVALL_MS;
+            if (aenderungszeit() != geaendert) {
+                try {
+                    tabelle = laden();
+                } catch (RuntimeException e) {
+                    System.err.println("Liefergebiete konnten nicht neu geladen werden: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private long aenderungszeit() {
+        try {
+            return (datei != null && Files.isRegularFile(datei)) ? Files.getLastModifiedTime(datei).toMillis() : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private Tabelle laden() {
+        long zeit = aenderungszeit();
+        List<String> zeilen = new ArrayList<>();
+        try (InputStream in = (zeit != 0) ? Files.newInputStream(datei) : Liefergebiete.class.getResourceAsStream("/" + DATEI)) {
+            if (in != null) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+                    String zeile;
+                    while ((zeile = reader.readLine()) != null) {
+                        zeilen.add(zeile);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Liefergebiete konnten nicht geladen werden.", e);
+        }
+        Tabelle neu = tabelle(zeilen);
+        geaendert = zeit;
+        return neu;
+    }
+
+    /**
+     * Baut die Tabelle aus den Zeilen einer {@code liefergebiete.csv}.
+     *
+     * @param zeilen Zeilen der Datei (Kommentare mit #, Leerzeilen erlaubt)
+     * @return sortierte Tabelle
+     * @throws IllegalArgumentException bei fehlerhaften oder überlappenden Bereichen
+     */
+    private static Tabelle tabelle(List<String> zeilen) {
+        List<Bereich> bereiche = new ArrayList<>();
+        int nummer = 0;
+        for (String zeile : zeilen) {
+            nummer++;
+            String text = zeile.trim();
+            if (text.isEmpty() || text.startsWith("#")) {
+                continue;
+            }
+            String[] felder = text.split(";", -1);
+            try {
+                if (felder.length != 4) {
+                    throw new IllegalArgumentException("4 Felder erwartet");
+                }
+                int von = zahl(felder[0]);
+                int bis = zahl(felder[1]);
+                if (von < 0 || bis < von) {
+                    throw new IllegalArgumentException("ungültiger PLZ-Bereich " + felder[0] + "-" + felder[1]);
+                }
+                BigDecimal gebuehr = new BigDecimal(felder[3].trim().replace(',', '.'));
+                if (gebuehr.signum() < 0) {
+                    throw new IllegalArgumentException("negative Gebühr " + felder[3]);
+                }
+                bereiche.add(new Bereich(von, bis, felder[2].trim(), gebuehr));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Fehlerhaftes Liefergebiet in Zeile " + nummer + ": " + e.getMessage(), e);
+            }
+        }
+        bereiche.sort((a, b) -> Integer.compare(a.von, b.von));
+
+        int anzahl = bereiche.size();
+        int[] von = new int[anzahl];
+        int[] bis = new int[anzahl];
+        String[] zonen = new String[anzahl];
+        BigDecimal[] gebuehren = new BigDecimal[anzahl];
+        for (int i = 0; i < anzahl; i++) {
+            Bereich bereich = bereiche.get(i);
+            von[i] = bereich.von;
+            bis[i] = bereich.bis;
+            zonen[i] = bereich.zone;
+            gebuehren[i] = bereich.gebuehr;
+            if (i > 0 && von[i] <= bis[i - 1]) {
+                throw new IllegalArgumentException("Liefergebiete überschneiden sich: " + zonen[i - 1] + " und " + zonen[i]);
+            }
+        }
+        return new Tabelle(von, bis, zonen, gebuehren);
+    }
+
+}
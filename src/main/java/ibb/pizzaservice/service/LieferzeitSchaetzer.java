@@ -0,0 +1,204 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Station;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Schätzt die Lieferzeit einer Bestellung aus den zuletzt erledigten Bestellungen einer {@link Filiale}.
+ *
+ * Gelernt werden gleitende Mittelwerte mit exponentieller Gewichtung (jeder neue Messwert zählt mit
+ * {@value #ALPHA}):
+ * <ul>
+ *   <li>Zubereitungszeit je Stück einer Speise (Dauer einer Küchenaufgabe geteilt durch ihre Stückzahl)</li>
+ *   <li>Dauer einer Küchenaufgabe je {@link Station}</li>
+ *   <li>Lieferzeit (FERTIG → GELIEFERT) je Postleitzahl und für die ganze Filiale</li>
+ * </ul>
+ * Die Schätzung addiert für jede Station der Bestellung die Wartezeit (Länge der Warteschlange mal
+ * mittlere Aufgabendauer) und die Zubereitung der eigenen Positionen; die Stationen arbeiten parallel,
+ * es zählt also die langsamste. Dazu kommt die Lieferzeit zur Postleitzahl des Kunden. Solange es noch
+ * keine Messwerte gibt, gelten Erfahrungswerte.
+ *
+ * Jeder Mittelwert ist ein {@code double} in einem {@link AtomicLong}; ein Messwert wird mit einem
+ * Compare-and-Set eingerechnet. Lernen und Schätzen kommen daher ohne Sperren und ohne Durchsuchen
+ * alter Bestellungen aus.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class LieferzeitSchaetzer {
+
+    /** Gewicht eines neuen Messwerts */
+    public static final double ALPHA = 0.2;
+
+    private static final long MINUTE = 60_000;
+
+    /**
+     * Gleitender Mittelwert mit exponentieller Gewichtung.
+     */
+    static final class Mittelwert {
+
+        private final AtomicLong bits = new AtomicLong(Double.doubleToRawLongBits(Double.NaN));
+
+        void erfassen(double wert) {
+            long alt;
+            long neu;
+            do {
+                alt = bits.get();
+                double mittel = Double.longBitsToDouble(alt);
+                neu = Double.doubleToRawLongBits(Double.isNaN(mittel) ? wert : mittel + ALPHA * (wert - mittel));
+            } while (!bits.compareAndSet(alt, neu));
+        }
+
+        /** Mittelwert oder der Ersatzwert, solange nichts erfasst wurde */
+        double get(double ersatz) {
+            double mittel = Double.longBitsToDouble(bits.get());
+            return Double.isNaN(mittel) ? ersatz : mittel;
+        }
+    }
+
+    private final Map<String, Mittelwert> jeStueck = new ConcurrentHashMap<>();   /** Speise-ID → ms je Stück */
+    private final Map<String, Mittelwert> jePlz = new ConcurrentHashMap<>();      /** PLZ → ms Lieferzeit */
+    private final Mittelwert[] aufgabe = new Mittelwert[Station.values().length];   /** ms je Aufgabe und Station */
+    private final Mittelwert lieferung = new Mittelwert();                          /** ms Lieferzeit der Filiale */
+
+    /**
+     * Erstellt einen Schätzer ohne Messwerte.
+     */
+    public LieferzeitSchaetzer() {
+        for (int i = 0; i < aufgabe.length; i++) {
+            aufgabe[i] = new Mittelwert();
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Lernen
+    // ------------------------------------------------------------
+
+    /**
+     * Erfasst eine erledigte Küchenaufgabe.
+     *
+     * @param zubereitet erledigte Aufgabe
+     * @param dauer      Zeit von der Übernahme durch den Koch bis zur Fertigmeldung in ms
+     */
+    public void zubereitet(Kuechenstationen.Aufgabe zubereitet, long dauer) {
+        if (dauer < 0) {
+            return;
+        }
+        aufgabe[zubereitet.getStation().ordinal()].erfassen(dauer);
+        int stueck = 0;
+        for (Bestellposition pos : zubereitet.getPositionen()) {
+            stueck += pos.getMenge();
+        }
+        if (stueck == 0) {
+            return;
+        }
+        double jeEinheit = (double) dauer / stueck;
+        for (Bestellposition pos : zubereitet.getPositionen()) {
+            mittelwert(jeStueck, pos.getSpeise().getSpeiseId()).erfassen(jeEinheit);
+        }
+    }
+
+    /**
+     * Erfasst eine ausgelieferte Bestellung.
+     *
+     * @param plz   Postleitzahl des Kunden
+     * @param dauer Zeit von FERTIG bis GELIEFERT in ms
+     */
+    public void geliefert(String plz, long dauer) {
+        if (dauer < 0) {
+            return;
+        }
+        lieferung.erfassen(dauer);
+        if (plz != null) {
+            mittelwert(jePlz, plz.trim()).erfassen(dauer);
+        }
+    }
+
+    private static Mittelwert mittelwert(Map<String, Mittelwert> werte, String schluessel) {
+        Mittelwert mittelwert = werte.get(schluessel);
+        return (mittelwert != null) ? mittelwert : werte.computeIfAbsent(schluessel, s -> new Mittelwert());
+    }
+
+    // ------------------------------------------------------------
+    // Schätzen
+    // ------------------------------------------------------------
+
+    /**
+     * Schätzt die Zeit bis zur Lieferung einer soeben angenommenen Bestellung.
+     *
+     * @param bestellung Bestellung mit Kunde und Positionen
+     * @param stationen  Küchenstationen der Filiale (für die aktuelle Länge der Warteschlangen)
+     * @return geschätzte Dauer in ms
+     */
+    public long schaetzen(Bestellung bestellung, Kuechenstationen stationen) {
+        double[] arbeit = new double[aufgabe.length];
+        boolean[] beteiligt = new boolean[aufgabe.length];
+        for (Bestellposition pos : bestellung.getPositionen()) {
+            Station station = pos.getSpeise().getStation();
+            Mittelwert mittelwert = jeStueck.get(pos.getSpeise().getSpeiseId());
+            double jeEinheit = (mittelwert != null) ? mittelwert.get(0) : standardJeStueck(station);
+            arbeit[station.ordinal()] += jeEinheit * pos.getMenge();
+            beteiligt[station.ordinal()] = true;
+        }
+
+        double kueche = 0;
+        for (Station station : Station.values()) {
+            int i = station.ordinal();
+            if (beteiligt[i]) {
+                double warten = stationen.getLaenge(station) * aufgabe[i].get(2 * standardJeStueck(station));
+                kueche = Math.max(kueche, warten + arbeit[i]);
+            }
+        }
+
+        String plz = (bestellung.getKunde() != null) ? bestellung.getKunde().getPlz() : null;
+        Mittelwert zurPlz = (plz != null) ? jePlz.get(plz.trim()) : null;
+        double liefern = (zurPlz != null) ? zurPlz.get(0) : lieferung.get(20 * MINUTE);
+        return Math.round(kueche + liefern);
+    }
+
+    /**
+     * Liefert den Erfahrungswert je Stück, der gilt, solange eine Speise noch nie zubereitet wurde.
+     *
+     * @param station Station der Speise
+     * @return Zubereitungszeit je Stück in ms
+     */
+    public static double standardJeStueck(Station station) {
+        switch (station) {
+            case PIZZA:
+                return 6 * MINUTE;
+            case SALAT:
+                return 3 * MINUTE;
+            default:
+                return MINUTE / 2.0;
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Kennzahlen
+    // ------------------------------------------------------------
+
+    /**
+     * Liefert die mittlere Dauer einer Küchenaufgabe an einer Station.
+     *
+     * @param station Station
+     * @return Dauer in ms (Erfahrungswert, solange nichts erfasst wurde)
+     */
+    public long getAufgabendauer(Station station) {
+        return Math.round(aufgabe[station.ordinal()].get(2 * standardJeStueck(station)));
+    }
+
+    /**
+     * Liefert die mittlere Lieferzeit der Filiale.
+     *
+     * @return Dauer in ms (Erfahrungswert, solange nichts erfasst wurde)
+     */
+    public long getLieferdauer() {
+        return Math.round(lieferung.get(20 * MINUTE));
+    }
+
+}
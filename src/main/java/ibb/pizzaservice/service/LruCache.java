@@ -0,0 +1,180 @@
+package ibb.pizzaservice.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Größenbeschränkter LRU-Cache (Least Recently Used) für nebenläufigen Zugriff.
+ *
+ * Der Cache ist in mehrere Segmente aufgeteilt. Jedes Segment ist eine {@link LinkedHashMap} in
+ * Zugriffsreihenfolge mit eigener Sperre. Threads, die auf unterschiedliche Schlüssel zugreifen,
+ * blockieren sich daher kaum gegenseitig, und das Verdrängen des ältesten Eintrags kostet nur O(1)
+ * innerhalb des betroffenen Segments.
+ *
+ * Treffer, Fehlgriffe, Verdrängungen und der geschätzte Speicherbedarf werden mitgezählt.
+ *
+ * @param <K> Schlüsseltyp
+ * @param <V> Werttyp
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class LruCache<K, V> {
+
+    private final Segment<K, V>[] segmente;             /** Segmente mit jeweils eigener Sperre */
+    private final ToLongFunction<V> groesse;            /** Schätzt den Speicherbedarf eines Wertes */
+    private final LongAdder treffer = new LongAdder();  /** Anzahl erfolgreicher Zugriffe */
+    private final LongAdder fehlgriffe = new LongAdder(); /** Anzahl erfolgloser Zugriffe */
+    private final LongAdder verdraengt = new LongAdder(); /** Anzahl verdrängter Einträge */
+    private final LongAdder bytes = new LongAdder();    /** Geschätzter Speicherbedarf aller Werte */
+
+    /**
+     * Erstellt einen neuen LRU-Cache.
+     *
+     * @param kapazitaet maximale Anzahl Einträge (mindestens 1)
+     * @param groesse    Funktion zur Schätzung des Speicherbedarfs eines Wertes
+     * @throws IllegalArgumentException wenn kapazitaet kleiner als 1 ist
+     */
+    @SuppressWarnings("unchecked")
+    public LruCache(int kapazitaet, ToLongFunction<V> groesse) {
+        if (kapazitaet < 1) {
+            throw new IllegalArgumentException("Die Kapazität muss mindestens 1 sein.");
+        }
+        this.groesse = groesse;
+        int anzahl = Math.min(16, Integer.highestOneBit(kapazitaet));
+        this.segmente = (Segment<K, V>[]) new Segment<?, ?>[anzahl];
+        for (int i = 0; i < anzahl; i++) {
+            // Restkapazität gleichmäßig auf die ersten Segmente verteilen
+            int anteil = kapazitaet / anzahl + (i < kapazitaet % anzahl ? 1 : 0);
+            segmente[i] = new Segment<>(anteil);
+        }
+    }
+
+    /**
+     * Liefert den Wert zu einem Schlüssel und markiert ihn als zuletzt verwendet.
+     *
+     * @param schluessel Schlüssel
+     * @return Wert oder null, falls nicht im Cache
+     */
+    public V get(K schluessel) {
+        Segment<K, V> segment = segment(schluessel);
+        V wert;
+        synchronized (segment) {
+            wert = segment.get(schluessel);
+        }
+        (wert != null ? treffer : fehlgriffe).increment();
+        return wert;
+    }
+
+    /**
+     * Legt einen Wert im Cache ab. Ist das Segment voll, wird der am längsten nicht verwendete
+     * Eintrag verdrängt.
+     *
+     * @param schluessel Schlüssel
+     * @param wert       Wert (nicht null)
+     */
+    public void put(K schluessel, V wert) {
+        if (wert == null) {
+            throw new IllegalArgumentException("Wert darf nicht null sein.");
+        }
+        Segment<K, V> segment = segment(schluessel);
+        V alt;
+        V entfernt;
+        synchronized (segment) {
+            alt = segment.put(schluessel, wert);
+            entfernt = segment.entfernt;
+            segment.entfernt = null;
+        }
+        long delta = groesse.applyAsLong(wert);
+        if (alt != null) {
+            delta -= groesse.applyAsLong(alt);
+        }
+        if (entfernt != null) {
+            delta -= groesse.applyAsLong(entfernt);
+            verdraengt.increment();
+        }
+        bytes.add(delta);
+    }
+
+    /**
+     * Liefert die Anzahl der aktuell gespeicherten Einträge.
+     *
+     * @return Anzahl Einträge
+     */
+    public int size() {
+        int summe = 0;
+        for (Segment<K, V> segment : segmente) {
+            synchronized (segment) {
+                summe += segment.size();
+            }
+        }
+        return summe;
+    }
+
+    public long getTreffer() {
+        return treffer.sum();
+    }
+
+    public long getFehlgriffe() {
+        return fehlgriffe.sum();
+    }
+
+    public long getVerdraengt() {
+        return verdraengt.sum();
+    }
+
+    /**
+     * Liefert den geschätzten Speicherbedarf aller gespeicherten Werte.
+     *
+     * @return Speicherbedarf in Bytes
+     */
+    public long getGeschaetzteBytes() {
+        return bytes.sum();
+    }
+
+    /**
+     * Liefert die Trefferquote aller bisherigen Zugriffe.
+     *
+     * @return Trefferquote zwischen 0.0 und 1.0
+     */
+    public double getTrefferquote() {
+        long t = treffer.sum();
+        long gesamt = t + fehlgriffe.sum();
+        return gesamt == 0 ? 0.0 : (double) t / gesamt;
+    }
+
+    private Segment<K, V> segment(K schluessel) {
+        int h = schluessel.hashCode();
+        h ^= (h >>> 16);
+        return segmente[h & (segmente.length - 1)];
+    }
+
+    /**
+     * Ein Segment des Caches: LinkedHashMap in Zugriffsreihenfolge mit fester Kapazität.
+     */
+    private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int kapazitaet;
+        private transient V entfernt;   /** Zuletzt verdrängter Wert (nur unter Sperre gelesen) */
+
+        Segment(int kapazitaet) {
+            super(Math.max(4, kapazitaet * 4 / 3 + 1), 0.75f, true);
+            this.kapazitaet = kapazitaet;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > kapazitaet) {
+                entfernt = eldest.getValue();
+                return true;
+            }
+            return false;
+        }
+    }
+
+}
@@ -0,0 +1,297 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Rabattzeile;
+import ibb.pizzaservice.model.Speise;
+import ibb.pizzaservice.model.Speisekarte;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kompilierte Form aller aktiven {@link Preisregel}n für die Speisekarte einer {@link Filiale}.
+ *
+ * Beim Kompilieren erhält jede Speise der Karte eine feste Nummer (Slot); Preise werden in Cent,
+ * die Auswahl jeder Regel als Slot-Liste (bei Paketen absteigend nach Preis sortiert) abgelegt.
+ * Beim Bepreisen einer Bestellung werden die Positionen in einem einzigen Durchlauf auf die Slots
+ * verteilt; danach arbeiten die Regeln nur noch auf diesen Zählern – ohne Map-Zugriffe,
+ * BigDecimal-Rechnung oder erneutes Auswerten der Konfiguration.
+ *
+ * Die Regeln werden in Konfigurationsreihenfolge angewendet. Speisen, die bereits in einem Paket oder
+ * gratis abgerechnet wurden, werden von späteren Regeln nicht erneut rabattiert. Schwellenwerte
+ * (Mindestbestellwert) beziehen sich immer auf die Summe der Positionen vor Rabatten.
+ *
+ * Ein Preisplan ist unveränderlich und threadsicher. Ändern sich Speisekarte oder Aktionen, wird ein
+ * neuer Plan kompiliert und ausgetauscht.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public final class Preisplan {
+
+    /** Zeitzone für Happy Hours */
+    public static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+
+    private final Map<String, Integer> slots;   /** Speise-ID → Slot */
+    private final Speise[] speisen;             /** Speise je Slot */
+    private final long[] preise;                /** Preis in Cent je Slot */
+    private final Schritt[] schritte;           /** Kompilierte Regeln in Anwendungsreihenfolge */
+
+    private Preisplan(Map<String, Integer> slots, Speise[] speisen, long[] preise, Schritt[] schritte) {
+        this.slots = slots;
+        this.speisen = speisen;
+        this.preise = preise;
+        this.schritte = schritte;
+    }
+
+    /**
+     * Kompiliert Preisregeln für eine Speisekarte. Regeln, deren Speisen nicht auf der Karte stehen,
+     * entfallen.
+     *
+     * @param regeln      aktive Preisregeln in Anwendungsreihenfolge
+     * @param speisekarte Speisekarte der Filiale
+     * @return ausführbarer Preisplan
+     */
+    public static Preisplan kompilieren(List<Preisregel> regeln, Speisekarte speisekarte) {
+        List<Speise> karte = speisekarte.getSpeisen();
+        Map<String, Integer> slots = new HashMap<>();
+        Speise[] speisen = new Speise[karte.size()];
+        long[] preise = new long[karte.size()];
+        for (int i = 0; i < karte.size(); i++) {
+            speisen[i] = karte.get(i);
+            preise[i] = cent(speisen[i].getPreis());
+            slots.put(speisen[i].getSpeiseId(), i);
+        }
+
+        List<Schritt> schritte = new ArrayList<>();
+        for (Preisregel regel : regeln) {
+            int[] auswahl = auswahl(regel, slots, preise);
+            if (auswahl.length == 0) {
+                continue;
+            }
+            switch (regel.getArt()) {
+                case PAKET:
+                    schritte.add(new Paket(regel.getName(), auswahl, regel.getAnzahl(), cent(regel.getBetrag())));
+                    break;
+                case GRATIS:
+                    schritte.add(new Gratis(regel.getName(), auswahl[0], cent(regel.getBetrag())));
+                    break;
+                case HAPPY_HOUR:
+                    int tage = 0;
+                    for (DayOfWeek tag : regel.getTage()) {
+                        tage |= 1 << tag.ordinal();
+                    }
+                    schritte.add(new HappyHour(regel.getName(), auswahl, regel.getProzent(), tage,
+                            regel.getVon().toSecondOfDay() / 60, regel.getBis().toSecondOfDay() / 60));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unbekannte Aktion: " + regel);
+            }
+        }
+        return new Preisplan(slots, speisen, preise, schritte.toArray(new Schritt[0]));
+    }
+
+    /** Slots der Auswahl einer Regel, absteigend nach Preis (teuerste Speisen zuerst) */
+    private static int[] auswahl(Preisregel regel, Map<String, Integer> slots, long[] preise) {
+        List<Integer> liste = new ArrayList<>();
+        if (regel.getSpeisen().isEmpty()) {
+            for (int i = 0; i < preise.length; i++) {
+                liste.add(i);
+            }
+        } else {
+            for (String speiseId : regel.getSpeisen()) {
+                Integer slot = slots.get(speiseId);
+                if (slot != null) {
+                    liste.add(slot);
+                }
+            }
+        }
+        liste.sort((a, b) -> Long.compare(preise[b], preise[a]));
+        return liste.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Bepreist eine Bestellung: ermittelt die Rabatte aller zutreffenden Aktionen und setzt sie
+     * als {@link Rabattzeile}n an der Bestellung.
+     *
+     * @param bestellung zu bepreisende Bestellung (Zeitpunkt bestimmt die Happy Hour)
+     */
+    public void berechnen(Bestellung bestellung) {
+        if (schritte.length == 0) {
+            bestellung.setRabatte(new ArrayList<>(0));
+            return;
+        }
+
+        // Einziger Durchlauf über die Positionen: Mengen je Slot und Zwischensumme in Cent
+        int[] mengen = new int[preise.length];
+        long summe = 0;
+        for (Bestellposition pos : bestellung.getPositionen()) {
+            Integer slot = slots.get(pos.getSpeise().getSpeiseId());
+            if (slot != null && speisen[slot] == pos.getSpeise()) {
+                mengen[slot] += pos.getMenge();
+                summe += preise[slot] * pos.getMenge();
+            } else {
+                summe += cent(pos.getGesamt());   // Speise nicht (mehr) auf der Karte: ohne Aktion
+            }
+        }
+
+        List<Rabattzeile> rabatte = new ArrayList<>(2);
+        int minute = -1;
+        int wochentag = 0;
+        for (Schritt schritt : schritte) {
+            if (schritt instanceof HappyHour && minute < 0) {
+                ZonedDateTime zeit = Instant.ofEpochMilli(bestellung.getZeitpunkt()).atZone(ZONE);
+                minute = zeit.getHour() * 60 + zeit.getMinute();
+                wochentag = 1 << zeit.getDayOfWeek().ordinal();
+            }
+            long rabatt = schritt.anwenden(mengen, preise, summe, wochentag, minute);
+            if (rabatt > 0) {
+                rabatte.add(new Rabattzeile(schritt.name, BigDecimal.valueOf(rabatt, 2)));
+            }
+        }
+        bestellung.setRabatte(rabatte);
+    }
+
+    /**
+     * Liefert die Anzahl kompilierter Regeln.
+     *
+     * @return Anzahl Regeln, die auf dieser Speisekarte wirksam sind
+     */
+    public int getAnzahlRegeln() {
+        return schritte.length;
+    }
+
+    private static long cent(BigDecimal betrag) {
+        return betrag.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    // ------------------------------------------------------------
+    // Kompilierte Regeln
+    // ------------------------------------------------------------
+
+    private abstract static class Schritt {
+
+        final String name;
+
+        Schritt(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Wendet die Regel an und verbraucht ggf. rabattierte Mengen.
+         *
+         * @return Rabatt in Cent (0 = Regel greift nicht)
+         */
+        abstract long anwenden(int[] mengen, long[] preise, long summe, int wochentag, int minute);
+    }
+
+    /** {@code anzahl} Speisen aus der Auswahl zum Festpreis – die teuersten Speisen zuerst */
+    private static final class Paket extends Schritt {
+
+        private final int[] auswahl;
+        private final int anzahl;
+        private final long preis;
+
+        Paket(String name, int[] auswahl, int anzahl, long preis) {
+            super(name);
+            this.auswahl = auswahl;
+            this.anzahl = anzahl;
+            this.preis = preis;
+        }
+
+        @Override
+        long anwenden(int[] mengen, long[] preise, long summe, int wochentag, int minute) {
+            long rabatt = 0;
+            int i = 0;   // erster Slot der Auswahl mit verbleibender Menge
+            while (true) {
+                while (i < auswahl.length && mengen[auswahl[i]] == 0) {
+                    i++;
+                }
+                // Nächstes Paket aus den teuersten verbleibenden Speisen bewerten
+                long wert = 0;
+                int im = 0;
+                for (int j = i; j < auswahl.length && im < anzahl; j++) {
+                    int n = Math.min(mengen[auswahl[j]], anzahl - im);
+                    wert += n * preise[auswahl[j]];
+                    im += n;
+                }
+                if (im < anzahl || wert <= preis) {
+                    break;   // kein vollständiges oder kein lohnendes Paket mehr
+                }
+                rabatt += wert - preis;
+
+                // Verbrauchte Mengen abziehen
+                int offen = anzahl;
+                for (int j = i; offen > 0; j++) {
+                    int n = Math.min(mengen[auswahl[j]], offen);
+                    mengen[auswahl[j]] -= n;
+                    offen -= n;
+                }
+            }
+            return rabatt;
+        }
+    }
+
+    /** Eine Speise gratis ab einem Mindestbestellwert */
+    private static final class Gratis extends Schritt {
+
+        private final int slot;
+        private final long ab;
+
+        Gratis(String name, int slot, long ab) {
+            super(name);
+            this.slot = slot;
+            this.ab = ab;
+        }
+
+        @Override
+        long anwenden(int[] mengen, long[] preise, long summe, int wochentag, int minute) {
+            if (summe < ab || mengen[slot] == 0) {
+                return 0;
+            }
+            mengen[slot]--;
+            return preise[slot];
+        }
+    }
+
+    /** Prozentualer Rabatt an bestimmten Wochentagen und Uhrzeiten */
+    private static final class HappyHour extends Schritt {
+
+        private final int[] auswahl;
+        private final int prozent;
+        private final int tage;      /** Bitmaske der Wochentage (Bit = DayOfWeek.ordinal) */
+        private final int von;       /** Minute des Tages (inklusive) */
+        private final int bis;       /** Minute des Tages (exklusive) */
+
+        HappyHour(String name, int[] auswahl, int prozent, int tage, int von, int bis) {
+            super(name);
+            this.auswahl = auswahl;
+            this.prozent = prozent;
+            this.tage = tage;
+            this.von = von;
+            this.bis = bis;
+        }
+
+        @Override
+        long anwenden(int[] mengen, long[] preise, long summe, int wochentag, int minute) {
+            if ((tage & wochentag) == 0 || minute < von || minute >= bis) {
+                return 0;
+            }
+            long wert = 0;
+            for (int slot : auswahl) {
+                wert += mengen[slot] * preise[slot];
+            }
+            return (wert * prozent + 50) / 100;
+        }
+    }
+
+}
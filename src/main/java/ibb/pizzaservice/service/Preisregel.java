@@ -0,0 +1,162 @@
+package ibb.pizzaservice.service;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Eine Aktion (Preisregel) des PizzaService.
+ *
+ * Unterstützte Arten:
+ * <ul>
+ *   <li>{@link Art#PAKET}: eine bestimmte Anzahl Speisen aus einer Auswahl zum Festpreis,
+ *       z. B. "2 Pizzen für 15 €"</li>
+ *   <li>{@link Art#GRATIS}: eine Speise gratis ab einem Mindestbestellwert,
+ *       z. B. "Gratis Pizzabrot ab 25 €"</li>
+ *   <li>{@link Art#HAPPY_HOUR}: prozentualer Rabatt auf eine Auswahl an bestimmten Wochentagen
+ *       und Uhrzeiten</li>
+ * </ul>
+ *
+ * Preisregeln sind unveränderlich. Sie werden nicht direkt ausgewertet, sondern zusammen mit der
+ * Speisekarte einer Filiale zu einem {@link Preisplan} kompiliert.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public final class Preisregel {
+
+    /**
+     * Art der Aktion.
+     */
+    public enum Art {
+        PAKET,
+        GRATIS,
+        HAPPY_HOUR
+    }
+
+    private final Art art;                     /** Art der Aktion */
+    private final String name;                 /** Anzeigename auf der Rechnung */
+    private final Set<String> speisen;         /** Betroffene Speise-IDs (leer = alle Speisen) */
+    private final int anzahl;                  /** Speisen je Paket (nur PAKET) */
+    private final BigDecimal betrag;           /** Paketpreis (PAKET) bzw. Mindestbestellwert (GRATIS) */
+    private final int prozent;                 /** Rabatt in Prozent (nur HAPPY_HOUR) */
+    private final Set<DayOfWeek> tage;         /** Gültige Wochentage (nur HAPPY_HOUR) */
+    private final LocalTime von;               /** Beginn (inklusive, nur HAPPY_HOUR) */
+    private final LocalTime bis;               /** Ende (exklusive, nur HAPPY_HOUR) */
+
+    private Preisregel(Art art, String name, Set<String> speisen, int anzahl, BigDecimal betrag, int prozent,
+                       Set<DayOfWeek> tage, LocalTime von, LocalTime bis) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Aktion ohne Namen.");
+        }
+        this.art = art;
+        this.name = name;
+        this.speisen = Collections.unmodifiableSet(new LinkedHashSet<>(speisen));
+        this.anzahl = anzahl;
+        this.betrag = betrag;
+        this.prozent = prozent;
+        this.tage = (tage.isEmpty()) ? Collections.emptySet() : Collections.unmodifiableSet(EnumSet.copyOf(tage));
+        this.von = von;
+        this.bis = bis;
+    }
+
+    /**
+     * Paketaktion: {@code anzahl} Speisen aus der Auswahl zum Festpreis.
+     *
+     * @param name    Anzeigename
+     * @param speisen Auswahl an Speise-IDs
+     * @param anzahl  Speisen je Paket (mindestens 2)
+     * @param preis   Paketpreis in Euro
+     * @return Preisregel
+     */
+    public static Preisregel paket(String name, Set<String> speisen, int anzahl, BigDecimal preis) {
+        if (anzahl < 2 || preis == null || preis.signum() < 0) {
+            throw new IllegalArgumentException("Ungültiges Paket: " + name);
+        }
+        return new Preisregel(Art.PAKET, name, speisen, anzahl, preis, 0, Set.of(), null, null);
+    }
+
+    /**
+     * Gratisaktion: eine Speise gratis ab einem Mindestbestellwert.
+     *
+     * @param name     Anzeigename
+     * @param speiseId Speise, die gratis ist, wenn sie bestellt wurde
+     * @param ab       Mindestbestellwert in Euro (Summe der Positionen)
+     * @return Preisregel
+     */
+    public static Preisregel gratis(String name, String speiseId, BigDecimal ab) {
+        if (speiseId == null || ab == null) {
+            throw new IllegalArgumentException("Ungültige Gratisaktion: " + name);
+        }
+        return new Preisregel(Art.GRATIS, name, Set.of(speiseId), 1, ab, 0, Set.of(), null, null);
+    }
+
+    /**
+     * Happy Hour: prozentualer Rabatt an bestimmten Wochentagen zwischen zwei Uhrzeiten.
+     *
+     * @param name    Anzeigename
+     * @param speisen Auswahl an Speise-IDs (leer = alle Speisen)
+     * @param prozent Rabatt in Prozent (1–100)
+     * @param tage    gültige Wochentage
+     * @param von     Beginn (inklusive)
+     * @param bis     Ende (exklusive)
+     * @return Preisregel
+     */
+    public static Preisregel happyHour(String name, Set<String> speisen, int prozent, Set<DayOfWeek> tage,
+                                       LocalTime von, LocalTime bis) {
+        if (prozent < 1 || prozent > 100 || tage.isEmpty() || von == null || bis == null || !von.isBefore(bis)) {
+            throw new IllegalArgumentException("Ungültige Happy Hour: " + name);
+        }
+        return new Preisregel(Art.HAPPY_HOUR, name, speisen, 0, null, prozent, tage, von, bis);
+    }
+
+    // ------------------------------------------------------------
+    // Getter
+    // ------------------------------------------------------------
+    public Art getArt() {
+        return art;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Set<String> getSpeisen() {
+        return speisen;
+    }
+
+    public int getAnzahl() {
+        return anzahl;
+    }
+
+    public BigDecimal getBetrag() {
+        return betrag;
+    }
+
+    public int getProzent() {
+        return prozent;
+    }
+
+    public Set<DayOfWeek> getTage() {
+        return tage;
+    }
+
+    public LocalTime getVon() {
+        return von;
+    }
+
+    public LocalTime getBis() {
+        return bis;
+    }
+
+    @Override
+    public String toString() {
+        return art + " " + name;
+    }
+
+}
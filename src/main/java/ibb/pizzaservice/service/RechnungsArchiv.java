@@ -0,0 +1,513 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellstatus;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Kunde;
+import ibb.pizzaservice.model.Rabattzeile;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Archiviert die Rechnungen aller angenommenen Bestellungen in einer komprimierten Tagesdatei.
+ *
+ * Je Tag entstehen zwei Dateien:
+ * <pre>
+ * rechnungen/2026-10-19.gz    ← Rechnungen als aneinandergehängte GZIP-Glieder (zcat zeigt alle)
+ * rechnungen/2026-10-19.idx   ← Index: je Rechnung Bestell-ID, Position und Länge (20 Bytes)
+ * </pre>
+ * Jede Rechnung ist ein eigenes GZIP-Glied. Über den Index kann daher jede einzelne Rechnung gelesen
+ * werden, ohne den ganzen Tag zu entpacken ({@link #lesen(long)}). Der Tag ergibt sich aus dem
+ * Zeitstempel in der Bestell-ID ({@link BestellIdGenerator#zeitpunkt(long)}).
+ *
+ * Die Rechnungen werden nicht im Request-Thread erzeugt: {@link #einreihen(Bestellung)} legt die
+ * Bestellung nur in eine begrenzte Warteschlange. Ein kleiner Pool von Arbeitsthreads entnimmt jeweils
+ * bis zu {@value #STAPEL} Bestellungen auf einmal, erzeugt und komprimiert die Rechnungen parallel und
+ * hängt den Stapel mit einem Schreibzugriff je Datei an. Ist die Warteschlange voll, wird die Rechnung
+ * ausnahmsweise sofort im aufrufenden Thread archiviert (gezählt in {@link #getSynchron()}).
+ *
+ * Schlägt das Schreiben fehl (z. B. Platte voll), bleiben die noch nicht geschriebenen Rechnungen
+ * ausstehend: Der Arbeitsthread versucht es mit wachsender Pause (bis {@value #WIEDERHOLEN_MAX_MS} ms)
+ * erneut, im aufrufenden Thread fehlgeschlagene Rechnungen übernehmen die Arbeitsthreads. Verworfen
+ * wird nur eine Rechnung, deren Dokument sich nicht erzeugen lässt, oder was beim Beenden noch aussteht.
+ *
+ * Ändert sich eine Bestellung nach der Annahme (Menge geändert, storniert), archiviert
+ * {@link #korrigieren(Bestellung)} eine Rechnungskorrektur bzw. Stornorechnung unter derselben
+ * Bestellnummer; {@link #lesen(long)} liefert immer die neueste Fassung.
+ *
+ * Die Indexeinträge werden erst nach den Rechnungsdaten geschrieben, und jeder Stapel wird erst mit den
+ * Daten, dann mit dem Index auf die Platte erzwungen ({@link FileChannel#force(boolean)}). Ein
+ * Eintrag, der nach einem Absturz dennoch über das Ende der Tagesdatei hinauszeigt, wird beim Lesen
+ * übergangen.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class RechnungsArchiv {
+
+    /** Maximale Anzahl Bestellungen, die ein Arbeitsthread auf einmal archiviert */
+    public static final int STAPEL = 64;
+
+    /** Länge eines Indexeintrags: Bestell-ID (8), Position (8), Länge (4) */
+    public static final int INDEXEINTRAG = 20;
+
+    /** Pause vor dem ersten erneuten Schreibversuch nach einem Fehler */
+    public static final long WIEDERHOLEN_MS = 500;
+
+    /** Längste Pause zwischen zwei Schreibversuchen */
+    public static final long WIEDERHOLEN_MAX_MS = 30_000;
+
+    private final Path verzeichnis;                    /** Verzeichnis der Tagesdateien */
+    private final BlockingQueue<Rechnung> warteschlange;
+    private final Queue<Rechnung> nachzuholen = new ConcurrentLinkedQueue<>();   /** Im aufrufenden Thread fehlgeschlagen */
+    private final Thread[] arbeiter;
+    private final Map<LocalDate, Tagesdatei> offen = new HashMap<>();   /** Geöffnete Tagesdateien (nur unter Sperre) */
+
+    private final AtomicInteger inArbeit = new AtomicInteger();   /** Entnommene, noch nicht geschriebene Rechnungen */
+    private final AtomicLong archiviert = new AtomicLong();       /** Geschriebene Rechnungen */
+    private final AtomicLong synchron = new AtomicLong();         /** Im aufrufenden Thread archiviert */
+    private final AtomicLong fehler = new AtomicLong();           /** Fehlgeschlagene Schreibvorgänge */
+    private final AtomicLong verworfen = new AtomicLong();        /** Endgültig nicht archivierte Rechnungen */
+    private volatile boolean beendet;
+
+    /** Eine zu archivierende Fassung: Bestellung (Momentaufnahme) und ob sie eine frühere ersetzt */
+    private static final class Rechnung {
+        final Bestellung bestellung;
+        final boolean korrektur;
+
+        Rechnung(Bestellung bestellung, boolean korrektur) {
+            this.bestellung = bestellung;
+            this.korrektur = korrektur;
+        }
+    }
+
+    /** Daten- und Indexkanal eines Tages */
+    private static final class Tagesdatei {
+        final FileChannel daten;
+        final FileChannel index;
+
+        Tagesdatei(FileChannel daten, FileChannel index) {
+            this.daten = daten;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Erstellt das Archiv und startet die Arbeitsthreads.
+     *
+     * @param verzeichnis Verzeichnis der Tagesdateien
+     * @param threads     Anzahl der Arbeitsthreads (mindestens 1)
+     * @param kapazitaet  Größe der Warteschlange
+     */
+    public RechnungsArchiv(Path verzeichnis, int threads, int kapazitaet) {
+        this.verzeichnis = verzeichnis;
+        this.warteschlange = new ArrayBlockingQueue<>(kapazitaet);
+        this.arbeiter = new Thread[Math.max(1, threads)];
+        for (int i = 0; i < arbeiter.length; i++) {
+            arbeiter[i] = new Thread(this::arbeiten, "rechnungsarchiv-" + (i + 1));
+            arbeiter[i].setDaemon(true);
+            arbeiter[i].start();
+        }
+    }
+
+    /**
+     * Reiht eine angenommene Bestellung zur Archivierung ein. Kehrt sofort zurück, solange die
+     * Warteschlange nicht voll ist.
+     *
+     * @param bestellung Bestellung mit Bestell-ID
+     */
+    public void einreihen(Bestellung bestellung) {
+        archivieren(new Rechnung(bestellung, false));
+    }
+
+    /**
+     * Reiht die geänderte Fassung einer bereits archivierten Bestellung ein (Rechnungskorrektur nach
+     * einer Mengenänderung, Stornorechnung nach einer Stornierung). Die frühere Fassung bleibt erhalten.
+     *
+     * @param bestellung Momentaufnahme der geänderten Bestellung
+     */
+    public void korrigieren(Bestellung bestellung) {
+        archivieren(new Rechnung(bestellung, true));
+    }
+
+    private void archivieren(Rechnung rechnung) {
+        if (!beendet && warteschlange.offer(rechnung)) {
+            return;
+        }
+        synchron.incrementAndGet();
+        List<Rechnung> einzeln = new ArrayList<>(1);
+        einzeln.add(rechnung);
+        try {
+            schreiben(einzeln);
+        } catch (IOException | RuntimeException e) {
+            fehler.incrementAndGet();
+            System.err.println("Rechnung " + rechnung.bestellung.getBestellId() + " nicht archiviert, "
+                    + "wird nachgeholt: " + e.getMessage());
+        }
+        if (!einzeln.isEmpty()) {
+            nachzuholen.add(rechnung);   // übernimmt ein Arbeitsthread
+        }
+    }
+
+    private void arbeiten() {
+        List<Rechnung> stapel = new ArrayList<>(STAPEL);
+        long pause = WIEDERHOLEN_MS;
+        while (true) {
+            try {
+                if (stapel.isEmpty()) {
+                    Rechnung rechnung;
+                    while (stapel.size() < STAPEL && (rechnung = nachzuholen.poll()) != null) {
+                        stapel.add(rechnung);
+                    }
+                    if (stapel.isEmpty()) {
+                        Rechnung erste = warteschlange.poll(200, TimeUnit.MILLISECONDS);
+                        if (erste == null) {
+                            if (beendet) {
+                                return;
+                            }
+                            continue;
+                        }
+                        stapel.add(erste);
+                    }
+                    warteschlange.drainTo(stapel, STAPEL - stapel.size());
+                    inArbeit.addAndGet(stapel.size());
+                }
+                int vorher = stapel.size();
+                try {
+                    schreiben(stapel);
+                } catch (IOException | RuntimeException e) {
+                    fehler.incrementAndGet();
+                    System.err.println(stapel.size() + " Rechnungen nicht archiviert, neuer Versuch in "
+                            + pause + " ms: " + e.getMessage());
+                } finally {
+                    inArbeit.addAndGet(stapel.size() - vorher);
+                }
+                if (stapel.isEmpty()) {
+                    pause = WIEDERHOLEN_MS;
+                } else if (beendet) {
+                    verworfen.addAndGet(stapel.size());
+                    inArbeit.addAndGet(-stapel.size());
+                    System.err.println(stapel.size() + " Rechnungen beim Beenden nicht archiviert.");
+                    return;
+                } else {
+                    // Ausstehend lassen und erneut versuchen (beim Beenden nicht die ganze Pause abwarten)
+                    long bis = System.currentTimeMillis() + pause;
+                    while (!beendet && System.currentTimeMillis() < bis) {
+                        Thread.sleep(50);
+                    }
+                    pause = Math.min(2 * pause, WIEDERHOLEN_MAX_MS);
+                }
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Erzeugt und komprimiert die Rechnungen (parallel, ohne Sperre) und hängt sie an die
+     * Tagesdateien an (unter Sperre, ein Schreibzugriff je Datei und Tag). Geschriebene Rechnungen
+     * werden aus dem Stapel entfernt – auch wenn danach ein Fehler auftritt –, sodass ein erneuter
+     * Versuch nur die ausstehenden schreibt.
+     */
+    private void schreiben(List<Rechnung> stapel) throws IOException {
+        int n = stapel.size();
+        byte[][] glieder = new byte[n][];
+        LocalDate[] tage = new LocalDate[n];
+        boolean[] erledigt = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            Rechnung rechnung = stapel.get(i);
+            try {
+                byte[] text = dokument(rechnung.bestellung, rechnung.korrektur).getBytes(StandardCharsets.UTF_8);
+                glieder[i] = Gzip.komprimieren(text, 0, text.length);
+                tage[i] = tag(rechnung.bestellung.getBestellId());
+            } catch (RuntimeException e) {
+                // Lässt sich auch beim nächsten Versuch nicht erzeugen
+                erledigt[i] = true;
+                verworfen.incrementAndGet();
+                System.err.println("Rechnung " + rechnung.bestellung.getBestellId() + " verworfen: " + e);
+            }
+        }
+
+        try {
+            synchronized (offen) {
+                int[] gruppe = new int[n];
+                for (int i = 0; i < n; i++) {
+                    if (erledigt[i]) {
+                        continue;
+                    }
+                    // Alle Rechnungen dieses Tages gemeinsam schreiben
+                    LocalDate tag = tage[i];
+                    Tagesdatei datei = oeffnen(tag);
+                    long position = datei.daten.size();
+                    int anzahl = 0;
+                    ByteBuffer[] puffer = new ByteBuffer[n];
+                    ByteBuffer index = ByteBuffer.allocate(n * INDEXEINTRAG).order(ByteOrder.BIG_ENDIAN);
+                    for (int j = i; j < n; j++) {
+                        if (!erledigt[j] && tage[j].equals(tag)) {
+                            index.putLong(stapel.get(j).bestellung.getBestellId()).putLong(position).putInt(glieder[j].length);
+                            puffer[anzahl] = ByteBuffer.wrap(glieder[j]);
+                            gruppe[anzahl++] = j;
+                            position += glieder[j].length;
+                        }
+                    }
+                    try {
+                        while (puffer[anzahl - 1].hasRemaining()) {
+                            datei.daten.write(puffer, 0, anzahl);
+                        }
+                        datei.daten.force(false);   // Daten vor dem Index auf die Platte
+                        index.flip();
+                        while (index.hasRemaining()) {
+                            datei.index.write(index);
+                        }
+                        datei.index.force(false);
+                    } catch (IOException e) {
+                        // Beim nächsten Versuch neu öffnen statt einen defekten Kanal weiterzuverwenden
+                        offen.remove(tag);
+                        datei.daten.close();
+                        datei.index.close();
+                        throw e;
+                    }
+                    for (int k = 0; k < anzahl; k++) {
+                        erledigt[gruppe[k]] = true;
+                    }
+                    archiviert.addAndGet(anzahl);
+                }
+            }
+        } finally {
+            for (int i = n - 1; i >= 0; i--) {
+                if (erledigt[i]) {
+                    stapel.remove(i);
+                }
+            }
+        }
+    }
+
+    /** Öffnet die Dateien eines Tages; Dateien älterer Tage werden geschlossen */
+    private Tagesdatei oeffnen(LocalDate tag) throws IOException {
+        Tagesdatei datei = offen.get(tag);
+        if (datei == null) {
+            Files.createDirectories(verzeichnis);
+            datei = new Tagesdatei(
+                    FileChannel.open(verzeichnis.resolve(tag + ".gz"), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND),
+                    FileChannel.open(verzeichnis.resolve(tag + ".idx"), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+            offen.put(tag, datei);
+            // Höchstens zwei Tage offen halten (Bestellungen kurz vor Mitternacht)
+            Iterator<Map.Entry<LocalDate, Tagesdatei>> it = offen.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<LocalDate, Tagesdatei> eintrag = it.next();
+                if (eintrag.getKey().isBefore(tag.minusDays(1))) {
+                    schliessen(eintrag.getValue());
+                    it.remove();
+                }
+            }
+        }
+        return datei;
+    }
+
+    private static void schliessen(Tagesdatei datei) throws IOException {
+        datei.daten.force(true);
+        datei.daten.close();
+        datei.index.force(true);
+        datei.index.close();
+    }
+
+    private static LocalDate tag(long bestellId) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(BestellIdGenerator.zeitpunkt(bestellId)), Preisplan.ZONE);
+    }
+
+    // ------------------------------------------------------------
+    // Rechnungsdokument
+    // ------------------------------------------------------------
+
+    /**
+     * Erzeugt das Rechnungsdokument einer Bestellung (Text, UTF-8).
+     *
+     * @param bestellung angenommene Bestellung
+     * @return Rechnung als Text
+     */
+    public static String dokument(Bestellung bestellung) {
+        return dokument(bestellung, false);
+    }
+
+    /**
+     * Erzeugt das Rechnungsdokument einer Bestellung; eine Korrektur trägt die Überschrift
+     * RECHNUNGSKORREKTUR bzw. bei einer stornierten Bestellung STORNORECHNUNG.
+     *
+     * @param bestellung angenommene Bestellung
+     * @param korrektur  true für eine geänderte Fassung
+     * @return Rechnung als Text
+     */
+    public static String dokument(Bestellung bestellung, boolean korrektur) {
+        Kunde kunde = (bestellung.getKunde() != null) ? bestellung.getKunde() : new Kunde();
+        LocalDateTime zeit = LocalDateTime.ofInstant(Instant.ofEpochMilli(bestellung.getZeitpunkt()), Preisplan.ZONE);
+        boolean storniert = bestellung.getStatus() == Bestellstatus.STORNIERT;
+        StringBuilder sb = new StringBuilder(512);
+        sb.append(!korrektur ? "RECHNUNG" : storniert ? "STORNORECHNUNG" : "RECHNUNGSKORREKTUR")
+                .append(" – Pizza Service\n");
+        sb.append("Bestellnummer: ").append(bestellung.getBestellId()).append('\n');
+        sb.append("Datum:         ").append(zeit.withNano(0)).append('\n');
+        sb.append("Filiale:       ").append(bestellung.getFilialeId()).append("\n\n");
+        sb.append(kunde.getKundenname()).append('\n');
+        sb.append(kunde.getStrasse()).append(' ').append(kunde.getHausnummer()).append('\n');
+        sb.append(kunde.getPlz()).append(' ').append(kunde.getStadt()).append("\n\n");
+        for (Bestellposition pos : bestellung.getPositionen()) {
+            sb.append(String.format("%3d x %-32s %8s %9s%n", pos.getMenge(), pos.getSpeise().getName(),
+                    betrag(pos.getSpeise().getPreis()), betrag(pos.getGesamt())));
+        }
+        if (!bestellung.getRabatte().isEmpty()) {
+            sb.append(String.format("%-47s %9s%n", "Zwischensumme", betrag(bestellung.getZwischensumme())));
+            for (Rabattzeile rabatt : bestellung.getRabatte()) {
+                sb.append(String.format("%-47s %9s%n", rabatt.getBezeichnung(), "-" + betrag(rabatt.getBetrag())));
+            }
+        }
+        if (bestellung.getLiefergebuehr().signum() != 0) {
+            sb.append(String.format("%-47s %9s%n", "Liefergebühr", betrag(bestellung.getLiefergebuehr())));
+        }
+        sb.append(String.format("%-47s %9s EUR%n", "Gesamtpreis", betrag(bestellung.getGesamtpreis())));
+        if (storniert) {
+            sb.append(String.format("%-47s %9s EUR%n", "Storniert, zu zahlen", betrag(BigDecimal.ZERO)));
+        }
+        sb.append("Zahlungsart:   ").append(bestellung.getZahlungsart().getBezeichnung()).append('\n');
+        return sb.toString();
+    }
+
+    private static String betrag(BigDecimal betrag) {
+        return betrag.setScale(2, RoundingMode.HALF_UP).toPlainString().replace('.', ',');
+    }
+
+    // ------------------------------------------------------------
+    // Lesen
+    // ------------------------------------------------------------
+
+    /**
+     * Liest eine archivierte Rechnung in ihrer neuesten Fassung (bei Korrekturen der letzte
+     * Indexeintrag der Bestellung). Entpackt wird nur das GZIP-Glied dieser Fassung.
+     *
+     * @param bestellId ID der Bestellung
+     * @return Rechnung als Text oder null, wenn sie (noch) nicht archiviert ist
+     * @throws IOException bei Lesefehlern
+     */
+    public String lesen(long bestellId) throws IOException {
+        LocalDate tag = tag(bestellId);
+        Path indexDatei = verzeichnis.resolve(tag + ".idx");
+        Path datenDatei = verzeichnis.resolve(tag + ".gz");
+        if (!Files.isRegularFile(indexDatei) || !Files.isRegularFile(datenDatei)) {
+            return null;
+        }
+
+        long position = -1;
+        int laenge = 0;
+        try (FileChannel index = FileChannel.open(indexDatei, StandardOpenOption.READ)) {
+            ByteBuffer puffer = ByteBuffer.allocate(INDEXEINTRAG * 512);
+            while (index.read(puffer) > 0) {
+                puffer.flip();
+                while (puffer.remaining() >= INDEXEINTRAG) {
+                    long id = puffer.getLong();
+                    long start = puffer.getLong();
+                    int anzahl = puffer.getInt();
+                    if (id == bestellId) {
+                        position = start;   // spätere Einträge sind Korrekturen
+                        laenge = anzahl;
+                    }
+                }
+                puffer.compact();
+            }
+        }
+
+        try (FileChannel daten = FileChannel.open(datenDatei, StandardOpenOption.READ)) {
+            if (position < 0 || position + laenge > daten.size()) {
+                return null;   // unbekannt oder unvollständig geschrieben
+            }
+            ByteBuffer glied = ByteBuffer.allocate(laenge);
+            while (glied.hasRemaining()) {
+                if (daten.read(glied, position + glied.position()) < 0) {
+                    return null;
+                }
+            }
+            try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(glied.array()))) {
+                return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Kennzahlen und Beenden
+    // ------------------------------------------------------------
+
+    /**
+     * Liefert den Rückstand: eingereihte und gerade bearbeitete, noch nicht geschriebene Rechnungen.
+     *
+     * @return Anzahl ausstehender Rechnungen
+     */
+    public int getRueckstand() {
+        return warteschlange.size() + nachzuholen.size() + inArbeit.get();
+    }
+
+    public long getArchiviert() {
+        return archiviert.get();
+    }
+
+    public long getSynchron() {
+        return synchron.get();
+    }
+
+    public long getFehler() {
+        return fehler.get();
+    }
+
+    public long getVerworfen() {
+        return verworfen.get();
+    }
+
+    /**
+     * Archiviert alle ausstehenden Rechnungen, beendet die Arbeitsthreads und schließt die Dateien.
+     */
+    public void beenden() {
+        beendet = true;
+        for (Thread thread : arbeiter) {
+            try {
+                thread.join(5_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (offen) {
+            for (Tagesdatei datei : offen.values()) {
+                try {
+                    schliessen(datei);
+                } catch (IOException e) {
+                    System.err.println("Rechnungsarchiv nicht geschlossen: " + e.getMessage());
+                }
+            }
+            offen.clear();
+        }
+    }
+
+}
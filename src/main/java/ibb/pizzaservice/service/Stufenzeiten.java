@@ -0,0 +1,76 @@
+package ibb.pizzaservice.service;
+
+/**
+ * Laufzeiten der einzelnen Stufen des Bestellpfads einer {@link Filiale}.
+ *
+ * Die ersten Stufen laufen im Request-Thread ({@link BestellAnnahme}), die übrigen im Thread der
+ * Filiale:
+ * <pre>
+ * BEPREISEN → RESERVIEREN → ID_VERGEBEN → EINREIHEN │ WARTESCHLANGE → PROTOKOLL → KUECHE → JOURNAL → ARCHIV
+ * </pre>
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Stufenzeiten {
+
+    /**
+     * Stufe des Bestellpfads.
+     */
+    public enum Stufe {
+        /** Aktionen prüfen und Bestellung über den Preisplan bepreisen */
+        BEPREISEN,
+        /** Zutaten im Lager und ggf. Platz im Zeitfenster reservieren */
+        RESERVIEREN,
+        /** Bestell-ID vergeben */
+        ID_VERGEBEN,
+        /** In die Warteschlange der Filiale einreihen */
+        EINREIHEN,
+        /** Wartezeit in der Warteschlange der Filiale */
+        WARTESCHLANGE,
+        /** Ereignis speichern und auf den Zustand anwenden */
+        PROTOKOLL,
+        /** Aufgaben auf die Küchenstationen verteilen */
+        KUECHE,
+        /** Tagesjournal schreiben */
+        JOURNAL,
+        /** An das Rechnungsarchiv übergeben */
+        ARCHIV
+    }
+
+    private final Latenzhistogramm[] histogramme = new Latenzhistogramm[Stufe.values().length];
+
+    /**
+     * Erstellt leere Histogramme für alle Stufen.
+     */
+    public Stufenzeiten() {
+        for (int i = 0; i < histogramme.length; i++) {
+            histogramme[i] = new Latenzhistogramm();
+        }
+    }
+
+    /**
+     * Erfasst die Laufzeit einer Stufe.
+     *
+     * @param stufe Stufe
+     * @param start Beginn der Stufe ({@link System#nanoTime()})
+     * @return Ende der Stufe, zugleich Beginn der nächsten
+     */
+    public long erfassen(Stufe stufe, long start) {
+        long ende = System.nanoTime();
+        histogramme[stufe.ordinal()].erfassen(ende - start);
+        return ende;
+    }
+
+    /**
+     * Liefert das Histogramm einer Stufe.
+     *
+     * @param stufe Stufe
+     * @return Histogramm der Laufzeiten
+     */
+    public Latenzhistogramm get(Stufe stufe) {
+        return histogramme[stufe.ordinal()];
+    }
+
+}
@@ -0,0 +1,797 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Speise;
+import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.model.Zahlungsart;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tagesabschluss: wertet alle Bestellungen eines Tages aus den Segmenten der {@link BestellJournal}e aus.
+ *
+ * Ermittelt werden Umsatz und Bestellungen insgesamt, je Speise, je Stunde, je Postleitzahl und je
+ * {@link Zahlungsart} sowie Durchschnittswerte. Jedes Segment wird von einer Teilaufgabe eines eigenen
+ * {@link ForkJoinPool} gelesen (nie geteilt, da Textfelder Zeilenumbrüche enthalten dürfen). Die
+ * Teilaufgabe liest das Segment blockweise und zählt direkt in primitive Felder ({@link Summen});
+ * Beträge werden in Cent als {@code long} summiert. Am Ende werden die Teilergebnisse paarweise
+ * zusammengeführt.
+ *
+ * Stornierungen und Korrekturen stehen als Gegenbuchungen im Journal (siehe {@link BestellJournal}) und
+ * werden wie alle anderen Zeilen aufaddiert; eine Gegenbuchung zählt dabei als -1 Bestellung. So kann
+ * jedes Segment unabhängig von den anderen ausgewertet werden.
+ *
+ * Der Pool hat höchstens halb so viele Threads wie CPU-Kerne und niedrige Priorität; er liest nur
+ * Dateien und hält keine Sperren der Filialen. Die Annahme neuer Bestellungen läuft daher ungestört
+ * weiter. Es läuft höchstens ein Tagesabschluss gleichzeitig.
+ *
+ * Der Bericht wird als {@code <datum>.txt} im Verzeichnis des Tagesabschlusses abgelegt.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Tagesabschluss {
+
+    /** Größe der Leseblöcke */
+    public static final int BLOCK = 64 * 1024;
+
+    private static final int MAX_FELDER = 18;
+
+    // Spalten des Journals (siehe BestellJournal.KOPFZEILE)
+    private static final int ZEITPUNKT = 1;
+    private static final int PLZ = 8;
+    private static final int POSITIONEN = 10;
+    private static final int ZWISCHENSUMME = 11;
+    private static final int RABATT = 12;
+    private static final int GESAMT = 13;
+    private static final int LIEFERGEBUEHR = 14;
+    private static final int ZAHLUNGSART = 15;
+    private static final int STATUS = 17;
+
+    private static final byte[] STORNIERT = BestellJournal.STORNIERT.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] ERSETZT = BestellJournal.ERSETZT.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] KORRIGIERT = BestellJournal.KORRIGIERT.getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Summen über einen Teil der Bestellungen. Alle Beträge in Cent.
+     *
+     * Die Speisen werden über ihren Index in der vollständigen Speisekarte gezählt; der letzte Index
+     * steht für Speisen, die nicht (mehr) auf der Karte stehen. Bei den Zahlungsarten steht der letzte
+     * Index für Zeilen ohne Angabe (Journale vor Einführung der Spalte).
+     */
+    public static final class Summen {
+
+        private long bestellungen;
+        private long stueck;
+        private long zwischensumme;
+        private long rabatt;
+        private long gesamt;
+        private long liefergebuehr;
+        private long storniert;                    /** Stornierte Bestellungen (Gegenbuchungen) */
+        private long korrigiert;                   /** Korrekturen geänderter Bestellungen */
+        private long fehlerhaft;                   /** Zeilen, die nicht ausgewertet werden konnten */
+
+        private final long[] mengeJeSpeise;
+        private final long[] umsatzJeSpeise;       /** zu Listenpreisen, vor Rabatten */
+        private final long[] bestellungenJeStunde = new long[24];
+        private final long[] umsatzJeStunde = new long[24];
+        private final long[] bestellungenJeZahlungsart = new long[Zahlungsart.values().length + 1];
+        private final long[] umsatzJeZahlungsart = new long[Zahlungsart.values().length + 1];
+
+        // Offene Adressierung: PLZ + 1 als Schlüssel (0 = frei)
+        private int[] plz = new int[256];
+        private long[] bestellungenJePlz = new long[256];
+        private long[] umsatzJePlz = new long[256];
+        private int plzAnzahl;
+
+        Summen(int speisen) {
+            mengeJeSpeise = new long[speisen + 1];
+            umsatzJeSpeise = new long[speisen + 1];
+        }
+
+        private void plzZaehlen(int wert, int bestellungen, long umsatz) {
+            int i = plzPlatz(wert);
+            bestellungenJePlz[i] += bestellungen;
+            umsatzJePlz[i] += umsatz;
+        }
+
+        /** Platz einer PLZ in der Tabelle (wird bei Bedarf angelegt) */
+        private int plzPlatz(int wert) {
+            if (plzAnzahl * 2 >= plz.length) {
+                plzVergroessern();
+            }
+            int maske = plz.length - 1;
+            int i = (wert * 0x9E3779B9) >>> 16 & maske;
+            while (plz[i] != 0 && plz[i] != wert + 1) {
+                i = (i + 1) & maske;
+            }
+            if (plz[i] == 0) {
+                plz[i] = wert + 1;
+                plzAnzahl++;
+            }
+            return i;
+        }
+
+        private void plzVergroessern() {
+            int[] alteSchluessel = plz;
+            long[] alteBestellungen = bestellungenJePlz;
+            long[] alterUmsatz = umsatzJePlz;
+            plz = new int[alteSchluessel.length * 2];
+            bestellungenJePlz = new long[plz.length];
+            umsatzJePlz = new long[plz.length];
+            plzAnzahl = 0;
+            for (int i = 0; i < alteSchluessel.length; i++) {
+                if (alteSchluessel[i] != 0) {
+                    int neu = plzPlatz(alteSchluessel[i] - 1);
+                    bestellungenJePlz[neu] = alteBestellungen[i];
+                    umsatzJePlz[neu] = alterUmsatz[i];
+                }
+            }
+        }
+
+        /**
+         * Addiert die Summen eines anderen Teils.
+         *
+         * @param andere Teilergebnis
+         */
+        void hinzufuegen(Summen andere) {
+            bestellungen += andere.bestellungen;
+            stueck += andere.stueck;
+            zwischensumme += andere.zwischensumme;
+            rabatt += andere.rabatt;
+            gesamt += andere.gesamt;
+            liefergebuehr += andere.liefergebuehr;
+            storniert += andere.storniert;
+            korrigiert += andere.korrigiert;
+            fehlerhaft += andere.fehlerhaft;
+            addieren(mengeJeSpeise, andere.mengeJeSpeise);
+            addieren(umsatzJeSpeise, andere.umsatzJeSpeise);
+            addieren(bestellungenJeStunde, andere.bestellungenJeStunde);
+            addieren(umsatzJeStunde, andere.umsatzJeStunde);
+            addieren(bestellungenJeZahlungsart, andere.bestellungenJeZahlungsart);
+            addieren(umsatzJeZahlungsart, andere.umsatzJeZahlungsart);
+            for (int i = 0; i < andere.plz.length; i++) {
+                if (andere.plz[i] != 0) {
+                    int platz = plzPlatz(andere.plz[i] - 1);
+                    bestellungenJePlz[platz] += andere.bestellungenJePlz[i];
+                    umsatzJePlz[platz] += andere.umsatzJePlz[i];
+                }
+            }
+        }
+
+        private static void addieren(long[] ziel, long[] quelle) {
+            for (int i = 0; i < ziel.length; i++) {
+                ziel[i] += quelle[i];
+            }
+        }
+
+        public long getBestellungen() {
+            return bestellungen;
+        }
+
+        public long getStueck() {
+            return stueck;
+        }
+
+        public long getZwischensumme() {
+            return zwischensumme;
+        }
+
+        public long getRabatt() {
+            return rabatt;
+        }
+
+        public long getGesamt() {
+            return gesamt;
+        }
+
+        public long getLiefergebuehr() {
+            return liefergebuehr;
+        }
+
+        public long getStorniert() {
+            return storniert;
+        }
+
+        public long getKorrigiert() {
+            return korrigiert;
+        }
+
+        public long getFehlerhaft() {
+            return fehlerhaft;
+        }
+
+        /**
+         * Liefert die verkaufte Menge einer Speise.
+         *
+         * @param index Index in der Speisekarte (Anzahl Speisen: nicht mehr auf der Karte)
+         * @return Stück
+         */
+        public long getMenge(int index) {
+            return mengeJeSpeise[index];
+        }
+
+        /**
+         * Liefert den Umsatz einer Speise zu Listenpreisen.
+         *
+         * @param index Index in der Speisekarte (Anzahl Speisen: nicht mehr auf der Karte)
+         * @return Umsatz in Cent
+         */
+        public long getUmsatzSpeise(int index) {
+            return umsatzJeSpeise[index];
+        }
+
+        public long getBestellungenStunde(int stunde) {
+            return bestellungenJeStunde[stunde];
+        }
+
+        public long getUmsatzStunde(int stunde) {
+            return umsatzJeStunde[stunde];
+        }
+
+        /**
+         * Liefert die Bestellungen einer Zahlungsart.
+         *
+         * @param art Zahlungsart oder null für Zeilen ohne Angabe
+         * @return Anzahl Bestellungen
+         */
+        public long getBestellungen(Zahlungsart art) {
+            return bestellungenJeZahlungsart[(art != null) ? art.ordinal() : Zahlungsart.values().length];
+        }
+
+        /**
+         * Liefert den Umsatz einer Zahlungsart.
+         *
+         * @param art Zahlungsart oder null für Zeilen ohne Angabe
+         * @return Umsatz in Cent
+         */
+        public long getUmsatz(Zahlungsart art) {
+            return umsatzJeZahlungsart[(art != null) ? art.ordinal() : Zahlungsart.values().length];
+        }
+
+        /**
+         * Liefert den Umsatz einer Postleitzahl.
+         *
+         * @param wert Postleitzahl als Zahl
+         * @return Umsatz in Cent (0, wenn keine Bestellung aus dieser PLZ kam)
+         */
+        public long getUmsatzPlz(int wert) {
+            int maske = plz.length - 1;
+            int i = (wert * 0x9E3779B9) >>> 16 & maske;
+            while (plz[i] != 0) {
+                if (plz[i] == wert + 1) {
+                    return umsatzJePlz[i];
+                }
+                i = (i + 1) & maske;
+            }
+            return 0;
+        }
+
+        public int getPlzAnzahl() {
+            return plzAnzahl;
+        }
+    }
+
+    /**
+     * Teilaufgabe über einen Bereich der Segmentliste.
+     */
+    private final class Teil extends RecursiveTask<Summen> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final List<BestellJournal.Segment> segmente;
+        private final int von;
+        private final int bis;
+
+        Teil(List<BestellJournal.Segment> segmente, int von, int bis) {
+            this.segmente = segmente;
+            this.von = von;
+            this.bis = bis;
+        }
+
+        @Override
+        protected Summen compute() {
+            if (bis - von == 1) {
+                Summen summen = new Summen(ids.length);
+                try {
+                    lesen(segmente.get(von), summen);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Segment nicht lesbar: " + segmente.get(von).getDatei(), e);
+                }
+                return summen;
+            }
+            int mitte = (von + bis) >>> 1;
+            Teil links = new Teil(segmente, von, mitte);
+            links.fork();
+            Summen summen = new Teil(segmente, mitte, bis).compute();
+            summen.hinzufuegen(links.join());
+            return summen;
+        }
+    }
+
+    private final Path verzeichnis;                /** Ablage der Berichte */
+    private final int parallelitaet;               /** Threads des Pools */
+    private final Speisekarte speisekarte;         /** Vollständige Speisekarte (Index der Speisen) */
+    private final byte[][] ids;                    /** Speise-IDs als Bytes, gleicher Index wie die Karte */
+    private final byte[][] zahlungsarten;          /** Namen der Zahlungsarten als Bytes */
+    private final AtomicBoolean laeuft = new AtomicBoolean();
+
+    /**
+     * Erstellt den Tagesabschluss.
+     *
+     * @param verzeichnis Verzeichnis für die Berichte
+     * @param speisekarte vollständige Speisekarte aller Filialen
+     */
+    public Tagesabschluss(Path verzeichnis, Speisekarte speisekarte) {
+        this(verzeichnis, speisekarte, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    /**
+     * Erstellt den Tagesabschluss mit fester Anzahl Threads.
+     *
+     * @param verzeichnis   Verzeichnis für die Berichte
+     * @param speisekarte   vollständige Speisekarte aller Filialen
+     * @param parallelitaet Anzahl Threads des Pools
+     */
+    public Tagesabschluss(Path verzeichnis, Speisekarte speisekarte, int parallelitaet) {
+        this.verzeichnis = verzeichnis;
+        this.speisekarte = speisekarte;
+        this.parallelitaet = Math.max(1, parallelitaet);
+        List<Speise> speisen = speisekarte.getSpeisen();
+        this.ids = new byte[speisen.size()][];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = speisen.get(i).getSpeiseId().getBytes(StandardCharsets.UTF_8);
+        }
+        this.zahlungsarten = new byte[Zahlungsart.values().length][];
+        for (Zahlungsart art : Zahlungsart.values()) {
+            zahlungsarten[art.ordinal()] = art.name().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Ablauf
+    // ------------------------------------------------------------
+
+    /**
+     * Erstellt den Tagesabschluss aller lokalen Filialen und legt den Bericht ab.
+     *
+     * @param filialen Filialverzeichnis
+     * @param tag      Tag der Bestellungen
+     * @return Datei mit dem Bericht
+     * @throws IOException           bei Lese- oder Schreibfehlern
+     * @throws IllegalStateException wenn bereits ein Tagesabschluss läuft
+     */
+    public Path erstellen(Filialen filialen, LocalDate tag) throws IOException {
+        if (!laeuft.compareAndSet(false, true)) {
+            throw new IllegalStateException("Es läuft bereits ein Tagesabschluss.");
+        }
+        try {
+            long start = System.nanoTime();
+            List<BestellJournal.Segment> segmente = new ArrayList<>();
+            int anzahlFilialen = 0;
+            for (Filiale filiale : filialen.getAlle()) {
+                if (filiale.getJournal() != null) {
+                    segmente.addAll(filiale.getJournal().segmente(tag));
+                    anzahlFilialen++;
+                }
+            }
+            Summen summen = berechnen(segmente);
+            long dauer = (System.nanoTime() - start) / 1_000_000;
+
+            String text = bericht(tag, summen, anzahlFilialen, segmente.size(), dauer);
+            Files.createDirectories(verzeichnis);
+            Path datei = getDatei(tag);
+            Path neu = verzeichnis.resolve(tag + ".txt.neu");
+            Files.write(neu, text.getBytes(StandardCharsets.UTF_8));
+            Files.move(neu, datei, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return datei;
+        } finally {
+            laeuft.set(false);
+        }
+    }
+
+    /**
+     * Liefert die Datei, in der der Bericht eines Tages liegt (oder liegen wird).
+     *
+     * @param tag Tag der Bestellungen
+     * @return Pfad des Berichts
+     */
+    public Path getDatei(LocalDate tag) {
+        return verzeichnis.resolve(tag + ".txt");
+    }
+
+    /**
+     * Wertet Segmente parallel aus.
+     *
+     * @param segmente Segmente eines Tages (mit festgeschriebener Länge)
+     * @return Summen über alle Segmente
+     * @throws IOException wenn ein Segment nicht gelesen werden kann
+     */
+    public Summen berechnen(List<BestellJournal.Segment> segmente) throws IOException {
+        if (segmente.isEmpty()) {
+            return new Summen(ids.length);
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelitaet, p -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+            thread.setName("tagesabschluss-" + thread.getPoolIndex());
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, null, false);
+        try {
+            return pool.invoke(new Teil(segmente, 0, segmente.size()));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // ------------------------------------------------------------
+    // Lesen eines Segments
+    // ------------------------------------------------------------
+
+    private void lesen(BestellJournal.Segment segment, Summen summen) throws IOException {
+        ByteBuffer puffer = ByteBuffer.allocate(BLOCK);
+        int[] anfang = new int[MAX_FELDER];
+        int[] ende = new int[MAX_FELDER];
+        try (FileChannel kanal = FileChannel.open(segment.getDatei(), StandardOpenOption.READ)) {
+            long position = 0;
+            long laenge = segment.getLaenge();
+            while (true) {
+                int maximal = (int) Math.min(puffer.remaining(), laenge - position);
+                int gelesen = 0;
+                if (maximal > 0) {
+                    puffer.limit(puffer.position() + maximal);
+                    gelesen = kanal.read(puffer, position);
+                    puffer.limit(puffer.capacity());
+                }
+                if (gelesen > 0) {
+                    position += gelesen;
+                }
+                boolean letzter = gelesen <= 0 || position >= laenge;
+                int fuellung = puffer.position();
+                int verarbeitet = datensaetze(puffer.array(), fuellung, letzter, summen, anfang, ende);
+                if (letzter) {
+                    return;
+                }
+                // Unvollständigen Datensatz an den Anfang schieben; passt er nicht, Puffer vergrößern
+                if (verarbeitet == 0 && fuellung == puffer.capacity()) {
+                    ByteBuffer groesser = ByteBuffer.allocate(puffer.capacity() * 2);
+                    puffer.flip();
+                    groesser.put(puffer);
+                    puffer = groesser;
+                } else {
+                    puffer.flip();
+                    puffer.position(verarbeitet);
+                    puffer.compact();
+                }
+            }
+        }
+    }
+
+    /**
+     * Zerlegt die vollständigen Datensätze im Puffer in Felder und wertet sie aus.
+     *
+     * @return Anzahl verarbeiteter Bytes (Beginn des ersten unvollständigen Datensatzes)
+     */
+    private int datensaetze(byte[] b, int bis, boolean letzter, Summen summen,
+            int[] anfang, int[] ende) {
+        int satz = 0;
+        int feld = 0;
+        boolean zitiert = false;
+        anfang[0] = 0;
+        for (int i = 0; i < bis; i++) {
+            byte c = b[i];
+            if (c == '"') {
+                zitiert = !zitiert;   // "" innerhalb eines Feldes schaltet zweimal um
+            } else if (!zitiert && c == ';') {
+                // Spalten hinter MAX_FELDER werden gezählt, aber nicht ausgewertet
+                if (feld < MAX_FELDER) {
+                    ende[feld] = i;
+                }
+                if (++feld < MAX_FELDER) {
+                    anfang[feld] = i + 1;
+                }
+            } else if (!zitiert && c == '\n') {
+                if (feld < MAX_FELDER) {
+                    ende[feld] = (i > satz && b[i - 1] == '\r') ? i - 1 : i;
+                }
+                auswerten(b, anfang, ende, feld + 1, summen);
+                satz = i + 1;
+                feld = 0;
+                anfang[0] = satz;
+            }
+        }
+        if (letzter && satz < bis) {
+            if (feld < MAX_FELDER) {
+                ende[feld] = bis;
+            }
+            auswerten(b, anfang, ende, feld + 1, summen);
+            satz = bis;
+        }
+        return satz;
+    }
+
+    private void auswerten(byte[] b, int[] anfang, int[] ende, int felder, Summen s) {
+        if (felder == 1 && ende[0] == anfang[0]) {
+            return;   // Leerzeile
+        }
+        // Angenommene Bestellung und neuer Stand einer Korrektur zählen +1, Gegenbuchungen -1
+        int anzahl = 1;
+        if (felder > STATUS && ende[STATUS] > anfang[STATUS]) {
+            if (gleich(STORNIERT, b, anfang[STATUS], ende[STATUS])) {
+                anzahl = -1;
+                s.storniert++;
+            } else if (gleich(ERSETZT, b, anfang[STATUS], ende[STATUS])) {
+                anzahl = -1;
+            } else if (gleich(KORRIGIERT, b, anfang[STATUS], ende[STATUS])) {
+                s.korrigiert++;
+            } else {
+                s.fehlerhaft++;
+                return;
+            }
+        }
+        if (felder <= GESAMT || anfang[ZEITPUNKT] + 13 > ende[ZEITPUNKT]) {
+            s.fehlerhaft++;
+            return;
+        }
+        int stunde = ziffer(b[anfang[ZEITPUNKT] + 11]) * 10 + ziffer(b[anfang[ZEITPUNKT] + 12]);
+        long gesamt = betrag(b, anfang[GESAMT], ende[GESAMT]);
+        if (stunde < 0 || stunde > 23 || gesamt == Long.MIN_VALUE) {
+            s.fehlerhaft++;
+            return;
+        }
+
+        s.bestellungen += anzahl;
+        s.gesamt += gesamt;
+        s.zwischensumme += betragOderNull(b, anfang[ZWISCHENSUMME], ende[ZWISCHENSUMME]);
+        s.rabatt += betragOderNull(b, anfang[RABATT], ende[RABATT]);
+        if (felder > LIEFERGEBUEHR) {
+            s.liefergebuehr += betragOderNull(b, anfang[LIEFERGEBUEHR], ende[LIEFERGEBUEHR]);
+        }
+        s.bestellungenJeStunde[stunde] += anzahl;
+        s.umsatzJeStunde[stunde] += gesamt;
+
+        int art = (felder > ZAHLUNGSART) ? zahlungsart(b, anfang[ZAHLUNGSART], ende[ZAHLUNGSART]) : zahlungsarten.length;
+        s.bestellungenJeZahlungsart[art] += anzahl;
+        s.umsatzJeZahlungsart[art] += gesamt;
+
+        int plz = plz(b, anfang[PLZ], ende[PLZ]);
+        if (plz >= 0) {
+            s.plzZaehlen(plz, anzahl, gesamt);
+        }
+        positionen(b, anfang[POSITIONEN], ende[POSITIONEN], s);
+    }
+
+    /** Positionen "2xPi03@7,95|1xPi06@9,80" (Gegenbuchung: "-2xPi03@7,95|-1xPi06@9,80") */
+    private void positionen(byte[] b, int von, int bis, Summen s) {
+        int i = von;
+        while (i < bis) {
+            boolean negativ = b[i] == '-';
+            if (negativ) {
+                i++;
+            }
+            int menge = 0;
+            while (i < bis && b[i] >= '0' && b[i] <= '9') {
+                menge = menge * 10 + (b[i++] - '0');
+            }
+            if (negativ) {
+                menge = -menge;
+            }
+            if (i >= bis || b[i] != 'x') {
+                return;
+            }
+            int idAnfang = ++i;
+            while (i < bis && b[i] != '@' && b[i] != '|') {
+                i++;
+            }
+            int speise = speise(b, idAnfang, i);
+            long preis = 0;
+            if (i < bis && b[i] == '@') {
+                int preisAnfang = ++i;
+                while (i < bis && b[i] != '|') {
+                    i++;
+                }
+                preis = betragOderNull(b, preisAnfang, i);
+            }
+            s.stueck += menge;
+            s.mengeJeSpeise[speise] += menge;
+            s.umsatzJeSpeise[speise] += menge * preis;
+            i++;   // '|'
+        }
+    }
+
+    private int speise(byte[] b, int von, int bis) {
+        for (int i = 0; i < ids.length; i++) {
+            if (gleich(ids[i], b, von, bis)) {
+                return i;
+            }
+        }
+        return ids.length;
+    }
+
+    private int zahlungsart(byte[] b, int von, int bis) {
+        for (int i = 0; i < zahlungsarten.length; i++) {
+            if (gleich(zahlungsarten[i], b, von, bis)) {
+                return i;
+            }
+        }
+        return zahlungsarten.length;
+    }
+
+    private static boolean gleich(byte[] wert, byte[] b, int von, int bis) {
+        if (bis - von != wert.length) {
+            return false;
+        }
+        for (int i = 0; i < wert.length; i++) {
+            if (b[von + i] != wert[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int ziffer(byte c) {
+        return (c >= '0' && c <= '9') ? c - '0' : -100;
+    }
+
+    /** Fünfstellige PLZ (ggf. in Anführungszeichen) oder -1 */
+    private static int plz(byte[] b, int von, int bis) {
+        if (bis - von == 7 && b[von] == '"') {
+            von++;
+            bis--;
+        }
+        if (bis - von != 5) {
+            return -1;
+        }
+        int wert = 0;
+        for (int i = von; i < bis; i++) {
+            int z = ziffer(b[i]);
+            if (z < 0) {
+                return -1;
+            }
+            wert = wert * 10 + z;
+        }
+        return wert;
+    }
+
+    /** Betrag mit Dezimalkomma ("12,50", "-3,00") in Cent, Long.MIN_VALUE bei ungültigem Wert */
+    private static long betrag(byte[] b, int von, int bis) {
+        if (von >= bis) {
+            return Long.MIN_VALUE;
+        }
+        boolean negativ = b[von] == '-';
+        int i = negativ ? von + 1 : von;
+        long cent = 0;
+        int nachkomma = -1;
+        for (; i < bis; i++) {
+            byte c = b[i];
+            if (c == ',' || c == '.') {
+                if (nachkomma >= 0) {
+                    return Long.MIN_VALUE;
+                }
+                nachkomma = 0;
+            } else if (c >= '0' && c <= '9') {
+                if (nachkomma >= 2) {
+                    continue;   // weitere Nachkommastellen werden abgeschnitten
+                }
+                cent = cent * 10 + (c - '0');
+                if (nachkomma >= 0) {
+                    nachkomma++;
+                }
+            } else {
+                return Long.MIN_VALUE;
+            }
+        }
+        for (int n = Math.max(0, nachkomma); n < 2; n++) {
+            cent *= 10;
+        }
+        return negativ ? -cent : cent;
+    }
+
+    /** Betrag in Cent, 0 bei leerem oder ungültigem Wert */
+    private static long betragOderNull(byte[] b, int von, int bis) {
+        long cent = betrag(b, von, bis);
+        return (cent == Long.MIN_VALUE) ? 0 : cent;
+    }
+
+    // ------------------------------------------------------------
+    // Bericht
+    // ------------------------------------------------------------
+
+    /**
+     * Erstellt den Bericht als Text.
+     *
+     * @param tag      Tag der Bestellungen
+     * @param s        Summen des Tages
+     * @param filialen Anzahl ausgewerteter Filialen
+     * @param segmente Anzahl gelesener Segmente
+     * @param dauer    Laufzeit der Auswertung in ms
+     * @return Bericht
+     */
+    String bericht(LocalDate tag, Summen s, int filialen, int segmente, long dauer) {
+        StringBuilder sb = new StringBuilder(8192);
+        sb.append("TAGESABSCHLUSS – Pizza Service\n");
+        sb.append("Datum:              ").append(tag).append('\n');
+        sb.append(String.format(Locale.GERMAN, "Ausgewertet:        %d Filialen, %d Segmente in %d ms%n", filialen, segmente, dauer));
+        if (s.storniert > 0) {
+            sb.append("Storniert:          ").append(s.storniert).append(" Bestellungen (nicht im Umsatz)\n");
+        }
+        if (s.korrigiert > 0) {
+            sb.append("Korrigiert:         ").append(s.korrigiert).append(" Bestellungen (mit neuem Stand im Umsatz)\n");
+        }
+        if (s.fehlerhaft > 0) {
+            sb.append("Nicht auswertbar:   ").append(s.fehlerhaft).append(" Zeilen\n");
+        }
+        sb.append('\n');
+
+        long anzahl = Math.max(1, s.bestellungen);
+        sb.append(String.format(Locale.GERMAN, "%-30s %12d%n", "Bestellungen", s.bestellungen));
+        sb.append(String.format(Locale.GERMAN, "%-30s %12d%n", "Verkaufte Speisen (Stück)", s.stueck));
+        sb.append(String.format(Locale.GERMAN, "%-30s %12s EUR%n", "Zwischensumme", euro(s.zwischensumme)));
+        sb.append(String.format(Locale.GERMAN, "%-30s %12s EUR%n", "Rabatte", euro(-s.rabatt)));
+        sb.append(String.format(Locale.GERMAN, "%-30s %12s EUR%n", "Liefergebühren", euro(s.liefergebuehr)));
+        sb.append(String.format(Locale.GERMAN, "%-30s %12s EUR%n", "Umsatz", euro(s.gesamt)));
+        sb.append(String.format(Locale.GERMAN, "%-30s %12s EUR%n", "Durchschnitt je Bestellung", euro(s.gesamt / anzahl)));
+        sb.append(String.format(Locale.GERMAN, "%-30s %12.2f%n", "Speisen je Bestellung", (double) s.stueck / anzahl));
+
+        sb.append("\nJe Speise (Listenpreise vor Rabatten)\n");
+        List<Speise> speisen = speisekarte.getSpeisen();
+        for (int i = 0; i <= speisen.size(); i++) {
+            if (s.mengeJeSpeise[i] > 0) {
+                String name = (i < speisen.size()) ? speisen.get(i).getSpeiseId() + " " + speisen.get(i).getName() : "Sonstige";
+                sb.append(String.format(Locale.GERMAN, "  %-28s %8d Stk %12s EUR%n", name, s.mengeJeSpeise[i], euro(s.umsatzJeSpeise[i])));
+            }
+        }
+
+        sb.append("\nJe Stunde\n");
+        for (int stunde = 0; stunde < 24; stunde++) {
+            if (s.bestellungenJeStunde[stunde] > 0) {
+                sb.append(String.format(Locale.GERMAN, "  %02d:00–%02d:59 %20d %12s EUR%n", stunde, stunde,
+                        s.bestellungenJeStunde[stunde], euro(s.umsatzJeStunde[stunde])));
+            }
+        }
+
+        sb.append("\nJe Zahlungsart\n");
+        for (int i = 0; i <= zahlungsarten.length; i++) {
+            if (s.bestellungenJeZahlungsart[i] > 0) {
+                String name = (i < zahlungsarten.length) ? Zahlungsart.values()[i].getBezeichnung() : "ohne Angabe";
+                sb.append(String.format(Locale.GERMAN, "  %-28s %8d %16s EUR%n", name,
+                        s.bestellungenJeZahlungsart[i], euro(s.umsatzJeZahlungsart[i])));
+            }
+        }
+
+        sb.append("\nJe Postleitzahl (nach Umsatz)\n");
+        List<Integer> belegt = new ArrayList<>(s.plzAnzahl);
+        for (int i = 0; i < s.plz.length; i++) {
+            if (s.plz[i] != 0 && s.bestellungenJePlz[i] > 0) {   // nur stornierte Bestellungen: nicht aufführen
+                belegt.add(i);
+            }
+        }
+        belegt.sort((a, c) -> Long.compare(s.umsatzJePlz[c], s.umsatzJePlz[a]));
+        for (int i : belegt) {
+            sb.append(String.format(Locale.GERMAN, "  %05d %30d %16s EUR%n", s.plz[i] - 1, s.bestellungenJePlz[i], euro(s.umsatzJePlz[i])));
+        }
+        return sb.toString();
+    }
+
+    private static String euro(long cent) {
+        return String.format(Locale.GERMAN, "%,.2f", cent / 100.0);
+    }
+
+}
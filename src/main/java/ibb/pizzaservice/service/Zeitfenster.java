@@ -0,0 +1,382 @@
+package ibb.pizzaservice.service;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Station;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Buchbare Zeitfenster einer {@link Filiale} für Vorbestellungen am selben Tag.
+ *
+ * Die Fenster und die Kapazität der Küche stehen in {@code zeitfenster.properties}:
+ * <pre>
+ * beginn=17:00                      # erstes Fenster
+ * ende=22:00                        # Ende des letzten Fensters
+ * laenge=15                         # Minuten je Fenster
+ * vorlauf=30                        # frühestens buchbar: jetzt + vorlauf Minuten
+ * kapazitaet=12                     # Pizzen je Fenster für alle Filialen ...
+ * filiale.mitte.kapazitaet=20       # ... oder nur für eine Filiale
+ * </pre>
+ * Liegt im Datenverzeichnis eine Datei {@code zeitfenster.properties}, hat sie Vorrang vor der Datei im
+ * Klassenpfad.
+ *
+ * Gezählt werden die Pizzen einer Bestellung (Speisen der {@link Station#PIZZA}); Salate und Getränke
+ * belegen keine Kapazität. Jedes Fenster hat einen Zähler in einem {@link AtomicIntegerArray};
+ * {@link #reservieren(long, int, long)} bucht per Compare-and-Set und nur, solange die Kapazität nicht
+ * überschritten wird. Es gibt keine Sperre, und ein Fenster wird nie überbucht. Zum Tageswechsel wird
+ * die Belegung als Ganzes ersetzt.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public class Zeitfenster {
+
+    /** Name der Konfigurationsdatei */
+    public static final String DATEI = "zeitfenster.properties";
+
+    private static final long MINUTE = 60_000;
+
+    /**
+     * Ein buchbares Zeitfenster (Momentaufnahme für die Anzeige).
+     */
+    public static final class Fenster {
+
+        private final LocalTime beginn;
+        private final long zeitpunkt;
+        private final int frei;
+
+        Fenster(LocalTime beginn, long zeitpunkt, int frei) {
+            this.beginn = beginn;
+            this.zeitpunkt = zeitpunkt;
+            this.frei = frei;
+        }
+
+        /** Beginn als Uhrzeit, z. B. "19:00" (Wert des Formularfelds) */
+        public String getUhrzeit() {
+            return beginn.toString();
+        }
+
+        /** Beginn des Fensters (Epoch-Millis) */
+        public long getZeitpunkt() {
+            return zeitpunkt;
+        }
+
+        /** Freie Kapazität in Pizzen */
+        public int getFrei() {
+            return frei;
+        }
+    }
+
+    /**
+     * Belegung der Fenster eines Tages.
+     */
+    private static final class Tag {
+
+        private final LocalDate datum;
+        private final AtomicIntegerArray belegt;
+
+        Tag(LocalDate datum, int anzahl) {
+            this.datum = datum;
+            this.belegt = new AtomicIntegerArray(anzahl);
+        }
+    }
+
+    private final LocalTime beginn;                /** Beginn des ersten Fensters */
+    private final int laenge;                      /** Minuten je Fenster */
+    private final int anzahl;                      /** Fenster je Tag */
+    private final int vorlauf;                     /** Minuten bis zum frühesten buchbaren Fenster */
+    private final int kapazitaet;                  /** Pizzen je Fenster */
+    private final AtomicReference<Tag> tag;        /** Belegung des aktuellen Tages */
+
+    /**
+     * Erstellt die Zeitfenster einer Filiale.
+     *
+     * @param properties Konfiguration im Format von {@code zeitfenster.properties}
+     * @param filialeId  ID der Filiale (für filialspezifische Kapazitäten)
+     * @throws IllegalArgumentException bei fehlerhafter Konfiguration
+     */
+    public Zeitfenster(Properties properties, String filialeId) {
+        LocalTime ende;
+        try {
+            this.beginn = LocalTime.parse(properties.getProperty("beginn", "17:00").trim());
+            ende = LocalTime.parse(properties.getProperty("ende", "22:00").trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Ungültige Uhrzeit in " + DATEI + ": " + e.getParsedString());
+        }
+        this.laenge = zahl(properties, "laenge", "15");
+        this.vorlauf = zahl(properties, "vorlauf", "30");
+        this.kapazitaet = zahl(properties, "filiale." + filialeId + ".kapazitaet",
+                properties.getProperty("kapazitaet", "12"));
+        if (laenge <= 0 || !ende.isAfter(beginn)) {
+            throw new IllegalArgumentException("Ungültige Zeitfenster: " + beginn + "–" + ende + " zu je " + laenge + " Minuten");
+        }
+        this.anzahl = (int) (Duration.between(beginn, ende).toMinutes() / laenge);
+        this.tag = new AtomicReference<>(new Tag(LocalDate.now(Preisplan.ZONE), anzahl));
+    }
+
+    private static int zahl(Properties properties, String schluessel, String standard) {
+        String wert = properties.getProperty(schluessel, standard).trim();
+        try {
+            int zahl = Integer.parseInt(wert);
+            if (zahl < 0) {
+                throw new NumberFormatException();
+            }
+            return zahl;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ungültiger Wert für " + schluessel + ": " + wert);
+        }
+    }
+
+    /**
+     * Lädt die Konfiguration der Zeitfenster. Eine Datei im Datenverzeichnis hat Vorrang vor dem
+     * Klassenpfad.
+     *
+     * @param datei {@code zeitfenster.properties} im Datenverzeichnis oder null (nur Klassenpfad)
+     * @return Konfiguration (leer, wenn es keine gibt: Standardwerte)
+     * @throws UncheckedIOException wenn die Datei nicht gelesen werden kann
+     */
+    public static Properties konfiguration(Path datei) {
+        Properties properties = new Properties();
+        boolean lokal = datei != null && Files.isRegularFile(datei);
+        try (InputStream in = lokal ? Files.newInputStream(datei) : Zeitfenster.class.getResourceAsStream("/" + DATEI)) {
+            if (in != null) {
+                try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Zeitfenster konnten nicht geladen werden.", e);
+        }
+        return properties;
+    }
+
+    // ------------------------------------------------------------
+    // Reservieren und Freigeben
+    // ------------------------------------------------------------
+
+    /**
+     * Bucht Kapazität in einem Zeitfenster – ganz oder gar nicht.
+     *
+     * @param wunschzeit Beginn des Fensters (Epoch-Millis, siehe {@link Fenster#getZeitpunkt()})
+     * @param pizzen     Anzahl Pizzen der Bestellung (siehe {@link #pizzen(Bestellung)}); bei 0 wird nur
+     *                   das Fenster geprüft
+     * @param jetzt      aktueller Zeitpunkt (Epoch-Millis)
+     * @return true, wenn gebucht wurde; false, wenn das Fenster voll, bereits zu nah oder kein
+     *         Fenster des heutigen Tages ist (dann ist nichts gebucht)
+     * @throws IllegalArgumentException bei negativer Anzahl
+     */
+    public boolean reservieren(long wunschzeit, int pizzen, long jetzt) {
+        if (pizzen < 0) {
+            throw new IllegalArgumentException("Ungültige Anzahl Pizzen: " + pizzen);
+        }
+        if (wunschzeit < jetzt + vorlauf * MINUTE) {
+            return false;
+        }
+        Tag heute = tag(datum(jetzt));
+        int index = index(heute, wunschzeit);
+        if (index < 0) {
+            return false;
+        }
+        return pizzen == 0 || buchen(heute.belegt, index, pizzen);
+    }
+
+    /**
+     * Bucht zusätzliche Kapazität in einem bereits gebuchten Fenster (geänderte Menge einer
+     * Vorbestellung) – ohne Prüfung des Vorlaufs, aber nie über die Kapazität.
+     *
+     * @param wunschzeit Beginn des Fensters
+     * @param pizzen     zusätzliche Pizzen (mindestens 1)
+     * @return true, wenn gebucht wurde
+     * @throws IllegalArgumentException bei einer Anzahl unter 1
+     */
+    public boolean nachbuchen(long wunschzeit, int pizzen) {
+        if (pizzen <= 0) {
+            throw new IllegalArgumentException("Ungültige Anzahl Pizzen: " + pizzen);
+        }
+        Tag heute = tag.get();
+        int index = index(heute, wunschzeit);
+        return index < 0 || buchen(heute.belegt, index, pizzen);
+    }
+
+    /** Bucht pizzen > 0; in long gerechnet, damit große Mengen nicht überlaufen und die Prüfung umgehen */
+    private boolean buchen(AtomicIntegerArray belegt, int index, int pizzen) {
+        while (true) {
+            int alt = belegt.get(index);
+            if ((long) alt + pizzen > kapazitaet) {
+                return false;
+            }
+            if (belegt.compareAndSet(index, alt, alt + pizzen)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Bucht Kapazität ohne Prüfung (Vorbestellungen, die nach einem Neustart wiederhergestellt wurden).
+     *
+     * @param wunschzeit Beginn des Fensters
+     * @param pizzen     Anzahl Pizzen
+     */
+    void belegen(long wunschzeit, int pizzen) {
+        Tag heute = tag(datum(System.currentTimeMillis()));
+        int index = index(heute, wunschzeit);
+        if (index >= 0 && pizzen > 0) {
+            heute.belegt.getAndUpdate(index, alt -> (int) Math.min(Integer.MAX_VALUE, (long) alt + pizzen));
+        }
+    }
+
+    /**
+     * Gibt gebuchte Kapazität zurück (Stornierung oder geänderte Menge).
+     *
+     * @param wunschzeit Beginn des Fensters
+     * @param pizzen     Anzahl Pizzen
+     */
+    public void freigeben(long wunschzeit, int pizzen) {
+        Tag heute = tag.get();
+        int index = index(heute, wunschzeit);
+        if (index >= 0 && pizzen > 0) {
+            heute.belegt.addAndGet(index, -pizzen);
+        }
+    }
+
+    /**
+     * Zählt die Pizzen einer Bestellung.
+     *
+     * @param bestellung Bestellung
+     * @return Anzahl Pizzen (Speisen der Pizzastation), höchstens {@link Integer#MAX_VALUE}
+     */
+    public static int pizzen(Bestellung bestellung) {
+        long pizzen = 0;
+        for (Bestellposition pos : bestellung.getPositionen()) {
+            if (pos.getSpeise().getStation() == Station.PIZZA) {
+                pizzen += pos.getMenge();
+            }
+        }
+        return (int) Math.min(Integer.MAX_VALUE, pizzen);
+    }
+
+    /** Belegung eines Tages; beim ersten Zugriff eines neuen Tages wird sie ersetzt */
+    private Tag tag(LocalDate datum) {
+        while (true) {
+            Tag aktuell = tag.get();
+            if (!datum.isAfter(aktuell.datum)) {
+                return aktuell;
+            }
+            Tag neu = new Tag(datum, anzahl);
+            if (tag.compareAndSet(aktuell, neu)) {
+                return neu;
+            }
+        }
+    }
+
+    /** Index des Fensters, das zu diesem Zeitpunkt beginnt, oder -1 */
+    private int index(Tag heute, long zeitpunkt) {
+        LocalDateTime zeit = LocalDateTime.ofInstant(Instant.ofEpochMilli(zeitpunkt), Preisplan.ZONE);
+        if (!zeit.toLocalDate().equals(heute.datum) || zeit.toLocalTime().isBefore(beginn)) {
+            return -1;
+        }
+        long abstand = Duration.between(beginn, zeit.toLocalTime()).toMillis();
+        if (abstand % (laenge * MINUTE) != 0) {
+            return -1;
+        }
+        long index = abstand / (laenge * MINUTE);
+        return (index < anzahl) ? (int) index : -1;
+    }
+
+    private static LocalDate datum(long zeitpunkt) {
+        return LocalDate.ofInstant(Instant.ofEpochMilli(zeitpunkt), Preisplan.ZONE);
+    }
+
+    // ------------------------------------------------------------
+    // Anzeige
+    // ------------------------------------------------------------
+
+    /**
+     * Liefert den Zeitpunkt eines Fensters am heutigen Tag zu einer Uhrzeit aus dem Formular.
+     *
+     * @param uhrzeit Uhrzeit, z. B. "19:00"
+     * @param jetzt   aktueller Zeitpunkt (Epoch-Millis)
+     * @return Epoch-Millis (ob es ein buchbares Fenster ist, prüft {@link #reservieren(long, int, long)})
+     * @throws IllegalArgumentException bei ungültiger Uhrzeit
+     */
+    public static long zeitpunkt(String uhrzeit, long jetzt) {
+        try {
+            return datum(jetzt).atTime(LocalTime.parse(uhrzeit.trim())).atZone(Preisplan.ZONE).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Ungültige Uhrzeit: " + uhrzeit);
+        }
+    }
+
+    /**
+     * Liefert alle Fenster, die jetzt noch buchbar sind und Kapazität für die angegebene Zahl Pizzen haben.
+     *
+     * @param jetzt  aktueller Zeitpunkt (Epoch-Millis)
+     * @param pizzen benötigte Kapazität (mindestens 1 Pizza wird immer verlangt)
+     * @return Fenster in zeitlicher Reihenfolge
+     */
+    public List<Fenster> getBuchbar(long jetzt, int pizzen) {
+        Tag heute = tag(datum(jetzt));
+        long erstes = jetzt + vorlauf * MINUTE;
+        List<Fenster> liste = new ArrayList<>();
+        for (int i = 0; i < anzahl; i++) {
+            LocalTime uhrzeit = beginn.plusMinutes((long) i * laenge);
+            long zeitpunkt = heute.datum.atTime(uhrzeit).atZone(Preisplan.ZONE).toInstant().toEpochMilli();
+            int frei = kapazitaet - heute.belegt.get(i);
+            if (zeitpunkt >= erstes && frei >= Math.max(1, pizzen)) {
+                liste.add(new Fenster(uhrzeit, zeitpunkt, frei));
+            }
+        }
+        return liste;
+    }
+
+    /**
+     * Liefert alle jetzt noch buchbaren Fenster mit Platz für mindestens eine Pizza (für die Startseite).
+     *
+     * @return Fenster in zeitlicher Reihenfolge
+     */
+    public List<Fenster> getBuchbar() {
+        return getBuchbar(System.currentTimeMillis(), 1);
+    }
+
+    /**
+     * Liefert die gebuchten Pizzen aller Fenster des heutigen Tages.
+     *
+     * @return Summe der Belegung
+     */
+    public int getBelegt() {
+        AtomicIntegerArray belegt = tag(datum(System.currentTimeMillis())).belegt;
+        int summe = 0;
+        for (int i = 0; i < belegt.length(); i++) {
+            summe += belegt.get(i);
+        }
+        return summe;
+    }
+
+    public int getKapazitaet() {
+        return kapazitaet;
+    }
+
+    public int getAnzahl() {
+        return anzahl;
+    }
+
+}
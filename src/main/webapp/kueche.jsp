@@ -10,6 +10,14 @@
     - Greift auf das im Session-Scope gespeicherte Objekt "bestellung" zu.
     - Gibt alle Bestellpositionen aus, die in der aktuellen Bestellung enthalten sind.
     - Zeigt Kundendaten und Gesamtpreis.
+    - Zeigt alle offenen Bestellungen der gewählten Filiale
+      (Request-Attribute "filiale" und "offeneBestellungen" vom KuecheServlet)
+      und setzt deren Status weiter (POST an KuecheServlet); Vorbestellungen
+      zeigen den Beginn ihres Zeitfensters.
+    - Zeigt die Küchenstationen (Request-Attribute "stationen", "kuechenstationen")
+      und für die gewählte Station deren Warteschlange und Aufgaben in Arbeit
+      ("station", "warteschlange", "inArbeit"); Köche holen dort ihre nächste
+      Aufgabe und melden sie als erledigt.
     - Ermöglicht Rückkehr zur Rechnung oder Startseite.
 
     TECHNIK:
@@ -33,52 +41,7 @@
     <meta charset="UTF-8">
     <title>🍳 Küche - Bestellübersicht</title>
 
-    <style>
-        
-        
-        
-        body {
-            font-family: Arial, sans-serif;
-            margin: 30px;
-            background-color: #fdfdfd;
-        }
-
-        h2 {
-            color: darkgreen;
-        }
-
-        table {
-            border-collapse: collapse;
-            width: 70%;
-            margin-top: 15px;
-        }
-
-        th, td {
-            border: 1px solid #ccc;
-            padding: 8px 12px;
-        }
-
-        th {
-            background-color: #f5f5f5;
-        }
-
-        .highlight {
-            background-color: #f9fff9;
-        }
-
-        button {
-            background-color: darkgreen;
-            color: white;
-            border: none;
-            padding: 10px 15px;
-            border-radius: 4px;
-            cursor: pointer;
-        }
-
-        button:hover {
-            background-color: seagreen;
-        }
-    </style>
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/css/kueche-v2.css">
 </head>
 
 <body>
@@ -122,7 +85,150 @@
     </p>
 
     <!-- ========================================================= -->
-    <!-- Abschnitt 3: Navigation                                   -->
+    <!-- Abschnitt 3: Offene Bestellungen der Filiale              -->
+    <!-- ========================================================= -->
+    <c:if test="${not empty filiale}">
+        <h2>📋 Offene Bestellungen – ${filiale.name}</h2>
+
+        <form action="kueche" method="get">
+            <select name="filiale" onchange="this.form.submit()">
+                <c:forEach var="f" items="${filialen}">
+                    <option value="${f.id}" ${f.id == filiale.id ? 'selected' : ''}>${f.name}</option>
+                </c:forEach>
+            </select>
+        </form>
+
+        <!-- Küchenstationen: Warteschlangen und gewählte Station -->
+        <h3>Stationen</h3>
+        <table>
+            <thead>
+                <tr>
+                    <th>Station</th>
+                    <th>Wartend</th>
+                    <th>Übernommen</th>
+                </tr>
+            </thead>
+            <tbody>
+                <c:forEach var="s" items="${stationen}">
+                    <tr class="${s == station ? 'gewaehlt' : ''}">
+                        <td><a href="kueche?filiale=${filiale.id}&amp;station=${s}">${s.bezeichnung}</a></td>
+                        <td>${kuechenstationen.getLaenge(s)}</td>
+                        <td>${kuechenstationen.getUebernommen(s)}</td>
+                    </tr>
+                </c:forEach>
+            </tbody>
+        </table>
+
+        <c:if test="${not empty station}">
+            <h3>${station.bezeichnung}</h3>
+
+            <form action="kueche" method="post">
+                <input type="hidden" name="filiale" value="${filiale.id}">
+                <input type="hidden" name="station" value="${station}">
+                <button type="submit" name="aktion" value="holen">Nächste Aufgabe holen</button>
+            </form>
+
+            <table>
+                <thead>
+                    <tr>
+                        <th>Bestellung</th>
+                        <th>Speisen</th>
+                        <th>In Arbeit</th>
+                    </tr>
+                </thead>
+                <tbody>
+                    <c:forEach var="a" items="${inArbeit}">
+                        <tr class="highlight">
+                            <td>${a.bestellId}</td>
+                            <td>
+                                <c:forEach var="pos" items="${a.positionen}">
+                                    ${pos.menge} × ${pos.speise.name}<br>
+                                </c:forEach>
+                                <c:if test="${a.uebernommen}">
+                                    <span class="uebernommen">übernommen von: ${a.station.bezeichnung}</span>
+                                </c:if>
+                            </td>
+                            <td>
+                                <form action="kueche" method="post" style="display:inline;">
+                                    <input type="hidden" name="filiale" value="${filiale.id}">
+                                    <input type="hidden" name="station" value="${station}">
+                                    <input type="hidden" name="aufgabe" value="${a.id}">
+                                    <button type="submit" name="aktion" value="erledigt">Erledigt</button>
+                                </form>
+                            </td>
+                        </tr>
+                    </c:forEach>
+                    <c:forEach var="a" items="${warteschlange}">
+                        <tr>
+                            <td>${a.bestellId}</td>
+                            <td>
+                                <c:forEach var="pos" items="${a.positionen}">
+                                    ${pos.menge} × ${pos.speise.name}<br>
+                                </c:forEach>
+                            </td>
+                            <td>wartet</td>
+                        </tr>
+                    </c:forEach>
+                    <c:if test="${empty inArbeit and empty warteschlange}">
+                        <tr><td colspan="3">Keine Aufgaben.</td></tr>
+                    </c:if>
+                </tbody>
+            </table>
+        </c:if>
+
+        <h3>Bestellungen</h3>
+        <table>
+            <thead>
+                <tr>
+                    <th>Nr.</th>
+                    <th>Speisen</th>
+                    <th>Lieferung an</th>
+                    <th>Gesamtpreis (€)</th>
+                    <th>Status</th>
+                </tr>
+            </thead>
+            <tbody>
+                <c:forEach var="b" items="${offeneBestellungen}">
+                    <tr class="highlight">
+                        <td>
+                            ${b.bestellId}
+                            <c:if test="${b.vorbestellt}">
+                                <jsp:useBean id="wunschzeit" class="java.util.Date" />
+                                <c:set target="${wunschzeit}" property="time" value="${b.wunschzeit}" />
+                                <br><small>für <fmt:formatDate value="${wunschzeit}" pattern="HH:mm" timeZone="Europe/Berlin" /> Uhr</small>
+                            </c:if>
+                        </td>
+                        <td>
+                            <c:forEach var="pos" items="${b.positionen}">
+                                ${pos.menge} × ${pos.speise.name}<br>
+                            </c:forEach>
+                        </td>
+                        <td>${b.kunde.kundenname}<br>${b.kunde.kundenadresse}</td>
+                        <td><fmt:formatNumber value="${b.gesamtpreis}" type="number" minFractionDigits="2" /></td>
+                        <td>
+                            ${b.status.bezeichnung}
+                            <form action="kueche" method="post" style="display:inline;">
+                                <input type="hidden" name="filiale" value="${filiale.id}">
+                                <input type="hidden" name="bestellId" value="${b.bestellId}">
+                                <c:if test="${not empty b.status.naechster}">
+                                    <button type="submit" name="status" value="${b.status.naechster}">
+                                        → ${b.status.naechster.bezeichnung}
+                                    </button>
+                                </c:if>
+                                <button type="submit" name="status" value="STORNIERT">Stornieren</button>
+                            </form>
+                        </td>
+                    </tr>
+                </c:forEach>
+                <c:if test="${empty offeneBestellungen}">
+                    <tr><td colspan="5">Keine offenen Bestellungen.</td></tr>
+                </c:if>
+            </tbody>
+        </table>
+    </c:if>
+
+    <!-- ========================================================= -->
+    <!-- Abschnitt 4: Navigation                                   -->
     <!-- ========================================================= -->
     <br>
     <button type="button" onclick="history.back()">Zurück</button>
@@ -6,9 +6,14 @@
     Anzeige der automatisch generierten Rechnung nach einer Bestellung.
 
     BESCHREIBUNG:
-    - Zeigt Kundendaten, Bestellpositionen und Gesamtsumme an.
+    - Zeigt Bestellnummer, Kundendaten, Bestellpositionen, Rabatte aus Aktionen,
+      Liefergebühr und Gesamtsumme an.
     - Wird durch BestellungServlet aufgerufen, nachdem eine Bestellung erstellt wurde.
     - Enthält Funktionen zum Drucken und zur Navigation zurück zur Bestellung oder zur Küche.
+    - Verweist auf die archivierte Rechnung (ArchivServlet, "/archiv?id=").
+    - Zeigt die voraussichtliche Lieferzeit ("lieferMinuten", "lieferUhrzeit"),
+      geschätzt vom LieferzeitSchaetzer der Filiale, bei Vorbestellungen den
+      Beginn des gebuchten Zeitfensters.
 
     TECHNIK:
       - JSTL (Core + Format) für dynamische Anzeige.
@@ -31,75 +36,7 @@
     <meta charset="UTF-8">
     <title>Rechnung - Pizza Service</title>
 
-    <style>
-        body {
-            font-family: Arial, sans-serif;
-            margin: 40px;
-            background-color: #fff;
-            color: #333;
-        }
-
-        h2 {
-            color: darkgreen;
-        }
-
-        h3 {
-            color: #333;
-            margin-top: 30px;
-        }
-
-        table {
-            border-collapse: collapse;
-            width: 70%;
-            margin-top: 15px;
-        }
-
-        th, td {
-            border: 1px solid #ccc;
-            padding: 8px 12px;
-            text-align: left;
-        }
-
-        th {
-            background-color: #f5f5f5;
-        }
-
-        tfoot td {
-            font-weight: bold;
-            background-color: #fafafa;
-        }
-
-        small {
-            color: gray;
-        }
-
-        @media print {
-            .no-print {
-                display: none;
-            }
-            body {
-                margin: 0;
-                color: black;
-            }
-        }
-
-        button, input[type="submit"] {
-            background-color: darkgreen;
-            color: white;
-            border: none;
-            padding: 8px 15px;
-            border-radius: 4px;
-            cursor: pointer;
-        }
-
-        button:hover, input[type="submit"]:hover {
-            background-color: seagreen;
-        }
-
-        .no-print {
-            margin-top: 30px;
-        }
-    </style>
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/css/rechnung-v3.css">
 </head>
 
 <body>
@@ -109,11 +46,32 @@
     <!-- ========================================================= -->
     <h2>🧾 Rechnung – Pizza Service</h2>
 
+    <c:if test="${bestellung.bestellId != 0}">
+        <p>Bestellnummer: <strong>${bestellung.bestellId}</strong></p>
+    </c:if>
+
     <p>
         <strong>${bestellung.kunde.kundenname}</strong><br>
         ${bestellung.kunde.kundenadresse}
     </p>
 
+    <c:if test="${not empty lieferUhrzeit}">
+        <p class="lieferzeit">
+            <c:choose>
+                <c:when test="${bestellung.vorbestellt}">
+                    🛵 Vorbestellt für
+                    <strong><fmt:formatDate value="${lieferUhrzeit}" pattern="HH:mm" timeZone="Europe/Berlin" /> Uhr</strong>
+                    (in etwa ${lieferMinuten} Minuten)
+                </c:when>
+                <c:otherwise>
+                    🛵 Voraussichtliche Lieferung: ca.
+                    <strong><fmt:formatDate value="${lieferUhrzeit}" pattern="HH:mm" timeZone="Europe/Berlin" /> Uhr</strong>
+                    (in etwa ${lieferMinuten} Minuten)
+                </c:otherwise>
+            </c:choose>
+        </p>
+    </c:if>
+
     <!-- ========================================================= -->
     <!-- Abschnitt 2: Bestellübersicht                             -->
     <!-- ========================================================= -->
@@ -143,6 +101,30 @@
             </c:forEach>
         </tbody>
         <tfoot>
+            <c:if test="${not empty bestellung.rabatte or bestellung.liefergebuehr > 0}">
+                <tr>
+                    <td colspan="3" align="right">Zwischensumme:</td>
+                    <td>
+                        <fmt:formatNumber value="${bestellung.zwischensumme}" type="number" minFractionDigits="2" /> €
+                    </td>
+                </tr>
+                <c:forEach var="rabatt" items="${bestellung.rabatte}">
+                    <tr class="rabatt">
+                        <td colspan="3" align="right">${rabatt.bezeichnung}:</td>
+                        <td>
+                            −<fmt:formatNumber value="${rabatt.betrag}" type="number" minFractionDigits="2" /> €
+                        </td>
+                    </tr>
+                </c:forEach>
+                <c:if test="${bestellung.liefergebuehr > 0}">
+                    <tr>
+                        <td colspan="3" align="right">Liefergebühr:</td>
+                        <td>
+                            <fmt:formatNumber value="${bestellung.liefergebuehr}" type="number" minFractionDigits="2" /> €
+                        </td>
+                    </tr>
+                </c:if>
+            </c:if>
             <tr>
                 <td colspan="3" align="right"><b>Gesamtpreis:</b></td>
                 <td>
@@ -152,6 +134,8 @@
         </tfoot>
     </table>
 
+    <p>Zahlungsart: ${bestellung.zahlungsart.bezeichnung}</p>
+
     <!-- ========================================================= -->
     <!-- Abschnitt 3: Zusatzinformationen                          -->
     <!-- ========================================================= -->
@@ -170,9 +154,13 @@
         &nbsp;&nbsp;&nbsp;
         <button type="button" onclick="window.print()">Drucken</button>
         &nbsp;&nbsp;&nbsp;
-        <form action="kueche.jsp" method="get" style="display:inline;">
+        <form action="kueche" method="get" style="display:inline;">
             <input type="submit" value="Zur Küche">
         </form>
+        <c:if test="${bestellung.bestellId != 0}">
+            &nbsp;&nbsp;&nbsp;
+            <a href="archiv?id=${bestellung.bestellId}" target="_blank">Archivierte Rechnung</a>
+        </c:if>
     </div>
 </body>
 
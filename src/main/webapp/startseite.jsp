@@ -15,6 +15,16 @@
       - Bean "speisekarte" wird im Application-Scope bereitgestellt
         (durch SpeisekarteListener oder SpeisekarteServlet)
       - MVC: JSP = View, BestellungServlet = Controller
+      - Stammkunden: "kundenprofil" im Request-Scope (durch KundenprofilFilter)
+        füllt das Formular vor und ermöglicht "Letzte Bestellung wiederholen"
+      - Ausverkaufte Speisen (speisekarte.ausverkauft, vom Lager der Filiale
+        gepflegt) sind gesperrt; "fehler" und "eingabe" im Request-Scope
+        (durch BestellungServlet) zeigen eine abgelehnte Bestellung erneut an
+        (ausverkauft, PLZ außerhalb der Liefergebiete oder Zeitfenster voll)
+      - Vorbestellung: buchbare Zeitfenster der Filiale (filiale.zeitfenster);
+        die Auswahl wird alle 15 Sekunden und bei Änderung von PLZ oder
+        Pizzamengen über "/zeitfenster" (JSON) aktualisiert, volle Fenster
+        verschwinden
 
     AUTOR: Simone Njike
     DATUM: 24.10.2025
@@ -23,6 +33,7 @@
 <%@ page contentType="text/html; charset=UTF-8" pageEncoding="UTF-8" %>
 <%@ taglib prefix="c" uri="http://java.sun.com/jsp/jstl/core" %>
 <%@ taglib prefix="fmt" uri="http://java.sun.com/jsp/jstl/fmt" %>
+<%@ taglib prefix="fn" uri="http://java.sun.com/jsp/jstl/functions" %>
 
 <!DOCTYPE html>
 <html lang="de">
@@ -31,48 +42,40 @@
     <meta charset="UTF-8">
     <title>Pizza Service – Bestellung</title>
 
-    <style>
-        body { 
-            font-family: Arial, sans-serif; 
-            margin: 20px; 
-            background-color: #fafafa;
-        }
-        h2 { 
-            color: darkgreen; 
-            margin-top: 40px;
-        }
-        table {
-            border-collapse: collapse;
-            width: 100%;
-            margin-top: 10px;
-        }
-        th, td {
-            border-bottom: 1px solid #ddd;
-            padding: 8px;
-        }
-        th {
-            background-color: #f2f2f2;
-            text-align: left;
-        }
-        input[type="submit"] {
-            margin-top: 20px;
-            padding: 10px 15px;
-            background-color: darkgreen;
-            color: white;
-            border: none;
-            border-radius: 4px;
-            cursor: pointer;
-        }
-        input[type="submit"]:hover {
-            background-color: seagreen;
-        }
-    </style>
+    <link rel="stylesheet" href="${pageContext.request.contextPath}/css/startseite-v2.css">
 </head>
 
 <body>
     <!-- Bean für Speisekarte wird im Application Scope erzeugt -->
     <jsp:useBean id="speisekarte" class="ibb.pizzaservice.model.Speisekarte" scope="application" />
 
+    <!-- Formular mit der abgelehnten Eingabe oder dem Stammkundenprofil vorbelegen -->
+    <c:set var="kunde" value="${not empty eingabe ? eingabe : kundenprofil.kunde}" />
+
+    <!-- Abgelehnte Bestellung (z. B. Zutaten ausverkauft) -->
+    <c:if test="${not empty fehler}">
+        <p class="fehler">${fn:escapeXml(fehler)}</p>
+    </c:if>
+
+    <!-- Stammkunde: letzte Bestellung mit einem Klick wiederholen -->
+    <c:if test="${not empty kundenprofil}">
+        <div class="stammkunde">
+            <h2>👋 Willkommen zurück, ${fn:escapeXml(kundenprofil.kunde.kundenname)}!</h2>
+            <p>
+                Ihre letzte Bestellung:
+                <c:forEach var="pos" items="${kundenprofil.letztePositionen}" varStatus="status">
+                    <c:forEach var="speise" items="${speisekarte.speisen}">
+                        <c:if test="${speise.speiseId == pos.key}">${pos.value} × ${speise.name}</c:if>
+                    </c:forEach><c:if test="${not status.last}">, </c:if>
+                </c:forEach>
+            </p>
+            <form action="bestellen" method="post" accept-charset="UTF-8">
+                <input type="hidden" name="wiederholen" value="1">
+                <input type="submit" value="Letzte Bestellung wiederholen">
+            </form>
+        </div>
+    </c:if>
+
     <!-- Bestellformular -->
     <form action="bestellen" method="post" accept-charset="UTF-8">
 
@@ -91,19 +94,26 @@
             </thead>
             <tbody>
                 <c:forEach var="speise" items="${speisekarte.speisen}">
-                    <tr>
-                        <td>${speise.name}</td>
+                    <c:set var="ausverkauft" value="${speisekarte.ausverkauft.contains(speise.speiseId)}" />
+                    <c:set var="feld" value="menge_${speise.speiseId}" />
+                    <tr class="${ausverkauft ? 'ausverkauft' : ''}">
+                        <td>
+                            ${speise.name}
+                            <c:if test="${ausverkauft}"><span class="hinweis">(ausverkauft)</span></c:if>
+                        </td>
                         <td>
                             <fmt:formatNumber value="${speise.preis}" type="currency" currencySymbol="€" />
                         </td>
                         <td>
                             <input type="number" 
-                                   name="menge_${speise.speiseId}" 
-                                   value="0" 
+                                   name="${feld}" 
+                                   value="${ausverkauft or empty param[feld] ? 0 : fn:escapeXml(param[feld])}" 
                                    min="0" 
                                    max="10" 
                                    style="width: 60px;"
-                                   aria-label="Menge für ${speise.name}">
+                                   aria-label="Menge für ${speise.name}"
+                                   data-station="${speise.station}"
+                                   ${ausverkauft ? 'disabled' : ''}>
                         </td>
                         <td>${speise.beschreibung}</td>
                     </tr>
@@ -121,36 +131,58 @@
                 <td>
                     <select name="anrede" required>
                         <option value="">-- bitte wählen --</option>
-                        <option value="Frau">Frau</option>
-                        <option value="Herr">Herr</option>
+                        <option value="Frau" ${kunde.anrede == 'Frau' ? 'selected' : ''}>Frau</option>
+                        <option value="Herr" ${kunde.anrede == 'Herr' ? 'selected' : ''}>Herr</option>
                     </select>
                 </td>
             </tr>
             <tr>
                 <th>Vorname:</th>
-                <td><input type="text" name="vorname" required></td>
+                <td><input type="text" name="vorname" value="${fn:escapeXml(kunde.vorname)}" maxlength="100" required></td>
             </tr>
             <tr>
                 <th>Nachname:</th>
-                <td><input type="text" name="nachname" required></td>
+                <td><input type="text" name="nachname" value="${fn:escapeXml(kunde.nachname)}" maxlength="100" required></td>
             </tr>
             <tr>
                 <th>Straße:</th>
-                <td><input type="text" name="strasse" required></td>
+                <td><input type="text" name="strasse" value="${fn:escapeXml(kunde.strasse)}" maxlength="100" required></td>
             </tr>
             <tr>
                 <th>Hausnummer:</th>
-                <td><input type="text" name="hausnummer" required></td>
+                <td><input type="text" name="hausnummer" value="${fn:escapeXml(kunde.hausnummer)}" maxlength="100" required></td>
             </tr>
             <tr>
                 <th>PLZ:</th>
                 <td>
-                    <input type="text" name="plz" required pattern="[0-9]{5}" title="Bitte 5-stellige PLZ eingeben">
+                    <input type="text" name="plz" value="${fn:escapeXml(kunde.plz)}" required pattern="[0-9]{5}" title="Bitte 5-stellige PLZ eingeben">
                 </td>
             </tr>
             <tr>
                 <th>Stadt:</th>
-                <td><input type="text" name="stadt" required></td>
+                <td><input type="text" name="stadt" value="${fn:escapeXml(kunde.stadt)}" maxlength="100" required></td>
+            </tr>
+            <tr>
+                <th>Zahlungsart:</th>
+                <td>
+                    <select name="zahlungsart">
+                        <option value="BAR" ${param.zahlungsart == 'BAR' ? 'selected' : ''}>Bar bei Lieferung</option>
+                        <option value="KARTE" ${param.zahlungsart == 'KARTE' ? 'selected' : ''}>Karte bei Lieferung</option>
+                        <option value="ONLINE" ${param.zahlungsart == 'ONLINE' ? 'selected' : ''}>Online</option>
+                    </select>
+                </td>
+            </tr>
+            <tr>
+                <th>Lieferzeit:</th>
+                <td>
+                    <select name="zeitfenster" id="zeitfenster" data-filiale="${filiale.id}">
+                        <option value="">so schnell wie möglich</option>
+                        <c:forEach var="fenster" items="${filiale.zeitfenster.buchbar}">
+                            <option value="${fenster.uhrzeit}" ${param.zeitfenster == fenster.uhrzeit ? 'selected' : ''}>${fenster.uhrzeit} Uhr</option>
+                        </c:forEach>
+                    </select>
+                    <span id="zeitfenster-hinweis" class="hinweis"></span>
+                </td>
             </tr>
         </table>
 
@@ -159,6 +191,63 @@
         <!-- ========================================================= -->
         <input type="submit" value="Bestellen">
     </form>
+
+    <!-- Zeitfenster laufend aktualisieren: volle Fenster ausblenden (Platz für die Pizzen der Bestellung) -->
+    <script>
+        (function () {
+            var auswahl = document.getElementById('zeitfenster');
+            var hinweis = document.getElementById('zeitfenster-hinweis');
+            var plz = document.querySelector('input[name="plz"]');
+            var mengen = document.querySelectorAll('input[data-station="PIZZA"]');
+            var adresse = '${pageContext.request.contextPath}/zeitfenster';
+
+            function pizzen() {
+                var summe = 0;
+                mengen.forEach(function (feld) {
+                    summe += parseInt(feld.value, 10) || 0;
+                });
+                return Math.max(1, summe);
+            }
+
+            function aktualisieren() {
+                var filiale = /^[0-9]{5}$/.test(plz.value)
+                        ? 'plz=' + plz.value
+                        : 'filiale=' + encodeURIComponent(auswahl.dataset.filiale || '');
+                fetch(adresse + '?' + filiale + '&pizzen=' + pizzen(), { cache: 'no-store' })
+                    .then(function (antwort) { return antwort.ok ? antwort.json() : null; })
+                    .then(function (daten) {
+                        if (!daten) {
+                            return;
+                        }
+                        var gewaehlt = auswahl.value;
+                        var vorhanden = false;
+                        while (auswahl.options.length > 1) {
+                            auswahl.remove(1);
+                        }
+                        daten.fenster.forEach(function (fenster) {
+                            var option = new Option(fenster.uhrzeit + ' Uhr', fenster.uhrzeit);
+                            if (fenster.uhrzeit === gewaehlt) {
+                                option.selected = true;
+                                vorhanden = true;
+                            }
+                            auswahl.add(option);
+                        });
+                        hinweis.textContent = (gewaehlt && !vorhanden)
+                                ? 'Das Zeitfenster ' + gewaehlt + ' Uhr ist inzwischen ausgebucht.'
+                                : '';
+                    })
+                    .catch(function () {
+                        // Netzwerkfehler: beim nächsten Intervall erneut versuchen
+                    });
+            }
+
+            plz.addEventListener('change', aktualisieren);
+            mengen.forEach(function (feld) {
+                feld.addEventListener('change', aktualisieren);
+            });
+            setInterval(aktualisieren, 15000);
+        })();
+    </script>
 </body>
 
 </html>
\ No newline at end of file
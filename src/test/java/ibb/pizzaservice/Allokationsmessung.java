@@ -0,0 +1,99 @@
+package ibb.pizzaservice;
+
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+
+/**
+ * Misst, wie viele Bytes ein Codepfad je Aufruf auf dem Heap anlegt, und prüft das gegen ein Budget.
+ *
+ * Grundlage sind die Allokationszähler der JVM je Thread
+ * ({@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}). Der Pfad wird zunächst
+ * aufgewärmt (JIT-Kompilierung, Escape-Analyse, Lazy-Initialisierung), danach wird der Durchschnitt
+ * über viele Aufrufe gemessen. Allokationen anderer Threads (z. B. der Filial-Threads) zählen nicht.
+ *
+ * Beispiel:
+ * <pre>
+ * Allokationsmessung.pruefen("Bestellung.getGesamtpreis()", 200, () -> bestellung.getGesamtpreis());
+ * </pre>
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public final class Allokationsmessung {
+
+    /** Aufrufe vor der Messung */
+    public static final int AUFWAERMEN = 20_000;
+
+    /** Gemessene Aufrufe */
+    public static final int MESSUNG = 20_000;
+
+    /**
+     * Ein zu messender Codepfad.
+     */
+    @FunctionalInterface
+    public interface Pfad {
+        Object ausfuehren() throws Exception;
+    }
+
+    private static volatile Object senke;   /** Verhindert, dass der JIT Ergebnisse wegoptimiert */
+
+    private Allokationsmessung() { }
+
+    /**
+     * Misst die durchschnittlich je Aufruf angelegten Bytes.
+     *
+     * @param pfad zu messender Codepfad
+     * @return Bytes je Aufruf
+     * @throws Exception aus dem Codepfad
+     */
+    public static long bytesJeAufruf(Pfad pfad) throws Exception {
+        com.sun.management.ThreadMXBean bean = threadBean();
+        long thread = Thread.currentThread().getId();
+
+        for (int i = 0; i < AUFWAERMEN; i++) {
+            senke = pfad.ausfuehren();
+        }
+        long leer = bean.getThreadAllocatedBytes(thread);
+        leer = bean.getThreadAllocatedBytes(thread) - leer;   // Eigenbedarf der Messung
+
+        long vorher = bean.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < MESSUNG; i++) {
+            senke = pfad.ausfuehren();
+        }
+        long gesamt = bean.getThreadAllocatedBytes(thread) - vorher - leer;
+        return Math.max(0, gesamt / MESSUNG);
+    }
+
+    /**
+     * Misst einen Codepfad und lässt den Test fehlschlagen, wenn er sein Budget überschreitet. Der
+     * Messwert steht nur in der Fehlermeldung; der Rückgabewert erlaubt eigene Vergleiche.
+     *
+     * @param name   Bezeichnung für die Fehlermeldung
+     * @param budget erlaubte Bytes je Aufruf
+     * @param pfad   zu messender Codepfad
+     * @return gemessene Bytes je Aufruf
+     * @throws Exception aus dem Codepfad
+     */
+    public static long pruefen(String name, long budget, Pfad pfad) throws Exception {
+        long bytes = bytesJeAufruf(pfad);
+        Assertions.assertTrue(bytes <= budget,
+                () -> name + " legt " + bytes + " Bytes je Aufruf an, Budget: " + budget + " Bytes");
+        return bytes;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean,
+                "JVM bietet keine Allokationszähler je Thread");
+        com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(sunBean.isThreadAllocatedMemorySupported(),
+                "JVM bietet keine Allokationszähler je Thread");
+        if (!sunBean.isThreadAllocatedMemoryEnabled()) {
+            sunBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return sunBean;
+    }
+
+}
@@ -0,0 +1,64 @@
+package ibb.pizzaservice;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Kunde;
+import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.service.BestellIdGenerator;
+
+/**
+ * Testdaten, die viele Tests gleich brauchen: eine Kundin mit Lieferadresse und eine Bestellung mit
+ * einer Position.
+ *
+ * Beispiel:
+ * <pre>
+ * Bestellung bestellung = TestDaten.bestellung(karte, "Pi03", 2);
+ * </pre>
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public final class TestDaten {
+
+    private static final BestellIdGenerator IDS = new BestellIdGenerator(0);
+
+    private TestDaten() {
+    }
+
+    /**
+     * Liefert eine Kundin in Berlin-Mitte.
+     *
+     * @return neue Kundin (PLZ 10115)
+     */
+    public static Kunde kunde() {
+        return kunde("10115");
+    }
+
+    /**
+     * Liefert eine Kundin mit anderer Postleitzahl.
+     *
+     * @param plz Postleitzahl
+     * @return neue Kundin
+     */
+    public static Kunde kunde(String plz) {
+        return new Kunde("Frau", "Anna", "Schmidt", "Bahnhofstraße", "12a", plz, "Berlin");
+    }
+
+    /**
+     * Liefert eine Bestellung der {@link #kunde()} mit neuer Bestell-ID und einer Position.
+     *
+     * @param karte    Speisekarte
+     * @param speiseId ID der Speise
+     * @param menge    Menge
+     * @return neue Bestellung (nicht bepreist)
+     */
+    public static Bestellung bestellung(Speisekarte karte, String speiseId, int menge) {
+        Bestellung bestellung = new Bestellung();
+        bestellung.setBestellId(IDS.naechsteId());
+        bestellung.setKunde(kunde());
+        bestellung.addPosition(new Bestellposition(karte.getSpeise(speiseId), menge));
+        return bestellung;
+    }
+
+}
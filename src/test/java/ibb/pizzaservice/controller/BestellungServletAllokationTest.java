@@ -0,0 +1,183 @@
+package ibb.pizzaservice.controller;
+
+import static ibb.pizzaservice.Allokationsmessung.AUFWAERMEN;
+import static ibb.pizzaservice.Allokationsmessung.MESSUNG;
+import static ibb.pizzaservice.Allokationsmessung.pruefen;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import ibb.pizzaservice.listener.SpeisekarteListener;
+import ibb.pizzaservice.service.Aktionen;
+import ibb.pizzaservice.service.Datenverzeichnis;
+import ibb.pizzaservice.service.Filiale;
+import ibb.pizzaservice.service.Filialen;
+import ibb.pizzaservice.service.Lager;
+import ibb.pizzaservice.service.Preisplan;
+import ibb.pizzaservice.service.Zeitfenster;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Allokationsbudget für {@link BestellungServlet#doPost} – den heißesten Pfad bei Spitzenlast.
+ *
+ * Request, Response, Session und ServletContext werden als einfache {@link Proxy}-Attrappen
+ * nachgebildet; das Datenverzeichnis ist ein temporäres Verzeichnis. Die Filialen laufen ohne
+ * Ereignisprotokoll und Journal, aber mit {@link Lager} (Rezepte aus {@code lager.properties}, Bestand
+ * für alle Messaufrufe) und {@link Zeitfenster} (ganzer Tag, ohne Vorlauf). Gemessen werden nur die
+ * Allokationen des Request-Threads (Formular auswerten, Bestellung aufbauen, bepreisen, Zutaten und
+ * Zeitfenster reservieren, einreihen), nicht die spätere Bearbeitung im Filial-Thread.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class BestellungServletAllokationTest {
+
+    @TempDir
+    Path daten;
+
+    private final Map<String, Object> kontextAttribute = new HashMap<>();
+    private final Map<String, String> parameter = new HashMap<>();
+    private Filialen filialen;
+    private BestellungServlet servlet;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @BeforeEach
+    void servletAufbauen() throws Exception {
+        ServletContext context = attrappe(ServletContext.class, (name, args) -> {
+            switch (name) {
+                case "getAttribute":     return kontextAttribute.get((String) args[0]);
+                case "setAttribute":     kontextAttribute.put((String) args[0], args[1]); return null;
+                case "getInitParameter": return Datenverzeichnis.PARAMETER.equals(args[0]) ? daten.toString() : null;
+                default:                 return null;
+            }
+        });
+        filialen = Filialen.laden("", null);
+        Properties lager = Lager.konfiguration(null);
+        lager.stringPropertyNames().stream().filter(n -> n.startsWith("filiale.")).forEach(lager::remove);
+        for (String zutat : lager.getProperty("zutaten").split(",")) {
+            lager.setProperty("bestand." + zutat.trim(), "100000000");
+        }
+        Properties zeitfenster = new Properties();
+        zeitfenster.setProperty("beginn", "00:00");
+        zeitfenster.setProperty("ende", "23:45");
+        zeitfenster.setProperty("vorlauf", "0");
+        zeitfenster.setProperty("kapazitaet", "100000000");
+        for (Filiale filiale : filialen.getAlle()) {
+            filiale.setLager(new Lager(lager, filiale.getId(), filiale.getSpeisekarte()));
+            filiale.setZeitfenster(new Zeitfenster(zeitfenster, filiale.getId()));
+        }
+        Aktionen aktionen = new Aktionen(null);
+        aktionen.anwenden(filialen);
+        kontextAttribute.put("filialen", filialen);
+        kontextAttribute.put("aktionen", aktionen);
+        kontextAttribute.put("bestellIds", SpeisekarteListener.bestellIdGenerator(context, filialen));
+
+        ServletConfig config = attrappe(ServletConfig.class, (name, args) ->
+                "getServletContext".equals(name) ? context : null);
+        servlet = new BestellungServlet();
+        servlet.init(config);
+
+        parameter.put("anrede", "Frau");
+        parameter.put("vorname", "Anna");
+        parameter.put("nachname", "Schmidt");
+        parameter.put("strasse", "Bahnhofstraße");
+        parameter.put("hausnummer", "12a");
+        parameter.put("plz", "10115");
+        parameter.put("stadt", "Berlin");
+        parameter.put("menge_Pi03", "2");
+        parameter.put("menge_Pi06", "1");
+        parameter.put("menge_Pi01", "1");
+
+        HttpSession session = attrappe(HttpSession.class, (name, args) ->
+                "getId".equals(name) ? "ABC123" : null);
+        RequestDispatcher dispatcher = attrappe(RequestDispatcher.class, (name, args) -> null);
+        request = attrappe(HttpServletRequest.class, (name, args) -> {
+            switch (name) {
+                case "getParameter":         return parameter.get((String) args[0]);
+                case "getSession":           return session;
+                case "getRemoteAddr":        return "127.0.0.1";
+                case "getContextPath":       return "";
+                case "getRequestDispatcher": return dispatcher;
+                case "getCookies":           return null;
+                case "getParameterNames":    return Collections.emptyEnumeration();
+                default:                     return null;
+            }
+        });
+        response = attrappe(HttpServletResponse.class, (name, args) -> null);
+    }
+
+    @AfterEach
+    void filialenBeenden() {
+        filialen.beenden();
+    }
+
+    @Test
+    void bestellungAufgeben() throws Exception {
+        pruefen("BestellungServlet.doPost()", 4_096, () -> {
+            servlet.doPost(request, response);
+            return null;
+        });
+        assertEquals(AUFWAERMEN + MESSUNG, filialen.fuerPlz("10115").getAngenommen(),
+                "Jeder Aufruf muss eine Bestellung annehmen");
+        assertTrue(filialen.fuerPlz("10115").getLager().getBestand("teig") < 100_000_000, "Zutaten reserviert");
+    }
+
+    @Test
+    void vorbestellungAufgeben() throws Exception {
+        // Übernächstes Viertelstundenfenster: bleibt während der Messung buchbar
+        LocalTime fenster = LocalTime.now(Preisplan.ZONE).truncatedTo(ChronoUnit.HOURS)
+                .plusMinutes((LocalTime.now(Preisplan.ZONE).getMinute() / 15 + 2) * 15);
+        assumeTrue(fenster.isAfter(LocalTime.of(0, 29)) && fenster.isBefore(LocalTime.of(23, 45)),
+                "Heute kein Zeitfenster mehr frei");
+        parameter.put("zeitfenster", fenster.toString());
+        pruefen("BestellungServlet.doPost() Vorbestellung", 4_096, () -> {
+            servlet.doPost(request, response);
+            return null;
+        });
+        assertEquals(AUFWAERMEN + MESSUNG, filialen.fuerPlz("10115").getAngenommen(),
+                "Jeder Aufruf muss eine Vorbestellung annehmen");
+    }
+
+    @FunctionalInterface
+    private interface Verhalten {
+        Object aufruf(String methode, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T attrappe(Class<T> typ, Verhalten verhalten) {
+        return (T) Proxy.newProxyInstance(typ.getClassLoader(), new Class<?>[] {typ},
+                (proxy, methode, args) -> {
+                    Object ergebnis = verhalten.aufruf(methode.getName(), args);
+                    if (ergebnis == null && methode.getReturnType() == boolean.class) {
+                        return false;
+                    }
+                    if (ergebnis == null && methode.getReturnType() == int.class) {
+                        return 0;
+                    }
+                    if (ergebnis == null && methode.getReturnType() == long.class) {
+                        return 0L;
+                    }
+                    return ergebnis;
+                });
+    }
+
+}
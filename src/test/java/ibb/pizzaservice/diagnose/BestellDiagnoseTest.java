@@ -0,0 +1,92 @@
+package ibb.pizzaservice.diagnose;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ibb.pizzaservice.TestDaten;
+import ibb.pizzaservice.model.Bestellstatus;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.model.Station;
+import ibb.pizzaservice.service.Filiale;
+import ibb.pizzaservice.service.Kuechenstationen;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * JFR-Ereignisse der Filiale und Lesbarkeit der mitgelieferten Einstellungen.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class BestellDiagnoseTest {
+
+    private static Configuration einstellungen(String name) throws Exception {
+        try (Reader reader = new InputStreamReader(
+                BestellDiagnoseTest.class.getResourceAsStream("/jfr/" + name), StandardCharsets.UTF_8)) {
+            return Configuration.create(reader);
+        }
+    }
+
+    @Test
+    void einstellungenSindGueltig() throws Exception {
+        Configuration dauerbetrieb = einstellungen("pizzaservice-dauerbetrieb.jfc");
+        assertEquals("50 ms", dauerbetrieb.getSettings().get("ibb.pizzaservice.BestellungEmpfangen#threshold"));
+        assertEquals("true", einstellungen("pizzaservice-analyse.jfc").getSettings()
+                .get("ibb.pizzaservice.KuechenstatusGeaendert#stackTrace"));
+    }
+
+    @Test
+    void lebenszyklusEinerBestellung(@TempDir Path verzeichnis) throws Exception {
+        Speisekarte karte = new Speisekarte();
+        Filiale filiale = new Filiale("test", "Test", new int[] {0}, new int[] {99999}, karte, null);
+        Bestellung bestellung = TestDaten.bestellung(karte, "Pi03", 2);
+        filiale.getPreisplan().berechnen(bestellung);
+
+        Path datei = verzeichnis.resolve("test.jfr");
+        try (Recording aufzeichnung = new Recording(einstellungen("pizzaservice-analyse.jfc"))) {
+            aufzeichnung.start();
+            filiale.annehmen(bestellung);
+            Kuechenstationen.Aufgabe aufgabe = null;
+            while (aufgabe == null) {
+                aufgabe = filiale.aufgabeHolen(Station.PIZZA);
+                Thread.onSpinWait();
+            }
+            assertTrue(filiale.aufgabeErledigt(aufgabe.getId()).get());
+            assertTrue(filiale.statusAendern(bestellung.getBestellId(), Bestellstatus.GELIEFERT).get());
+            aufzeichnung.stop();
+            aufzeichnung.dump(datei);
+        } finally {
+            filiale.beenden();
+        }
+
+        List<RecordedEvent> ereignisse = RecordingFile.readAllEvents(datei);
+        RecordedEvent gespeichert = ereignisse.stream()
+                .filter(e -> e.getEventType().getName().equals("ibb.pizzaservice.BestellungGespeichert"))
+                .findFirst().orElse(null);
+        assertNotNull(gespeichert);
+        assertEquals(bestellung.getBestellId(), gespeichert.getLong("bestellId"));
+        assertEquals(1, gespeichert.getInt("positionen"));
+        assertEquals("test", gespeichert.getString("filiale"));
+
+        List<String> status = ereignisse.stream()
+                .filter(e -> e.getEventType().getName().equals("ibb.pizzaservice.KuechenstatusGeaendert"))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .map(e -> e.getString("bisher") + "→" + e.getString("status") + "@" + e.getString("station"))
+                .collect(Collectors.toList());
+        assertEquals(List.of("AUFGEGEBEN→IM_OFEN@PIZZA", "IM_OFEN→FERTIG@PIZZA", "FERTIG→GELIEFERT@null"), status);
+    }
+
+}
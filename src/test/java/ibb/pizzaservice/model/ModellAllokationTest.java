@@ -0,0 +1,64 @@
+package ibb.pizzaservice.model;
+
+import static ibb.pizzaservice.Allokationsmessung.pruefen;
+
+import ibb.pizzaservice.TestDaten;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Allokationsbudgets für die Modellklassen auf dem Bestellpfad.
+ *
+ * Die Budgets liegen mit etwas Reserve über den gemessenen Werten (JDK 17, HotSpot). Wird ein Budget
+ * überschritten, schlägt der Build fehl – die Änderung muss dann entweder sparsamer werden oder das
+ * Budget wird bewusst (mit Begründung im Commit) angehoben. Die {@code toString()}-Methoden sind durch
+ * {@code String.format} vergleichsweise teuer; ihr Budget soll sinken, nicht steigen.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class ModellAllokationTest {
+
+    private Speise salami;
+    private Bestellposition position;
+    private Bestellung bestellung;
+
+    @BeforeEach
+    void bestellungAufbauen() {
+        Speisekarte karte = new Speisekarte();
+        salami = karte.getSpeise("Pi03");
+        bestellung = TestDaten.bestellung(karte, "Pi03", 2);
+        position = bestellung.getPositionen().get(0);
+        bestellung.addPosition(new Bestellposition(karte.getSpeise("Pi01"), 1));
+        bestellung.addPosition(new Bestellposition(karte.getSpeise("Pi06"), 1));
+    }
+
+    @Test
+    void gesamtpreis() throws Exception {
+        pruefen("Bestellung.getGesamtpreis()", 256, () -> bestellung.getGesamtpreis());
+    }
+
+    @Test
+    void gesamtpreisMitRabatt() throws Exception {
+        bestellung.getRabatte().add(new Rabattzeile("2 Pizzen für 15 €", new BigDecimal("2.75")));
+        pruefen("Bestellung.getGesamtpreis() mit Rabatt", 384, () -> bestellung.getGesamtpreis());
+    }
+
+    @Test
+    void speiseToString() throws Exception {
+        pruefen("Speise.toString()", 2_048, () -> salami.toString());
+    }
+
+    @Test
+    void bestellpositionToString() throws Exception {
+        pruefen("Bestellposition.toString()", 2_048, () -> position.toString());
+    }
+
+    @Test
+    void bestellungToString() throws Exception {
+        pruefen("Bestellung.toString()", 8_192, () -> bestellung.toString());
+    }
+
+}
@@ -0,0 +1,201 @@
+package ibb.pizzaservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ibb.pizzaservice.TestDaten;
+import ibb.pizzaservice.model.Bestellstatus;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.model.Station;
+import ibb.pizzaservice.model.Zahlungsart;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Änderungen offener Bestellungen im Thread der Filiale und die Freigabe von Vorbestellungen an die
+ * Küche – auch nach einem Neustart aus dem Ereignisprotokoll.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class FilialeTest {
+
+    @TempDir
+    Path verzeichnis;
+
+    private Filiale filiale(Speisekarte karte) {
+        Filiale filiale = new Filiale("mitte", "Mitte", new int[] {0}, new int[] {99999}, karte, null, verzeichnis);
+        filiale.setPreisregeln(List.of(Preisregel.paket("2 Pizzen für 15 €", Set.of("Pi03"), 2, new BigDecimal("15.00"))));
+        return filiale;
+    }
+
+    /** Wartet, bis der Thread der Filiale alle vorher eingereihten Aufgaben bearbeitet hat */
+    private static void abwarten(Filiale filiale) throws Exception {
+        filiale.statusAendern(0, Bestellstatus.AUFGEGEBEN).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void positionAendernBepreistNeu() throws Exception {
+        Speisekarte karte = new Speisekarte();
+        Filiale filiale = filiale(karte);
+
+        Bestellung bestellung = TestDaten.bestellung(karte, "Pi03", 2);
+        filiale.getPreisplan().berechnen(bestellung);
+        assertEquals(1, bestellung.getRabatte().size());
+        BestellJournal journal = new BestellJournal(verzeichnis.resolve("journal"), "mitte");
+        filiale.setJournal(journal);
+        filiale.annehmen(bestellung);
+
+        assertTrue(filiale.positionAendern(bestellung.getBestellId(), "Pi03", 1).get(5, TimeUnit.SECONDS));
+        assertTrue(bestellung.getRabatte().isEmpty(), "Paketrabatt entfällt mit der zweiten Pizza");
+        assertEquals(karte.getSpeise("Pi03").getPreis(), bestellung.getGesamtpreis());
+        filiale.beenden();
+
+        // Journal: Bestellung, Gegenbuchung und neuer Stand ergeben im Tagesabschluss den neuen Preis
+        LocalDate tag = Instant.ofEpochMilli(bestellung.getZeitpunkt()).atZone(Preisplan.ZONE).toLocalDate();
+        Tagesabschluss.Summen summen = new Tagesabschluss(verzeichnis.resolve("tagesabschluss"), karte, 1)
+                .berechnen(journal.segmente(tag));
+        assertEquals(1, summen.getBestellungen());
+        assertEquals(1, summen.getKorrigiert());
+        assertEquals(karte.getSpeise("Pi03").getPreis().movePointRight(2).longValueExact(), summen.getGesamt());
+
+        // Neustart ohne Snapshot: die neuen Rabatte stehen im Ereignis
+        Files.deleteIfExists(verzeichnis.resolve("snapshot.bin"));
+        Filiale neu = filiale(karte);
+        Bestellung wiederhergestellt = neu.getOffeneBestellung(bestellung.getBestellId());
+        assertEquals(1, wiederhergestellt.getPositionen().get(0).getMenge());
+        assertTrue(wiederhergestellt.getRabatte().isEmpty());
+        neu.beenden();
+    }
+
+    @Test
+    void liefergebuehrUndZahlungsartUeberstehenNeustart() throws Exception {
+        Speisekarte karte = new Speisekarte();
+        Filiale filiale = filiale(karte);
+
+        Bestellung bestellung = TestDaten.bestellung(karte, "Pi03", 1);
+        bestellung.setLiefergebuehr(new BigDecimal("2.50"));
+        bestellung.setZahlungsart(Zahlungsart.KARTE);
+        filiale.annehmen(bestellung);
+        filiale.beenden();
+
+        // Neustart ohne Snapshot: Liefergebühr und Zahlungsart stehen im Ereignis
+        Files.deleteIfExists(verzeichnis.resolve("snapshot.bin"));
+        Filiale neu = filiale(karte);
+        Bestellung wiederhergestellt = neu.getOffeneBestellung(bestellung.getBestellId());
+        assertEquals(new BigDecimal("2.50"), wiederhergestellt.getLiefergebuehr());
+        assertEquals(bestellung.getGesamtpreis(), wiederhergestellt.getGesamtpreis());
+        assertEquals(Zahlungsart.KARTE, wiederhergestellt.getZahlungsart());
+        neu.beenden();
+    }
+
+    @Test
+    void zuGrosseBestellungGibtReservierungenFrei() throws Exception {
+        Speisekarte karte = new Speisekarte();
+        Filiale filiale = filiale(karte);
+        Properties properties = new Properties();
+        properties.setProperty("zutaten", "teig");
+        properties.setProperty("bestand.teig", "10");
+        properties.setProperty("rezept.Pi03", "teig:1");
+        filiale.setLager(new Lager(properties, "mitte", karte));
+
+        // Straße über 65535 Bytes: passt nicht in den Datensatz
+        Bestellung zuGross = TestDaten.bestellung(karte, "Pi03", 3);
+        zuGross.getKunde().setStrasse("x".repeat(70_000));
+        assertTrue(filiale.getLager().reservieren(zuGross));
+        filiale.annehmen(zuGross);
+
+        Bestellung bestellung = TestDaten.bestellung(karte, "Pi03", 1);
+        assertTrue(filiale.getLager().reservieren(bestellung));
+        filiale.annehmen(bestellung);
+        abwarten(filiale);
+
+        assertNull(filiale.getOffeneBestellung(zuGross.getBestellId()));
+        assertEquals(9, filiale.getLager().getBestand("teig"), "Teig der abgewiesenen Bestellung zurückgebucht");
+        filiale.beenden();
+
+        // Die Ereignisdatei endet nicht am abgewiesenen Datensatz: die folgende Bestellung übersteht den Neustart
+        Files.deleteIfExists(verzeichnis.resolve("snapshot.bin"));
+        Filiale neu = filiale(karte);
+        assertNotNull(neu.getOffeneBestellung(bestellung.getBestellId()));
+        neu.beenden();
+    }
+
+    @Test
+    void vorbestellungErstZurFreigabeInDieKueche() throws Exception {
+        Speisekarte karte = new Speisekarte();
+        Filiale filiale = filiale(karte);
+
+        Bestellung vorbestellt = TestDaten.bestellung(karte, "Pi03", 1);
+        vorbestellt.setWunschzeit(System.currentTimeMillis() + 4 * 3_600_000L);
+        filiale.annehmen(vorbestellt);
+        abwarten(filiale);
+        assertNull(filiale.getStationen().naechsteAufgabe(Station.PIZZA), "Zeitfenster ist noch nicht fällig");
+
+        // Eine Mengenänderung verteilt die zurückgehaltene Vorbestellung nicht
+        assertTrue(filiale.positionAendern(vorbestellt.getBestellId(), "Pi03", 2).get(5, TimeUnit.SECONDS));
+        assertNull(filiale.getStationen().naechsteAufgabe(Station.PIZZA));
+
+        // Sofortbestellung kommt direkt in die Küche
+        Bestellung sofort = TestDaten.bestellung(karte, "Pi03", 1);
+        filiale.annehmen(sofort);
+        abwarten(filiale);
+        Kuechenstationen.Aufgabe aufgabe = filiale.getStationen().naechsteAufgabe(Station.PIZZA);
+        assertNotNull(aufgabe);
+        assertEquals(sofort.getBestellId(), aufgabe.getBestellId());
+        assertNull(filiale.getStationen().naechsteAufgabe(Station.PIZZA));
+        filiale.beenden();
+
+        // Nach dem Neustart bleibt sie zurückgehalten
+        Filiale neu = filiale(karte);
+        assertNotNull(neu.getOffeneBestellung(vorbestellt.getBestellId()));
+        for (Kuechenstationen.Aufgabe offen : neu.getStationen().getWarteschlange(Station.PIZZA)) {
+            assertTrue(offen.getBestellId() != vorbestellt.getBestellId(), "Vorbestellung in der Warteschlange");
+        }
+        neu.beenden();
+    }
+
+    @Test
+    void vorbestellungWirdZurFreigabezeitVerteilt() throws Exception {
+        Speisekarte karte = new Speisekarte();
+        Filiale filiale = filiale(karte);
+
+        // Freigabezeit (Wunschzeit minus geschätzte Zubereitungs- und Lieferzeit) schon vorbei: sofort verteilt
+        Bestellung faellig = TestDaten.bestellung(karte, "Pi03", 1);
+        faellig.setWunschzeit(System.currentTimeMillis() + filiale.lieferzeitSchaetzen(faellig) - 60_000);
+        filiale.annehmen(faellig);
+        abwarten(filiale);
+        Kuechenstationen.Aufgabe aufgabe = filiale.getStationen().naechsteAufgabe(Station.PIZZA);
+        assertNotNull(aufgabe, "fällige Vorbestellung nicht verteilt");
+        assertEquals(faellig.getBestellId(), aufgabe.getBestellId());
+
+        // Noch nicht fällig: zurückgehalten, bis der Zeitgeber die Freigabe auslöst
+        Bestellung spaeter = TestDaten.bestellung(karte, "Pi03", 1);
+        spaeter.setWunschzeit(System.currentTimeMillis() + 4 * 3_600_000L);
+        filiale.annehmen(spaeter);
+        abwarten(filiale);
+        assertNull(filiale.getStationen().naechsteAufgabe(Station.PIZZA));
+
+        assertTrue(filiale.vorbestellungFreigeben(spaeter.getBestellId()).get(5, TimeUnit.SECONDS));
+        aufgabe = filiale.getStationen().naechsteAufgabe(Station.PIZZA);
+        assertNotNull(aufgabe, "Vorbestellung wurde nicht freigegeben");
+        assertEquals(spaeter.getBestellId(), aufgabe.getBestellId());
+        assertFalse(filiale.vorbestellungFreigeben(spaeter.getBestellId()).get(5, TimeUnit.SECONDS), "nur einmal");
+        filiale.beenden();
+    }
+
+}
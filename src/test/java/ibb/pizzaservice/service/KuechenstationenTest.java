@@ -0,0 +1,73 @@
+package ibb.pizzaservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.model.Station;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Aufteilung nach Stationen, Übernahme durch kompatible Stationen und Zusammenführung der Bestellung.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class KuechenstationenTest {
+
+    private final Speisekarte karte = new Speisekarte();
+    private final Kuechenstationen stationen = new Kuechenstationen();
+
+    private Bestellung bestellung(long id, String... speisen) {
+        Bestellung bestellung = new Bestellung();
+        bestellung.setBestellId(id);
+        for (String speiseId : speisen) {
+            bestellung.addPosition(new Bestellposition(karte.getSpeise(speiseId), 1));
+        }
+        return bestellung;
+    }
+
+    @Test
+    void aufteilenUndZusammenfuehren() {
+        stationen.verteilen(bestellung(1, "Pi03", "Pi06", "Sa01", "Ge01"));
+        assertEquals(1, stationen.getLaenge(Station.PIZZA));
+        assertEquals(1, stationen.getLaenge(Station.SALAT));
+        assertEquals(1, stationen.getLaenge(Station.GETRAENKE));
+        assertEquals(2, stationen.getWarteschlange(Station.PIZZA).get(0).getPositionen().size());
+
+        Kuechenstationen.Aufgabe pizza = stationen.naechsteAufgabe(Station.PIZZA);
+        Kuechenstationen.Aufgabe salat = stationen.naechsteAufgabe(Station.SALAT);
+        Kuechenstationen.Aufgabe getraenk = stationen.naechsteAufgabe(Station.GETRAENKE);
+
+        assertEquals(0, stationen.erledigt(salat.getId()));
+        assertEquals(0, stationen.erledigt(getraenk.getId()));
+        assertEquals(1, stationen.erledigt(pizza.getId()), "Letzte Aufgabe macht die Bestellung fertig");
+        assertEquals(0, stationen.erledigt(pizza.getId()), "Doppelte Meldung wird ignoriert");
+    }
+
+    @Test
+    void freieStationUebernimmtVomEnde() {
+        for (long id = 1; id <= 3; id++) {
+            stationen.verteilen(bestellung(id, "Pi03"));
+        }
+        Kuechenstationen.Aufgabe aufgabe = stationen.naechsteAufgabe(Station.SALAT);
+        assertEquals(3, aufgabe.getBestellId(), "Übernommen wird die jüngste Aufgabe");
+        assertEquals(Station.SALAT, aufgabe.getBearbeiter());
+        assertEquals(1, stationen.getUebernommen(Station.SALAT));
+        assertEquals(1, stationen.naechsteAufgabe(Station.PIZZA).getBestellId(), "Eigene Station beginnt mit der ältesten");
+        assertNull(stationen.naechsteAufgabe(Station.GETRAENKE), "Die Theke kann keine Pizza backen");
+    }
+
+    @Test
+    void entfernenVerwirftOffeneAufgaben() {
+        stationen.verteilen(bestellung(7, "Pi03", "Sa01"));
+        Kuechenstationen.Aufgabe pizza = stationen.naechsteAufgabe(Station.PIZZA);
+        stationen.entfernen(7);
+        assertEquals(0, stationen.getLaenge(Station.SALAT));
+        assertEquals(0, stationen.erledigt(pizza.getId()));
+    }
+
+}
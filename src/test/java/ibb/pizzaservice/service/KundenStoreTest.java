@@ -0,0 +1,47 @@
+package ibb.pizzaservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import ibb.pizzaservice.TestDaten;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Kundenprofil;
+import ibb.pizzaservice.model.Speisekarte;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Das Cookie eines Stammkunden ist signiert: Wer nur Name und Adresse kennt, kann es nicht bilden.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class KundenStoreTest {
+
+    @TempDir
+    Path verzeichnis;
+
+    @Test
+    void nurSignierteCookiesFuehrenZumProfil() {
+        KundenStore store = new KundenStore(verzeichnis, 100);
+        Speisekarte karte = new Speisekarte();
+        Bestellung bestellung = TestDaten.bestellung(karte, "Pi03", 1);
+        Kundenprofil profil = store.bestellungMerken(bestellung);
+        String cookie = store.cookieWert(profil);
+
+        assertNotNull(store.ausCookie(cookie));
+        assertNull(store.ausCookie(profil.getKundenId()), "ungesignierte Kunden-ID");
+        assertNull(store.ausCookie(profil.getKundenId() + ".00"), "falsche Signatur");
+        assertNull(store.ausCookie(null));
+        store.beenden();
+
+        // Der Schlüssel bleibt über einen Neustart erhalten
+        KundenStore neu = new KundenStore(verzeichnis, 100);
+        assertEquals(profil.getKundenId(), neu.ausCookie(cookie).getKundenId());
+        neu.beenden();
+    }
+
+}
@@ -0,0 +1,133 @@
+package ibb.pizzaservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Speisekarte;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Reservierungen im {@link Lager}: ganz oder gar nicht, und unter gleichzeitigen Bestellungen derselben
+ * Speise nie mehr als der Bestand.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class LagerTest {
+
+    private Speisekarte karte;
+    private Lager lager;
+
+    @BeforeEach
+    void lagerAufbauen() {
+        Properties properties = new Properties();
+        properties.setProperty("zutaten", "teig,mozzarella,salami");
+        properties.setProperty("bestand.teig", "1000");
+        properties.setProperty("bestand.mozzarella", "300");
+        properties.setProperty("bestand.salami", "1000");
+        properties.setProperty("rezept.Pi02", "teig:1,mozzarella:1");
+        properties.setProperty("rezept.Pi03", "teig:1,mozzarella:1,salami:2");
+        karte = new Speisekarte();
+        lager = new Lager(properties, "mitte", karte);
+    }
+
+    private Bestellung bestellung(String speiseId, int menge) {
+        Bestellung bestellung = new Bestellung();
+        bestellung.addPosition(new Bestellposition(karte.getSpeise(speiseId), menge));
+        return bestellung;
+    }
+
+    @Test
+    void ganzOderGarNicht() {
+        Bestellung zuViel = bestellung("Pi03", 2);
+        zuViel.addPosition(new Bestellposition(karte.getSpeise("Pi02"), 299));
+
+        assertFalse(lager.reservieren(zuViel));
+        assertEquals(1000, lager.getBestand("teig"), "Teig muss zurückgebucht sein");
+        assertEquals(1000, lager.getBestand("salami"), "Salami muss zurückgebucht sein");
+        assertEquals(300, lager.getBestand("mozzarella"));
+        assertEquals(1, lager.getAbgelehnt());
+    }
+
+    @Test
+    void ohneRezeptUnbegrenzt() {
+        assertTrue(lager.reservieren(bestellung("Pi01", 10_000)));
+        assertEquals(1000, lager.getBestand("teig"));
+    }
+
+    @Test
+    void ausverkauftUndFreigeben() {
+        Bestellung alles = bestellung("Pi02", 300);
+        assertTrue(lager.reservieren(alles));
+        assertTrue(karte.getAusverkauft().contains("Pi02"));
+        assertTrue(karte.getAusverkauft().contains("Pi03"));
+        assertFalse(karte.getAusverkauft().contains("Pi01"));
+
+        lager.freigeben(alles);
+        assertTrue(karte.getAusverkauft().isEmpty());
+        assertEquals(300, lager.getBestand("mozzarella"));
+    }
+
+    @Test
+    void mengenaenderungAlterBestellungGibtNichtsFrei() {
+        Bestellung heute = bestellung("Pi02", 5);
+        assertTrue(lager.reservieren(heute));
+        lager.freigeben(heute, "Pi02", 2);
+        assertEquals(297, lager.getBestand("mozzarella"));
+
+        // Vor dem Einrichten des Lagers aufgegeben: nie aus diesem Bestand reserviert
+        Bestellung gestern = bestellung("Pi02", 5);
+        gestern.setZeitpunkt(System.currentTimeMillis() - 24 * 60 * 60 * 1000L);
+        lager.freigeben(gestern, "Pi02", 5);
+        assertEquals(297, lager.getBestand("mozzarella"));
+    }
+
+    @Test
+    void gleichzeitigeBestellungenDerselbenSpeise() throws Exception {
+        int threads = 200;
+        int jeThread = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> ergebnisse = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            ergebnisse.add(pool.submit(() -> {
+                start.await();
+                int erfolgreich = 0;
+                for (int i = 0; i < jeThread; i++) {
+                    if (lager.reservieren(bestellung("Pi03", 1))) {
+                        erfolgreich++;
+                    }
+                }
+                return erfolgreich;
+            }));
+        }
+        start.countDown();
+        int erfolgreich = 0;
+        for (Future<Integer> ergebnis : ergebnisse) {
+            erfolgreich += ergebnis.get();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(300, erfolgreich, "Genau so viele Pizzen wie Mozzarella vorhanden");
+        assertEquals(0, lager.getBestand("mozzarella"));
+        assertEquals(700, lager.getBestand("teig"));
+        assertEquals(400, lager.getBestand("salami"));
+        assertEquals(threads * jeThread - 300, lager.getAbgelehnt());
+        assertTrue(karte.getAusverkauft().contains("Pi03"));
+    }
+
+}
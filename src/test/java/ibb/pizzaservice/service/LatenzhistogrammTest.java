@@ -0,0 +1,56 @@
+package ibb.pizzaservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Quantile, Maximum und Zusammenfassen von Latenzhistogrammen.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class LatenzhistogrammTest {
+
+    @Test
+    void quantileMitBegrenztemFehler() {
+        Latenzhistogramm histogramm = new Latenzhistogramm();
+        for (long wert = 1; wert <= 10_000; wert++) {
+            histogramm.erfassen(wert * 1000);
+        }
+        assertEquals(10_000, histogramm.getAnzahl());
+        assertEquals(10_000_000, histogramm.getMaximum());
+        assertEquals(5_000_500, histogramm.getMittelwert());
+        long p50 = histogramm.quantil(0.5);
+        long p99 = histogramm.quantil(0.99);
+        assertTrue(p50 >= 5_000_000 && p50 <= 5_000_000 * 1.125, "p50=" + p50);
+        assertTrue(p99 >= 9_900_000 && p99 <= 10_000_000, "p99=" + p99);
+        assertEquals(10_000_000, histogramm.quantil(1.0));
+    }
+
+    @Test
+    void kleineUndNegativeWerte() {
+        Latenzhistogramm histogramm = new Latenzhistogramm();
+        assertEquals(0, histogramm.quantil(0.5));
+        histogramm.erfassen(-5);
+        histogramm.erfassen(3);
+        assertEquals(0, histogramm.quantil(0.5));
+        assertEquals(3, histogramm.quantil(1.0));
+    }
+
+    @Test
+    void hinzufuegen() {
+        Latenzhistogramm a = new Latenzhistogramm();
+        Latenzhistogramm b = new Latenzhistogramm();
+        a.erfassen(100);
+        b.erfassen(1_000_000);
+        b.erfassen(2_000_000);
+        a.hinzufuegen(b);
+        assertEquals(3, a.getAnzahl());
+        assertEquals(2_000_000, a.getMaximum());
+        assertTrue(a.quantil(0.5) >= 1_000_000);
+    }
+
+}
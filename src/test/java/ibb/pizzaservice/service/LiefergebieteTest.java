@@ -0,0 +1,100 @@
+package ibb.pizzaservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ibb.pizzaservice.Allokationsmessung;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Binäre Suche über die PLZ-Bereiche, Prüfung der Datei, Neuladen und allokationsfreie Abfrage.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class LiefergebieteTest {
+
+    @TempDir
+    Path verzeichnis;
+
+    private Liefergebiete laden(String inhalt) throws Exception {
+        Path datei = verzeichnis.resolve(Liefergebiete.DATEI);
+        Files.write(datei, inhalt.getBytes(StandardCharsets.UTF_8));
+        return new Liefergebiete(datei);
+    }
+
+    @Test
+    void grenzenUndLuecken() throws Exception {
+        // absichtlich unsortiert
+        Liefergebiete gebiete = laden("# Test\n20000;20999;B;2,50\n10000;10099;A;0\n\n10100;10100;Einzeln;1.00\n");
+        assertEquals(3, gebiete.getBereiche());
+        assertEquals(0, new BigDecimal("0").compareTo(gebiete.gebuehr("10000")));
+        assertEquals(new BigDecimal("0"), gebiete.gebuehr("10099"));
+        assertEquals(new BigDecimal("1.00"), gebiete.gebuehr(" 10100 "));
+        assertEquals("B", gebiete.zone("20999"));
+        assertNull(gebiete.gebuehr("09999"));
+        assertNull(gebiete.gebuehr("10101"));
+        assertNull(gebiete.gebuehr("21000"));
+        assertFalse(gebiete.beliefert("1010"));
+        assertFalse(gebiete.beliefert("10a00"));
+        assertFalse(gebiete.beliefert(null));
+        assertTrue(gebiete.beliefert("20500"));
+    }
+
+    @Test
+    void ueberschneidungWirdAbgelehnt() {
+        assertThrows(IllegalArgumentException.class, () -> laden("10000;10500;A;0\n10400;10999;B;1\n"));
+        assertThrows(IllegalArgumentException.class, () -> laden("10000;10500;A\n"));
+        assertThrows(IllegalArgumentException.class, () -> laden("10500;10000;A;0\n"));
+    }
+
+    @Test
+    void klassenpfadOhneDatei() {
+        Liefergebiete gebiete = new Liefergebiete(null);
+        assertEquals(BigDecimal.ZERO.setScale(2), gebiete.gebuehr("10115"));
+        assertNull(gebiete.gebuehr("99999"));
+    }
+
+    @Test
+    void neuLadenNachAenderung() throws Exception {
+        Liefergebiete gebiete = laden("10000;10999;A;1,00\n");
+        Path datei = verzeichnis.resolve(Liefergebiete.DATEI);
+        Files.write(datei, "10000;10999;A;1,00\n11000;11999;B;2,00\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(datei, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+
+        gebiete.pruefen();   // Prüfintervall noch nicht abgelaufen
+        assertNull(gebiete.gebuehr("11500"));
+
+        java.lang.reflect.Field naechste = Liefergebiete.class.getDeclaredField("naechstePruefung");
+        naechste.setAccessible(true);
+        naechste.setLong(gebiete, 0);
+        gebiete.pruefen();
+        assertEquals(new BigDecimal("2.00"), gebiete.gebuehr("11500"));
+
+        // Fehlerhafte Datei: bisherige Tabelle bleibt aktiv
+        Files.write(datei, "kaputt\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(datei, FileTime.fromMillis(System.currentTimeMillis() + 120_000));
+        naechste.setLong(gebiete, 0);
+        gebiete.pruefen();
+        assertEquals(2, gebiete.getBereiche());
+    }
+
+    @Test
+    void abfrageOhneAllokation() throws Exception {
+        Liefergebiete gebiete = new Liefergebiete(null);
+        String[] plz = {"10115", "12043", "13347", "99999", "1234"};
+        int[] i = {0};
+        Allokationsmessung.pruefen("Liefergebiete.gebuehr()", 0, () -> gebiete.gebuehr(plz[i[0]++ % plz.length]));
+    }
+
+}
@@ -0,0 +1,87 @@
+package ibb.pizzaservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ibb.pizzaservice.TestDaten;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.model.Station;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Lernen der Zubereitungs- und Lieferzeiten und Schätzung mit Warteschlange.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class LieferzeitSchaetzerTest {
+
+    private static final long MINUTE = 60_000;
+
+    private final Speisekarte karte = new Speisekarte();
+    private final LieferzeitSchaetzer schaetzer = new LieferzeitSchaetzer();
+
+    private Bestellung bestellung(long id, String plz, String speiseId, int menge) {
+        Bestellung bestellung = TestDaten.bestellung(karte, speiseId, menge);
+        bestellung.setBestellId(id);
+        bestellung.setKunde(TestDaten.kunde(plz));
+        return bestellung;
+    }
+
+    /** Verteilt eine Bestellung, lässt einen Koch sie übernehmen und liefert die Aufgabe */
+    private Kuechenstationen.Aufgabe zubereiten(Bestellung bestellung) {
+        Kuechenstationen stationen = new Kuechenstationen();
+        stationen.verteilen(bestellung);
+        return stationen.naechsteAufgabe(Station.PIZZA);
+    }
+
+    @Test
+    void lerntZubereitungJeStueckUndLieferzeitJePlz() {
+        for (int i = 1; i <= 50; i++) {
+            schaetzer.zubereitet(zubereiten(bestellung(i, "10115", "Pi03", 2)), 10 * MINUTE);
+            schaetzer.geliefert("10115", 15 * MINUTE);
+        }
+        schaetzer.geliefert("12043", 30 * MINUTE);
+
+        Kuechenstationen leer = new Kuechenstationen();
+        // 3 Stück à 5 Minuten + 15 Minuten Lieferung
+        assertEquals(30 * MINUTE, schaetzer.schaetzen(bestellung(100, "10115", "Pi03", 3), leer), 1000);
+        // andere PLZ: eigener Mittelwert
+        assertEquals(45 * MINUTE, schaetzer.schaetzen(bestellung(101, "12043", "Pi03", 3), leer), 1000);
+        assertEquals(10 * MINUTE, schaetzer.getAufgabendauer(Station.PIZZA), 1000);
+    }
+
+    @Test
+    void warteschlangeVerlaengertDieSchaetzung() {
+        Kuechenstationen stationen = new Kuechenstationen();
+        Bestellung neu = bestellung(100, "10115", "Pi03", 1);
+        long ohneWarten = schaetzer.schaetzen(neu, stationen);
+        for (int i = 1; i <= 5; i++) {
+            stationen.verteilen(bestellung(i, "10115", "Pi01", 1));
+        }
+        long mitWarten = schaetzer.schaetzen(neu, stationen);
+        assertEquals(5 * schaetzer.getAufgabendauer(Station.PIZZA), mitWarten - ohneWarten, 1);
+    }
+
+    @Test
+    void paralleleMesswerteGehenNichtVerloren() throws InterruptedException {
+        Thread[] threads = new Thread[8];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    schaetzer.geliefert("10115", 20 * MINUTE);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        // Alle Messwerte gleich: der Mittelwert muss genau dieser Wert sein
+        assertEquals(20 * MINUTE, schaetzer.getLieferdauer());
+        assertTrue(schaetzer.schaetzen(bestellung(1, "10115", "Ge01", 1), new Kuechenstationen()) > 20 * MINUTE);
+    }
+
+}
@@ -0,0 +1,119 @@
+package ibb.pizzaservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ibb.pizzaservice.TestDaten;
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellstatus;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Speisekarte;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Rechnungen werden im Hintergrund archiviert und lassen sich einzeln über die Bestellnummer lesen.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class RechnungsArchivTest {
+
+    @TempDir
+    Path verzeichnis;
+
+    @Test
+    void archivierenUndEinzelnLesen() throws Exception {
+        Speisekarte karte = new Speisekarte();
+        RechnungsArchiv archiv = new RechnungsArchiv(verzeichnis, 2, 16);   // kleine Warteschlange: auch synchron
+
+        List<Bestellung> bestellungen = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Bestellung bestellung = TestDaten.bestellung(karte, "Pi03", 1 + i % 3);
+            bestellung.setFilialeId("mitte");
+            bestellung.getKunde().setNachname("Schmidt " + i);
+            bestellungen.add(bestellung);
+            archiv.einreihen(bestellung);
+        }
+        archiv.beenden();
+
+        assertEquals(0, archiv.getRueckstand());
+        assertEquals(500, archiv.getArchiviert());
+        assertEquals(0, archiv.getFehler());
+
+        Bestellung mitte = bestellungen.get(250);
+        String rechnung = archiv.lesen(mitte.getBestellId());
+        assertTrue(rechnung.contains("Bestellnummer: " + mitte.getBestellId()), rechnung);
+        assertTrue(rechnung.contains("Schmidt 250"), rechnung);
+        assertTrue(rechnung.contains("Pizza Salami"), rechnung);
+        assertNull(archiv.lesen(TestDaten.bestellung(karte, "Pi03", 1).getBestellId()), "Nicht archivierte Bestellung");
+
+        // Die Tagesdatei ist eine gültige GZIP-Datei mit allen Rechnungen
+        Path tagesdatei;
+        try (Stream<Path> dateien = Files.list(verzeichnis)) {
+            tagesdatei = dateien.filter(p -> p.toString().endsWith(".gz")).findFirst().orElseThrow();
+        }
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(tagesdatei))) {
+            String alle = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertEquals(500, alle.split("RECHNUNG", -1).length - 1);
+        }
+    }
+
+    @Test
+    void fehlgeschlagenerStapelWirdNachgeholt() throws Exception {
+        Path blockiert = Files.createFile(verzeichnis.resolve("rechnungen"));   // Datei statt Verzeichnis
+        RechnungsArchiv archiv = new RechnungsArchiv(blockiert, 1, 16);
+        Bestellung bestellung = TestDaten.bestellung(new Speisekarte(), "Pi03", 2);
+        archiv.einreihen(bestellung);
+
+        long ende = System.currentTimeMillis() + 10_000;
+        while (archiv.getFehler() == 0 && System.currentTimeMillis() < ende) {
+            Thread.sleep(10);
+        }
+        assertTrue(archiv.getFehler() > 0);
+        assertEquals(1, archiv.getRueckstand(), "Rechnung bleibt ausstehend");
+
+        Files.delete(blockiert);
+        while (archiv.getArchiviert() == 0 && System.currentTimeMillis() < ende) {
+            Thread.sleep(10);
+        }
+        archiv.beenden();
+        assertEquals(1, archiv.getArchiviert());
+        assertEquals(0, archiv.getVerworfen());
+        assertTrue(archiv.lesen(bestellung.getBestellId()).contains("Bestellnummer: " + bestellung.getBestellId()));
+    }
+
+    @Test
+    void korrekturenErsetzenDieRechnung() throws Exception {
+        Speisekarte karte = new Speisekarte();
+        RechnungsArchiv archiv = new RechnungsArchiv(verzeichnis, 1, 16);
+        Bestellung bestellung = TestDaten.bestellung(karte, "Pi03", 2);
+        archiv.einreihen(bestellung.momentaufnahme());
+
+        Bestellung geaendert = bestellung.momentaufnahme();
+        geaendert.setPositionen(List.of(new Bestellposition(karte.getSpeise("Pi03"), 1)));
+        archiv.korrigieren(geaendert);
+        archiv.beenden();
+        String rechnung = archiv.lesen(bestellung.getBestellId());
+        assertTrue(rechnung.startsWith("RECHNUNGSKORREKTUR"), rechnung);
+        assertTrue(rechnung.contains("  1 x Pizza Salami"), rechnung);
+
+        RechnungsArchiv weiter = new RechnungsArchiv(verzeichnis, 1, 16);
+        Bestellung storniert = geaendert.momentaufnahme();
+        storniert.setStatus(Bestellstatus.STORNIERT);
+        weiter.korrigieren(storniert);
+        weiter.beenden();
+        assertTrue(weiter.lesen(bestellung.getBestellId()).startsWith("STORNORECHNUNG"));
+    }
+
+}
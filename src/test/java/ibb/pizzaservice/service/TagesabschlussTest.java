@@ -0,0 +1,171 @@
+package ibb.pizzaservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ibb.pizzaservice.TestDaten;
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.model.Zahlungsart;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Der Tagesabschluss zählt alle Zeilen der Journale eines Tages – auch ältere Zeilen ohne
+ * Liefergebühr und Zahlungsart und Textfelder mit Trennzeichen und Zeilenumbrüchen – und verrechnet
+ * die Gegenbuchungen stornierter und geänderter Bestellungen.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class TagesabschlussTest {
+
+    private static final LocalDate TAG = LocalDate.of(2026, 10, 19);
+
+    @TempDir
+    Path verzeichnis;
+
+    @Test
+    void summenUeberAlleSegmente() throws Exception {
+        Speisekarte karte = new Speisekarte();
+        long mittag = TAG.atTime(12, 30).atZone(Preisplan.ZONE).toInstant().toEpochMilli();
+
+        long gesamt = 0;
+        long pi03 = 0;
+        long karteBestellungen = 0;
+        List<BestellJournal.Segment> segmente = new ArrayList<>();
+        for (String filiale : new String[] { "mitte", "nord" }) {
+            try (BestellJournal journal = new BestellJournal(verzeichnis, filiale)) {
+                for (int i = 0; i < 3000; i++) {
+                    Bestellung bestellung = TestDaten.bestellung(karte, "Pi03", 1 + i % 3);
+                    bestellung.setZeitpunkt(mittag + (i % 3) * 3_600_000L);
+                    bestellung.setFilialeId(filiale);
+                    bestellung.setKunde(TestDaten.kunde((i % 2 == 0) ? "10115" : "10245"));
+                    if (i % 10 == 0) {
+                        // Nachname mit Trennzeichen und Zeilenumbruch wird in Anführungszeichen geschrieben
+                        bestellung.getKunde().setNachname("Schmidt;\n\"Jr\"");
+                    }
+                    bestellung.setLiefergebuehr(new BigDecimal("1.50"));
+                    bestellung.setZahlungsart((i % 4 == 0) ? Zahlungsart.KARTE : Zahlungsart.BAR);
+                    journal.anhaengen(bestellung);
+                    gesamt += cent(bestellung.getGesamtpreis());
+                    pi03 += 1 + i % 3;
+                    if (i % 4 == 0) {
+                        karteBestellungen++;
+                    }
+                }
+                journal.flush();
+                segmente.addAll(journal.segmente(TAG));
+            }
+        }
+
+        // Zeilen aus der Zeit vor Liefergebühr und Zahlungsart (14 Spalten)
+        Path alt = verzeichnis.resolve(TAG.toString()).resolve("alt-0001.csv");
+        Files.write(alt, ("1;2026-10-19T20:15:07;alt;Herr;Max;Muster;Weg;1;80331;München;2xPi03@7,95;15,90;1,00;14,90\r\n"
+                + "2;2026-10-19T20:40;alt;Herr;Max;Muster;Weg;1;80331;München;1xXX99@3,00;3,00;0,00;3,00\r\n")
+                .getBytes(StandardCharsets.UTF_8));
+        segmente.addAll(new BestellJournal(verzeichnis, "alt").segmente(TAG));
+
+        Tagesabschluss tagesabschluss = new Tagesabschluss(verzeichnis.resolve("tagesabschluss"), karte, 4);
+        Tagesabschluss.Summen summen = tagesabschluss.berechnen(segmente);
+
+        assertEquals(0, summen.getFehlerhaft());
+        assertEquals(6002, summen.getBestellungen());
+        assertEquals(gesamt + 1490 + 300, summen.getGesamt());
+        assertEquals(6000 * 150, summen.getLiefergebuehr());
+        assertEquals(100, summen.getRabatt());
+
+        int index = karte.getSpeisen().indexOf(karte.getSpeise("Pi03"));
+        assertEquals(pi03 + 2, summen.getMenge(index));
+        assertEquals((pi03 + 2) * cent(karte.getSpeise("Pi03").getPreis()), summen.getUmsatzSpeise(index));
+        assertEquals(1, summen.getMenge(karte.getSpeisen().size()), "Speise nicht mehr auf der Karte");
+
+        assertEquals(2000, summen.getBestellungenStunde(12));
+        assertEquals(2000, summen.getBestellungenStunde(14));
+        assertEquals(2, summen.getBestellungenStunde(20));
+
+        assertEquals(karteBestellungen, summen.getBestellungen(Zahlungsart.KARTE));
+        assertEquals(6000 - karteBestellungen, summen.getBestellungen(Zahlungsart.BAR));
+        assertEquals(2, summen.getBestellungen((Zahlungsart) null));
+
+        assertEquals(3, summen.getPlzAnzahl());
+        assertEquals(1790, summen.getUmsatzPlz(80331));
+        assertEquals(summen.getGesamt() - 1790, summen.getUmsatzPlz(10115) + summen.getUmsatzPlz(10245));
+
+        String bericht = tagesabschluss.bericht(TAG, summen, 3, segmente.size(), 0);
+        assertTrue(bericht.contains("ohne Angabe"), bericht);
+        assertTrue(bericht.contains("80331"), bericht);
+    }
+
+    @Test
+    void gegenbuchungenWerdenVerrechnet() throws Exception {
+        Speisekarte karte = new Speisekarte();
+        long mittag = TAG.atTime(12, 30).atZone(Preisplan.ZONE).toInstant().toEpochMilli();
+
+        List<Bestellung> bestellungen = new ArrayList<>();
+        Bestellung korrigiert;
+        List<BestellJournal.Segment> segmente;
+        try (BestellJournal journal = new BestellJournal(verzeichnis, "mitte")) {
+            for (int i = 0; i < 3; i++) {
+                Bestellung bestellung = TestDaten.bestellung(karte, "Pi03", 1 + i);
+                bestellung.setZeitpunkt(mittag);
+                bestellung.setFilialeId("mitte");
+                bestellung.setKunde(TestDaten.kunde((i == 1) ? "10245" : "10115"));
+                journal.anhaengen(bestellung);
+                bestellungen.add(bestellung);
+            }
+            journal.stornieren(bestellungen.get(1));
+            korrigiert = bestellungen.get(2).momentaufnahme();
+            korrigiert.setPositionen(List.of(new Bestellposition(karte.getSpeise("Pi03"), 5)));
+            journal.korrigieren(bestellungen.get(2), korrigiert);
+            journal.flush();
+            segmente = journal.segmente(TAG);
+        }
+
+        Tagesabschluss tagesabschluss = new Tagesabschluss(verzeichnis.resolve("tagesabschluss"), karte, 2);
+        Tagesabschluss.Summen summen = tagesabschluss.berechnen(segmente);
+        assertEquals(0, summen.getFehlerhaft());
+        assertEquals(2, summen.getBestellungen());
+        assertEquals(1, summen.getStorniert());
+        assertEquals(1, summen.getKorrigiert());
+        long gesamt = cent(bestellungen.get(0).getGesamtpreis()) + cent(korrigiert.getGesamtpreis());
+        assertEquals(gesamt, summen.getGesamt());
+        assertEquals(gesamt, summen.getUmsatzStunde(12));
+        assertEquals(2, summen.getBestellungenStunde(12));
+        assertEquals(0, summen.getUmsatzPlz(10245));
+        assertEquals(6, summen.getMenge(karte.getSpeisen().indexOf(karte.getSpeise("Pi03"))));
+        assertFalse(tagesabschluss.bericht(TAG, summen, 1, segmente.size(), 0).contains("10245"));
+
+        // Das Journal wird nur angehängt; der Export kopiert es unverändert
+        String text = Files.readString(segmente.get(0).getDatei(), StandardCharsets.UTF_8);
+        String[] zeilen = text.split("\r\n");
+        assertEquals(6, zeilen.length, text);
+        assertTrue(zeilen[3].startsWith(bestellungen.get(1).getBestellId() + ";"), zeilen[3]);
+        assertTrue(zeilen[3].contains(";-2xPi03@") && zeilen[3].endsWith(";" + BestellJournal.STORNIERT), zeilen[3]);
+        assertTrue(zeilen[4].contains(";-3xPi03@") && zeilen[4].endsWith(";" + BestellJournal.ERSETZT), zeilen[4]);
+        assertTrue(zeilen[5].contains(";5xPi03@") && zeilen[5].endsWith(";" + BestellJournal.KORRIGIERT), zeilen[5]);
+    }
+
+    @Test
+    void leererTag() throws Exception {
+        Tagesabschluss tagesabschluss = new Tagesabschluss(verzeichnis, new Speisekarte(), 2);
+        Tagesabschluss.Summen summen = tagesabschluss.berechnen(List.of());
+        assertEquals(0, summen.getBestellungen());
+        assertEquals(0, summen.getPlzAnzahl());
+    }
+
+    private static long cent(BigDecimal betrag) {
+        return betrag.movePointRight(2).longValueExact();
+    }
+
+}
@@ -0,0 +1,113 @@
+package ibb.pizzaservice.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Zeitfenster werden bei gleichzeitigen Buchungen nie überbucht; volle und zu nahe Fenster sind nicht
+ * buchbar.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+class ZeitfensterTest {
+
+    private static Zeitfenster zeitfenster() {
+        Properties properties = new Properties();
+        properties.setProperty("beginn", "17:00");
+        properties.setProperty("ende", "22:00");
+        properties.setProperty("laenge", "15");
+        properties.setProperty("vorlauf", "30");
+        properties.setProperty("kapazitaet", "12");
+        properties.setProperty("filiale.mitte.kapazitaet", "20");
+        return new Zeitfenster(properties, "mitte");
+    }
+
+    private static long heute(int stunde, int minute) {
+        return LocalDate.now(Preisplan.ZONE).atTime(LocalTime.of(stunde, minute)).atZone(Preisplan.ZONE)
+                .toInstant().toEpochMilli();
+    }
+
+    @Test
+    void gleichzeitigeBuchungenUeberbuchenNie() throws Exception {
+        Zeitfenster zeitfenster = zeitfenster();
+        long jetzt = heute(8, 0);
+        long neunzehn = heute(19, 0);
+        AtomicInteger gebucht = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 200; i++) {
+            int pizzen = 1 + i % 3;
+            threads.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (zeitfenster.reservieren(neunzehn, pizzen, jetzt)) {
+                    gebucht.addAndGet(pizzen);
+                }
+            });
+        }
+        start.countDown();
+        threads.shutdown();
+        assertTrue(threads.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(20, zeitfenster.getKapazitaet());
+        assertTrue(gebucht.get() <= 20, "überbucht: " + gebucht.get());
+        assertEquals(gebucht.get(), zeitfenster.getBelegt());
+        assertFalse(zeitfenster.reservieren(neunzehn, 20, jetzt));
+    }
+
+    @Test
+    void volleUndZuNaheFensterSindNichtBuchbar() {
+        Zeitfenster zeitfenster = zeitfenster();
+        long jetzt = heute(17, 10);
+        assertEquals(20, zeitfenster.getAnzahl());
+
+        assertFalse(zeitfenster.reservieren(heute(17, 30), 1, jetzt), "Vorlauf unterschritten");
+        assertFalse(zeitfenster.reservieren(heute(18, 5), 1, jetzt), "kein Beginn eines Fensters");
+        assertFalse(zeitfenster.reservieren(heute(22, 0), 1, jetzt), "nach dem letzten Fenster");
+        assertTrue(zeitfenster.reservieren(heute(17, 45), 20, jetzt));
+
+        List<Zeitfenster.Fenster> buchbar = zeitfenster.getBuchbar(jetzt, 1);
+        assertEquals("18:00", buchbar.get(0).getUhrzeit(), "17:45 ist voll");
+        assertEquals(16, buchbar.size());   // 18:00 bis 21:45
+        assertEquals(20, buchbar.get(0).getFrei());
+
+        zeitfenster.freigeben(heute(17, 45), 5);
+        assertEquals("17:45", zeitfenster.getBuchbar(jetzt, 5).get(0).getUhrzeit());
+        assertEquals("18:00", zeitfenster.getBuchbar(jetzt, 6).get(0).getUhrzeit());
+        assertFalse(zeitfenster.nachbuchen(heute(17, 45), 6));
+        assertTrue(zeitfenster.nachbuchen(heute(17, 45), 5));
+    }
+
+    @Test
+    void grosseMengenLaufenNichtUeber() {
+        Zeitfenster zeitfenster = zeitfenster();
+        long jetzt = heute(17, 10);
+        assertTrue(zeitfenster.reservieren(heute(18, 0), 15, jetzt));
+        assertFalse(zeitfenster.reservieren(heute(18, 0), Integer.MAX_VALUE, jetzt));
+        assertFalse(zeitfenster.nachbuchen(heute(18, 0), Integer.MAX_VALUE - 10));
+        assertEquals(5, zeitfenster.getBuchbar(jetzt, 5).get(1).getFrei());
+
+        assertTrue(zeitfenster.reservieren(heute(18, 0), 0, jetzt), "ohne Pizzen wird nur das Fenster geprüft");
+        assertThrows(IllegalArgumentException.class, () -> zeitfenster.reservieren(heute(18, 0), -1, jetzt));
+        assertThrows(IllegalArgumentException.class, () -> zeitfenster.nachbuchen(heute(18, 0), 0));
+    }
+
+}
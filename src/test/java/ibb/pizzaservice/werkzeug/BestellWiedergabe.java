@@ -0,0 +1,566 @@
+package ibb.pizzaservice.werkzeug;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Kunde;
+import ibb.pizzaservice.model.Speise;
+import ibb.pizzaservice.model.Station;
+import ibb.pizzaservice.service.Aktionen;
+import ibb.pizzaservice.service.BestellAnnahme;
+import ibb.pizzaservice.service.BestellIdGenerator;
+import ibb.pizzaservice.service.BestellJournal;
+import ibb.pizzaservice.service.Filiale;
+import ibb.pizzaservice.service.Filialen;
+import ibb.pizzaservice.service.Kuechenstationen;
+import ibb.pizzaservice.service.Latenzhistogramm;
+import ibb.pizzaservice.service.LieferzeitSchaetzer;
+import ibb.pizzaservice.service.Preisplan;
+import ibb.pizzaservice.service.RechnungsArchiv;
+import ibb.pizzaservice.service.Stufenzeiten;
+import ibb.pizzaservice.service.Stufenzeiten.Stufe;
+import ibb.pizzaservice.service.Zeitfenster;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Spielt einen aufgezeichneten Tag aus dem {@link BestellJournal} gegen den Bestellpfad ab
+ * (Kommandozeilenwerkzeug für Kapazitätstests ohne Server).
+ *
+ * Jede Zeile des Journals wird zu ihrem ursprünglichen Zeitpunkt – geteilt durch das Tempo – als
+ * Bestellung mit denselben Kundendaten und Positionen über die {@link BestellAnnahme} angenommen.
+ * Die Abstände zwischen den Bestellungen bleiben dabei erhalten (Millisekunden aus der Bestell-ID,
+ * sonst Sekunden aus der Spalte {@code zeitpunkt}); bei Tempo {@code max} werden sie ignoriert.
+ * Mehrere Anfrage-Threads nehmen die Bestellungen wie im Servlet-Container parallel an. Vorbestellungen
+ * (Spalte {@code wunschzeit}) buchen ihr Zeitfenster ({@code zeitfenster.properties} aus dem
+ * Klassenpfad) wie am aufgezeichneten Tag; da ihre Wunschzeit
+ * in der Vergangenheit liegt, gibt die Filiale sie sofort an die Küche frei. Das Journal wird als CSV
+ * gelesen: Felder in Anführungszeichen dürfen Trennzeichen und Zeilenumbrüche enthalten.
+ *
+ * Die Küche wird mit simulierten Köchen abgebildet: Je Filiale und {@link Station} holen mehrere
+ * Koch-Threads ihre Aufgaben über {@link Filiale#aufgabeHolen(Station)} (einschließlich Übernahme von
+ * anderen Stationen), warten die Zubereitungszeit ab und melden die Aufgabe als erledigt. Die
+ * Zubereitungszeit je Stück ist der Erfahrungswert des {@link LieferzeitSchaetzer}s – die gelernten
+ * Werte stammen sonst aus genau dieser Simulation – und wird wie die Abstände der Bestellungen durch
+ * das Tempo geteilt. Mit 0 Köchen bleibt die Küche außen vor; die Aufgaben stauen sich dann nur an.
+ *
+ * Filialen, Ereignisprotokolle, Journale und Rechnungsarchiv werden in einem temporären Verzeichnis
+ * angelegt; das Datenverzeichnis des Servers bleibt unberührt. Am Ende werden Durchsatz, die Tiefe der
+ * Warteschlangen (alle 100 ms gemessen), die Laufzeiten der einzelnen {@link Stufenzeiten Stufen} und
+ * die Warte- und Durchlaufzeiten der Küchenaufgaben je Station ausgegeben. Auf Filialen, Archiv und
+ * Küche wird nach der letzten Bestellung höchstens {@value #WARTEN_MAX_MS} ms gewartet; danach wird der
+ * Bericht mit einem Hinweis auf den Rückstand ausgegeben.
+ *
+ * Das Werkzeug liegt bei den Testquellen und wird nicht mit der Anwendung ausgeliefert. Aufruf nach
+ * {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/classes:target/test-classes ibb.pizzaservice.werkzeug.BestellWiedergabe &lt;journal-datei|verzeichnis&gt; [tempo: 1|10|max] [threads] [lager: ja|nein] [köche je station]
+ * </pre>
+ * Standard: Tempo 10, 8 Anfrage-Threads, mit Zutatenbestand aus {@code lager.properties}, 2 Köche je
+ * Station und Filiale.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public final class BestellWiedergabe {
+
+    private static final long MESSINTERVALL_MS = 100;
+    private static final long LEERLAUF_NS = 1_000_000;   /** Pause eines Kochs ohne Aufgabe */
+
+    /** Höchste Wartezeit auf Filialen, Archiv und Küche nach der letzten Bestellung */
+    private static final long WARTEN_MAX_MS = 5 * 60 * 1000;
+
+    /**
+     * Eine Zeile des Journals.
+     */
+    private static final class Aufzeichnung {
+
+        private final long zeitpunkt;        /** Epoch-Millis */
+        private final Kunde kunde;
+        private final String positionen;     /** z. B. 2xPi03@7,95|1xPi06@9,80 */
+        private final String wunschzeit;     /** Uhrzeit des Zeitfensters, leer: so schnell wie möglich */
+
+        Aufzeichnung(long zeitpunkt, Kunde kunde, String positionen, String wunschzeit) {
+            this.zeitpunkt = zeitpunkt;
+            this.kunde = kunde;
+            this.positionen = positionen;
+            this.wunschzeit = wunschzeit;
+        }
+    }
+
+    /**
+     * Maximum und Mittelwert einer regelmäßig gemessenen Warteschlangentiefe.
+     */
+    private static final class Tiefe {
+
+        private long maximum;
+        private long summe;
+        private long messungen;
+
+        void erfassen(long wert) {
+            maximum = Math.max(maximum, wert);
+            summe += wert;
+            messungen++;
+        }
+
+        double getMittelwert() {
+            return (messungen == 0) ? 0 : (double) summe / messungen;
+        }
+    }
+
+    private BestellWiedergabe() { }
+
+    /**
+     * Startet die Wiedergabe.
+     *
+     * @param args Journal-Datei oder -Verzeichnis, [Tempo], [Anfrage-Threads], [Lager ja|nein], [Köche je Station]
+     * @throws IOException          wenn das Journal nicht gelesen werden kann
+     * @throws InterruptedException bei Unterbrechung
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (args.length == 0) {
+            System.err.println("Aufruf: BestellWiedergabe <journal-datei|verzeichnis> [tempo: 1|10|max] [threads] [lager: ja|nein] [köche je station]");
+            System.exit(2);
+        }
+        Path quelle = Path.of(args[0]);
+        String tempoText = (args.length > 1) ? args[1] : "10";
+        double tempo = "max".equalsIgnoreCase(tempoText) ? 0 : Double.parseDouble(tempoText);
+        int threads = (args.length > 2) ? Integer.parseInt(args[2]) : 8;
+        boolean mitLager = (args.length <= 3) || "ja".equalsIgnoreCase(args[3]);
+        int koeche = (args.length > 4) ? Integer.parseInt(args[4]) : 2;
+        if (tempo < 0 || threads < 1 || koeche < 0) {
+            throw new IllegalArgumentException("Tempo und Anzahl Threads bzw. Köche müssen positiv sein.");
+        }
+
+        List<Aufzeichnung> aufzeichnungen = lesen(quelle);
+        if (aufzeichnungen.isEmpty()) {
+            System.err.println("Keine Bestellungen gefunden: " + quelle);
+            System.exit(1);
+        }
+
+        // ------------------------------------------------------------
+        // Bestellpfad in einem temporären Verzeichnis aufbauen
+        // ------------------------------------------------------------
+        Path verzeichnis = Files.createTempDirectory("wiedergabe-");
+        Filialen filialen = Filialen.laden("", verzeichnis.resolve("ereignisse"));
+        filialen.journaleOeffnen(verzeichnis.resolve("journal"));
+        RechnungsArchiv archiv = new RechnungsArchiv(verzeichnis.resolve("rechnungen"), 2, 10_000);
+        filialen.archivSetzen(archiv);
+        if (mitLager) {
+            filialen.lagerEinrichten(null);
+        }
+        filialen.zeitfensterEinrichten(null);
+        Aktionen aktionen = new Aktionen(null);
+        aktionen.anwenden(filialen);
+        BestellAnnahme annahme = new BestellAnnahme(filialen, aktionen, new BestellIdGenerator(0));
+
+        // ------------------------------------------------------------
+        // Warteschlangen messen
+        // ------------------------------------------------------------
+        Tiefe filialTiefe = new Tiefe();
+        Tiefe[] stationTiefe = new Tiefe[Station.values().length];
+        for (int i = 0; i < stationTiefe.length; i++) {
+            stationTiefe[i] = new Tiefe();
+        }
+        Tiefe archivTiefe = new Tiefe();
+        Thread messung = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                long summe = 0;
+                long[] stationen = new long[stationTiefe.length];
+                for (Filiale filiale : filialen.getAlle()) {
+                    summe += filiale.getWarteschlange();
+                    for (Station station : Station.values()) {
+                        stationen[station.ordinal()] += filiale.getStationen().getLaenge(station);
+                    }
+                }
+                filialTiefe.erfassen(summe);
+                for (int i = 0; i < stationen.length; i++) {
+                    stationTiefe[i].erfassen(stationen[i]);
+                }
+                archivTiefe.erfassen(archiv.getRueckstand());
+                try {
+                    Thread.sleep(MESSINTERVALL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "wiedergabe-messung");
+        messung.setDaemon(true);
+        messung.start();
+
+        // ------------------------------------------------------------
+        // Köche je Filiale und Station
+        // ------------------------------------------------------------
+        AtomicBoolean kuecheOffen = new AtomicBoolean(true);
+        Latenzhistogramm[] warten = new Latenzhistogramm[Station.values().length];
+        Latenzhistogramm[] durchlauf = new Latenzhistogramm[Station.values().length];
+        for (int i = 0; i < warten.length; i++) {
+            warten[i] = new Latenzhistogramm();
+            durchlauf[i] = new Latenzhistogramm();
+        }
+        List<Thread> kuechenThreads = new ArrayList<>();
+        for (Filiale filiale : filialen.getAlle()) {
+            for (Station station : Station.values()) {
+                for (int k = 0; k < koeche; k++) {
+                    Thread koch = new Thread(() -> kochen(filiale, station, tempo, kuecheOffen, warten, durchlauf),
+                            "wiedergabe-koch-" + filiale.getId() + "-" + station + "-" + k);
+                    koch.setDaemon(true);
+                    koch.start();
+                    kuechenThreads.add(koch);
+                }
+            }
+        }
+
+        // ------------------------------------------------------------
+        // Bestellungen im aufgezeichneten Takt abspielen
+        // ------------------------------------------------------------
+        ExecutorService anfragen = Executors.newFixedThreadPool(threads);
+        Latenzhistogramm verspaetung = new Latenzhistogramm();
+        AtomicLong ausverkauft = new AtomicLong();
+        AtomicLong zeitfensterBelegt = new AtomicLong();
+        AtomicLong verworfen = new AtomicLong();
+        long t0 = aufzeichnungen.get(0).zeitpunkt;
+        long start = System.nanoTime();
+        for (Aufzeichnung aufzeichnung : aufzeichnungen) {
+            long soll = start + ((tempo == 0) ? 0 : (long) ((aufzeichnung.zeitpunkt - t0) * 1_000_000L / tempo));
+            long jetzt;
+            while ((jetzt = System.nanoTime()) < soll) {
+                LockSupport.parkNanos(soll - jetzt);
+            }
+            if (tempo > 0) {
+                verspaetung.erfassen(jetzt - soll);   // bei max gibt es keinen Sollzeitpunkt
+            }
+            anfragen.execute(() -> {
+                Filiale filiale = filialen.fuerPlz(aufzeichnung.kunde.getPlz());
+                Bestellung bestellung = bestellung(filiale, aufzeichnung);
+                BestellAnnahme.Ergebnis ergebnis = annahme.annehmen(filiale, bestellung);
+                if (ergebnis == BestellAnnahme.Ergebnis.AUSVERKAUFT) {
+                    ausverkauft.incrementAndGet();
+                } else if (ergebnis == BestellAnnahme.Ergebnis.ZEITFENSTER_BELEGT) {
+                    zeitfensterBelegt.incrementAndGet();
+                } else if (ergebnis != BestellAnnahme.Ergebnis.ANGENOMMEN) {
+                    verworfen.incrementAndGet();   // leer oder über den Eingabegrenzen
+                }
+            });
+        }
+        anfragen.shutdown();
+        anfragen.awaitTermination(1, TimeUnit.HOURS);
+
+        // Warten, bis jede Filiale alle Bestellungen bearbeitet und das Archiv sie geschrieben hat
+        long frist = System.currentTimeMillis() + WARTEN_MAX_MS;
+        for (Filiale filiale : filialen.getAlle()) {
+            if (!warten(() -> filiale.getStufenzeiten().get(Stufe.ARCHIV).getAnzahl() >= filiale.getAngenommen(), frist)) {
+                System.err.println("Filiale " + filiale.getId() + " hat nach " + WARTEN_MAX_MS
+                        + " ms noch nicht alle Bestellungen bearbeitet.");
+            }
+        }
+        if (!warten(() -> archiv.getRueckstand() == 0, frist)) {
+            System.err.println("Rechnungsarchiv mit Rückstand " + archiv.getRueckstand() + " abgebrochen.");
+        }
+        long dauer = System.nanoTime() - start;
+
+        // Warten, bis die Köche alle Aufgaben erledigt haben
+        long kuecheDauer = 0;
+        if (koeche > 0) {
+            // Zweimal nacheinander leer: zwischen Entnahme und Übernahme ist eine Aufgabe kurz nirgends gezählt
+            int[] leer = {0};
+            if (!warten(() -> (leer[0] = kuecheLeer(filialen) ? leer[0] + 1 : 0) >= 2, frist)) {
+                System.err.println("Küche hat nach " + WARTEN_MAX_MS + " ms noch offene Aufgaben.");
+            }
+            kuecheDauer = System.nanoTime() - start;
+        }
+        kuecheOffen.set(false);
+        for (Thread koch : kuechenThreads) {
+            koch.join();
+        }
+        messung.interrupt();
+        messung.join();   // danach sind die Messwerte für diesen Thread sichtbar
+        filialen.beenden();
+        archiv.beenden();
+
+        // ------------------------------------------------------------
+        // Bericht
+        // ------------------------------------------------------------
+        long angenommen = 0;
+        Stufenzeiten gesamt = new Stufenzeiten();
+        for (Filiale filiale : filialen.getAlle()) {
+            angenommen += filiale.getAngenommen();
+            for (Stufe stufe : Stufe.values()) {
+                gesamt.get(stufe).hinzufuegen(filiale.getStufenzeiten().get(stufe));
+            }
+        }
+        double sekunden = dauer / 1e9;
+        double aufgezeichnet = (aufzeichnungen.get(aufzeichnungen.size() - 1).zeitpunkt - t0) / 1000.0;
+
+        System.out.printf(Locale.GERMAN, "Bestellungen:   %d abgespielt, %d angenommen, %d ausverkauft, "
+                + "%d Zeitfenster belegt, %d leer oder ungültig%n",
+                aufzeichnungen.size(), angenommen, ausverkauft.get(), zeitfensterBelegt.get(), verworfen.get());
+        System.out.printf(Locale.GERMAN, "Dauer:          %.1f s (aufgezeichnet %.1f s, Tempo %s, %d Threads)%n",
+                sekunden, aufgezeichnet, (tempo == 0) ? "max" : tempoText, threads);
+        System.out.printf(Locale.GERMAN, "Durchsatz:      %.0f Bestellungen/s%n", aufzeichnungen.size() / sekunden);
+        if (tempo > 0) {
+            System.out.printf(Locale.GERMAN, "Verspätung:     p50 %d µs, p99 %d µs, max %d µs%n",
+                    mikros(verspaetung.quantil(0.5)), mikros(verspaetung.quantil(0.99)), mikros(verspaetung.getMaximum()));
+        }
+        System.out.println();
+        System.out.printf("Warteschlange        |    max | Mittel%n");
+        System.out.printf(Locale.GERMAN, "%-20s | %6d | %6.1f%n", "Filialen", filialTiefe.maximum, filialTiefe.getMittelwert());
+        for (Station station : Station.values()) {
+            Tiefe tiefe = stationTiefe[station.ordinal()];
+            System.out.printf(Locale.GERMAN, "%-20s | %6d | %6.1f%n", station.getBezeichnung(), tiefe.maximum, tiefe.getMittelwert());
+        }
+        System.out.printf(Locale.GERMAN, "%-20s | %6d | %6.1f%n", "Rechnungsarchiv", archivTiefe.maximum, archivTiefe.getMittelwert());
+        System.out.println();
+        System.out.printf("Stufe         |  Anzahl | p50 µs | p90 µs | p99 µs |  max µs%n");
+        for (Stufe stufe : Stufe.values()) {
+            Latenzhistogramm h = gesamt.get(stufe);
+            if (h.getAnzahl() > 0) {
+                System.out.printf(Locale.GERMAN, "%-13s | %7d | %6d | %6d | %6d | %7d%n", stufe, h.getAnzahl(),
+                        mikros(h.quantil(0.5)), mikros(h.quantil(0.9)), mikros(h.quantil(0.99)), mikros(h.getMaximum()));
+            }
+        }
+        System.out.println();
+        if (koeche > 0) {
+            System.out.printf(Locale.GERMAN, "Küche:          %d Köche je Station und Filiale, letzte Aufgabe nach %.1f s%n",
+                    koeche, kuecheDauer / 1e9);
+            System.out.printf("Station              | Aufgaben | Warten p50 ms | p99 ms | Durchlauf p50 ms | p99 ms%n");
+            for (Station station : Station.values()) {
+                Latenzhistogramm w = warten[station.ordinal()];
+                Latenzhistogramm d = durchlauf[station.ordinal()];
+                if (d.getAnzahl() > 0) {
+                    System.out.printf(Locale.GERMAN, "%-20s | %8d | %13d | %6d | %16d | %6d%n", station.getBezeichnung(),
+                            d.getAnzahl(), millis(w.quantil(0.5)), millis(w.quantil(0.99)),
+                            millis(d.quantil(0.5)), millis(d.quantil(0.99)));
+                }
+            }
+        } else {
+            System.out.println("Küche:          ohne Köche (Aufgaben werden nur eingereiht)");
+        }
+        System.out.println();
+        System.out.println("Daten der Wiedergabe: " + verzeichnis);
+    }
+
+    /**
+     * Wartet in Schritten von 10 ms, bis die Bedingung erfüllt ist.
+     *
+     * @return false, wenn die Frist (Epoch-Millis) vorher abgelaufen ist
+     */
+    private static boolean warten(BooleanSupplier fertig, long frist) throws InterruptedException {
+        while (!fertig.getAsBoolean()) {
+            if (System.currentTimeMillis() >= frist) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    private static long mikros(long nanos) {
+        return nanos / 1000;
+    }
+
+    private static long millis(long nanos) {
+        return nanos / 1_000_000;
+    }
+
+    // ------------------------------------------------------------
+    // Simulierte Küche
+    // ------------------------------------------------------------
+
+    /**
+     * Arbeitsschleife eines Kochs: Aufgabe holen, Zubereitungszeit abwarten, als erledigt melden.
+     * Wartezeit (Einreihen bis Übernahme) und Durchlaufzeit (Einreihen bis Fertigmeldung) werden je
+     * Station der Aufgabe erfasst.
+     */
+    private static void kochen(Filiale filiale, Station station, double tempo, AtomicBoolean kuecheOffen,
+            Latenzhistogramm[] warten, Latenzhistogramm[] durchlauf) {
+        while (kuecheOffen.get()) {
+            Kuechenstationen.Aufgabe aufgabe = filiale.aufgabeHolen(station);
+            if (aufgabe == null) {
+                LockSupport.parkNanos(LEERLAUF_NS);
+                continue;
+            }
+            int i = aufgabe.getStation().ordinal();
+            warten[i].erfassen((aufgabe.getBegonnen() - aufgabe.getErstellt()) * 1_000_000L);
+            if (tempo > 0) {
+                long ende = System.nanoTime() + (long) (zubereitung(aufgabe) * 1_000_000L / tempo);
+                long jetzt;
+                while ((jetzt = System.nanoTime()) < ende) {
+                    LockSupport.parkNanos(ende - jetzt);
+                }
+            }
+            filiale.aufgabeErledigt(aufgabe.getId());
+            durchlauf[i].erfassen((System.currentTimeMillis() - aufgabe.getErstellt()) * 1_000_000L);
+        }
+    }
+
+    /** Zubereitungszeit einer Aufgabe in ms (Originalzeit) aus den Erfahrungswerten je Stück */
+    private static double zubereitung(Kuechenstationen.Aufgabe aufgabe) {
+        double dauer = 0;
+        for (Bestellposition pos : aufgabe.getPositionen()) {
+            dauer += LieferzeitSchaetzer.standardJeStueck(pos.getSpeise().getStation()) * pos.getMenge();
+        }
+        return dauer;
+    }
+
+    /** Prüft, ob in keiner Filiale mehr Aufgaben warten oder bearbeitet werden */
+    private static boolean kuecheLeer(Filialen filialen) {
+        for (Filiale filiale : filialen.getAlle()) {
+            for (Station station : Station.values()) {
+                if (filiale.getStationen().getLaenge(station) > 0 || !filiale.getStationen().getInArbeit(station).isEmpty()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // ------------------------------------------------------------
+    // Journal lesen
+    // ------------------------------------------------------------
+
+    /**
+     * Liest eine Journal-Datei (Segment oder Export) oder alle Segmente eines Verzeichnisses.
+     *
+     * @param quelle Datei oder Verzeichnis
+     * @return Aufzeichnungen, nach Zeitpunkt sortiert
+     * @throws IOException bei Lesefehlern
+     */
+    private static List<Aufzeichnung> lesen(Path quelle) throws IOException {
+        List<Path> dateien;
+        if (Files.isDirectory(quelle)) {
+            try (Stream<Path> stream = Files.walk(quelle)) {
+                dateien = stream.filter(p -> p.getFileName().toString().endsWith(".csv")).sorted()
+                        .collect(Collectors.toList());
+            }
+        } else {
+            dateien = List.of(quelle);
+        }
+
+        List<Aufzeichnung> aufzeichnungen = new ArrayList<>();
+        for (Path datei : dateien) {
+            try (BufferedReader reader = Files.newBufferedReader(datei, StandardCharsets.UTF_8)) {
+                List<String> felder;
+                while ((felder = datensatz(reader)) != null) {
+                    if ((felder.size() == 1 && felder.get(0).isBlank()) || "bestellId".equals(felder.get(0))) {
+                        continue;   // Leerzeile oder Kopfzeile des Exports
+                    }
+                    if (felder.size() < 11) {
+                        System.err.println("Datensatz übersprungen: " + String.join(";", felder));
+                        continue;
+                    }
+                    if (felder.size() > 17 && !felder.get(17).isEmpty()) {
+                        continue;   // Gegenbuchung oder Korrektur (die Bestellung selbst wird abgespielt)
+                    }
+                    aufzeichnungen.add(new Aufzeichnung(zeitpunkt(felder.get(0), felder.get(1)),
+                            new Kunde(felder.get(3), felder.get(4), felder.get(5), felder.get(6),
+                                    felder.get(7), felder.get(8), felder.get(9)),
+                            felder.get(10), (felder.size() > 16) ? felder.get(16) : ""));
+                }
+            }
+        }
+        aufzeichnungen.sort(Comparator.comparingLong(a -> a.zeitpunkt));
+        return aufzeichnungen;
+    }
+
+    /**
+     * Liest den nächsten CSV-Datensatz (Trennzeichen ;, Felder ggf. in Anführungszeichen mit "" als
+     * Escape). Ein Zeilenumbruch in Anführungszeichen gehört zum Feld; außerhalb beendet er den
+     * Datensatz, ein vorangehendes \r wird dabei entfernt.
+     *
+     * @return Felder des Datensatzes oder null am Dateiende
+     */
+    private static List<String> datensatz(BufferedReader reader) throws IOException {
+        int c = reader.read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> felder = new ArrayList<>(18);
+        StringBuilder feld = new StringBuilder();
+        boolean zitiert = false;
+        for (; c >= 0; c = reader.read()) {
+            if (zitiert) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        feld.append('"');
+                    } else {
+                        reader.reset();
+                        zitiert = false;
+                    }
+                } else {
+                    feld.append((char) c);
+                }
+            } else if (c == '"') {
+                zitiert = true;
+            } else if (c == ';') {
+                felder.add(feld.toString());
+                feld.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                feld.append((char) c);
+            }
+        }
+        felder.add(feld.toString());
+        return felder;
+    }
+
+    /** Zeitpunkt auf die Millisekunde aus der Bestell-ID, sonst auf die Sekunde aus der Spalte zeitpunkt */
+    private static long zeitpunkt(String bestellId, String zeitpunkt) {
+        try {
+            long id = Long.parseLong(bestellId.trim());
+            if (id > 0) {
+                return BestellIdGenerator.zeitpunkt(id);
+            }
+        } catch (NumberFormatException e) {
+            // ältere Journale ohne Snowflake-ID
+        }
+        return LocalDateTime.parse(zeitpunkt.trim()).atZone(Preisplan.ZONE).toInstant().toEpochMilli();
+    }
+
+    /** Baut die Bestellung aus der Speisekarte der Filiale auf; unbekannte Speisen werden ausgelassen */
+    private static Bestellung bestellung(Filiale filiale, Aufzeichnung aufzeichnung) {
+        Bestellung bestellung = new Bestellung();
+        bestellung.setKunde(aufzeichnung.kunde);
+        bestellung.setZeitpunkt(aufzeichnung.zeitpunkt);
+        bestellung.setSessionId("wiedergabe");
+        if (!aufzeichnung.wunschzeit.isBlank()) {
+            try {
+                bestellung.setWunschzeit(Zeitfenster.zeitpunkt(aufzeichnung.wunschzeit, aufzeichnung.zeitpunkt));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Ungültige Wunschzeit übergangen: " + aufzeichnung.wunschzeit);
+            }
+        }
+        for (String position : aufzeichnung.positionen.split("\\|")) {
+            int x = position.indexOf('x');
+            int at = position.indexOf('@');
+            if (x <= 0) {
+                continue;
+            }
+            Speise speise = filiale.getSpeisekarte().getSpeise(position.substring(x + 1, (at > x) ? at : position.length()));
+            if (speise != null) {
+                bestellung.addPosition(new Bestellposition(speise, Integer.parseInt(position.substring(0, x))));
+            }
+        }
+        return bestellung;
+    }
+
+}
@@ -0,0 +1,245 @@
+package ibb.pizzaservice.werkzeug;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Kunde;
+import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.service.Filiale;
+import ibb.pizzaservice.service.Latenzhistogramm;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lasttest für die Partitionierung nach {@link Filiale}n (Kommandozeilenwerkzeug).
+ *
+ * <b>Lokal</b> (ohne Server): startet nacheinander 1, 2, … N Filialen in diesem Prozess und schickt jeder
+ * Filiale die gleiche Anzahl Bestellungen. Jede Bestellung verursacht eine feste, simulierte
+ * Bearbeitungszeit (CPU-Last). Da die Filialen keine gemeinsamen Sperren oder Warteschlangen teilen,
+ * sollte der Durchsatz annähernd linear mit der Anzahl Filialen steigen, solange genügend CPU-Kerne
+ * frei sind. Dieser Modus misst nur die Partitionierung, nicht HTTP, Servlets oder die Umleitung.
+ *
+ * <b>Mehrere Knoten</b> ({@code http}): schickt echte Bestellformulare per HTTP an laufende Knoten,
+ * z. B. mehrere Server auf localhost mit unterschiedlichem {@code pizzaservice.knoten} und einer
+ * {@code filialen.properties}, die jede Filiale einem Knoten zuordnet. Je Knoten wird eine PLZ
+ * angegeben, die eine seiner Filialen beliefert. Gemessen wird nacheinander mit den ersten 1, 2, … N
+ * Knoten: jede Bestellung geht an einen zufälligen dieser Knoten, ihre PLZ an einen ebenfalls zufälligen.
+ * Landet sie beim falschen Knoten, muss dieser mit 307 auf den richtigen umleiten; das Werkzeug folgt
+ * der Umleitung mit denselben POST-Daten und prüft, dass sie beim erwarteten Knoten ankommt.
+ *
+ * Das Werkzeug liegt bei den Testquellen und wird nicht mit der Anwendung ausgeliefert. Aufruf nach
+ * {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/classes:target/test-classes ibb.pizzaservice.werkzeug.FilialenLasttest [filialen] [bestellungen] [mikrosekunden]
+ * java -cp target/classes:target/test-classes ibb.pizzaservice.werkzeug.FilialenLasttest http &lt;url=plz,url=plz,...&gt; [bestellungen] [threads]
+ * </pre>
+ * Standard lokal: so viele Filialen wie CPU-Kerne, 20 000 Bestellungen je Filiale, 50 µs je Bestellung.
+ * Standard http: 2 000 Bestellungen je Knoten, 16 Anfrage-Threads. Beispiel:
+ * <pre>
+ * FilialenLasttest http http://localhost:8080/PizzaService=10115,http://localhost:8081/PizzaService=13347
+ * </pre>
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public final class FilialenLasttest {
+
+    private FilialenLasttest() { }
+
+    /**
+     * Startet den Lasttest.
+     *
+     * @param args [Anzahl Filialen] [Bestellungen je Filiale] [Bearbeitungszeit in µs] oder
+     *             {@code http} &lt;Knoten&gt; [Bestellungen je Knoten] [Anfrage-Threads]
+     * @throws InterruptedException bei Unterbrechung
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (args.length > 0 && "http".equalsIgnoreCase(args[0])) {
+            knotenTesten(args);
+            return;
+        }
+        int maxFilialen = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int bestellungen = (args.length > 1) ? Integer.parseInt(args[1]) : 20_000;
+        long mikros = (args.length > 2) ? Long.parseLong(args[2]) : 50;
+
+        System.out.printf("Filialen | Bestellungen/s | Faktor%n");
+        double basis = 0;
+        for (int anzahl = 1; anzahl <= maxFilialen; anzahl++) {
+            double durchsatz = messen(anzahl, bestellungen, mikros);
+            if (anzahl == 1) {
+                basis = durchsatz;
+            }
+            System.out.printf(Locale.GERMAN, "%8d | %14.0f | %5.2f%n", anzahl, durchsatz, durchsatz / basis);
+        }
+    }
+
+    private static double messen(int anzahl, int bestellungen, long mikros) throws InterruptedException {
+        CountDownLatch fertig = new CountDownLatch(anzahl * bestellungen);
+        Speisekarte speisekarte = new Speisekarte();
+        List<Filiale> filialen = new ArrayList<>();
+        for (int i = 0; i < anzahl; i++) {
+            filialen.add(new Filiale("last" + i, "Lasttest " + i, new int[] {0}, new int[] {99999}, speisekarte, null) {
+                @Override
+                protected void bearbeiten(Bestellung bestellung) {
+                    long ende = System.nanoTime() + mikros * 1000;
+                    while (System.nanoTime() < ende) {
+                        Thread.onSpinWait();   // simulierte Bearbeitungszeit (CPU-Last)
+                    }
+                    fertig.countDown();
+                }
+            });
+        }
+
+        Bestellung vorlage = new Bestellung();
+        vorlage.setBestellId(1);
+        vorlage.setKunde(new Kunde("Frau", "Anna", "Schmidt", "Bahnhofstraße", "12a", "10115", "Berlin"));
+        vorlage.addPosition(new Bestellposition(speisekarte.getSpeisen().get(0), 2));
+
+        long start = System.nanoTime();
+        for (int n = 0; n < bestellungen; n++) {
+            for (Filiale filiale : filialen) {
+                filiale.annehmen(vorlage);
+            }
+        }
+        fertig.await();
+        long dauer = System.nanoTime() - start;
+
+        for (Filiale filiale : filialen) {
+            filiale.beenden();
+        }
+        return anzahl * (double) bestellungen / (dauer / 1e9);
+    }
+
+    // ------------------------------------------------------------
+    // Mehrere Knoten über HTTP
+    // ------------------------------------------------------------
+
+    /**
+     * Ein laufender Knoten und eine PLZ, die er beliefert.
+     */
+    private static final class Knoten {
+
+        private final String url;
+        private final String plz;
+
+        Knoten(String url, String plz) {
+            this.url = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+            this.plz = plz;
+        }
+    }
+
+    private static void knotenTesten(String[] args) throws InterruptedException {
+        if (args.length < 2) {
+            System.err.println("Aufruf: FilialenLasttest http <url=plz,url=plz,...> [bestellungen] [threads]");
+            System.exit(2);
+        }
+        List<Knoten> knoten = new ArrayList<>();
+        for (String eintrag : args[1].split(",")) {
+            int gleich = eintrag.lastIndexOf('=');
+            if (gleich <= 0) {
+                throw new IllegalArgumentException("Knoten im Format url=plz erwartet: " + eintrag);
+            }
+            knoten.add(new Knoten(eintrag.substring(0, gleich).trim(), eintrag.substring(gleich + 1).trim()));
+        }
+        int bestellungen = (args.length > 2) ? Integer.parseInt(args[2]) : 2_000;
+        int threads = (args.length > 3) ? Integer.parseInt(args[3]) : 16;
+
+        // Umleitungen selbst verfolgen, um sie zählen und prüfen zu können
+        HttpClient client = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        System.out.printf("Knoten | Bestellungen/s | Faktor | umgeleitet | Fehler | p50 ms | p99 ms%n");
+        double basis = 0;
+        for (int anzahl = 1; anzahl <= knoten.size(); anzahl++) {
+            List<Knoten> aktiv = knoten.subList(0, anzahl);
+            Latenzhistogramm latenz = new Latenzhistogramm();
+            AtomicLong umgeleitet = new AtomicLong();
+            AtomicLong fehler = new AtomicLong();
+            int gesamt = anzahl * bestellungen;
+
+            ExecutorService anfragen = Executors.newFixedThreadPool(threads);
+            long start = System.nanoTime();
+            for (int n = 0; n < gesamt; n++) {
+                anfragen.execute(() -> {
+                    ThreadLocalRandom zufall = ThreadLocalRandom.current();
+                    Knoten eingang = aktiv.get(zufall.nextInt(aktiv.size()));
+                    Knoten ziel = aktiv.get(zufall.nextInt(aktiv.size()));
+                    long t = System.nanoTime();
+                    try {
+                        if (bestellen(client, eingang, ziel, umgeleitet)) {
+                            latenz.erfassen(System.nanoTime() - t);
+                        } else {
+                            fehler.incrementAndGet();
+                        }
+                    } catch (IOException e) {
+                        fehler.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            anfragen.shutdown();
+            anfragen.awaitTermination(1, TimeUnit.HOURS);
+            long dauer = System.nanoTime() - start;
+
+            double durchsatz = latenz.getAnzahl() / (dauer / 1e9);
+            if (anzahl == 1) {
+                basis = durchsatz;
+            }
+            System.out.printf(Locale.GERMAN, "%6d | %14.0f | %6.2f | %10d | %6d | %6.1f | %6.1f%n", anzahl, durchsatz,
+                    (basis > 0) ? durchsatz / basis : 0, umgeleitet.get(), fehler.get(),
+                    latenz.quantil(0.5) / 1e6, latenz.quantil(0.99) / 1e6);
+        }
+    }
+
+    /**
+     * Schickt eine Bestellung für die PLZ des Zielknotens an den Eingangsknoten und folgt einer
+     * 307-Umleitung.
+     *
+     * @return true, wenn die Rechnung beim Zielknoten erzeugt wurde
+     */
+    private static boolean bestellen(HttpClient client, Knoten eingang, Knoten ziel, AtomicLong umgeleitet)
+            throws IOException, InterruptedException {
+        String formular = "anrede=Frau&vorname=Anna&nachname=Schmidt&strasse=" + kodieren("Bahnhofstraße")
+                + "&hausnummer=12a&plz=" + kodieren(ziel.plz) + "&stadt=Berlin&zahlungsart=BAR&menge_Pi03=2";
+        URI uri = URI.create(eingang.url + "/bestellen");
+        for (int sprung = 0; sprung < 2; sprung++) {
+            HttpResponse<Void> antwort = client.send(HttpRequest.newBuilder(uri)
+                            .timeout(Duration.ofSeconds(30))
+                            .header("Content-Type", "application/x-www-form-urlencoded")
+                            .POST(HttpRequest.BodyPublishers.ofString(formular, StandardCharsets.UTF_8))
+                            .build(),
+                    HttpResponse.BodyHandlers.discarding());
+            if (antwort.statusCode() == 307) {
+                umgeleitet.incrementAndGet();
+                uri = uri.resolve(antwort.headers().firstValue("Location").orElseThrow(
+                        () -> new IOException("307 ohne Location von " + eingang.url)));
+                continue;
+            }
+            return antwort.statusCode() == 200 && uri.toString().startsWith(ziel.url + "/");
+        }
+        return false;   // mehr als eine Umleitung: Filialen der Knoten falsch konfiguriert
+    }
+
+    private static String kodieren(String text) {
+        return URLEncoder.encode(text, StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,105 @@
+package ibb.pizzaservice.werkzeug;
+
+import ibb.pizzaservice.model.Bestellposition;
+import ibb.pizzaservice.model.Bestellung;
+import ibb.pizzaservice.model.Speise;
+import ibb.pizzaservice.model.Speisekarte;
+import ibb.pizzaservice.service.Preisplan;
+import ibb.pizzaservice.service.Preisregel;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Misst die Kosten für das Bepreisen einer Bestellung in Abhängigkeit von der Anzahl Aktionen
+ * (Kommandozeilenwerkzeug).
+ *
+ * Für 0, 1, 2, 4, … N Regeln wird ein {@link Preisplan} kompiliert und eine typische Bestellung
+ * (fünf Positionen) wiederholt bepreist. Ausgegeben werden Kompilierzeit und Nanosekunden je
+ * Bestellung. Die Regeln sind eine Mischung aus Paketen, Gratisaktionen und Happy Hours.
+ *
+ * Das Werkzeug liegt bei den Testquellen und wird nicht mit der Anwendung ausgeliefert. Aufruf nach
+ * {@code mvn test-compile}:
+ * <pre>
+ * java -cp target/classes:target/test-classes ibb.pizzaservice.werkzeug.PreisregelnBenchmark [maxRegeln] [durchlaeufe]
+ * </pre>
+ * Standard: bis 256 Regeln, 1 000 000 Bestellungen je Messung.
+ *
+ * @author Simone Njike
+ * @version 1.0
+ * @since 19.10.2026
+ */
+public final class PreisregelnBenchmark {
+
+    private PreisregelnBenchmark() { }
+
+    /**
+     * Startet den Benchmark.
+     *
+     * @param args [maximale Anzahl Regeln] [Bestellungen je Messung]
+     */
+    public static void main(String[] args) {
+        int maxRegeln = (args.length > 0) ? Integer.parseInt(args[0]) : 256;
+        int durchlaeufe = (args.length > 1) ? Integer.parseInt(args[1]) : 1_000_000;
+
+        Speisekarte speisekarte = new Speisekarte();
+        Bestellung bestellung = new Bestellung();
+        // Dienstag 16 Uhr: Happy Hours greifen
+        bestellung.setZeitpunkt(ZonedDateTime.of(2026, 10, 20, 16, 0, 0, 0, Preisplan.ZONE)
+                .toInstant().toEpochMilli());
+        for (int i = 0; i < 5; i++) {
+            bestellung.addPosition(new Bestellposition(speisekarte.getSpeisen().get(i), 1 + i % 3));
+        }
+
+        System.out.printf("Regeln | Kompilieren (µs) | ns/Bestellung | Rabatte%n");
+        for (int anzahl = 0; anzahl <= maxRegeln; anzahl = (anzahl == 0) ? 1 : anzahl * 2) {
+            List<Preisregel> regeln = regeln(anzahl, speisekarte);
+
+            long start = System.nanoTime();
+            Preisplan plan = Preisplan.kompilieren(regeln, speisekarte);
+            long kompilieren = System.nanoTime() - start;
+
+            // Aufwärmen, dann messen
+            for (int i = 0; i < durchlaeufe / 10; i++) {
+                plan.berechnen(bestellung);
+            }
+            start = System.nanoTime();
+            for (int i = 0; i < durchlaeufe; i++) {
+                plan.berechnen(bestellung);
+            }
+            double ns = (System.nanoTime() - start) / (double) durchlaeufe;
+
+            System.out.printf(Locale.GERMAN, "%6d | %16.1f | %13.1f | %7d%n",
+                    anzahl, kompilieren / 1000.0, ns, bestellung.getRabatte().size());
+        }
+    }
+
+    private static List<Preisregel> regeln(int anzahl, Speisekarte speisekarte) {
+        List<Speise> speisen = speisekarte.getSpeisen();
+        List<Preisregel> regeln = new ArrayList<>();
+        for (int i = 0; i < anzahl; i++) {
+            String a = speisen.get(1 + i % (speisen.size() - 1)).getSpeiseId();
+            String b = speisen.get(1 + (i + 3) % (speisen.size() - 1)).getSpeiseId();
+            switch (i % 3) {
+                case 0:
+                    regeln.add(Preisregel.paket("Paket " + i, Set.of(a, b), 2, new BigDecimal("12.00")));
+                    break;
+                case 1:
+                    regeln.add(Preisregel.gratis("Gratis " + i, a, new BigDecimal("20.00")));
+                    break;
+                default:
+                    regeln.add(Preisregel.happyHour("Happy Hour " + i, Set.of(a, b), 5,
+                            EnumSet.of(DayOfWeek.TUESDAY), LocalTime.of(15, 0), LocalTime.of(17, 0)));
+                    break;
+            }
+        }
+        return regeln;
+    }
+
+}